@@ -0,0 +1,153 @@
+package br.com.dio.shared.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * DataSource that sends read-only transactions to replica pools
+ *
+ * Read-write transactions and work outside a transaction use the primary; read-only
+ * transactions take the replicas in turn, unless the current client committed a
+ * write within the {@link ReadYourWritesTracker} window. The physical connection is
+ * only fetched at the first statement, once the transaction's read-only flag is known.
+ * Every routed connection is counted per pool in
+ * {@code warehouse.datasource.connections.routed}.
+ *
+ * @author Franklin Canduri
+ */
+public class ReadReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final Map<String, DataSource> pools;
+
+    /**
+     * @param replicas  replica pools by pool name, at least one
+     * @param clientKey identifies the client of the current thread, or returns null
+     */
+    public ReadReplicaRoutingDataSource(String primaryName, DataSource primary, Map<String, DataSource> replicas,
+                                        ReadYourWritesTracker tracker, Supplier<String> clientKey,
+                                        MeterRegistry meterRegistry) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.pools = new LinkedHashMap<>();
+        this.pools.put(primaryName, primary);
+        this.pools.putAll(replicas);
+
+        Router router = new Router(primaryName, List.copyOf(replicas.keySet()), tracker, clientKey, meterRegistry);
+        router.setTargetDataSources(new HashMap<>(pools));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Closes the primary and replica pools
+     */
+    @Override
+    public void close() throws IOException {
+        for (DataSource pool : pools.values()) {
+            if (pool instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Router extends AbstractRoutingDataSource {
+
+        private final String primaryName;
+        private final List<String> replicaNames;
+        private final ReadYourWritesTracker tracker;
+        private final Supplier<String> clientKey;
+        private final Map<String, Counter> routedConnections = new HashMap<>();
+        private final AtomicInteger nextReplica = new AtomicInteger();
+
+        private Router(String primaryName, List<String> replicaNames, ReadYourWritesTracker tracker,
+                       Supplier<String> clientKey, MeterRegistry meterRegistry) {
+            this.primaryName = primaryName;
+            this.replicaNames = replicaNames;
+            this.tracker = tracker;
+            this.clientKey = clientKey;
+            List<String> names = new ArrayList<>(replicaNames);
+            names.add(primaryName);
+            for (String name : names) {
+                routedConnections.put(name, Counter.builder("warehouse.datasource.connections.routed")
+                        .description("Connections handed out by the read replica router")
+                        .tag("pool", name)
+                        .register(meterRegistry));
+            }
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return target().getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return target().getConnection(username, password);
+        }
+
+        private DataSource target() {
+            String key = determineCurrentLookupKey();
+            routedConnections.get(key).increment();
+            if (key.equals(primaryName)) {
+                trackWrites();
+            }
+            return (DataSource) getResolvedDataSources().get(key);
+        }
+
+        @Override
+        protected String determineCurrentLookupKey() {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                return primaryName;
+            }
+            if (tracker.isEnabled()) {
+                String client = clientKey.get();
+                if (client != null && tracker.wroteRecently(client)) {
+                    return primaryName;
+                }
+            }
+            return replicaNames.get(Math.floorMod(nextReplica.getAndIncrement(), replicaNames.size()));
+        }
+
+        /**
+         * Starts the client's read-your-writes window when the current read-write
+         * transaction commits
+         */
+        private void trackWrites() {
+            if (!tracker.isEnabled()
+                    || !TransactionSynchronizationManager.isActualTransactionActive()
+                    || !TransactionSynchronizationManager.isSynchronizationActive()) {
+                return;
+            }
+            String client = clientKey.get();
+            if (client == null) {
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tracker.recordWrite(client);
+                }
+            });
+        }
+    }
+}
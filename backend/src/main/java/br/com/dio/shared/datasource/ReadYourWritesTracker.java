@@ -0,0 +1,65 @@
+package br.com.dio.shared.datasource;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers which clients committed a write in the last {@code window}
+ *
+ * Replicas apply the primary's changes with some lag, so a client that just wrote
+ * could read its own change back as missing. Reads of such a client are kept on
+ * the primary until the window has passed. The state is local to this instance;
+ * a zero window disables tracking.
+ *
+ * @author Franklin Canduri
+ */
+public class ReadYourWritesTracker {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final ConcurrentMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("Read-your-writes window must not be negative");
+        }
+        this.windowNanos = window.toNanos();
+    }
+
+    public boolean isEnabled() {
+        return windowNanos > 0;
+    }
+
+    /**
+     * Records that {@code client} has just committed a write
+     */
+    public void recordWrite(String client) {
+        Objects.requireNonNull(client, "Client cannot be null");
+        if (!isEnabled()) {
+            return;
+        }
+        long now = System.nanoTime();
+        lastWrites.put(client, now);
+        if (lastWrites.size() > PURGE_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+        }
+    }
+
+    /**
+     * Whether {@code client} committed a write less than the window ago
+     */
+    public boolean wroteRecently(String client) {
+        Long writtenAt = lastWrites.get(client);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt < windowNanos) {
+            return true;
+        }
+        lastWrites.remove(client, writtenAt);
+        return false;
+    }
+}
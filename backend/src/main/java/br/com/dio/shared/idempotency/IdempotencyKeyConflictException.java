@@ -0,0 +1,13 @@
+package br.com.dio.shared.idempotency;
+
+/**
+ * Thrown when an {@code Idempotency-Key} is reused with a different request
+ *
+ * @author Franklin Canduri
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    public IdempotencyKeyConflictException(String key) {
+        super("Idempotency key " + key + " was already used with a different request");
+    }
+}
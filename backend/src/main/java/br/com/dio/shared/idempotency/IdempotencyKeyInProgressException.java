@@ -0,0 +1,14 @@
+package br.com.dio.shared.idempotency;
+
+/**
+ * Thrown when a request is retried while the first request with its
+ * {@code Idempotency-Key} is still running
+ *
+ * @author Franklin Canduri
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    public IdempotencyKeyInProgressException(String key) {
+        super("A request with idempotency key " + key + " is still being processed");
+    }
+}
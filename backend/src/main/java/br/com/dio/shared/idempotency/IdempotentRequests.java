@@ -0,0 +1,318 @@
+package br.com.dio.shared.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per {@code Idempotency-Key}
+ *
+ * The first request with a key claims it in the idempotency_keys table, runs and
+ * stores its status, Location header and JSON body, all in one transaction that the
+ * transactional use cases join. The key is therefore stored exactly when the work of
+ * the request is committed, and a request that fails or dies leaves neither behind.
+ * A retry with the same key and the same request body gets the stored response back
+ * without running again; with a different body it fails with
+ * {@link IdempotencyKeyConflictException}.
+ *
+ * A retry that arrives while the first request is running waits on the row lock of its
+ * claim for up to {@code inProgressTimeout} and then fails with
+ * {@link IdempotencyKeyInProgressException}; an unfinished claim is never taken over.
+ * Use cases must do their work in the key's transaction rather than one of their own;
+ * batched sales are made directly when they run inside one.
+ *
+ * Keys belong to the client returned by {@code clientKey} and to a scope, usually the
+ * operation. Stored responses are kept for {@code ttl}; the most recent ones are also
+ * kept in memory, so retries to the same instance do not read the table.
+ *
+ * Requests with a key are counted in {@code warehouse.idempotency.requests} by outcome:
+ * executed, replayed, conflict or in-progress. The memory layer publishes the cache.*
+ * metrics of the idempotency cache.
+ *
+ * @author Franklin Canduri
+ */
+public class IdempotentRequests {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+    private static final String LOCK_NOT_AVAILABLE = "55P03";
+
+    private static final String CLAIM_SQL = """
+            INSERT INTO idempotency_keys (client, scope, idempotency_key, request_hash, status, claimed_at, expires_at)
+            VALUES (?, ?, ?, ?, 'IN_PROGRESS', ?, ?)
+            ON CONFLICT (client, scope, idempotency_key) DO UPDATE
+            SET request_hash = EXCLUDED.request_hash, status = 'IN_PROGRESS', claimed_at = EXCLUDED.claimed_at,
+                expires_at = EXCLUDED.expires_at, response_status = NULL, response_location = NULL,
+                response_body = NULL
+            WHERE idempotency_keys.expires_at <= EXCLUDED.claimed_at
+            """;
+
+    private static final String SET_LOCK_TIMEOUT_SQL = "SELECT set_config('lock_timeout', ?, true)";
+
+    private static final String RESET_LOCK_TIMEOUT_SQL = "SET LOCAL lock_timeout TO DEFAULT";
+
+    private static final String FIND_SQL = """
+            SELECT request_hash, status, response_status, response_location, response_body, expires_at
+            FROM idempotency_keys
+            WHERE client = ? AND scope = ? AND idempotency_key = ?
+            """;
+
+    private static final String COMPLETE_SQL = """
+            UPDATE idempotency_keys
+            SET status = 'COMPLETED', response_status = ?, response_location = ?, response_body = ?
+            WHERE client = ? AND scope = ? AND idempotency_key = ? AND claimed_at = ?
+            """;
+
+    private static final String DELETE_EXPIRED_SQL = """
+            DELETE FROM idempotency_keys
+            WHERE ctid IN (SELECT ctid FROM idempotency_keys WHERE expires_at <= ? LIMIT ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter compactWriter;
+    private final Supplier<String> clientKey;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final Duration inProgressTimeout;
+    private final Cache<StoredKey, StoredResponse> completed;
+
+    public IdempotentRequests(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper, Supplier<String> clientKey, MeterRegistry meterRegistry, Duration ttl, Duration inProgressTimeout,
+                              long memorySize) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Idempotency key time-to-live must be positive");
+        }
+        if (inProgressTimeout.isNegative() || inProgressTimeout.isZero()) {
+            throw new IllegalArgumentException("Idempotency in-progress timeout must be positive");
+        }
+        if (memorySize < 0) {
+            throw new IllegalArgumentException("Idempotency memory size must not be negative");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.compactWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.clientKey = clientKey;
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+        this.inProgressTimeout = inProgressTimeout;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(memorySize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotency");
+    }
+
+    /**
+     * Runs {@code action} unless a request with the same key already ran
+     *
+     * @param scope The operation the key belongs to
+     * @param key The Idempotency-Key header; without it the action always runs
+     * @param request The request, compared with the request that first used the key
+     * @param responseType Type of the response body, to read stored responses back
+     * @param action Runs the request
+     * @return The response of the action or the stored response of the first request
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> responseType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    HEADER + " must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String client = Objects.requireNonNullElse(clientKey.get(), "");
+        StoredKey storedKey = new StoredKey(client, scope, key);
+        String requestHash = hash(request);
+
+        StoredResponse remembered = completed.getIfPresent(storedKey);
+        if (remembered != null && remembered.expiresAt().isAfter(LocalDateTime.now())) {
+            return replay(storedKey, remembered, requestHash, responseType);
+        }
+
+        Execution<T> execution = transactionTemplate.execute(status ->
+                claimAndRun(storedKey, requestHash, responseType, action));
+        completed.put(storedKey, execution.stored());
+        if (execution.replayed()) {
+            return replay(storedKey, execution.stored(), requestHash, responseType);
+        }
+        count("executed");
+        return execution.response();
+    }
+
+    /**
+     * Claims the key and runs the action, or finds the response stored for it,
+     * inside the transaction of the request
+     */
+    private <T> Execution<T> claimAndRun(StoredKey storedKey, String requestHash, Class<T> responseType,
+                                         Supplier<ResponseEntity<T>> action) {
+        LocalDateTime claimedAt = now();
+        for (int attempt = 1; !claim(storedKey, requestHash, claimedAt); attempt++) {
+            List<StoredResponse> stored = jdbcTemplate.query(FIND_SQL, (rs, rowNum) -> new StoredResponse(
+                    rs.getString("request_hash"),
+                    "COMPLETED".equals(rs.getString("status")),
+                    rs.getInt("response_status"),
+                    rs.getString("response_location"),
+                    rs.getString("response_body"),
+                    rs.getTimestamp("expires_at").toLocalDateTime()),
+                    storedKey.client(), storedKey.scope(), storedKey.key());
+            if (stored.isEmpty() && attempt < MAX_CLAIM_ATTEMPTS) {
+                // Purged in between: claim again
+                claimedAt = now();
+                continue;
+            }
+            if (stored.isEmpty() || !stored.getFirst().completed()) {
+                if (!stored.isEmpty() && !stored.getFirst().requestHash().equals(requestHash)) {
+                    count("conflict");
+                    throw new IdempotencyKeyConflictException(storedKey.key());
+                }
+                count("in-progress");
+                throw new IdempotencyKeyInProgressException(storedKey.key());
+            }
+            return new Execution<>(null, stored.getFirst(), true);
+        }
+
+        ResponseEntity<T> response = action.get();
+        return new Execution<>(response, store(storedKey, claimedAt, requestHash, response), false);
+    }
+
+    /**
+     * Deletes up to {@code limit} keys whose time-to-live has passed
+     *
+     * @return number of keys deleted
+     */
+    public int deleteExpired(int limit) {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, Timestamp.valueOf(LocalDateTime.now()), limit);
+    }
+
+    /**
+     * Current time at the precision of the timestamp columns, so claims can be matched exactly
+     */
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * Inserts the claim, waiting at most {@code inProgressTimeout} for a request that
+     * holds the same key; the statements of the action wait as long as they normally would
+     */
+    private boolean claim(StoredKey storedKey, String requestHash, LocalDateTime claimedAt) {
+        jdbcTemplate.queryForObject(SET_LOCK_TIMEOUT_SQL, String.class, inProgressTimeout.toMillis() + "ms");
+        int claimed;
+        try {
+            claimed = jdbcTemplate.update(CLAIM_SQL,
+                    storedKey.client(), storedKey.scope(), storedKey.key(), requestHash,
+                    Timestamp.valueOf(claimedAt),
+                    Timestamp.valueOf(claimedAt.plus(ttl)));
+        } catch (DataAccessException e) {
+            if (!(e.getMostSpecificCause() instanceof SQLException sqlException)
+                    || !LOCK_NOT_AVAILABLE.equals(sqlException.getSQLState())) {
+                throw e;
+            }
+            // The request holding the key is still running
+            count("in-progress");
+            throw new IdempotencyKeyInProgressException(storedKey.key());
+        }
+        jdbcTemplate.execute(RESET_LOCK_TIMEOUT_SQL);
+        return claimed > 0;
+    }
+
+    private StoredResponse store(StoredKey storedKey, LocalDateTime claimedAt, String requestHash,
+                                 ResponseEntity<?> response) {
+        URI location = response.getHeaders().getLocation();
+        StoredResponse stored = new StoredResponse(
+                requestHash,
+                true,
+                response.getStatusCode().value(),
+                location != null ? location.toString() : null,
+                write(response.getBody()),
+                claimedAt.plus(ttl));
+        jdbcTemplate.update(COMPLETE_SQL,
+                stored.status(), stored.location(), stored.body(),
+                storedKey.client(), storedKey.scope(), storedKey.key(), Timestamp.valueOf(claimedAt));
+        return stored;
+    }
+
+    private <T> ResponseEntity<T> replay(StoredKey storedKey, StoredResponse stored, String requestHash,
+                                         Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            count("conflict");
+            throw new IdempotencyKeyConflictException(storedKey.key());
+        }
+        count("replayed");
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(REPLAYED_HEADER, "true");
+        if (stored.location() != null) {
+            headers.setLocation(URI.create(stored.location()));
+        }
+        try {
+            T body = stored.body() != null ? objectMapper.readValue(stored.body(), responseType) : null;
+            return ResponseEntity.status(stored.status()).headers(headers).body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response of " + HEADER + " " + storedKey.key()
+                    + " cannot be read as " + responseType.getSimpleName(), e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(compactWriter.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint the request", e);
+        }
+    }
+
+    private String write(Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return compactWriter.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot store the response", e);
+        }
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("warehouse.idempotency.requests", "outcome", outcome).increment();
+    }
+
+    private record StoredKey(String client, String scope, String key) {}
+
+    private record StoredResponse(String requestHash, boolean completed, int status, String location,
+                                  String body, LocalDateTime expiresAt) {}
+
+    private record Execution<T>(ResponseEntity<T> response, StoredResponse stored, boolean replayed) {}
+}
@@ -0,0 +1,20 @@
+package br.com.dio.shared.identity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a UUID identifier generated by the configured {@link IdGenerator}
+ * instead of Hibernate's random UUID strategy
+ *
+ * @author Franklin Canduri
+ */
+@IdGeneratorType(UuidIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface GeneratedUuid {
+}
@@ -0,0 +1,24 @@
+package br.com.dio.shared.identity;
+
+import java.util.UUID;
+
+/**
+ * Source of entity, event and transaction identifiers
+ *
+ * @author Franklin Canduri
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * Random version 4 UUIDs from {@link UUID#randomUUID()} (SecureRandom)
+     */
+    IdGenerator RANDOM = UUID::randomUUID;
+
+    /**
+     * Time-ordered version 7 UUIDs, see {@link TimeOrderedIdGenerator}
+     */
+    IdGenerator TIME_ORDERED = new TimeOrderedIdGenerator();
+
+    UUID nextId();
+}
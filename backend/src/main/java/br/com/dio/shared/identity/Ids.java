@@ -0,0 +1,35 @@
+package br.com.dio.shared.identity;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Application-wide access to the configured {@link IdGenerator}
+ *
+ * Domain objects and event factories are created outside the Spring context, so the
+ * generator is held statically. Time-ordered ids are used unless another generator
+ * is installed at startup.
+ *
+ * @author Franklin Canduri
+ */
+public final class Ids {
+
+    private static volatile IdGenerator generator = IdGenerator.TIME_ORDERED;
+
+    private Ids() {
+    }
+
+    /**
+     * Next identifier from the configured generator
+     */
+    public static UUID next() {
+        return generator.nextId();
+    }
+
+    /**
+     * Replaces the generator used by {@link #next()}
+     */
+    public static void use(IdGenerator idGenerator) {
+        generator = Objects.requireNonNull(idGenerator, "Id generator cannot be null");
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.dio.shared.identity;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered version 7 UUIDs (RFC 9562)
+ *
+ * Layout: 48-bit Unix epoch milliseconds, version, 12-bit counter, variant and
+ * 62 random bits. The timestamp and counter are advanced together with a single
+ * compare-and-set, so ids are strictly increasing across threads without locking;
+ * when more than 4096 ids are requested within one millisecond the counter carries
+ * into the timestamp, which then runs slightly ahead of the clock. Consecutive ids
+ * land next to each other in a B-tree index instead of on random pages.
+ *
+ * @author Franklin Canduri
+ */
+public final class TimeOrderedIdGenerator implements IdGenerator {
+
+    private static final int COUNTER_BITS = 12;
+
+    private final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    @Override
+    public UUID nextId() {
+        long timestampAndCounter = nextTimestampAndCounter();
+        long mostSigBits = (timestampAndCounter >>> COUNTER_BITS) << 16
+                | 0x7000L
+                | (timestampAndCounter & 0xFFFL);
+        long leastSigBits = ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL
+                | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private long nextTimestampAndCounter() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        while (true) {
+            long last = lastTimestampAndCounter.get();
+            long next = Math.max(now, last + 1);
+            if (lastTimestampAndCounter.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.dio.shared.identity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.EventType;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Hibernate identifier generator backed by {@link Ids}
+ *
+ * Storefront entities take their id from {@link Ids} in their constructors. Those ids
+ * are kept, so saving a new entity persists it instead of merging it as a detached
+ * row that no longer exists.
+ *
+ * @author Franklin Canduri
+ */
+public class UuidIdentifierGenerator implements IdentifierGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return currentValue != null ? currentValue : generate(session, owner);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return Ids.next();
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.dio.shared.outbox;
+
+import br.com.dio.shared.identity.Ids;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Writes events to the event_outbox table instead of sending them to the broker
+ *
+ * The row is inserted with the caller's JDBC connection, so inside a transaction the
+ * event is stored if and only if that transaction commits; {@link OutboxRelay}
+ * publishes it afterwards. Events are serialized with the RabbitMQ message converter,
+ * so consumers receive the same body and {@code __TypeId__} header as a direct send.
+ *
+ * @author Franklin Canduri
+ */
+public class EventOutbox {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO event_outbox (id, exchange, routing_key, type_id, payload, created_at, next_attempt_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MessageConverter messageConverter;
+
+    public EventOutbox(JdbcTemplate jdbcTemplate, MessageConverter messageConverter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.messageConverter = messageConverter;
+    }
+
+    /**
+     * Stores an event to be published to an exchange
+     *
+     * @param exchange The exchange to publish to
+     * @param routingKey The routing key of the message
+     * @param event The event, converted to the message body
+     * @return Id of the outbox row, sent as the message id
+     */
+    public UUID append(String exchange, String routingKey, Object event) {
+        Objects.requireNonNull(event, "Event cannot be null");
+        Message message = messageConverter.toMessage(event, new MessageProperties());
+        Object typeId = message.getMessageProperties().getHeader(OutboxRelay.TYPE_ID_HEADER);
+
+        UUID id = Ids.next();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(INSERT_SQL,
+                id,
+                exchange,
+                routingKey,
+                typeId != null ? typeId.toString() : event.getClass().getName(),
+                new String(message.getBody(), StandardCharsets.UTF_8),
+                now,
+                now);
+        return id;
+    }
+}
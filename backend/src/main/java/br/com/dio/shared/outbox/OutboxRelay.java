@@ -0,0 +1,264 @@
+package br.com.dio.shared.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the events of the event_outbox table to RabbitMQ
+ *
+ * Each batch is claimed with {@code FOR UPDATE SKIP LOCKED} in its own transaction,
+ * so several instances relay in parallel without publishing the same row twice while
+ * it is locked. The whole batch is sent before waiting for the publisher confirms;
+ * confirmed rows are deleted, the others are kept with their error and retried after a
+ * backoff that doubles per attempt. A row is deleted only after the broker confirmed
+ * it, so an event may be published twice (e.g. when the transaction fails after the
+ * confirm) but never lost: consumers can use the message id, which is the row id, to
+ * drop duplicates. Rows are claimed in id order; events relayed by different
+ * instances or retried may arrive out of order.
+ *
+ * Metrics: {@code warehouse.outbox.relayed} and {@code warehouse.outbox.failed} count
+ * published and failed attempts, {@code warehouse.outbox.lag} times each event from
+ * commit to confirm, and {@code warehouse.outbox.pending} and
+ * {@code warehouse.outbox.oldest.age} show the backlog as of the last
+ * {@link #refreshBacklog()}.
+ *
+ * @author Franklin Canduri
+ */
+@Slf4j
+public class OutboxRelay {
+
+    static final String TYPE_ID_HEADER = "__TypeId__";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final String CLAIM_SQL = """
+            SELECT id, exchange, routing_key, type_id, payload, created_at, attempts
+            FROM event_outbox
+            WHERE next_attempt_at <= ?
+            ORDER BY next_attempt_at, id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM event_outbox WHERE id = ?";
+
+    private static final String RETRY_SQL = """
+            UPDATE event_outbox
+            SET attempts = attempts + 1, next_attempt_at = ?, last_error = ?
+            WHERE id = ?
+            """;
+
+    private static final String BACKLOG_SQL = "SELECT COUNT(*), MIN(created_at) FROM event_outbox";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RabbitTemplate rabbitTemplate;
+    private final int batchSize;
+    private final Duration confirmTimeout;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final Counter relayed;
+    private final Counter failed;
+    private final Timer lag;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestCreatedAtMillis = new AtomicLong();
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                       RabbitTemplate rabbitTemplate, MeterRegistry meterRegistry, int batchSize,
+                       Duration confirmTimeout, Duration backoff, Duration maxBackoff) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Outbox relay batch size must be positive");
+        }
+        if (confirmTimeout.isNegative() || confirmTimeout.isZero()) {
+            throw new IllegalArgumentException("Outbox relay confirm timeout must be positive");
+        }
+        if (backoff.isNegative() || backoff.isZero() || maxBackoff.compareTo(backoff) < 0) {
+            throw new IllegalArgumentException("Outbox relay backoff must be positive and at most max-backoff");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rabbitTemplate = rabbitTemplate;
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+        this.relayed = meterRegistry.counter("warehouse.outbox.relayed");
+        this.failed = meterRegistry.counter("warehouse.outbox.failed");
+        this.lag = Timer.builder("warehouse.outbox.lag")
+                .description("Time from an event's commit to its publisher confirm")
+                .register(meterRegistry);
+        meterRegistry.gauge("warehouse.outbox.pending", pending);
+        TimeGauge.builder("warehouse.outbox.oldest.age", this, TimeUnit.MILLISECONDS, OutboxRelay::oldestAgeMillis)
+                .description("Age of the oldest event in the outbox")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publishes the next batch of due events
+     *
+     * @return Number of events claimed; fewer than the batch size when the outbox is drained
+     */
+    public int relayBatch() {
+        Integer claimed = transactionTemplate.execute(_ -> {
+            List<OutboxRow> rows = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new OutboxRow(
+                    rs.getObject("id", UUID.class),
+                    rs.getString("exchange"),
+                    rs.getString("routing_key"),
+                    rs.getString("type_id"),
+                    rs.getString("payload"),
+                    rs.getTimestamp("created_at").toLocalDateTime(),
+                    rs.getInt("attempts")),
+                    Timestamp.valueOf(LocalDateTime.now()), batchSize);
+            if (!rows.isEmpty()) {
+                publish(rows);
+            }
+            return rows.size();
+        });
+        return claimed != null ? claimed : 0;
+    }
+
+    /**
+     * Publishes due events batch after batch until a batch comes back short
+     *
+     * @param maxBatches Most batches to relay
+     * @return Number of events claimed
+     */
+    public long drain(int maxBatches) {
+        long claimed = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int size = relayBatch();
+            claimed += size;
+            if (size < batchSize) {
+                break;
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Measures the number of events waiting and the age of the oldest one
+     */
+    public void refreshBacklog() {
+        jdbcTemplate.query(BACKLOG_SQL, rs -> {
+            pending.set(rs.getLong(1));
+            Timestamp oldest = rs.getTimestamp(2);
+            oldestCreatedAtMillis.set(oldest != null ? oldest.getTime() : 0);
+        });
+    }
+
+    private void publish(List<OutboxRow> rows) {
+        List<CorrelationData> confirms = new ArrayList<>(rows.size());
+        String sendError = null;
+        for (OutboxRow row : rows) {
+            if (sendError != null) {
+                confirms.add(null);
+                continue;
+            }
+            CorrelationData correlation = new CorrelationData(row.id().toString());
+            try {
+                rabbitTemplate.send(row.exchange(), row.routingKey(), row.toMessage(), correlation);
+                confirms.add(correlation);
+            } catch (AmqpException e) {
+                // The connection is gone: leave the rest of the batch for the retry
+                sendError = "Send failed: " + e.getMessage();
+                confirms.add(null);
+            }
+        }
+
+        long deadline = System.nanoTime() + confirmTimeout.toNanos();
+        List<Object[]> published = new ArrayList<>();
+        List<Object[]> retries = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < rows.size(); i++) {
+            OutboxRow row = rows.get(i);
+            CorrelationData correlation = confirms.get(i);
+            String error = correlation != null ? awaitConfirm(correlation, deadline) : sendError;
+            if (error == null) {
+                published.add(new Object[] {row.id()});
+                lag.record(Duration.between(row.createdAt(), LocalDateTime.now()));
+            } else {
+                retries.add(new Object[] {
+                        Timestamp.valueOf(now.plus(backoffAfter(row.attempts()))),
+                        error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error,
+                        row.id()});
+            }
+        }
+
+        if (!published.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_SQL, published);
+            relayed.increment(published.size());
+        }
+        if (!retries.isEmpty()) {
+            jdbcTemplate.batchUpdate(RETRY_SQL, retries);
+            failed.increment(retries.size());
+            log.warn("Failed to publish {} of {} outbox events, first error: {}",
+                    retries.size(), rows.size(), retries.getFirst()[1]);
+        }
+    }
+
+    /**
+     * @return null when the broker acked the message, otherwise why it was not published
+     */
+    private static String awaitConfirm(CorrelationData correlation, long deadline) {
+        try {
+            CorrelationData.Confirm confirm = correlation.getFuture()
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return confirm.isAck() ? null : "Nacked by the broker: " + confirm.getReason();
+        } catch (TimeoutException e) {
+            return "No publisher confirm within the timeout";
+        } catch (ExecutionException e) {
+            return "Confirm failed: " + e.getCause().getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Interrupted while waiting for the publisher confirm";
+        }
+    }
+
+    private Duration backoffAfter(int attempts) {
+        int doublings = Math.min(attempts, 30);
+        Duration delay = backoff.multipliedBy(1L << doublings);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private double oldestAgeMillis() {
+        long oldest = oldestCreatedAtMillis.get();
+        return oldest == 0 ? 0 : Math.max(0, System.currentTimeMillis() - oldest);
+    }
+
+    private record OutboxRow(UUID id, String exchange, String routingKey, String typeId, String payload,
+                             LocalDateTime createdAt, int attempts) {
+
+        Message toMessage() {
+            MessageProperties properties = new MessageProperties();
+            properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+            properties.setContentEncoding(StandardCharsets.UTF_8.name());
+            properties.setMessageId(id.toString());
+            properties.setTimestamp(Timestamp.valueOf(createdAt));
+            properties.setHeader(TYPE_ID_HEADER, typeId);
+            return new Message(payload.getBytes(StandardCharsets.UTF_8), properties);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package br.com.dio.shared.timer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel that hands items to a callback in batches once their deadline passes
+ *
+ * Deadlines are rounded up to the next tick and placed in one of {@code slots} buckets;
+ * a single thread advances one bucket per tick and expires what is due in it, so
+ * scheduling and expiring are O(1) no matter how many items are waiting. Items due in
+ * the same tick are delivered together, in chunks of at most {@code maxBatchSize}. Items
+ * whose callback fails are retried on the next tick.
+ *
+ * @param <T> the scheduled item
+ * @author Franklin Canduri
+ */
+public final class TimerWheel<T> implements AutoCloseable {
+
+    private final long tickNanos;
+    private final int mask;
+    private final int maxBatchSize;
+    private final Consumer<List<T>> onExpired;
+    private final List<ArrayDeque<Timeout<T>>> wheel;
+    private final Queue<Timeout<T>> scheduled = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private final long startNanos;
+    private volatile boolean stopped;
+    private long tick;
+
+    /**
+     * @param tick         resolution of the deadlines
+     * @param slots        buckets of the wheel, rounded up to a power of two
+     * @param maxBatchSize largest list handed to {@code onExpired}
+     * @param onExpired    receives the expired items, on the wheel thread
+     */
+    public TimerWheel(String name, Duration tick, int slots, int maxBatchSize, Consumer<List<T>> onExpired) {
+        if (tick.toMillis() < 1) {
+            throw new IllegalArgumentException("Tick must be at least one millisecond");
+        }
+        if (slots <= 0 || slots > 1 << 20) {
+            throw new IllegalArgumentException("Slots must be between 1 and " + (1 << 20));
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        int size = Integer.highestOneBit(slots) == slots ? slots : Integer.highestOneBit(slots) << 1;
+        this.tickNanos = tick.toNanos();
+        this.mask = size - 1;
+        this.maxBatchSize = maxBatchSize;
+        this.onExpired = Objects.requireNonNull(onExpired, "Callback cannot be null");
+        this.wheel = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            wheel.add(new ArrayDeque<>());
+        }
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Hands {@code item} to the callback on the first tick at or after {@code deadline};
+     * deadlines in the past expire on the next tick
+     */
+    public void schedule(T item, Instant deadline) {
+        Objects.requireNonNull(item, "Item cannot be null");
+        long delayNanos = Duration.between(Instant.now(), deadline).toNanos();
+        scheduled.add(new Timeout<>(item, System.nanoTime() - startNanos + Math.max(delayNanos, 0)));
+    }
+
+    /**
+     * Stops the wheel; items still waiting are dropped
+     */
+    @Override
+    public void close() {
+        stopped = true;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (!stopped) {
+            long deadline = (tick + 1) * tickNanos;
+            long sleepNanos = deadline - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (stopped) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+            placeScheduled();
+            expire(wheel.get((int) (tick & mask)));
+            tick++;
+        }
+    }
+
+    /**
+     * Moves newly scheduled items into the bucket of their deadline tick
+     */
+    private void placeScheduled() {
+        Timeout<T> timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            // Round up, and never into a tick that has already passed
+            long dueTick = Math.max((timeout.deadlineNanos + tickNanos - 1) / tickNanos, tick);
+            timeout.rounds = (dueTick - tick) / wheel.size();
+            wheel.get((int) (dueTick & mask)).add(timeout);
+        }
+    }
+
+    private void expire(ArrayDeque<Timeout<T>> bucket) {
+        List<T> batch = new ArrayList<>();
+        Iterator<Timeout<T>> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout<T> timeout = iterator.next();
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+                continue;
+            }
+            iterator.remove();
+            batch.add(timeout.item);
+            if (batch.size() == maxBatchSize) {
+                deliver(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            deliver(batch);
+        }
+    }
+
+    private void deliver(List<T> batch) {
+        try {
+            onExpired.accept(batch);
+        } catch (RuntimeException e) {
+            long retryNanos = (tick + 1) * tickNanos;
+            for (T item : batch) {
+                scheduled.add(new Timeout<>(item, retryNanos));
+            }
+        }
+    }
+
+    private static final class Timeout<T> {
+
+        private final T item;
+        private final long deadlineNanos;
+        private long rounds;
+
+        private Timeout(T item, long deadlineNanos) {
+            this.item = item;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
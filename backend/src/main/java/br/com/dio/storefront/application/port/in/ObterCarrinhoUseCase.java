@@ -1,6 +1,7 @@
 package br.com.dio.storefront.application.port.in;
 
 import br.com.dio.storefront.domain.model.CarrinhoCompras;
+import br.com.dio.storefront.domain.valueobject.ResumoCarrinho;
 import java.util.UUID;
 
 /**
@@ -20,4 +21,14 @@ public interface ObterCarrinhoUseCase {
      * @throws br.com.dio.storefront.domain.exception.ClienteNaoEncontradoException se cliente não existe
      */
     CarrinhoCompras obter(UUID clienteId);
+    
+    /**
+     * Obtém o valor total e a quantidade de itens do carrinho ativo do cliente,
+     * sem carregar os itens.
+     * 
+     * @param clienteId ID do cliente
+     * @return Resumo do carrinho ativo
+     * @throws br.com.dio.storefront.domain.exception.CarrinhoNaoEncontradoException se não há carrinho ativo
+     */
+    ResumoCarrinho obterResumo(UUID clienteId);
 }
@@ -7,6 +7,7 @@ import br.com.dio.storefront.domain.event.*;
 import br.com.dio.storefront.domain.exception.*;
 import br.com.dio.storefront.domain.model.*;
 import br.com.dio.storefront.domain.repository.*;
+import br.com.dio.storefront.domain.valueobject.ResumoCarrinho;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +23,10 @@ import java.util.UUID;
  * - Implements Ports In: Use Cases
  * - Depends on Ports Out: PublicarEventoPort, ValidarEstoquePort
  * 
+ * As operações que alteram o carrinho o carregam com bloqueio de linha: os totais
+ * gravados são somados a cada alteração, e duas alterações concorrentes sem bloqueio
+ * perderiam uma das somas.
+ * 
  * @author Franklin Canduri
  * @since 15/10/2025
  */
@@ -64,7 +69,7 @@ public class CarrinhoService implements
         Cliente cliente = clienteRepository.findById(command.clienteId())
                 .orElseThrow(() -> new ClienteNaoEncontradoException(command.clienteId()));
         
-        CarrinhoCompras carrinho = carrinhoRepository.findByClienteIdAndStatus(
+        CarrinhoCompras carrinho = carrinhoRepository.findForUpdateByClienteIdAndStatus(
                         command.clienteId(), 
                         CarrinhoCompras.StatusCarrinho.ATIVO)
                 .orElseGet(() -> {
@@ -154,6 +159,17 @@ public class CarrinhoService implements
                 });
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public ResumoCarrinho obterResumo(UUID clienteId) {
+        Objects.requireNonNull(clienteId, "ID do cliente não pode ser null");
+        
+        return carrinhoRepository.findResumoByClienteIdAndStatus(
+                        clienteId, 
+                        CarrinhoCompras.StatusCarrinho.ATIVO)
+                .orElseThrow(() -> new CarrinhoNaoEncontradoException(clienteId));
+    }
+    
     @Override
     public UUID finalizar(FinalizarCarrinhoCommand command) {
         Objects.requireNonNull(command, "Command não pode ser null");
@@ -219,10 +235,10 @@ public class CarrinhoService implements
     }
     
     /**
-     * Helper para buscar carrinho ativo do cliente.
+     * Helper para buscar e bloquear o carrinho ativo do cliente.
      */
     private CarrinhoCompras buscarCarrinhoAtivo(UUID clienteId) {
-        return carrinhoRepository.findByClienteIdAndStatus(
+        return carrinhoRepository.findForUpdateByClienteIdAndStatus(
                         clienteId, 
                         CarrinhoCompras.StatusCarrinho.ATIVO)
                 .orElseThrow(() -> new CarrinhoNaoEncontradoException(clienteId));
@@ -4,6 +4,8 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 
+import br.com.dio.shared.identity.Ids;
+
 /**
  * Domain Event emitido quando um carrinho é finalizado (checkout).
  * Marca o fim do processo de compra no carrinho antes da criação do pedido.
@@ -35,7 +37,7 @@ public class CarrinhoFinalizadoEvent implements StorefrontDomainEvent {
      * @param quantidadeTotalItens Quantidade total de itens no carrinho
      */
     public CarrinhoFinalizadoEvent(UUID carrinhoId, UUID clienteId, int quantidadeTotalItens) {
-        this.eventoId = UUID.randomUUID();
+        this.eventoId = Ids.next();
         this.ocorridoEm = LocalDateTime.now();
         this.tipo = "CarrinhoFinalizadoEvent";
         this.carrinhoId = carrinhoId;
@@ -4,6 +4,8 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 
+import br.com.dio.shared.identity.Ids;
+
 /**
  * Domain Event emitido quando um cliente é cadastrado.
  * Útil para notificações de boas-vindas e integração com outros sistemas.
@@ -38,7 +40,7 @@ public class ClienteCadastradoEvent implements StorefrontDomainEvent {
      * @param cpf CPF do cliente
      */
     public ClienteCadastradoEvent(UUID clienteId, String nomeCompleto, String email, String cpf) {
-        this.eventoId = UUID.randomUUID();
+        this.eventoId = Ids.next();
         this.ocorridoEm = LocalDateTime.now();
         this.tipo = "ClienteCadastradoEvent";
         this.clienteId = clienteId;
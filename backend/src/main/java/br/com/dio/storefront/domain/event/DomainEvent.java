@@ -5,6 +5,8 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 
+import br.com.dio.shared.identity.Ids;
+
 /**
  * Classe base abstrata para todos os Domain Events do Storefront.
  * 
@@ -30,7 +32,7 @@ public abstract class DomainEvent implements Serializable {
      * @param tipoEvento Tipo do evento (nome da classe)
      */
     protected DomainEvent(String tipoEvento) {
-        this.eventoId = UUID.randomUUID();
+        this.eventoId = Ids.next();
         this.ocorridoEm = LocalDateTime.now();
         this.tipoEvento = tipoEvento;
     }
@@ -3,6 +3,8 @@ package br.com.dio.storefront.domain.event;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import br.com.dio.shared.identity.Ids;
+
 /**
  * Evento de domínio disparado quando o pagamento de um pedido é confirmado.
  * Este evento será enviado para o módulo Warehouse para iniciar a preparação.
@@ -15,7 +17,7 @@ public class PagamentoConfirmadoEvent implements StorefrontDomainEvent {
     private final String numeroPedido;
 
     public PagamentoConfirmadoEvent(UUID pedidoId, String numeroPedido) {
-        this.eventoId = UUID.randomUUID();
+        this.eventoId = Ids.next();
         this.ocorridoEm = LocalDateTime.now();
         this.pedidoId = pedidoId;
         this.numeroPedido = numeroPedido;
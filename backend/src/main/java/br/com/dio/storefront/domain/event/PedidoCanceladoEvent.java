@@ -3,6 +3,8 @@ package br.com.dio.storefront.domain.event;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import br.com.dio.shared.identity.Ids;
+
 /**
  * Evento de domínio disparado quando um pedido é cancelado.
  */
@@ -15,7 +17,7 @@ public class PedidoCanceladoEvent implements StorefrontDomainEvent {
     private final String motivo;
 
     public PedidoCanceladoEvent(UUID pedidoId, String numeroPedido, String motivo) {
-        this.eventoId = UUID.randomUUID();
+        this.eventoId = Ids.next();
         this.ocorridoEm = LocalDateTime.now();
         this.pedidoId = pedidoId;
         this.numeroPedido = numeroPedido;
@@ -3,6 +3,8 @@ package br.com.dio.storefront.domain.event;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import br.com.dio.shared.identity.Ids;
+
 /**
  * Evento de domínio disparado quando um pedido é criado.
  * Este evento será enviado para o módulo Warehouse via RabbitMQ.
@@ -19,7 +21,7 @@ public class PedidoCriadoEvent implements StorefrontDomainEvent {
 
     public PedidoCriadoEvent(UUID pedidoId, String numeroPedido, UUID clienteId, 
                              String nomeCliente, String emailCliente) {
-        this.eventoId = UUID.randomUUID();
+        this.eventoId = Ids.next();
         this.ocorridoEm = LocalDateTime.now();
         this.pedidoId = pedidoId;
         this.numeroPedido = numeroPedido;
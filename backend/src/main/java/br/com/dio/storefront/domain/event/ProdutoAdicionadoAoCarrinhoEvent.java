@@ -4,6 +4,8 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 
+import br.com.dio.shared.identity.Ids;
+
 /**
  * Domain Event emitido quando um produto é adicionado ao carrinho.
  * Útil para analytics, recomendações e detecção de carrinhos abandonados.
@@ -40,7 +42,7 @@ public class ProdutoAdicionadoAoCarrinhoEvent implements StorefrontDomainEvent {
      */
     public ProdutoAdicionadoAoCarrinhoEvent(UUID carrinhoId, UUID clienteId,
                                            UUID produtoId, String nomeProduto, int quantidade) {
-        this.eventoId = UUID.randomUUID();
+        this.eventoId = Ids.next();
         this.ocorridoEm = LocalDateTime.now();
         this.tipo = "ProdutoAdicionadoAoCarrinhoEvent";
         this.carrinhoId = carrinhoId;
@@ -1,24 +1,32 @@
 package br.com.dio.storefront.domain.model;
 
+import br.com.dio.shared.identity.GeneratedUuid;
+import br.com.dio.shared.identity.Ids;
 import br.com.dio.storefront.domain.valueobject.Dinheiro;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
 /**
  * Entidade que representa um Carrinho de Compras.
  * Aggregate Root do contexto de Carrinho.
+ * 
+ * O valor total e a quantidade total são mantidos a cada alteração dos itens e
+ * gravados na própria linha do carrinho, então ler o total não percorre os itens.
+ * Os itens são encontrados pelo ID do produto através de um índice em memória.
  */
 @Entity
 @Table(name = "carrinhos_compras")
 public class CarrinhoCompras {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuid
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -26,9 +34,22 @@ public class CarrinhoCompras {
     private Cliente cliente;
 
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "carrinho_id")
+    @JoinColumn(name = "carrinho_id", nullable = false)
     private List<ItemCarrinho> itens = new ArrayList<>();
 
+    @Embedded
+    @AttributeOverride(name = "valor", column = @Column(name = "valor_total", nullable = false))
+    private Dinheiro valorTotal = Dinheiro.zero();
+
+    @Column(name = "quantidade_total", nullable = false)
+    private int quantidadeTotal;
+
+    /**
+     * Itens por ID do produto, montado no primeiro acesso após o carregamento.
+     */
+    @Transient
+    private Map<UUID, ItemCarrinho> itensPorProduto;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private StatusCarrinho status;
@@ -52,9 +73,10 @@ public class CarrinhoCompras {
         if (cliente == null) {
             throw new IllegalArgumentException("Cliente não pode ser nulo");
         }
-        this.id = UUID.randomUUID();
+        this.id = Ids.next();
         this.cliente = cliente;
         this.itens = new ArrayList<>();
+        this.itensPorProduto = new HashMap<>();
         this.status = StatusCarrinho.ATIVO;
         this.criadoEm = LocalDateTime.now();
         this.atualizadoEm = LocalDateTime.now();
@@ -79,10 +101,13 @@ public class CarrinhoCompras {
         if (itemExistente != null) {
             // Se já existe, incrementa a quantidade
             itemExistente.incrementarQuantidade(quantidade);
+            somarAosTotais(itemExistente.getPrecoUnitario().multiplicar(quantidade), quantidade);
         } else {
             // Se não existe, cria novo item
             ItemCarrinho novoItem = ItemCarrinho.criar(produto, quantidade);
             itens.add(novoItem);
+            itensPorProduto().put(produto.getId(), novoItem);
+            somarAosTotais(novoItem.calcularSubtotal(), quantidade);
         }
         
         this.atualizadoEm = LocalDateTime.now();
@@ -99,7 +124,7 @@ public class CarrinhoCompras {
             throw new IllegalArgumentException("Produto não encontrado no carrinho");
         }
         
-        itens.remove(item);
+        retirarItem(produtoId, item);
         this.atualizadoEm = LocalDateTime.now();
     }
 
@@ -116,9 +141,13 @@ public class CarrinhoCompras {
         
         if (novaQuantidade <= 0) {
             // Se nova quantidade é zero ou negativa, remove o item
-            itens.remove(item);
+            retirarItem(produtoId, item);
         } else {
+            Dinheiro subtotalAnterior = item.calcularSubtotal();
+            int quantidadeAnterior = item.getQuantidade();
             item.atualizarQuantidade(novaQuantidade);
+            subtrairDosTotais(subtotalAnterior, quantidadeAnterior);
+            somarAosTotais(item.calcularSubtotal(), novaQuantidade);
         }
         
         this.atualizadoEm = LocalDateTime.now();
@@ -130,6 +159,9 @@ public class CarrinhoCompras {
     public void limpar() {
         validarCarrinhoAtivo();
         itens.clear();
+        itensPorProduto().clear();
+        this.valorTotal = Dinheiro.zero();
+        this.quantidadeTotal = 0;
         this.atualizadoEm = LocalDateTime.now();
     }
 
@@ -164,7 +196,9 @@ public class CarrinhoCompras {
         
         for (ItemCarrinho item : itens) {
             if (item.precoMudou()) {
+                subtrairDosTotais(item.calcularSubtotal(), 0);
                 item.atualizarPreco();
+                somarAosTotais(item.calcularSubtotal(), 0);
             }
         }
         
@@ -172,21 +206,17 @@ public class CarrinhoCompras {
     }
 
     /**
-     * Calcula o valor total do carrinho.
+     * Retorna o valor total do carrinho, mantido a cada alteração dos itens.
      */
     public Dinheiro calcularTotal() {
-        return itens.stream()
-                .map(ItemCarrinho::calcularSubtotal)
-                .reduce(Dinheiro.zero(), Dinheiro::adicionar);
+        return valorTotal;
     }
 
     /**
-     * Calcula a quantidade total de itens no carrinho.
+     * Retorna a quantidade total de itens no carrinho, mantida a cada alteração dos itens.
      */
     public int calcularQuantidadeTotal() {
-        return itens.stream()
-                .mapToInt(ItemCarrinho::getQuantidade)
-                .sum();
+        return quantidadeTotal;
     }
 
     /**
@@ -207,10 +237,40 @@ public class CarrinhoCompras {
      * Busca um item no carrinho por ID do produto.
      */
     private ItemCarrinho buscarItemPorProduto(UUID produtoId) {
-        return itens.stream()
-                .filter(item -> item.ehDoProduto(produtoId))
-                .findFirst()
-                .orElse(null);
+        return itensPorProduto().get(produtoId);
+    }
+
+    /**
+     * Índice dos itens por ID do produto.
+     * O ID vem do proxy do produto, sem carregá-lo.
+     */
+    private Map<UUID, ItemCarrinho> itensPorProduto() {
+        if (itensPorProduto == null) {
+            itensPorProduto = new HashMap<>();
+            for (ItemCarrinho item : itens) {
+                itensPorProduto.put(item.getProduto().getId(), item);
+            }
+        }
+        return itensPorProduto;
+    }
+
+    /**
+     * Remove o item da lista, do índice e dos totais.
+     */
+    private void retirarItem(UUID produtoId, ItemCarrinho item) {
+        itens.remove(item);
+        itensPorProduto().remove(produtoId);
+        subtrairDosTotais(item.calcularSubtotal(), item.getQuantidade());
+    }
+
+    private void somarAosTotais(Dinheiro valor, int quantidade) {
+        this.valorTotal = valorTotal.adicionar(valor);
+        this.quantidadeTotal += quantidade;
+    }
+
+    private void subtrairDosTotais(Dinheiro valor, int quantidade) {
+        this.valorTotal = valorTotal.subtrair(valor);
+        this.quantidadeTotal -= quantidade;
     }
 
     /**
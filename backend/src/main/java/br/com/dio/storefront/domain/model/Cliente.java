@@ -1,5 +1,7 @@
 package br.com.dio.storefront.domain.model;
 
+import br.com.dio.shared.identity.GeneratedUuid;
+import br.com.dio.shared.identity.Ids;
 import br.com.dio.storefront.domain.valueobject.Endereco;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
@@ -15,7 +17,7 @@ import java.util.UUID;
 public class Cliente {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuid
     private UUID id;
 
     @Column(nullable = false, length = 200)
@@ -62,7 +64,7 @@ public class Cliente {
      */
     private Cliente(String nome, String email, String cpf, String telefone, Endereco endereco) {
         validar(nome, email, cpf);
-        this.id = UUID.randomUUID();
+        this.id = Ids.next();
         this.nome = nome;
         this.email = email;
         this.cpf = limparCpf(cpf);
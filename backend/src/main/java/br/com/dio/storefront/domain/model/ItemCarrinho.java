@@ -1,5 +1,7 @@
 package br.com.dio.storefront.domain.model;
 
+import br.com.dio.shared.identity.GeneratedUuid;
+import br.com.dio.shared.identity.Ids;
 import br.com.dio.storefront.domain.valueobject.Dinheiro;
 import jakarta.persistence.*;
 import java.util.Objects;
@@ -14,7 +16,7 @@ import java.util.UUID;
 public class ItemCarrinho {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuid
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -39,7 +41,7 @@ public class ItemCarrinho {
      */
     private ItemCarrinho(Produto produto, Integer quantidade) {
         validar(produto, quantidade);
-        this.id = UUID.randomUUID();
+        this.id = Ids.next();
         this.produto = produto;
         this.quantidade = quantidade;
         this.precoUnitario = produto.getPreco();
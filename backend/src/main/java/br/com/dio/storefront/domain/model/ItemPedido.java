@@ -1,5 +1,7 @@
 package br.com.dio.storefront.domain.model;
 
+import br.com.dio.shared.identity.GeneratedUuid;
+import br.com.dio.shared.identity.Ids;
 import br.com.dio.storefront.domain.valueobject.Dinheiro;
 import jakarta.persistence.*;
 import java.util.Objects;
@@ -14,7 +16,7 @@ import java.util.UUID;
 public class ItemPedido {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuid
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -45,7 +47,7 @@ public class ItemPedido {
      */
     private ItemPedido(Produto produto, Integer quantidade, Dinheiro precoUnitario) {
         validar(produto, quantidade, precoUnitario);
-        this.id = UUID.randomUUID();
+        this.id = Ids.next();
         this.produto = produto;
         this.nomeProduto = produto.getNome(); // Snapshot
         this.quantidade = quantidade;
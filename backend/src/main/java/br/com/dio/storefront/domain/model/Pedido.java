@@ -7,6 +7,8 @@ import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
+import br.com.dio.shared.identity.GeneratedUuid;
+import br.com.dio.shared.identity.Ids;
 import br.com.dio.storefront.domain.valueobject.Dinheiro;
 import br.com.dio.storefront.domain.valueobject.Endereco;
 import br.com.dio.storefront.domain.valueobject.InformacaoPagamento;
@@ -19,8 +21,6 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -38,7 +38,7 @@ import jakarta.persistence.Transient;
 public class Pedido {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuid
     private UUID id;
 
     @Column(nullable = false, unique = true, length = 20)
@@ -108,7 +108,7 @@ public class Pedido {
     private Pedido(Cliente cliente, List<ItemPedido> itens, Endereco enderecoEntrega, 
                    InformacaoPagamento informacaoPagamento, String observacoes) {
         validar(cliente, itens, enderecoEntrega, informacaoPagamento);
-        this.id = UUID.randomUUID();
+        this.id = Ids.next();
         this.numeroPedido = gerarNumeroPedido();
         this.cliente = cliente;
         this.itens = new ArrayList<>(itens);
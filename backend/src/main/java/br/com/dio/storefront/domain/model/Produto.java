@@ -1,5 +1,7 @@
 package br.com.dio.storefront.domain.model;
 
+import br.com.dio.shared.identity.GeneratedUuid;
+import br.com.dio.shared.identity.Ids;
 import br.com.dio.storefront.domain.valueobject.Dinheiro;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
@@ -15,7 +17,7 @@ import java.util.UUID;
 public class Produto {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuid
     private UUID id;
 
     @Column(nullable = false, length = 200)
@@ -58,7 +60,7 @@ public class Produto {
     private Produto(String nome, String descricao, Dinheiro preco, 
                     Integer quantidadeEstoque, String categoria, String imagemUrl) {
         validar(nome, preco, quantidadeEstoque);
-        this.id = UUID.randomUUID();
+        this.id = Ids.next();
         this.nome = nome;
         this.descricao = descricao;
         this.preco = preco;
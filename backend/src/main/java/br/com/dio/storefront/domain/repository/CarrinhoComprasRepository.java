@@ -1,6 +1,7 @@
 package br.com.dio.storefront.domain.repository;
 
 import br.com.dio.storefront.domain.model.CarrinhoCompras;
+import br.com.dio.storefront.domain.valueobject.ResumoCarrinho;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -28,6 +29,21 @@ public interface CarrinhoComprasRepository {
             UUID clienteId, 
             CarrinhoCompras.StatusCarrinho status);
 
+    /**
+     * Busca um carrinho de um cliente por status e bloqueia a linha até o fim da
+     * transação, para alterar os itens e os totais sem perder alterações concorrentes.
+     */
+    Optional<CarrinhoCompras> findForUpdateByClienteIdAndStatus(
+            UUID clienteId,
+            CarrinhoCompras.StatusCarrinho status);
+
+    /**
+     * Busca o resumo do carrinho de um cliente por status, sem carregar os itens.
+     */
+    Optional<ResumoCarrinho> findResumoByClienteIdAndStatus(
+            UUID clienteId,
+            CarrinhoCompras.StatusCarrinho status);
+
     /**
      * Verifica se um carrinho existe.
      */
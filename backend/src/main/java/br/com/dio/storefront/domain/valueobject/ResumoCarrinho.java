@@ -0,0 +1,20 @@
+package br.com.dio.storefront.domain.valueobject;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Resumo de um carrinho de compras: totais sem os itens.
+ * Lido diretamente das colunas de totais do carrinho.
+ * 
+ * @author Franklin Canduri
+ * @since 15/10/2025
+ */
+public record ResumoCarrinho(
+        UUID carrinhoId,
+        UUID clienteId,
+        Dinheiro valorTotal,
+        int quantidadeTotal,
+        LocalDateTime atualizadoEm
+) {
+}
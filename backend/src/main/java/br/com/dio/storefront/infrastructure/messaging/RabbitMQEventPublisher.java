@@ -2,20 +2,18 @@ package br.com.dio.storefront.infrastructure.messaging;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-
+import br.com.dio.shared.outbox.EventOutbox;
 import br.com.dio.storefront.application.port.out.PublicarEventoPort;
 import br.com.dio.storefront.domain.event.StorefrontDomainEvent;
 
 /**
  * Implementação de PublicarEventoPort usando RabbitMQ.
- * Publica Domain Events para message broker.
+ * Publica Domain Events para message broker através do outbox transacional:
+ * o evento é gravado em event_outbox na transação de quem publica e o
+ * OutboxRelay o envia depois do commit.
  * 
  * @author Franklin Canduri
  * @since 15/10/2025
@@ -25,33 +23,24 @@ public class RabbitMQEventPublisher implements PublicarEventoPort {
     
     private static final Logger logger = LoggerFactory.getLogger(RabbitMQEventPublisher.class);
     
-    private final RabbitTemplate rabbitTemplate;
-    private final ObjectMapper objectMapper;
+    private final EventOutbox eventOutbox;
     
     @Value("${rabbitmq.exchange.storefront:storefront.events}")
     private String exchange;
     
-    public RabbitMQEventPublisher(RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
+    public RabbitMQEventPublisher(EventOutbox eventOutbox) {
+        this.eventOutbox = eventOutbox;
     }
     
     @Override
     public void publicar(StorefrontDomainEvent evento) {
-        try {
-            String routingKey = gerarRoutingKey(evento);
-            String mensagemJson = objectMapper.writeValueAsString(evento);
-            
-            rabbitTemplate.convertAndSend(exchange, routingKey, mensagemJson);
-            
-            logger.info("Evento publicado: {} com routing key: {}", 
-                    evento.getClass().getSimpleName(), routingKey);
-            
-        } catch (JsonProcessingException e) {
-            logger.error("Erro ao serializar evento: {}", evento.getClass().getSimpleName(), e);
-            throw new RuntimeException("Erro ao publicar evento", e);
-        }
+        String routingKey = gerarRoutingKey(evento);
+        
+        // Uma falha na gravação desfaz a transação junto com as alterações
+        eventOutbox.append(exchange, routingKey, evento);
+        
+        logger.info("Evento gravado no outbox: {} com routing key: {}", 
+                evento.getClass().getSimpleName(), routingKey);
     }
     
     /**
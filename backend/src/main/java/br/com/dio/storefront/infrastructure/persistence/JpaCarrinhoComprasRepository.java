@@ -2,9 +2,15 @@ package br.com.dio.storefront.infrastructure.persistence;
 
 import br.com.dio.storefront.domain.model.CarrinhoCompras;
 import br.com.dio.storefront.domain.repository.CarrinhoComprasRepository;
+import br.com.dio.storefront.domain.valueobject.ResumoCarrinho;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -16,5 +22,34 @@ import java.util.UUID;
  */
 @Repository
 public interface JpaCarrinhoComprasRepository extends JpaRepository<CarrinhoCompras, UUID>, CarrinhoComprasRepository {
-    // Spring Data JPA implementa automaticamente todos os métodos
+
+    /**
+     * SELECT ... FOR UPDATE: alterações concorrentes do mesmo carrinho esperam umas
+     * pelas outras, então cada uma soma ao total já gravado pela anterior. A consulta
+     * não junta clientes, para que o bloqueio venha na mesma instrução que lê os
+     * totais e não numa instrução seguinte, depois da leitura.
+     */
+    @Override
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT c FROM CarrinhoCompras c
+        WHERE c.cliente.id = :clienteId AND c.status = :status
+        """)
+    Optional<CarrinhoCompras> findForUpdateByClienteIdAndStatus(
+            @Param("clienteId") UUID clienteId,
+            @Param("status") CarrinhoCompras.StatusCarrinho status);
+
+    /**
+     * Lê só as colunas de totais do carrinho; os itens não são consultados.
+     */
+    @Override
+    @Query("""
+        SELECT new br.com.dio.storefront.domain.valueobject.ResumoCarrinho(
+            c.id, c.cliente.id, c.valorTotal, c.quantidadeTotal, c.atualizadoEm)
+        FROM CarrinhoCompras c
+        WHERE c.cliente.id = :clienteId AND c.status = :status
+        """)
+    Optional<ResumoCarrinho> findResumoByClienteIdAndStatus(
+            @Param("clienteId") UUID clienteId,
+            @Param("status") CarrinhoCompras.StatusCarrinho status);
 }
@@ -10,9 +10,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import br.com.dio.shared.idempotency.IdempotentRequests;
 import br.com.dio.storefront.application.port.in.AdicionarProdutoAoCarrinhoUseCase;
 import br.com.dio.storefront.application.port.in.AtualizarQuantidadeCarrinhoUseCase;
 import br.com.dio.storefront.application.port.in.FinalizarCarrinhoUseCase;
@@ -23,8 +25,10 @@ import br.com.dio.storefront.infrastructure.web.dto.request.AdicionarProdutoAoCa
 import br.com.dio.storefront.infrastructure.web.dto.request.AtualizarQuantidadeRequest;
 import br.com.dio.storefront.infrastructure.web.dto.request.FinalizarCarrinhoRequest;
 import br.com.dio.storefront.infrastructure.web.dto.response.CarrinhoResponse;
+import br.com.dio.storefront.infrastructure.web.dto.response.ResumoCarrinhoResponse;
 import br.com.dio.storefront.infrastructure.web.mapper.StorefrontMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 
@@ -46,6 +50,7 @@ public class CarrinhoController {
     private final ObterCarrinhoUseCase obterCarrinhoUseCase;
     private final FinalizarCarrinhoUseCase finalizarCarrinhoUseCase;
     private final StorefrontMapper mapper;
+    private final IdempotentRequests idempotentRequests;
     
     public CarrinhoController(
             AdicionarProdutoAoCarrinhoUseCase adicionarProdutoUseCase,
@@ -53,13 +58,15 @@ public class CarrinhoController {
             AtualizarQuantidadeCarrinhoUseCase atualizarQuantidadeUseCase,
             ObterCarrinhoUseCase obterCarrinhoUseCase,
             FinalizarCarrinhoUseCase finalizarCarrinhoUseCase,
-            StorefrontMapper mapper) {
+            StorefrontMapper mapper,
+            IdempotentRequests idempotentRequests) {
         this.adicionarProdutoUseCase = adicionarProdutoUseCase;
         this.removerProdutoUseCase = removerProdutoUseCase;
         this.atualizarQuantidadeUseCase = atualizarQuantidadeUseCase;
         this.obterCarrinhoUseCase = obterCarrinhoUseCase;
         this.finalizarCarrinhoUseCase = finalizarCarrinhoUseCase;
         this.mapper = mapper;
+        this.idempotentRequests = idempotentRequests;
     }
     
     @GetMapping
@@ -69,6 +76,12 @@ public class CarrinhoController {
         return ResponseEntity.ok(mapper.toResponse(carrinho));
     }
     
+    @GetMapping("/resumo")
+    @Operation(summary = "Obter resumo do carrinho", description = "Retorna o valor total e a quantidade de itens do carrinho ativo, sem os itens")
+    public ResponseEntity<ResumoCarrinhoResponse> obterResumo(@PathVariable UUID clienteId) {
+        return ResponseEntity.ok(mapper.toResponse(obterCarrinhoUseCase.obterResumo(clienteId)));
+    }
+    
     @PostMapping("/itens")
     @Operation(summary = "Adicionar produto ao carrinho", description = "Adiciona um produto ao carrinho do cliente")
     public ResponseEntity<CarrinhoResponse> adicionarProduto(
@@ -127,22 +140,25 @@ public class CarrinhoController {
     }
     
     @PostMapping("/finalizar")
-    @Operation(summary = "Finalizar carrinho (checkout)", description = "Finaliza a compra criando um pedido")
+    @Operation(summary = "Finalizar carrinho (checkout)", description = "Finaliza a compra criando um pedido. Repetições com o mesmo Idempotency-Key retornam o pedido já criado")
     public ResponseEntity<UUID> finalizarCarrinho(
             @PathVariable UUID clienteId,
+            @Parameter(description = "Chave para repetir a requisição sem criar outro pedido") @RequestHeader(value = IdempotentRequests.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody FinalizarCarrinhoRequest request) {
         
-        FinalizarCarrinhoUseCase.FinalizarCarrinhoCommand command =
-                new FinalizarCarrinhoUseCase.FinalizarCarrinhoCommand(
-                        clienteId,
-                        mapper.toDomain(request.enderecoEntrega()),
-                        mapper.toDomain(request.informacaoPagamento())
-                );
-        
-        UUID pedidoId = finalizarCarrinhoUseCase.finalizar(command);
-        
-        return ResponseEntity
-                .created(URI.create("/api/v1/pedidos/" + pedidoId))
-                .body(pedidoId);
+        return idempotentRequests.execute("carrinho.finalizar:" + clienteId, idempotencyKey, request, UUID.class, () -> {
+            FinalizarCarrinhoUseCase.FinalizarCarrinhoCommand command =
+                    new FinalizarCarrinhoUseCase.FinalizarCarrinhoCommand(
+                            clienteId,
+                            mapper.toDomain(request.enderecoEntrega()),
+                            mapper.toDomain(request.informacaoPagamento())
+                    );
+            
+            UUID pedidoId = finalizarCarrinhoUseCase.finalizar(command);
+            
+            return ResponseEntity
+                    .created(URI.create("/api/v1/pedidos/" + pedidoId))
+                    .body(pedidoId);
+        });
     }
 }
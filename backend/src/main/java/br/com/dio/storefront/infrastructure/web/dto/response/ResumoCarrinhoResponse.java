@@ -0,0 +1,20 @@
+package br.com.dio.storefront.infrastructure.web.dto.response;
+
+import br.com.dio.storefront.infrastructure.web.dto.DinheiroDTO;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Response DTO para o resumo do carrinho de compras.
+ * 
+ * @author Franklin Canduri
+ * @since 15/10/2025
+ */
+public record ResumoCarrinhoResponse(
+        UUID id,
+        UUID clienteId,
+        Integer quantidadeTotal,
+        DinheiroDTO valorTotal,
+        LocalDateTime atualizadoEm
+) {
+}
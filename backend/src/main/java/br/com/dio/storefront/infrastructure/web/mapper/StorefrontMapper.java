@@ -132,6 +132,17 @@ public class StorefrontMapper {
         );
     }
     
+    public ResumoCarrinhoResponse toResponse(ResumoCarrinho resumo) {
+        if (resumo == null) return null;
+        return new ResumoCarrinhoResponse(
+                resumo.carrinhoId(),
+                resumo.clienteId(),
+                resumo.quantidadeTotal(),
+                toDTO(resumo.valorTotal()),
+                resumo.atualizadoEm()
+        );
+    }
+    
     // ========== ItemCarrinho ==========
     
     public ItemCarrinhoResponse toResponse(ItemCarrinho item) {
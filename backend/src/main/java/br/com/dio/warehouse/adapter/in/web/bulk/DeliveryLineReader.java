@@ -0,0 +1,206 @@
+package br.com.dio.warehouse.adapter.in.web.bulk;
+
+import br.com.dio.warehouse.adapter.in.web.dto.ReceiveDeliveryRequest;
+import br.com.dio.warehouse.adapter.in.web.mapper.WarehouseMapper;
+import br.com.dio.warehouse.application.port.in.ReceiveDeliveriesUseCase.DeliveryLine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the deliveries of a bulk request one line at a time
+ *
+ * NDJSON lines are objects shaped like {@link ReceiveDeliveryRequest}. CSV input starts
+ * with a header naming the columns totalQuantity, validationDate, totalCost and
+ * profitMarginPercentage, in any order; dates are yyyy-MM-dd. Every line is checked with
+ * the same bean validation and command invariants as a single delivery, and lines that
+ * cannot be parsed or fail them come out rejected instead of ending the read. Blank
+ * lines are skipped. Line numbers count every line read, header included.
+ *
+ * @author Franklin Canduri
+ */
+public class DeliveryLineReader implements Iterator<DeliveryLine> {
+
+    /**
+     * Supported body formats
+     */
+    public enum Format { NDJSON, CSV }
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("totalQuantity", "validationDate", "totalCost", "profitMarginPercentage");
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectReader requestReader;
+    private final Validator validator;
+    private final WarehouseMapper mapper;
+    private int[] csvColumns;
+    private long lineNumber;
+    private boolean done;
+    private DeliveryLine next;
+
+    public DeliveryLineReader(Reader reader, Format format, ObjectMapper objectMapper, Validator validator,
+                              WarehouseMapper mapper) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.format = format;
+        this.requestReader = objectMapper.readerFor(ReceiveDeliveryRequest.class);
+        this.validator = validator;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readNext();
+        }
+        return next != null;
+    }
+
+    @Override
+    public DeliveryLine next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        DeliveryLine line = next;
+        next = null;
+        return line;
+    }
+
+    private DeliveryLine readNext() {
+        String line;
+        while (!done && (line = readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && csvColumns == null) {
+                DeliveryLine header = readHeader(line);
+                if (header != null) {
+                    return header;
+                }
+                continue;
+            }
+            return toDeliveryLine(line);
+        }
+        return null;
+    }
+
+    private String readLine() {
+        try {
+            String line = reader.readLine();
+            if (line != null) {
+                lineNumber++;
+            }
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the bulk delivery body", e);
+        }
+    }
+
+    /**
+     * Maps the required columns to their positions in the header
+     *
+     * @return a rejected line when the header lacks a column; no further line is read then
+     */
+    private DeliveryLine readHeader(String line) {
+        List<String> names = Arrays.stream(line.split(",", -1)).map(DeliveryLineReader::unquote).toList();
+        int[] columns = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = indexOfIgnoreCase(names, CSV_COLUMNS.get(i));
+            if (columns[i] < 0) {
+                done = true;
+                return DeliveryLine.rejected(lineNumber, "CSV header must name the columns " + CSV_COLUMNS);
+            }
+        }
+        csvColumns = columns;
+        return null;
+    }
+
+    private DeliveryLine toDeliveryLine(String line) {
+        ReceiveDeliveryRequest request;
+        try {
+            request = format == Format.NDJSON ? requestReader.readValue(line) : parseCsv(line);
+        } catch (JsonProcessingException e) {
+            return DeliveryLine.rejected(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return DeliveryLine.rejected(lineNumber, e.getMessage());
+        }
+        if (request == null) {
+            return DeliveryLine.rejected(lineNumber, "Line is not a delivery");
+        }
+
+        Set<ConstraintViolation<ReceiveDeliveryRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return DeliveryLine.rejected(lineNumber, violations.stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining("; ")));
+        }
+        try {
+            return DeliveryLine.of(lineNumber, mapper.toCommand(request));
+        } catch (IllegalArgumentException e) {
+            return DeliveryLine.rejected(lineNumber, e.getMessage());
+        }
+    }
+
+    private ReceiveDeliveryRequest parseCsv(String line) {
+        String[] values = line.split(",", -1);
+        int needed = Arrays.stream(csvColumns).max().orElse(0) + 1;
+        if (values.length < needed) {
+            throw new IllegalArgumentException("Expected at least " + needed + " columns but found " + values.length);
+        }
+        return new ReceiveDeliveryRequest(
+                parse(values[csvColumns[0]], "totalQuantity", Long::valueOf),
+                parse(values[csvColumns[1]], "validationDate", LocalDate::parse),
+                parse(values[csvColumns[2]], "totalCost", BigDecimal::new),
+                parse(values[csvColumns[3]], "profitMarginPercentage", BigDecimal::new));
+    }
+
+    private static <T> T parse(String value, String column, Function<String, T> parser) {
+        String text = unquote(value);
+        if (text.isEmpty()) {
+            return null;
+        }
+        try {
+            return parser.apply(text);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + text);
+        }
+    }
+
+    private static String unquote(String value) {
+        String text = value.strip();
+        if (text.length() >= 2 && text.startsWith("\"") && text.endsWith("\"")) {
+            text = text.substring(1, text.length() - 1).strip();
+        }
+        return text;
+    }
+
+    private static int indexOfIgnoreCase(List<String> names, String column) {
+        String wanted = column.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < names.size(); i++) {
+            if (names.get(i).toLowerCase(Locale.ROOT).equals(wanted)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,20 +1,47 @@
 package br.com.dio.warehouse.adapter.in.web.controller;
 
+import br.com.dio.shared.idempotency.IdempotentRequests;
+import br.com.dio.warehouse.adapter.in.web.dto.BasketPageResponse;
+import br.com.dio.warehouse.adapter.in.web.dto.BasketReservationResponse;
+import br.com.dio.warehouse.adapter.in.web.dto.ReserveBasketsRequest;
+import br.com.dio.warehouse.adapter.in.web.dto.BasketResponse;
 import br.com.dio.warehouse.adapter.in.web.dto.SellBasketsRequest;
 import br.com.dio.warehouse.adapter.in.web.dto.SellBasketsResponse;
 import br.com.dio.warehouse.adapter.in.web.dto.DisposeExpiredBasketsResponse;
+import br.com.dio.warehouse.adapter.in.web.dto.ArchiveFinishedBasketsResponse;
 import br.com.dio.warehouse.adapter.in.web.mapper.WarehouseMapper;
 import br.com.dio.warehouse.application.port.in.SellBasketsUseCase;
 import br.com.dio.warehouse.application.port.in.DisposeExpiredBasketsUseCase;
+import br.com.dio.warehouse.application.port.in.ArchiveFinishedBasketsUseCase;
+import br.com.dio.warehouse.application.port.in.BasketReservationUseCase;
+import br.com.dio.warehouse.application.port.in.ExportBasketsUseCase;
+import br.com.dio.warehouse.application.port.in.ListBasketsUseCase;
+import br.com.dio.warehouse.domain.model.BasicBasket.BasketStatus;
+import br.com.dio.warehouse.domain.valueobject.BasketCursor;
+import br.com.dio.warehouse.domain.valueobject.BasketFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.UUID;
 
 /**
  * REST Controller para operações com cestas básicas
@@ -26,37 +53,153 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Baskets", description = "APIs para operações com cestas básicas")
 public class BasketController {
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final ListBasketsUseCase listBasketsUseCase;
+    private final ExportBasketsUseCase exportBasketsUseCase;
     private final SellBasketsUseCase sellBasketsUseCase;
+    private final BasketReservationUseCase basketReservationUseCase;
     private final DisposeExpiredBasketsUseCase disposeExpiredBasketsUseCase;
+    private final ArchiveFinishedBasketsUseCase archiveFinishedBasketsUseCase;
     private final WarehouseMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final IdempotentRequests idempotentRequests;
 
-    @GetMapping
-    @Operation(summary = "Listar cestas", description = "Lista todas as cestas disponíveis no estoque")
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Listar cestas", description = "Lista as cestas por data de validade, página a página. Use o nextCursor da resposta para obter a próxima página")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso"),
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Filtro, cursor ou limite inválido"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
-    public ResponseEntity<String> listBaskets() {
-        log.info("Listing all baskets");
-        return ResponseEntity.ok("{\"message\":\"Basket listing endpoint - implementation pending\"}");
+    public ResponseEntity<BasketPageResponse> listBaskets(
+            @Parameter(description = "Status das cestas") @RequestParam(required = false) BasketStatus status,
+            @Parameter(description = "Validade mínima (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate validFrom,
+            @Parameter(description = "Validade máxima (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate validTo,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (1 a 500)") @RequestParam(required = false) Integer limit) {
+        log.debug("Listing baskets: status={}, validFrom={}, validTo={}, cursor={}, limit={}",
+                status, validFrom, validTo, cursor, limit);
+
+        ListBasketsUseCase.ListBasketsQuery query = new ListBasketsUseCase.ListBasketsQuery(
+                new BasketFilter(status, validFrom, validTo),
+                cursor == null ? null : BasketCursor.parse(cursor),
+                limit);
+        BasketPageResponse response = mapper.toResponse(listBasketsUseCase.execute(query));
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar cestas", description = "Exporta todas as cestas do filtro em NDJSON (uma cesta por linha), transmitidas sem carregar o resultado em memória")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação transmitida com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Filtro inválido")
+    })
+    public ResponseEntity<StreamingResponseBody> exportBaskets(
+            @Parameter(description = "Status das cestas") @RequestParam(required = false) BasketStatus status,
+            @Parameter(description = "Validade mínima (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate validFrom,
+            @Parameter(description = "Validade máxima (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate validTo) {
+        BasketFilter filter = new BasketFilter(status, validFrom, validTo);
+        log.info("Exporting baskets: filter={}", filter);
+
+        // One document per line: no indentation and no root separator besides the newline.
+        // The response buffer decides when to flush, not every row.
+        ObjectWriter writer = objectMapper.writerFor(BasketResponse.class)
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = writer.createGenerator(outputStream)) {
+                long exported = exportBasketsUseCase.execute(filter, basket -> {
+                    try {
+                        writer.writeValue(generator, mapper.toBasketResponse(basket));
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                log.info("Baskets exported: quantity={}", exported);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
     }
 
     @PostMapping("/sell")
-    @Operation(summary = "Vender cestas", description = "Registra a venda de cestas básicas disponíveis no estoque")
+    @Operation(summary = "Vender cestas", description = "Registra a venda de cestas básicas disponíveis no estoque. Repetições com o mesmo Idempotency-Key retornam a resposta da primeira venda")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Venda realizada com sucesso"),
             @ApiResponse(responseCode = "400", description = "Dados inválidos"),
-            @ApiResponse(responseCode = "422", description = "Estoque insuficiente")
+            @ApiResponse(responseCode = "409", description = "Venda com o mesmo Idempotency-Key ainda em processamento"),
+            @ApiResponse(responseCode = "422", description = "Estoque insuficiente ou Idempotency-Key usado em outra venda")
     })
     public ResponseEntity<SellBasketsResponse> sellBaskets(
+            @Parameter(description = "Chave para repetir a requisição sem vender de novo") @RequestHeader(value = IdempotentRequests.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody SellBasketsRequest request) {
-        log.info("Processing basket sale: quantity={}", request.quantity());
+        return idempotentRequests.execute("baskets.sell", idempotencyKey, request, SellBasketsResponse.class, () -> {
+            log.info("Processing basket sale: quantity={}", request.quantity());
+
+            SellBasketsUseCase.SellBasketsCommand command = mapper.toCommand(request);
+            SellBasketsUseCase.SellBasketsResult result = sellBasketsUseCase.execute(command);
+            SellBasketsResponse response = mapper.toResponse(result);
+
+            log.info("Baskets sold successfully: quantity={}", response.totalSold());
+            return ResponseEntity.ok(response);
+        });
+    }
+
+    @PostMapping("/reservations")
+    @Operation(summary = "Reservar cestas", description = "Reserva cestas disponíveis por um tempo limitado. Cestas não confirmadas dentro do prazo voltam ao estoque")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Reserva criada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+            @ApiResponse(responseCode = "422", description = "Estoque insuficiente ou prazo acima do permitido")
+    })
+    public ResponseEntity<BasketReservationResponse> reserveBaskets(
+            @Valid @RequestBody ReserveBasketsRequest request) {
+        log.info("Processing basket reservation: quantity={}, ttlSeconds={}", request.quantity(), request.ttlSeconds());
 
-        SellBasketsUseCase.SellBasketsCommand command = mapper.toCommand(request);
-        SellBasketsUseCase.SellBasketsResult result = sellBasketsUseCase.execute(command);
-        SellBasketsResponse response = mapper.toResponse(result);
+        BasketReservationUseCase.ReservationResult result =
+                basketReservationUseCase.reserve(mapper.toCommand(request));
+        BasketReservationResponse response = mapper.toResponse(result);
+
+        log.info("Baskets reserved successfully: reservationId={}, expiresAt={}",
+                response.reservationId(), response.expiresAt());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
 
-        log.info("Baskets sold successfully: quantity={}", response.totalSold());
+    @PostMapping("/reservations/{reservationId}/confirm")
+    @Operation(summary = "Confirmar reserva", description = "Vende as cestas da reserva que ainda estão reservadas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reserva confirmada com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Reserva não encontrada, já encerrada ou expirada")
+    })
+    public ResponseEntity<BasketReservationResponse> confirmReservation(
+            @Parameter(description = "ID da reserva") @PathVariable UUID reservationId) {
+        log.info("Confirming basket reservation: reservationId={}", reservationId);
+
+        BasketReservationResponse response = mapper.toResponse(basketReservationUseCase.confirm(reservationId));
+
+        log.info("Basket reservation confirmed: reservationId={}, sold={}", reservationId, response.quantity());
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/reservations/{reservationId}")
+    @Operation(summary = "Cancelar reserva", description = "Devolve ao estoque as cestas da reserva")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reserva cancelada com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Reserva não encontrada, já encerrada ou expirada")
+    })
+    public ResponseEntity<BasketReservationResponse> releaseReservation(
+            @Parameter(description = "ID da reserva") @PathVariable UUID reservationId) {
+        log.info("Releasing basket reservation: reservationId={}", reservationId);
+
+        BasketReservationResponse response = mapper.toResponse(basketReservationUseCase.release(reservationId));
+
+        log.info("Basket reservation released: reservationId={}, released={}", reservationId, response.quantity());
         return ResponseEntity.ok(response);
     }
 
@@ -76,4 +219,21 @@ public class BasketController {
         log.info("Expired baskets disposed: quantity={}", response.totalDisposed());
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/archive")
+    @Operation(summary = "Arquivar cestas finalizadas", description = "Move para o histórico as cestas vendidas ou descartadas há mais tempo que o prazo de arquivamento")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivamento realizado com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<ArchiveFinishedBasketsResponse> archiveFinishedBaskets() {
+        log.info("Processing archival of finished baskets");
+
+        ArchiveFinishedBasketsUseCase.ArchiveFinishedBasketsResult result =
+                archiveFinishedBasketsUseCase.execute();
+        ArchiveFinishedBasketsResponse response = mapper.toResponse(result);
+
+        log.info("Finished baskets archived: quantity={}", response.totalArchived());
+        return ResponseEntity.ok(response);
+    }
 }
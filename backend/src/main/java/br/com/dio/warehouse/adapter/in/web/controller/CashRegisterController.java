@@ -1,17 +1,27 @@
 package br.com.dio.warehouse.adapter.in.web.controller;
 
+import br.com.dio.warehouse.adapter.in.web.dto.CashRegisterReportResponse;
 import br.com.dio.warehouse.adapter.in.web.dto.CashRegisterResponse;
+import br.com.dio.warehouse.adapter.in.web.dto.SalesSeriesResponse;
 import br.com.dio.warehouse.adapter.in.web.mapper.WarehouseMapper;
 import br.com.dio.warehouse.application.port.in.GetCashRegisterUseCase;
+import br.com.dio.warehouse.application.port.in.GetSalesSeriesUseCase;
+import br.com.dio.warehouse.domain.valueobject.SalesBucket;
+import br.com.dio.warehouse.domain.valueobject.SalesGrouping;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.time.LocalDate;
+
 /**
  * REST Controller para consulta de caixa
  */
@@ -23,6 +33,7 @@ import org.springframework.web.bind.annotation.*;
 public class CashRegisterController {
 
     private final GetCashRegisterUseCase getCashRegisterUseCase;
+    private final GetSalesSeriesUseCase getSalesSeriesUseCase;
     private final WarehouseMapper mapper;
 
     @GetMapping
@@ -41,4 +52,56 @@ public class CashRegisterController {
                 response.totalRevenue(), response.grossProfit());
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/report")
+    @Operation(summary = "Relatório de caixa por período",
+            description = "Retorna receita, custo, lucro bruto e margem das vendas no período, agrupados por dia, semana ou mês")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Relatório retornado com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Período ou agrupamento inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<CashRegisterReportResponse> getCashRegisterReport(
+            @Parameter(description = "Data inicial (inclusiva)", example = "2025-10-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Data final (inclusiva)", example = "2025-10-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Agrupamento: DAY, WEEK ou MONTH")
+            @RequestParam(defaultValue = "DAY") SalesGrouping groupBy) {
+        log.debug("Getting cash register report: from={}, to={}, groupBy={}", from, to, groupBy);
+
+        GetCashRegisterUseCase.CashRegisterReport report = getCashRegisterUseCase.execute(
+                new GetCashRegisterUseCase.CashRegisterReportQuery(from, to, groupBy));
+        CashRegisterReportResponse response = mapper.toResponse(report);
+
+        log.debug("Cash register report retrieved: periods={}, revenue={}",
+                response.periods().size(), response.totals().totalRevenue());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/sales")
+    @Operation(summary = "Curva de vendas",
+            description = "Retorna cestas vendidas e receita por minuto ou por hora, lidas dos agregados de vendas sem consultar as cestas. Vendas dos últimos segundos podem ainda não estar incluídas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Curva retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Intervalo ou resolução inválidos"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<SalesSeriesResponse> getSalesSeries(
+            @Parameter(description = "Início (inclusivo, UTC)", example = "2025-10-01T00:00:00Z")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "Fim (exclusivo, UTC)", example = "2025-10-02T00:00:00Z")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @Parameter(description = "Resolução: MINUTE ou HOUR")
+            @RequestParam(defaultValue = "HOUR") SalesBucket.Resolution resolution) {
+        log.debug("Getting sales series: from={}, to={}, resolution={}", from, to, resolution);
+
+        GetSalesSeriesUseCase.SalesSeries series = getSalesSeriesUseCase.execute(
+                new GetSalesSeriesUseCase.SalesSeriesQuery(from, to, resolution));
+        SalesSeriesResponse response = mapper.toResponse(series);
+
+        log.debug("Sales series retrieved: points={}, revenue={}",
+                response.points().size(), response.totalRevenue());
+        return ResponseEntity.ok(response);
+    }
 }
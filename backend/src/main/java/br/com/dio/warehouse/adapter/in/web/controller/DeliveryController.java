@@ -1,21 +1,36 @@
 package br.com.dio.warehouse.adapter.in.web.controller;
 
+import br.com.dio.shared.idempotency.IdempotentRequests;
+import br.com.dio.warehouse.adapter.in.web.bulk.DeliveryLineReader;
+import br.com.dio.warehouse.adapter.in.web.dto.BulkDeliveryResponse;
 import br.com.dio.warehouse.adapter.in.web.dto.ReceiveDeliveryRequest;
 import br.com.dio.warehouse.adapter.in.web.dto.DeliveryResponse;
 import br.com.dio.warehouse.adapter.in.web.mapper.WarehouseMapper;
+import br.com.dio.warehouse.application.port.in.ReceiveDeliveriesUseCase;
 import br.com.dio.warehouse.application.port.in.ReceiveDeliveryUseCase;
 import br.com.dio.warehouse.domain.model.DeliveryBox;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
 /**
  * REST Controller para gerenciamento de entregas
  */
@@ -26,26 +41,62 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Deliveries", description = "APIs para gerenciamento de entregas de cestas básicas")
 public class DeliveryController {
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final ReceiveDeliveryUseCase receiveDeliveryUseCase;
+    private final ReceiveDeliveriesUseCase receiveDeliveriesUseCase;
     private final WarehouseMapper mapper;
+    private final IdempotentRequests idempotentRequests;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     @PostMapping
-    @Operation(summary = "Registrar nova entrega", description = "Registra o recebimento de uma nova entrega de cestas básicas no estoque")
+    @Operation(summary = "Registrar nova entrega", description = "Registra o recebimento de uma nova entrega de cestas básicas no estoque. Repetições com o mesmo Idempotency-Key retornam a entrega já registrada")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Entrega registrada com sucesso"),
             @ApiResponse(responseCode = "400", description = "Dados inválidos"),
-            @ApiResponse(responseCode = "422", description = "Regra de negócio violada")
+            @ApiResponse(responseCode = "409", description = "Entrega com o mesmo Idempotency-Key ainda em processamento"),
+            @ApiResponse(responseCode = "422", description = "Regra de negócio violada ou Idempotency-Key usado em outra entrega")
     })
     public ResponseEntity<DeliveryResponse> receiveDelivery(
+            @Parameter(description = "Chave para repetir a requisição sem registrar a entrega de novo") @RequestHeader(value = IdempotentRequests.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody ReceiveDeliveryRequest request) {
-        log.info("Receiving new delivery: quantity={}, validationDate={}",
-                request.totalQuantity(), request.validationDate());
+        return idempotentRequests.execute("deliveries.receive", idempotencyKey, request, DeliveryResponse.class, () -> {
+            log.info("Receiving new delivery: quantity={}, validationDate={}",
+                    request.totalQuantity(), request.validationDate());
+
+            ReceiveDeliveryUseCase.ReceiveDeliveryCommand command = mapper.toCommand(request);
+            DeliveryBox deliveryBox = receiveDeliveryUseCase.execute(command);
+            DeliveryResponse response = mapper.toDeliveryResponse(deliveryBox);
+
+            log.info("Delivery registered successfully: id={}", response.deliveryId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        });
+    }
+
+    @PostMapping(value = "/bulk", consumes = {APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    @Operation(summary = "Registrar entregas em lote", description = "Registra várias entregas enviadas como NDJSON (um objeto por linha) ou CSV com cabeçalho totalQuantity,validationDate,totalCost,profitMarginPercentage. O corpo é lido linha a linha e as entregas válidas são confirmadas em lotes; a resposta traz o resultado de cada linha")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Corpo processado; linhas inválidas ou de lotes com falha vêm marcadas como REJECTED ou FAILED"),
+            @ApiResponse(responseCode = "415", description = "Formato não suportado")
+    })
+    public ResponseEntity<BulkDeliveryResponse> receiveDeliveries(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        DeliveryLineReader.Format format = mediaType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                ? DeliveryLineReader.Format.CSV
+                : DeliveryLineReader.Format.NDJSON;
+        Charset charset = Objects.requireNonNullElse(mediaType.getCharset(), StandardCharsets.UTF_8);
+        log.info("Receiving bulk deliveries as {}", format);
 
-        ReceiveDeliveryUseCase.ReceiveDeliveryCommand command = mapper.toCommand(request);
-        DeliveryBox deliveryBox = receiveDeliveryUseCase.execute(command);
-        DeliveryResponse response = mapper.toDeliveryResponse(deliveryBox);
+        DeliveryLineReader lines = new DeliveryLineReader(
+                new InputStreamReader(body, charset), format, objectMapper, validator, mapper);
+        BulkDeliveryResponse response = mapper.toResponse(receiveDeliveriesUseCase.execute(lines));
 
-        log.info("Delivery registered successfully: id={}", response.deliveryId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        log.info("Bulk deliveries processed: received={}, rejected={}, failed={}",
+                response.received(), response.rejected(), response.failed());
+        return ResponseEntity.ok(response);
     }
 }
@@ -1,8 +1,10 @@
 package br.com.dio.warehouse.adapter.in.web.controller;
 
+import br.com.dio.warehouse.adapter.in.web.dto.RebuildInventoryCountersResponse;
 import br.com.dio.warehouse.adapter.in.web.dto.StockInfoResponse;
 import br.com.dio.warehouse.adapter.in.web.mapper.WarehouseMapper;
 import br.com.dio.warehouse.application.port.in.CheckStockUseCase;
+import br.com.dio.warehouse.application.port.in.RebuildInventoryCountersUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -23,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
 public class StockController {
 
     private final CheckStockUseCase checkStockUseCase;
+    private final RebuildInventoryCountersUseCase rebuildInventoryCountersUseCase;
     private final WarehouseMapper mapper;
 
     @GetMapping
@@ -41,4 +44,24 @@ public class StockController {
                 response.totalBaskets(), response.availableBaskets());
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/counters/rebuild")
+    @Operation(summary = "Reconstruir contadores de estoque",
+            description = "Recalcula os contadores de estoque e caixa a partir das cestas, em lotes, e corrige divergências")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Contadores reconstruídos com sucesso"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<RebuildInventoryCountersResponse> rebuildCounters() {
+        log.info("Rebuilding inventory counters");
+
+        RebuildInventoryCountersUseCase.RebuildInventoryCountersResult result =
+                rebuildInventoryCountersUseCase.execute();
+        RebuildInventoryCountersResponse response = mapper.toResponse(result);
+
+        log.info("Inventory counters rebuilt: total={}, drift={}",
+                response.totalBaskets(), response.driftDetected());
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,10 @@
+package br.com.dio.warehouse.adapter.in.web.dto;
+
+/**
+ * Response DTO for archive finished baskets operation
+ */
+public record ArchiveFinishedBasketsResponse(
+        Long totalArchived,
+        Integer chunksProcessed,
+        String message
+) {}
@@ -0,0 +1,13 @@
+package br.com.dio.warehouse.adapter.in.web.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for one page of baskets
+ * nextCursor is null on the last page.
+ */
+public record BasketPageResponse(
+        List<BasketResponse> items,
+        Integer size,
+        String nextCursor
+) {}
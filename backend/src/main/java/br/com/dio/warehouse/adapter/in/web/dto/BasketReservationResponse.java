@@ -0,0 +1,16 @@
+package br.com.dio.warehouse.adapter.in.web.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for basket reservation operations
+ */
+public record BasketReservationResponse(
+        UUID reservationId,
+        List<UUID> basketIds,
+        Long quantity,
+        LocalDateTime expiresAt,
+        String message
+) {}
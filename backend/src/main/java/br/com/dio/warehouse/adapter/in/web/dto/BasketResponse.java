@@ -0,0 +1,19 @@
+package br.com.dio.warehouse.adapter.in.web.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Response DTO for a single basket
+ */
+public record BasketResponse(
+        UUID id,
+        LocalDate validationDate,
+        BigDecimal price,
+        String status,
+        UUID deliveryBoxId,
+        LocalDateTime soldAt,
+        LocalDateTime disposedAt
+) {}
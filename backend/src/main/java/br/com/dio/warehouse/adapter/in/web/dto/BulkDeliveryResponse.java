@@ -0,0 +1,27 @@
+package br.com.dio.warehouse.adapter.in.web.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for bulk delivery ingestion, with the outcome of every line
+ */
+public record BulkDeliveryResponse(
+        Long received,
+        Long rejected,
+        Long failed,
+        Integer batchesCommitted,
+        List<LineResult> lines,
+        String message
+) {
+    
+    /**
+     * Outcome of one line of the body: RECEIVED, REJECTED or FAILED
+     */
+    public record LineResult(
+            Long line,
+            String status,
+            UUID deliveryId,
+            String error
+    ) {}
+}
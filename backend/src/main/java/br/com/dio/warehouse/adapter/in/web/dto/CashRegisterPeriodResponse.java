@@ -0,0 +1,21 @@
+package br.com.dio.warehouse.adapter.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Response DTO for the cash register figures of one period
+ */
+public record CashRegisterPeriodResponse(
+        
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        LocalDate periodStart,
+        
+        BigDecimal revenue,
+        BigDecimal cost,
+        BigDecimal grossProfit,
+        BigDecimal profitMargin,
+        Long basketsSold
+) {}
@@ -0,0 +1,22 @@
+package br.com.dio.warehouse.adapter.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response DTO for a period-bounded cash register report
+ */
+public record CashRegisterReportResponse(
+        
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        LocalDate from,
+        
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        LocalDate to,
+        
+        String grouping,
+        List<CashRegisterPeriodResponse> periods,
+        CashRegisterResponse totals
+) {}
@@ -1,13 +1,13 @@
 package br.com.dio.warehouse.adapter.in.web.dto;
 
-import java.util.List;
-import java.util.UUID;
+import java.math.BigDecimal;
 
 /**
  * Response DTO for dispose expired baskets operation
  */
 public record DisposeExpiredBasketsResponse(
-        List<UUID> disposedBasketIds,
         Long totalDisposed,
+        BigDecimal totalLossAmount,
+        Integer chunksProcessed,
         String message
 ) {}
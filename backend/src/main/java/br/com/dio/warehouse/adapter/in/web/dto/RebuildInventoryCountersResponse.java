@@ -0,0 +1,20 @@
+package br.com.dio.warehouse.adapter.in.web.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Response DTO for the inventory counters rebuild operation
+ */
+public record RebuildInventoryCountersResponse(
+        Long totalBaskets,
+        Long availableBaskets,
+        Long soldBaskets,
+        Long disposedBaskets,
+        Long reservedBaskets,
+        BigDecimal availableValue,
+        BigDecimal revenue,
+        BigDecimal cost,
+        Integer chunksProcessed,
+        Boolean driftDetected,
+        String message
+) {}
@@ -0,0 +1,17 @@
+package br.com.dio.warehouse.adapter.in.web.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Request DTO for reserving baskets; ttlSeconds is optional
+ */
+public record ReserveBasketsRequest(
+        
+        @NotNull(message = "Quantity is required")
+        @Positive(message = "Quantity must be positive")
+        Long quantity,
+        
+        @Positive(message = "Time-to-live must be positive")
+        Long ttlSeconds
+) {}
@@ -0,0 +1,14 @@
+package br.com.dio.warehouse.adapter.in.web.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Response DTO for the sales of one minute or hour
+ */
+public record SalesPointResponse(
+        Instant bucketStart,
+        Long quantity,
+        BigDecimal revenue,
+        Long sales
+) {}
@@ -0,0 +1,17 @@
+package br.com.dio.warehouse.adapter.in.web.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Response DTO for a sales curve read from the sales rollups
+ */
+public record SalesSeriesResponse(
+        Instant from,
+        Instant to,
+        String resolution,
+        List<SalesPointResponse> points,
+        Long totalQuantity,
+        BigDecimal totalRevenue
+) {}
@@ -1,14 +1,17 @@
 package br.com.dio.warehouse.adapter.in.web.dto;
 
+import br.com.dio.warehouse.domain.valueobject.SelectionStrategy;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
 /**
- * Request DTO for selling baskets
+ * Request DTO for selling baskets; strategy is optional and defaults to FEFO
  */
 public record SellBasketsRequest(
         
         @NotNull(message = "Quantity is required")
         @Positive(message = "Quantity must be positive")
-        Long quantity
+        Long quantity,
+        
+        SelectionStrategy strategy
 ) {}
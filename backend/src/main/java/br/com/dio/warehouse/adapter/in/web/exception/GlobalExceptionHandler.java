@@ -1,11 +1,14 @@
 package br.com.dio.warehouse.adapter.in.web.exception;
 
+import br.com.dio.shared.idempotency.IdempotencyKeyConflictException;
+import br.com.dio.shared.idempotency.IdempotencyKeyInProgressException;
 import br.com.dio.warehouse.adapter.in.web.dto.error.FieldError;
 import br.com.dio.warehouse.adapter.in.web.dto.error.ProblemDetail;
 import br.com.dio.warehouse.domain.exception.BasketNotFoundException;
 import br.com.dio.warehouse.domain.exception.BusinessRuleViolationException;
 import br.com.dio.warehouse.domain.exception.DomainException;
 import br.com.dio.warehouse.domain.exception.InsufficientStockException;
+import br.com.dio.warehouse.domain.exception.ReservationNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -56,6 +59,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(problem);
     }
     
+    /**
+     * Handles ReservationNotFoundException (404 Not Found)
+     */
+    @ExceptionHandler(ReservationNotFoundException.class)
+    public ResponseEntity<ProblemDetail> handleReservationNotFound(
+            ReservationNotFoundException ex,
+            HttpServletRequest request) {
+        
+        log.warn("Reservation not found: {}", ex.getMessage());
+        
+        ProblemDetail problem = ProblemDetail.of(
+                HttpStatus.NOT_FOUND.value(),
+                "Reservation Not Found",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(problem);
+    }
+    
     /**
      * Handles InsufficientStockException (422 Unprocessable Entity)
      */
@@ -116,6 +139,48 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(problem);
     }
     
+    // ========== Idempotency Exceptions ==========
+    
+    /**
+     * Handles IdempotencyKeyInProgressException (409 Conflict)
+     */
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ProblemDetail> handleIdempotencyKeyInProgress(
+            IdempotencyKeyInProgressException ex,
+            HttpServletRequest request) {
+        
+        log.warn("Idempotency key in progress: {}", ex.getMessage());
+        
+        ProblemDetail problem = ProblemDetail.of(
+                HttpStatus.CONFLICT.value(),
+                "Request In Progress",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(problem);
+    }
+    
+    /**
+     * Handles IdempotencyKeyConflictException (422 Unprocessable Entity)
+     */
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<ProblemDetail> handleIdempotencyKeyConflict(
+            IdempotencyKeyConflictException ex,
+            HttpServletRequest request) {
+        
+        log.warn("Idempotency key conflict: {}", ex.getMessage());
+        
+        ProblemDetail problem = ProblemDetail.of(
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                "Idempotency Key Reused",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(problem);
+    }
+    
     // ========== Validation Exceptions ==========
     
     /**
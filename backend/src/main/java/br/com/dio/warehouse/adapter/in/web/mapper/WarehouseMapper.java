@@ -2,11 +2,16 @@ package br.com.dio.warehouse.adapter.in.web.mapper;
 
 import br.com.dio.warehouse.adapter.in.web.dto.*;
 import br.com.dio.warehouse.application.port.in.*;
+import br.com.dio.warehouse.domain.model.BasicBasket;
 import br.com.dio.warehouse.domain.model.DeliveryBox;
+import br.com.dio.warehouse.domain.valueobject.BasketCursor;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 
+import java.time.Duration;
+import java.time.LocalDate;
+
 /**
  * MapStruct mapper for converting between DTOs and domain/application objects
  */
@@ -39,9 +44,35 @@ public interface WarehouseMapper {
     @Mapping(target = "message", constant = "Delivery received successfully")
     DeliveryResponse toDeliveryResponse(DeliveryBox deliveryBox);
     
+    /**
+     * Maps ReceiveDeliveriesResult to BulkDeliveryResponse
+     */
+    @Mapping(target = "received", source = "received")
+    @Mapping(target = "rejected", source = "rejected")
+    @Mapping(target = "failed", source = "failed")
+    @Mapping(target = "batchesCommitted", source = "batchesCommitted")
+    @Mapping(target = "lines", source = "lines")
+    @Mapping(target = "message", source = "result", qualifiedByName = "getBulkDeliveryMessage")
+    BulkDeliveryResponse toResponse(ReceiveDeliveriesUseCase.ReceiveDeliveriesResult result);
+    
+    @Named("getBulkDeliveryMessage")
+    default String getBulkDeliveryMessage(ReceiveDeliveriesUseCase.ReceiveDeliveriesResult result) {
+        return "Received " + result.received() + " of " + result.lines().size() + " deliveries";
+    }
+    
+    /**
+     * Maps DeliveryLineResult to BulkDeliveryResponse.LineResult
+     */
+    @Mapping(target = "line", source = "lineNumber")
+    @Mapping(target = "status", source = "status")
+    @Mapping(target = "deliveryId", source = "deliveryId")
+    @Mapping(target = "error", source = "error")
+    BulkDeliveryResponse.LineResult toLineResult(ReceiveDeliveriesUseCase.DeliveryLineResult line);
+    
     @Named("getAvailableCount")
     default Long getAvailableCount(DeliveryBox deliveryBox) {
-        return deliveryBox.getAvailableCount();
+        // Baskets are bulk inserted, not loaded with the delivery; all of them start AVAILABLE
+        return deliveryBox.getValidationDate().isBefore(LocalDate.now()) ? 0L : deliveryBox.getTotalQuantity();
     }
     
     // ======== Basket Sale Mappings ========
@@ -50,6 +81,7 @@ public interface WarehouseMapper {
      * Maps SellBasketsRequest to SellBasketsCommand
      */
     @Mapping(target = "quantity", source = "quantity")
+    @Mapping(target = "strategy", source = "strategy")
     SellBasketsUseCase.SellBasketsCommand toCommand(SellBasketsRequest request);
     
     /**
@@ -60,16 +92,78 @@ public interface WarehouseMapper {
     @Mapping(target = "message", source = "message")
     SellBasketsResponse toResponse(SellBasketsUseCase.SellBasketsResult result);
     
+    // ======== Basket Reservation Mappings ========
+    
+    /**
+     * Maps ReserveBasketsRequest to ReserveBasketsCommand
+     */
+    @Mapping(target = "quantity", source = "quantity")
+    @Mapping(target = "ttl", source = "ttlSeconds", qualifiedByName = "secondsToDuration")
+    BasketReservationUseCase.ReserveBasketsCommand toCommand(ReserveBasketsRequest request);
+    
+    /**
+     * Maps ReservationResult to BasketReservationResponse
+     */
+    @Mapping(target = "reservationId", source = "reservationId")
+    @Mapping(target = "basketIds", source = "basketIds")
+    @Mapping(target = "quantity", source = "quantity")
+    @Mapping(target = "expiresAt", source = "expiresAt")
+    @Mapping(target = "message", source = "message")
+    BasketReservationResponse toResponse(BasketReservationUseCase.ReservationResult result);
+    
+    @Named("secondsToDuration")
+    default Duration secondsToDuration(Long seconds) {
+        return seconds == null ? null : Duration.ofSeconds(seconds);
+    }
+    
+    // ======== Basket Listing Mappings ========
+    
+    /**
+     * Maps BasicBasket to BasketResponse
+     */
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "validationDate", source = "validationDate")
+    @Mapping(target = "price", source = "price.amount")
+    @Mapping(target = "status", source = "status")
+    @Mapping(target = "deliveryBoxId", source = "deliveryBox.id")
+    @Mapping(target = "soldAt", source = "soldAt")
+    @Mapping(target = "disposedAt", source = "disposedAt")
+    BasketResponse toBasketResponse(BasicBasket basket);
+    
+    /**
+     * Maps BasketPage to BasketPageResponse
+     */
+    @Mapping(target = "items", source = "baskets")
+    @Mapping(target = "size", expression = "java(page.baskets().size())")
+    @Mapping(target = "nextCursor", source = "nextCursor", qualifiedByName = "toCursorToken")
+    BasketPageResponse toResponse(ListBasketsUseCase.BasketPage page);
+    
+    @Named("toCursorToken")
+    default String toCursorToken(BasketCursor cursor) {
+        return cursor == null ? null : cursor.toToken();
+    }
+    
     // ======== Dispose Expired Baskets Mappings ========
     
     /**
      * Maps DisposeExpiredBasketsResult to DisposeExpiredBasketsResponse
      */
-    @Mapping(target = "disposedBasketIds", source = "disposedBasketIds")
     @Mapping(target = "totalDisposed", source = "totalDisposed")
+    @Mapping(target = "totalLossAmount", source = "totalLossAmount")
+    @Mapping(target = "chunksProcessed", source = "chunksProcessed")
     @Mapping(target = "message", source = "message")
     DisposeExpiredBasketsResponse toResponse(DisposeExpiredBasketsUseCase.DisposeExpiredBasketsResult result);
     
+    // ======== Archive Finished Baskets Mappings ========
+    
+    /**
+     * Maps ArchiveFinishedBasketsResult to ArchiveFinishedBasketsResponse
+     */
+    @Mapping(target = "totalArchived", source = "totalArchived")
+    @Mapping(target = "chunksProcessed", source = "chunksProcessed")
+    @Mapping(target = "message", source = "message")
+    ArchiveFinishedBasketsResponse toResponse(ArchiveFinishedBasketsUseCase.ArchiveFinishedBasketsResult result);
+    
     // ======== Stock Info Mappings ========
     
     /**
@@ -83,6 +177,22 @@ public interface WarehouseMapper {
     @Mapping(target = "totalInventoryValue", source = "totalInventoryValue")
     StockInfoResponse toResponse(CheckStockUseCase.StockInfo stockInfo);
     
+    /**
+     * Maps RebuildInventoryCountersResult to RebuildInventoryCountersResponse
+     */
+    @Mapping(target = "totalBaskets", source = "rebuilt.totalBaskets")
+    @Mapping(target = "availableBaskets", source = "rebuilt.availableBaskets")
+    @Mapping(target = "soldBaskets", source = "rebuilt.soldBaskets")
+    @Mapping(target = "disposedBaskets", source = "rebuilt.disposedBaskets")
+    @Mapping(target = "reservedBaskets", source = "rebuilt.reservedBaskets")
+    @Mapping(target = "availableValue", source = "rebuilt.availableValue")
+    @Mapping(target = "revenue", source = "rebuilt.revenue")
+    @Mapping(target = "cost", source = "rebuilt.cost")
+    @Mapping(target = "chunksProcessed", source = "chunksProcessed")
+    @Mapping(target = "driftDetected", source = "driftDetected")
+    @Mapping(target = "message", source = "message")
+    RebuildInventoryCountersResponse toResponse(RebuildInventoryCountersUseCase.RebuildInventoryCountersResult result);
+    
     // ======== Cash Register Mappings ========
     
     /**
@@ -94,4 +204,37 @@ public interface WarehouseMapper {
     @Mapping(target = "profitMargin", source = "profitMargin")
     @Mapping(target = "totalBasketsSold", source = "totalBasketsSold")
     CashRegisterResponse toResponse(GetCashRegisterUseCase.CashRegisterInfo cashRegisterInfo);
+    
+    /**
+     * Maps CashRegisterPeriod to CashRegisterPeriodResponse
+     */
+    CashRegisterPeriodResponse toResponse(GetCashRegisterUseCase.CashRegisterPeriod period);
+    
+    /**
+     * Maps CashRegisterReport to CashRegisterReportResponse
+     */
+    @Mapping(target = "from", source = "from")
+    @Mapping(target = "to", source = "to")
+    @Mapping(target = "grouping", source = "grouping")
+    @Mapping(target = "periods", source = "periods")
+    @Mapping(target = "totals", source = "totals")
+    CashRegisterReportResponse toResponse(GetCashRegisterUseCase.CashRegisterReport report);
+    
+    // ======== Sales Series Mappings ========
+    
+    /**
+     * Maps SalesPoint to SalesPointResponse
+     */
+    SalesPointResponse toResponse(GetSalesSeriesUseCase.SalesPoint point);
+    
+    /**
+     * Maps SalesSeries to SalesSeriesResponse
+     */
+    @Mapping(target = "from", source = "from")
+    @Mapping(target = "to", source = "to")
+    @Mapping(target = "resolution", source = "resolution")
+    @Mapping(target = "points", source = "points")
+    @Mapping(target = "totalQuantity", source = "totalQuantity")
+    @Mapping(target = "totalRevenue", source = "totalRevenue")
+    SalesSeriesResponse toResponse(GetSalesSeriesUseCase.SalesSeries series);
 }
@@ -0,0 +1,25 @@
+package br.com.dio.warehouse.application.port.in;
+
+/**
+ * Use case for moving finished baskets to the basket history
+ * Input port in hexagonal architecture
+ */
+public interface ArchiveFinishedBasketsUseCase {
+    
+    /**
+     * Moves the baskets sold or disposed before the archival age to the history,
+     * in bounded chunks
+     * 
+     * @return The result of the archival operation
+     */
+    ArchiveFinishedBasketsResult execute();
+    
+    /**
+     * Result of the archive finished baskets operation
+     */
+    record ArchiveFinishedBasketsResult(
+            Long totalArchived,
+            Integer chunksProcessed,
+            String message
+    ) {}
+}
@@ -0,0 +1,78 @@
+package br.com.dio.warehouse.application.port.in;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Use case for holding baskets for a customer before the sale
+ * Input port in hexagonal architecture
+ *
+ * Reserved baskets cannot be sold to anyone else until the reservation is confirmed,
+ * released or expires.
+ */
+public interface BasketReservationUseCase {
+    
+    /**
+     * Reserves a number of available baskets, earliest validation date first
+     * 
+     * @param command The command containing reservation information
+     * @return The reservation
+     */
+    ReservationResult reserve(ReserveBasketsCommand command);
+    
+    /**
+     * Sells the baskets of a reservation that are still reserved
+     * 
+     * @param reservationId The reservation to confirm
+     * @return The confirmed reservation
+     */
+    ReservationResult confirm(UUID reservationId);
+    
+    /**
+     * Makes the baskets of a reservation available again
+     * 
+     * @param reservationId The reservation to release
+     * @return The released reservation
+     */
+    ReservationResult release(UUID reservationId);
+    
+    /**
+     * Releases those of the given reservations that have expired; the others are left alone
+     * 
+     * @param reservationIds The reservations whose deadline has passed
+     * @return Number of reservations released
+     */
+    long expire(Collection<UUID> reservationIds);
+    
+    /**
+     * Command for reserving baskets; the default time-to-live applies when {@code ttl} is null
+     */
+    record ReserveBasketsCommand(
+            Long quantity,
+            Duration ttl
+    ) {
+        public ReserveBasketsCommand {
+            if (quantity == null || quantity <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive");
+            }
+            if (ttl != null && (ttl.isNegative() || ttl.isZero())) {
+                throw new IllegalArgumentException("Reservation time-to-live must be positive");
+            }
+        }
+    }
+    
+    /**
+     * Result of a reservation operation.
+     * basketIds are the baskets the operation applied to.
+     */
+    record ReservationResult(
+            UUID reservationId,
+            List<UUID> basketIds,
+            Long quantity,
+            LocalDateTime expiresAt,
+            String message
+    ) {}
+}
@@ -1,7 +1,6 @@
 package br.com.dio.warehouse.application.port.in;
 
-import java.util.List;
-import java.util.UUID;
+import java.math.BigDecimal;
 
 /**
  * Use case for disposing expired basic baskets
@@ -10,18 +9,30 @@ import java.util.UUID;
 public interface DisposeExpiredBasketsUseCase {
     
     /**
-     * Disposes all expired baskets in the warehouse
+     * Disposes all expired baskets in the warehouse, in bounded chunks
      * 
      * @return The result of the disposal operation
      */
     DisposeExpiredBasketsResult execute();
     
+    /**
+     * Disposes the expired baskets of the oldest validation-date bucket only: those
+     * validated less than {@code bucketDays} days after the oldest expired basket
+     * still to dispose. Repeated calls walk the backlog one bucket at a time.
+     * 
+     * @param bucketDays Width of the bucket in days
+     * @return The result of the disposal operation; nothing disposed when no expired baskets are left
+     */
+    DisposeExpiredBasketsResult executeNextBucket(int bucketDays);
+    
     /**
      * Result of the dispose expired baskets operation
+     * Only totals are kept, so the result size does not grow with the number of baskets
      */
     record DisposeExpiredBasketsResult(
-            List<UUID> disposedBasketIds,
             Long totalDisposed,
+            BigDecimal totalLossAmount,
+            Integer chunksProcessed,
             String message
     ) {}
 }
@@ -0,0 +1,24 @@
+package br.com.dio.warehouse.application.port.in;
+
+import br.com.dio.warehouse.domain.model.BasicBasket;
+import br.com.dio.warehouse.domain.valueobject.BasketFilter;
+
+import java.util.function.Consumer;
+
+/**
+ * Use case for exporting every basket matching a filter
+ * Input port in hexagonal architecture
+ */
+public interface ExportBasketsUseCase {
+    
+    /**
+     * Hands every basket matching the filter to the sink, in (validation date, id)
+     * order, without holding the whole result in memory. The baskets are detached;
+     * only their own columns and the delivery id may be read.
+     * 
+     * @param filter The criteria of the export
+     * @param sink Receives the baskets one at a time
+     * @return Number of baskets exported
+     */
+    long execute(BasketFilter filter, Consumer<BasicBasket> sink);
+}
@@ -1,6 +1,10 @@
 package br.com.dio.warehouse.application.port.in;
 
+import br.com.dio.warehouse.domain.valueobject.SalesGrouping;
+
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Use case for getting cash register information
@@ -15,6 +19,14 @@ public interface GetCashRegisterUseCase {
      */
     CashRegisterInfo execute();
     
+    /**
+     * Gets cash register figures for baskets sold in a period, grouped by day, week or month
+     * 
+     * @param query The period and grouping
+     * @return The report with one entry per period with sales and the totals of the range
+     */
+    CashRegisterReport execute(CashRegisterReportQuery query);
+    
     /**
      * Cash register information result
      */
@@ -25,4 +37,48 @@ public interface GetCashRegisterUseCase {
             BigDecimal profitMargin,
             Long totalBasketsSold
     ) {}
+    
+    /**
+     * Query for a period-bounded report; both dates are inclusive
+     */
+    record CashRegisterReportQuery(
+            LocalDate from,
+            LocalDate to,
+            SalesGrouping grouping
+    ) {
+        public CashRegisterReportQuery {
+            if (from == null || to == null) {
+                throw new IllegalArgumentException("Report period is required");
+            }
+            if (from.isAfter(to)) {
+                throw new IllegalArgumentException("Report start date must not be after end date");
+            }
+            if (grouping == null) {
+                throw new IllegalArgumentException("Report grouping is required");
+            }
+        }
+    }
+    
+    /**
+     * Cash register figures of one period
+     */
+    record CashRegisterPeriod(
+            LocalDate periodStart,
+            BigDecimal revenue,
+            BigDecimal cost,
+            BigDecimal grossProfit,
+            BigDecimal profitMargin,
+            Long basketsSold
+    ) {}
+    
+    /**
+     * Period-bounded cash register report
+     */
+    record CashRegisterReport(
+            LocalDate from,
+            LocalDate to,
+            SalesGrouping grouping,
+            List<CashRegisterPeriod> periods,
+            CashRegisterInfo totals
+    ) {}
 }
@@ -0,0 +1,68 @@
+package br.com.dio.warehouse.application.port.in;
+
+import br.com.dio.warehouse.domain.valueobject.SalesBucket.Resolution;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Use case for getting sales curves from the per-minute and per-hour rollups
+ * Input port in hexagonal architecture
+ */
+public interface GetSalesSeriesUseCase {
+    
+    /**
+     * Gets baskets sold and revenue per minute or per hour in a time range
+     * 
+     * Read from the sales rollups only; sales of the last flush interval may not be
+     * included yet.
+     * 
+     * @param query The time range and resolution
+     * @return One point per bucket of the range, with zeros where nothing was sold
+     */
+    SalesSeries execute(SalesSeriesQuery query);
+    
+    /**
+     * Query for a sales curve; {@code from} is inclusive and {@code to} exclusive
+     */
+    record SalesSeriesQuery(
+            Instant from,
+            Instant to,
+            Resolution resolution
+    ) {
+        public SalesSeriesQuery {
+            if (from == null || to == null) {
+                throw new IllegalArgumentException("Sales series range is required");
+            }
+            if (!from.isBefore(to)) {
+                throw new IllegalArgumentException("Sales series start must be before its end");
+            }
+            if (resolution == null) {
+                throw new IllegalArgumentException("Sales series resolution is required");
+            }
+        }
+    }
+    
+    /**
+     * Sales of one bucket
+     */
+    record SalesPoint(
+            Instant bucketStart,
+            Long quantity,
+            BigDecimal revenue,
+            Long sales
+    ) {}
+    
+    /**
+     * Sales curve of a time range
+     */
+    record SalesSeries(
+            Instant from,
+            Instant to,
+            Resolution resolution,
+            List<SalesPoint> points,
+            Long totalQuantity,
+            BigDecimal totalRevenue
+    ) {}
+}
@@ -0,0 +1,56 @@
+package br.com.dio.warehouse.application.port.in;
+
+import br.com.dio.warehouse.domain.model.BasicBasket;
+import br.com.dio.warehouse.domain.valueobject.BasketCursor;
+import br.com.dio.warehouse.domain.valueobject.BasketFilter;
+
+import java.util.List;
+
+/**
+ * Use case for listing baskets page by page
+ * Input port in hexagonal architecture
+ */
+public interface ListBasketsUseCase {
+    
+    int DEFAULT_LIMIT = 50;
+    int MAX_LIMIT = 500;
+    
+    /**
+     * Lists the baskets matching the filter in (validation date, id) order
+     * 
+     * @param query The query containing the filter and the page position
+     * @return One page of baskets and the cursor of the next page
+     */
+    BasketPage execute(ListBasketsQuery query);
+    
+    /**
+     * Query for listing baskets.
+     * after is the cursor returned with the previous page, null for the first page.
+     */
+    record ListBasketsQuery(
+            BasketFilter filter,
+            BasketCursor after,
+            Integer limit
+    ) {
+        public ListBasketsQuery {
+            if (filter == null) {
+                filter = BasketFilter.ALL;
+            }
+            if (limit == null) {
+                limit = DEFAULT_LIMIT;
+            }
+            if (limit <= 0 || limit > MAX_LIMIT) {
+                throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+            }
+        }
+    }
+    
+    /**
+     * One page of baskets.
+     * nextCursor is null on the last page.
+     */
+    record BasketPage(
+            List<BasicBasket> baskets,
+            BasketCursor nextCursor
+    ) {}
+}
@@ -0,0 +1,28 @@
+package br.com.dio.warehouse.application.port.in;
+
+import br.com.dio.warehouse.domain.valueobject.InventoryCounters;
+
+/**
+ * Use case for recomputing the inventory counters from the basket table
+ * Input port in hexagonal architecture
+ */
+public interface RebuildInventoryCountersUseCase {
+    
+    /**
+     * Recounts all baskets in bounded chunks and replaces the inventory counters
+     * 
+     * @return The recomputed counters and whether they had drifted
+     */
+    RebuildInventoryCountersResult execute();
+    
+    /**
+     * Result of the rebuild operation
+     */
+    record RebuildInventoryCountersResult(
+            InventoryCounters previous,
+            InventoryCounters rebuilt,
+            Integer chunksProcessed,
+            Boolean driftDetected,
+            String message
+    ) {}
+}
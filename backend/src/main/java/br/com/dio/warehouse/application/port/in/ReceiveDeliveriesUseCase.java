@@ -0,0 +1,81 @@
+package br.com.dio.warehouse.application.port.in;
+
+import br.com.dio.warehouse.application.port.in.ReceiveDeliveryUseCase.ReceiveDeliveryCommand;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Use case for receiving many deliveries of basic baskets at once
+ * Input port in hexagonal architecture
+ */
+public interface ReceiveDeliveriesUseCase {
+    
+    /**
+     * Receives the deliveries of the lines, committing them in batches
+     * 
+     * Lines are read one at a time, so the input may be streamed. Rejected lines
+     * are reported and skipped; the other lines are received even if some batch fails.
+     * 
+     * @param lines The parsed lines of the input, in order
+     * @return The outcome of every line
+     */
+    ReceiveDeliveriesResult execute(Iterator<DeliveryLine> lines);
+    
+    /**
+     * A parsed line of the input: either a valid command or the reason it was rejected
+     */
+    record DeliveryLine(
+            long lineNumber,
+            ReceiveDeliveryCommand command,
+            String error
+    ) {
+        public DeliveryLine {
+            if ((command == null) == (error == null)) {
+                throw new IllegalArgumentException("A delivery line has either a command or an error");
+            }
+        }
+        
+        public static DeliveryLine of(long lineNumber, ReceiveDeliveryCommand command) {
+            return new DeliveryLine(lineNumber, command, null);
+        }
+        
+        public static DeliveryLine rejected(long lineNumber, String error) {
+            return new DeliveryLine(lineNumber, null, error);
+        }
+    }
+    
+    /**
+     * Outcome of a line
+     */
+    enum LineStatus {
+        /** Delivery received and committed */
+        RECEIVED,
+        /** Line could not be parsed or failed validation; nothing was stored */
+        REJECTED,
+        /** Line was valid but its batch could not be committed */
+        FAILED
+    }
+    
+    /**
+     * Outcome of a line, with the id of the delivery received
+     */
+    record DeliveryLineResult(
+            long lineNumber,
+            LineStatus status,
+            UUID deliveryId,
+            String error
+    ) {}
+    
+    /**
+     * Result of the receive deliveries operation
+     */
+    record ReceiveDeliveriesResult(
+            Long received,
+            Long rejected,
+            Long failed,
+            Integer batchesCommitted,
+            List<DeliveryLineResult> lines
+    ) {}
+}
@@ -1,5 +1,7 @@
 package br.com.dio.warehouse.application.port.in;
 
+import br.com.dio.warehouse.domain.valueobject.SelectionStrategy;
+
 import java.util.List;
 import java.util.UUID;
 
@@ -18,20 +20,29 @@ public interface SellBasketsUseCase {
     SellBasketsResult execute(SellBasketsCommand command);
     
     /**
-     * Command for selling baskets
+     * Command for selling baskets; baskets are picked FEFO when no strategy is given
      */
     record SellBasketsCommand(
-            Long quantity
+            Long quantity,
+            SelectionStrategy strategy
     ) {
         public SellBasketsCommand {
             if (quantity == null || quantity <= 0) {
                 throw new IllegalArgumentException("Quantity must be positive");
             }
+            if (strategy == null) {
+                strategy = SelectionStrategy.FEFO;
+            }
+        }
+        
+        public SellBasketsCommand(Long quantity) {
+            this(quantity, null);
         }
     }
     
     /**
-     * Result of the sell baskets operation
+     * Result of the sell baskets operation.
+     * soldBasketIds is empty when baskets are stored as untraced lots.
      */
     record SellBasketsResult(
             List<UUID> soldBasketIds,
@@ -0,0 +1,20 @@
+package br.com.dio.warehouse.application.port.out;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Output port for expiring basket reservations at their deadline
+ * Implemented by the infrastructure layer, which calls back
+ * {@link br.com.dio.warehouse.application.port.in.BasketReservationUseCase#expire}
+ */
+public interface ReservationExpiryScheduler {
+    
+    /**
+     * Schedules the expiry of a reservation, once the current transaction has committed
+     * 
+     * @param reservationId The reservation
+     * @param expiresAt Its deadline
+     */
+    void schedule(UUID reservationId, LocalDateTime expiresAt);
+}
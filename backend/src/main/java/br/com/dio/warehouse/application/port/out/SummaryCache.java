@@ -0,0 +1,31 @@
+package br.com.dio.warehouse.application.port.out;
+
+import java.util.function.Supplier;
+
+/**
+ * Output port for caching read-only inventory summaries
+ * Implemented by the infrastructure layer
+ *
+ * Loaders run in their own transaction and only read. Cached summaries are discarded once a
+ * transaction that changed the inventory has committed.
+ */
+public interface SummaryCache {
+
+    String STOCK_SUMMARY = "stock-summary";
+    String CASH_REGISTER = "cash-register";
+
+    /**
+     * Returns the cached summary for the key, loading it on a miss
+     *
+     * @param cacheName One of the summary cache names
+     * @param key The key within the cache
+     * @param loader Computes the summary from the database
+     * @return The cached or freshly loaded summary
+     */
+    <T> T get(String cacheName, Object key, Supplier<T> loader);
+
+    /**
+     * Discards every cached summary once the current transaction has committed
+     */
+    void invalidateAll();
+}
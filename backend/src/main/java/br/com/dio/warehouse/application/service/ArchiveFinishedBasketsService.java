@@ -0,0 +1,76 @@
+package br.com.dio.warehouse.application.service;
+
+import br.com.dio.warehouse.application.port.in.ArchiveFinishedBasketsUseCase;
+import br.com.dio.warehouse.domain.repository.BasketRepository.ArchivedChunk;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Service implementation for archiving finished baskets
+ * Application layer service that orchestrates domain logic
+ * 
+ * Walks basic_baskets in id order in windows of {@code warehouse.archive.chunk-size}
+ * and moves the baskets sold or disposed more than {@code warehouse.archive.after-days}
+ * ago to the history, each window committed on its own.
+ */
+@Slf4j
+@Service
+public class ArchiveFinishedBasketsService implements ArchiveFinishedBasketsUseCase {
+    
+    private final FinishedBasketsArchivalEngine archivalEngine;
+    private final int chunkSize;
+    private final int afterDays;
+    
+    public ArchiveFinishedBasketsService(
+            FinishedBasketsArchivalEngine archivalEngine,
+            @Value("${warehouse.archive.chunk-size:5000}") int chunkSize,
+            @Value("${warehouse.archive.after-days:90}") int afterDays) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Archive chunk size must be positive");
+        }
+        if (afterDays < 0) {
+            throw new IllegalArgumentException("Archive age must not be negative");
+        }
+        this.archivalEngine = archivalEngine;
+        this.chunkSize = chunkSize;
+        this.afterDays = afterDays;
+    }
+    
+    @Override
+    public ArchiveFinishedBasketsResult execute() {
+        // One timestamp per run, so the whole run lands in one history partition
+        LocalDateTime archivedAt = LocalDateTime.now();
+        LocalDateTime finishedBefore = archivedAt.minusDays(afterDays);
+        log.info("Archiving baskets finished before {} in chunks of {}", finishedBefore, chunkSize);
+        
+        UUID cursor = ArchivedChunk.START;
+        long totalArchived = 0;
+        int chunksProcessed = 0;
+        
+        while (true) {
+            ArchivedChunk chunk = archivalEngine.archiveNextChunk(cursor, chunkSize, finishedBefore, archivedAt);
+            if (chunk.lastId() == null) {
+                // Nothing left after the cursor
+                break;
+            }
+            
+            totalArchived += chunk.archived();
+            chunksProcessed++;
+            cursor = chunk.lastId();
+        }
+        
+        log.info("Archived {} finished baskets in {} chunks", totalArchived, chunksProcessed);
+        
+        return new ArchiveFinishedBasketsResult(
+                totalArchived,
+                chunksProcessed,
+                totalArchived == 0
+                        ? "No finished baskets to archive"
+                        : "Successfully archived " + totalArchived + " finished baskets"
+        );
+    }
+}
@@ -0,0 +1,225 @@
+package br.com.dio.warehouse.application.service;
+
+import br.com.dio.warehouse.application.port.in.BasketReservationUseCase;
+import br.com.dio.warehouse.application.port.out.EventPublisher;
+import br.com.dio.warehouse.application.port.out.ReservationExpiryScheduler;
+import br.com.dio.warehouse.application.port.out.SummaryCache;
+import br.com.dio.warehouse.domain.event.BasketsSoldEvent;
+import br.com.dio.warehouse.domain.exception.BusinessRuleViolationException;
+import br.com.dio.warehouse.domain.exception.InsufficientStockException;
+import br.com.dio.warehouse.domain.exception.ReservationNotFoundException;
+import br.com.dio.warehouse.domain.model.BasketReservation;
+import br.com.dio.warehouse.domain.repository.BasketRepository;
+import br.com.dio.warehouse.domain.repository.BasketRepository.ClaimedBasket;
+import br.com.dio.warehouse.domain.repository.BasketReservationRepository;
+import br.com.dio.warehouse.domain.repository.InventoryCountersRepository;
+import br.com.dio.warehouse.domain.valueobject.InventoryCounters;
+import br.com.dio.warehouse.domain.valueobject.MoneyAccumulator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service implementation for basket reservations
+ * Application layer service that orchestrates domain logic
+ * 
+ * Reserved baskets are RESERVED in the basket storage and listed in a reservation.
+ * Confirming, releasing and expiring all start by removing the reservation, so each
+ * reservation is settled exactly once. Expiry is scheduled through the
+ * {@link ReservationExpiryScheduler} instead of polling for expired reservations.
+ */
+@Slf4j
+@Service
+public class BasketReservationService implements BasketReservationUseCase {
+    
+    private final BasketRepository basketRepository;
+    private final BasketReservationRepository reservationRepository;
+    private final InventoryCountersRepository inventoryCountersRepository;
+    private final EventPublisher eventPublisher;
+    private final ReservationExpiryScheduler expiryScheduler;
+    private final SummaryCache summaryCache;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    private final long maxQuantity;
+    
+    public BasketReservationService(
+            BasketRepository basketRepository,
+            BasketReservationRepository reservationRepository,
+            InventoryCountersRepository inventoryCountersRepository,
+            EventPublisher eventPublisher,
+            ReservationExpiryScheduler expiryScheduler,
+            SummaryCache summaryCache,
+            @Value("${warehouse.reservations.default-ttl:15m}") Duration defaultTtl,
+            @Value("${warehouse.reservations.max-ttl:2h}") Duration maxTtl,
+            @Value("${warehouse.reservations.max-quantity:1000}") long maxQuantity) {
+        if (defaultTtl.isNegative() || defaultTtl.isZero()) {
+            throw new IllegalArgumentException("Default reservation time-to-live must be positive");
+        }
+        if (maxTtl.compareTo(defaultTtl) < 0) {
+            throw new IllegalArgumentException("Maximum reservation time-to-live must not be below the default");
+        }
+        if (maxQuantity <= 0) {
+            throw new IllegalArgumentException("Maximum reservation quantity must be positive");
+        }
+        this.basketRepository = basketRepository;
+        this.reservationRepository = reservationRepository;
+        this.inventoryCountersRepository = inventoryCountersRepository;
+        this.eventPublisher = eventPublisher;
+        this.expiryScheduler = expiryScheduler;
+        this.summaryCache = summaryCache;
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+        this.maxQuantity = maxQuantity;
+    }
+    
+    @Override
+    @Transactional
+    public ReservationResult reserve(ReserveBasketsCommand command) {
+        Duration ttl = command.ttl() != null ? command.ttl() : defaultTtl;
+        if (ttl.compareTo(maxTtl) > 0) {
+            throw new BusinessRuleViolationException("Reservations cannot be held for more than " + maxTtl);
+        }
+        if (command.quantity() > maxQuantity) {
+            throw new BusinessRuleViolationException("Reservations cannot hold more than " + maxQuantity + " baskets");
+        }
+        log.info("Reserving {} baskets for {}", command.quantity(), ttl);
+        
+        LocalDateTime reservedAt = LocalDateTime.now();
+        List<ClaimedBasket> reserved = basketRepository.reserveAvailableBaskets(command.quantity(), reservedAt);
+        
+        if (reserved.size() < command.quantity()) {
+            // Rolls back the claim, releasing the locked rows
+            throw new InsufficientStockException(
+                    "Insufficient stock. Available: " + reserved.size() +
+                    ", Requested: " + command.quantity()
+            );
+        }
+        
+        List<UUID> basketIds = reserved.stream().map(ClaimedBasket::id).toList();
+        BasketReservation reservation = reservationRepository.save(BasketReservation.builder()
+                .basketIds(new ArrayList<>(basketIds))
+                .reservedAt(reservedAt)
+                .expiresAt(reservedAt.plus(ttl))
+                .build());
+        
+        inventoryCountersRepository.apply(InventoryCounters.reserved(reserved.size(), totalPrice(reserved)));
+        summaryCache.invalidateAll();
+        expiryScheduler.schedule(reservation.getId(), reservation.getExpiresAt());
+        
+        log.info("Reserved {} baskets in reservation {} until {}",
+                reserved.size(), reservation.getId(), reservation.getExpiresAt());
+        
+        return new ReservationResult(
+                reservation.getId(),
+                basketIds,
+                (long) basketIds.size(),
+                reservation.getExpiresAt(),
+                "Successfully reserved " + basketIds.size() + " baskets"
+        );
+    }
+    
+    @Override
+    @Transactional
+    public ReservationResult confirm(UUID reservationId) {
+        log.info("Confirming reservation {}", reservationId);
+        BasketReservation reservation = reservationRepository.remove(reservationId)
+                .orElseThrow(() -> new ReservationNotFoundException(reservationId));
+        
+        // Baskets disposed since the reservation was made are no longer RESERVED
+        List<ClaimedBasket> sold = basketRepository.sellReservedBaskets(
+                reservation.getBasketIds(), LocalDateTime.now());
+        
+        MoneyAccumulator revenue = new MoneyAccumulator();
+        MoneyAccumulator cost = new MoneyAccumulator();
+        for (ClaimedBasket basket : sold) {
+            revenue.add(basket.price());
+            cost.add(basket.unitCost());
+        }
+        BigDecimal totalRevenue = revenue.toBigDecimal();
+        inventoryCountersRepository.apply(
+                InventoryCounters.reservationSold(sold.size(), totalRevenue, cost.toBigDecimal()));
+        
+        if (!sold.isEmpty()) {
+            eventPublisher.publish(BasketsSoldEvent.of(
+                    (long) sold.size(),
+                    revenue.toMoney(),
+                    reservationId.toString()
+            ));
+        }
+        
+        log.info("Confirmed reservation {}: sold {} of {} baskets. Total revenue: {}",
+                reservationId, sold.size(), reservation.getBasketIds().size(), totalRevenue);
+        
+        return toResult(reservation, sold, "Successfully sold " + sold.size() + " reserved baskets");
+    }
+    
+    @Override
+    @Transactional
+    public ReservationResult release(UUID reservationId) {
+        log.info("Releasing reservation {}", reservationId);
+        BasketReservation reservation = reservationRepository.remove(reservationId)
+                .orElseThrow(() -> new ReservationNotFoundException(reservationId));
+        
+        List<ClaimedBasket> released = releaseBaskets(List.of(reservation));
+        
+        log.info("Released reservation {}: {} baskets available again", reservationId, released.size());
+        
+        return toResult(reservation, released, "Successfully released " + released.size() + " baskets");
+    }
+    
+    @Override
+    @Transactional
+    public long expire(Collection<UUID> reservationIds) {
+        List<BasketReservation> expired = reservationRepository.removeExpired(reservationIds, LocalDateTime.now());
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        
+        List<ClaimedBasket> released = releaseBaskets(expired);
+        
+        log.info("Expired {} reservations: {} baskets available again", expired.size(), released.size());
+        return expired.size();
+    }
+    
+    /**
+     * Releases the baskets of all the given reservations in one update
+     */
+    private List<ClaimedBasket> releaseBaskets(List<BasketReservation> reservations) {
+        List<UUID> basketIds = new ArrayList<>();
+        for (BasketReservation reservation : reservations) {
+            basketIds.addAll(reservation.getBasketIds());
+        }
+        List<ClaimedBasket> released = basketRepository.releaseReservedBaskets(basketIds, LocalDateTime.now());
+        inventoryCountersRepository.apply(InventoryCounters.released(released.size(), totalPrice(released)));
+        summaryCache.invalidateAll();
+        return released;
+    }
+    
+    private static BigDecimal totalPrice(List<ClaimedBasket> baskets) {
+        MoneyAccumulator total = new MoneyAccumulator();
+        for (ClaimedBasket basket : baskets) {
+            total.add(basket.price());
+        }
+        return total.toBigDecimal();
+    }
+    
+    private static ReservationResult toResult(BasketReservation reservation, List<ClaimedBasket> baskets,
+                                              String message) {
+        return new ReservationResult(
+                reservation.getId(),
+                baskets.stream().map(ClaimedBasket::id).toList(),
+                (long) baskets.size(),
+                reservation.getExpiresAt(),
+                message
+        );
+    }
+}
@@ -0,0 +1,190 @@
+package br.com.dio.warehouse.application.service;
+
+import br.com.dio.shared.identity.Ids;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase.SellBasketsCommand;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase.SellBasketsResult;
+import br.com.dio.warehouse.application.port.out.EventPublisher;
+import br.com.dio.warehouse.domain.event.BasketsSoldEvent;
+import br.com.dio.warehouse.domain.exception.InsufficientStockException;
+import br.com.dio.warehouse.domain.repository.BasketRepository;
+import br.com.dio.warehouse.domain.repository.BasketRepository.ClaimedLot;
+import br.com.dio.warehouse.domain.repository.InventoryCountersRepository;
+import br.com.dio.warehouse.domain.valueobject.InventoryCounters;
+import br.com.dio.warehouse.domain.valueobject.MoneyAccumulator;
+import br.com.dio.warehouse.domain.valueobject.SelectionStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sells the baskets of one or more sales in a single transaction
+ * 
+ * The baskets of all the sales are claimed with one set-based update per selection
+ * strategy and handed out in order, and the inventory counters are updated once. Each sale still gets
+ * its own result and BasketsSoldEvent. A batch is all or nothing: if fewer baskets
+ * than the whole batch asks for could be claimed, nothing is sold.
+ * 
+ * Storage that waits on locked stock instead of skipping it can still deadlock when
+ * two batches claim several strategies or lots in separate statements. When the
+ * engine runs its own transaction it retries a batch chosen as the deadlock victim;
+ * inside a caller's transaction the deadlock aborts that transaction and is rethrown.
+ */
+@Slf4j
+@Component
+public class BasketSalesEngine {
+    
+    private static final int MAX_ATTEMPTS = 3;
+    private static final String DEADLOCK_DETECTED = "40P01";
+    
+    private final BasketRepository basketRepository;
+    private final InventoryCountersRepository inventoryCountersRepository;
+    private final EventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    
+    public BasketSalesEngine(
+            BasketRepository basketRepository,
+            InventoryCountersRepository inventoryCountersRepository,
+            EventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager) {
+        this.basketRepository = basketRepository;
+        this.inventoryCountersRepository = inventoryCountersRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * Sells the given sales together
+     * 
+     * @param commands sales to make, in the order baskets are handed out
+     * @return one result per command, in the same order
+     * @throws InsufficientStockException if the batch could not be sold in full
+     */
+    public List<SellBasketsResult> sellAll(List<SellBasketsCommand> commands) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return sell(commands);
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(_ -> sell(commands));
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt == MAX_ATTEMPTS || !isDeadlock(e)) {
+                    throw e;
+                }
+                log.warn("Sale of {} commands was chosen as a deadlock victim; retrying (attempt {} of {})",
+                        commands.size(), attempt + 1, MAX_ATTEMPTS);
+            }
+        }
+    }
+    
+    private static boolean isDeadlock(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && DEADLOCK_DETECTED.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private List<SellBasketsResult> sell(List<SellBasketsCommand> commands) {
+        Map<SelectionStrategy, Long> quantities = new EnumMap<>(SelectionStrategy.class);
+        for (SellBasketsCommand command : commands) {
+            quantities.merge(command.strategy(), command.quantity(), Long::sum);
+        }
+        
+        // Claim and mark baskets as sold in the database, in the order of each strategy.
+        // Rows locked by concurrent sellers are skipped instead of waited on.
+        LocalDateTime soldAt = LocalDateTime.now();
+        Map<SelectionStrategy, ClaimedStock> claimed = new EnumMap<>(SelectionStrategy.class);
+        long totalQuantity = 0;
+        for (Map.Entry<SelectionStrategy, Long> entry : quantities.entrySet()) {
+            List<ClaimedLot> soldLots =
+                    basketRepository.claimAvailableBaskets(entry.getValue(), entry.getKey(), soldAt);
+            long soldQuantity = soldLots.stream().mapToLong(ClaimedLot::quantity).sum();
+            
+            if (soldQuantity < entry.getValue()) {
+                // Rolls back the claim, releasing the locked rows
+                throw new InsufficientStockException(
+                        "Insufficient stock. Available: " + soldQuantity + 
+                        ", Requested: " + entry.getValue()
+                );
+            }
+            claimed.put(entry.getKey(), new ClaimedStock(soldLots.iterator()));
+            totalQuantity += soldQuantity;
+        }
+        
+        List<SellBasketsResult> results = new ArrayList<>(commands.size());
+        MoneyAccumulator batchRevenue = new MoneyAccumulator();
+        MoneyAccumulator batchCost = new MoneyAccumulator();
+        for (SellBasketsCommand command : commands) {
+            // Basket IDs stay empty with untraced lot storage
+            List<UUID> soldBasketIds = new ArrayList<>();
+            MoneyAccumulator revenue = new MoneyAccumulator();
+            claimed.get(command.strategy()).take(command.quantity(), revenue, batchCost, soldBasketIds);
+            batchRevenue.add(revenue);
+            
+            eventPublisher.publish(BasketsSoldEvent.of(
+                    command.quantity(),
+                    revenue.toMoney(),
+                    Ids.next().toString() // Transaction ID
+            ));
+            
+            results.add(new SellBasketsResult(
+                    soldBasketIds,
+                    command.quantity(),
+                    "Successfully sold " + command.quantity() + " baskets"
+            ));
+        }
+        
+        inventoryCountersRepository.apply(
+                InventoryCounters.sold(totalQuantity, batchRevenue.toBigDecimal(), batchCost.toBigDecimal()));
+        
+        log.debug("Sold {} baskets in {} sales. Total revenue: {}",
+                totalQuantity, commands.size(), batchRevenue.toBigDecimal());
+        return results;
+    }
+    
+    /**
+     * Claimed lots of one strategy, handed out to the sales in order; a lot can be
+     * split between consecutive sales
+     */
+    private static final class ClaimedStock {
+        
+        private final Iterator<ClaimedLot> lots;
+        private ClaimedLot lot;
+        private long taken;
+        
+        ClaimedStock(Iterator<ClaimedLot> lots) {
+            this.lots = lots;
+        }
+        
+        void take(long quantity, MoneyAccumulator revenue, MoneyAccumulator cost, List<UUID> ids) {
+            long remaining = quantity;
+            while (remaining > 0) {
+                if (lot == null || taken == lot.quantity()) {
+                    lot = lots.next();
+                    taken = 0;
+                }
+                long quantityFromLot = Math.min(remaining, lot.quantity() - taken);
+                revenue.add(lot.price(), quantityFromLot);
+                cost.add(lot.unitCost(), quantityFromLot);
+                if (!lot.ids().isEmpty()) {
+                    ids.addAll(lot.ids().subList((int) taken, (int) (taken + quantityFromLot)));
+                }
+                taken += quantityFromLot;
+                remaining -= quantityFromLot;
+            }
+        }
+    }
+}
@@ -1,19 +1,24 @@
 package br.com.dio.warehouse.application.service;
 
 import br.com.dio.warehouse.application.port.in.CheckStockUseCase;
-import br.com.dio.warehouse.domain.model.BasicBasket;
+import br.com.dio.warehouse.application.port.out.SummaryCache;
 import br.com.dio.warehouse.domain.repository.BasketRepository;
+import br.com.dio.warehouse.domain.repository.InventoryCountersRepository;
+import br.com.dio.warehouse.domain.valueobject.InventoryCounters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.math.BigDecimal;
-import java.util.List;
 
 /**
  * Service implementation for checking stock
  * Application layer service that orchestrates domain logic
+ * 
+ * Counts per status and the available inventory value come from the incrementally
+ * maintained inventory counters. Expiry depends on the current date, so the expired
+ * count is still queried, through the validation date index.
+ * 
+ * The result is served from the stock-summary {@link SummaryCache}, which loads it in
+ * its own transaction.
  */
 @Slf4j
 @Service
@@ -21,40 +26,31 @@ import java.util.List;
 public class CheckStockService implements CheckStockUseCase {
     
     private final BasketRepository basketRepository;
+    private final InventoryCountersRepository inventoryCountersRepository;
+    private final SummaryCache summaryCache;
     
     @Override
-    @Transactional(readOnly = true)
     public StockInfo execute() {
+        return summaryCache.get(SummaryCache.STOCK_SUMMARY, "stock", this::loadStockInfo);
+    }
+    
+    private StockInfo loadStockInfo() {
         log.debug("Checking stock information");
         
-        // Get all baskets
-        List<BasicBasket> allBaskets = basketRepository.findAll();
-        
-        // Count by status
-        long totalBaskets = allBaskets.size();
-        long availableBaskets = basketRepository.countByStatus(BasicBasket.BasketStatus.AVAILABLE);
-        long soldBaskets = basketRepository.countByStatus(BasicBasket.BasketStatus.SOLD);
-        long disposedBaskets = basketRepository.countByStatus(BasicBasket.BasketStatus.DISPOSED);
-        
-        // Find expired baskets (available but past validation date)
-        long expiredBaskets = basketRepository.findExpiredBaskets().size();
-        
-        // Calculate total inventory value (only available baskets)
-        BigDecimal totalInventoryValue = allBaskets.stream()
-                .filter(basket -> basket.getStatus() == BasicBasket.BasketStatus.AVAILABLE)
-                .map(basket -> basket.getPrice().getAmount())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        InventoryCounters counters = inventoryCountersRepository.current();
+        long expiredBaskets = basketRepository.countExpiredBaskets();
         
         log.debug("Stock info - Total: {}, Available: {}, Sold: {}, Disposed: {}, Expired: {}",
-                totalBaskets, availableBaskets, soldBaskets, disposedBaskets, expiredBaskets);
+                counters.totalBaskets(), counters.availableBaskets(), counters.soldBaskets(),
+                counters.disposedBaskets(), expiredBaskets);
         
         return new StockInfo(
-                totalBaskets,
-                availableBaskets,
-                soldBaskets,
-                disposedBaskets,
+                counters.totalBaskets(),
+                counters.availableBaskets(),
+                counters.soldBaskets(),
+                counters.disposedBaskets(),
                 expiredBaskets,
-                totalInventoryValue
+                counters.availableValue()
         );
     }
 }
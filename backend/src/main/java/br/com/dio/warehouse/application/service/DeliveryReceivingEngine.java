@@ -0,0 +1,117 @@
+package br.com.dio.warehouse.application.service;
+
+import br.com.dio.warehouse.application.port.in.ReceiveDeliveryUseCase.ReceiveDeliveryCommand;
+import br.com.dio.warehouse.application.port.out.EventPublisher;
+import br.com.dio.warehouse.domain.event.DeliveriesReceivedEvent;
+import br.com.dio.warehouse.domain.model.DeliveryBox;
+import br.com.dio.warehouse.domain.repository.BasketRepository;
+import br.com.dio.warehouse.domain.repository.DeliveryBoxRepository;
+import br.com.dio.warehouse.domain.repository.InventoryCountersRepository;
+import br.com.dio.warehouse.domain.valueobject.InventoryCounters;
+import br.com.dio.warehouse.domain.valueobject.Money;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stores received deliveries and their baskets
+ * 
+ * {@link #store(ReceiveDeliveryCommand)} writes one delivery inside the caller's
+ * transaction. {@link #receiveBatch(List)} commits a batch of deliveries on its own,
+ * with a single inventory counters update and a single DeliveriesReceivedEvent.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeliveryReceivingEngine {
+    
+    private final DeliveryBoxRepository deliveryBoxRepository;
+    private final BasketRepository basketRepository;
+    private final InventoryCountersRepository inventoryCountersRepository;
+    private final EventPublisher eventPublisher;
+    
+    /**
+     * Saves the delivery box and inserts its baskets
+     * The inventory counters are left to the caller
+     * 
+     * @param command the delivery to store
+     * @return the saved delivery box, with unit cost and selling price set
+     */
+    public DeliveryBox store(ReceiveDeliveryCommand command) {
+        // Create delivery box with cost and profit margin
+        Money totalCost = Money.of(command.totalCost());
+        DeliveryBox deliveryBox = DeliveryBox.builder()
+                .totalQuantity(command.totalQuantity())
+                .validationDate(command.validationDate())
+                .totalCost(totalCost)
+                .profitMargin(command.profitMarginPercentage().doubleValue())
+                .build();
+        
+        // Calculate unit cost and selling price BEFORE persisting
+        Money unitCost = deliveryBox.calculateUnitCost();
+        // Convert percentage to decimal (25.0 -> 0.25)
+        double marginAsDecimal = command.profitMarginPercentage().doubleValue() / 100.0;
+        Money sellingPrice = deliveryBox.calculateSellingPrice(marginAsDecimal);
+        
+        // Set calculated values
+        deliveryBox.setUnitCost(unitCost);
+        deliveryBox.setSellingPrice(sellingPrice);
+        
+        // Save delivery box first, the baskets reference it
+        DeliveryBox savedDeliveryBox = deliveryBoxRepository.saveAndFlush(deliveryBox);
+        
+        // Bulk insert the individual baskets
+        basketRepository.insertAvailableBaskets(
+                savedDeliveryBox.getId(),
+                command.validationDate(),
+                sellingPrice.getAmount(),
+                command.totalQuantity()
+        );
+        
+        return savedDeliveryBox;
+    }
+    
+    /**
+     * Counters delta of a stored delivery: its baskets are available at the selling price
+     */
+    public InventoryCounters received(DeliveryBox deliveryBox) {
+        return InventoryCounters.received(
+                deliveryBox.getTotalQuantity(), deliveryBox.getSellingPrice().getAmount());
+    }
+    
+    /**
+     * Stores a batch of deliveries in a new transaction
+     * 
+     * @param commands deliveries of the batch, in order
+     * @return the saved delivery boxes, in the order of the commands
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<DeliveryBox> receiveBatch(List<ReceiveDeliveryCommand> commands) {
+        List<DeliveryBox> deliveryBoxes = new ArrayList<>(commands.size());
+        List<UUID> deliveryBoxIds = new ArrayList<>(commands.size());
+        InventoryCounters delta = InventoryCounters.ZERO;
+        long totalQuantity = 0;
+        
+        for (ReceiveDeliveryCommand command : commands) {
+            DeliveryBox deliveryBox = store(command);
+            deliveryBoxes.add(deliveryBox);
+            deliveryBoxIds.add(deliveryBox.getId());
+            delta = delta.add(received(deliveryBox));
+            totalQuantity += deliveryBox.getTotalQuantity();
+        }
+        
+        if (!deliveryBoxes.isEmpty()) {
+            inventoryCountersRepository.apply(delta);
+            eventPublisher.publish(DeliveriesReceivedEvent.of(deliveryBoxIds, totalQuantity));
+            log.debug("Received batch of {} deliveries with {} baskets", deliveryBoxes.size(), totalQuantity);
+        }
+        
+        return deliveryBoxes;
+    }
+}
@@ -1,79 +1,117 @@
 package br.com.dio.warehouse.application.service;
 
 import br.com.dio.warehouse.application.port.in.DisposeExpiredBasketsUseCase;
-import br.com.dio.warehouse.application.port.out.EventPublisher;
-import br.com.dio.warehouse.domain.event.BasketsDisposedEvent;
-import br.com.dio.warehouse.domain.model.BasicBasket;
 import br.com.dio.warehouse.domain.repository.BasketRepository;
-import br.com.dio.warehouse.domain.valueobject.Money;
-import lombok.RequiredArgsConstructor;
+import br.com.dio.warehouse.domain.repository.BasketRepository.DisposalCursor;
+import br.com.dio.warehouse.domain.repository.BasketRepository.DisposedChunk;
+import br.com.dio.warehouse.domain.valueobject.MoneyAccumulator;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.List;
-import java.util.UUID;
+import java.time.LocalDate;
+import java.util.Optional;
 
 /**
  * Service implementation for disposing expired baskets
  * Application layer service that orchestrates domain logic
+ * 
+ * Walks the expired baskets in (validation_date, id) order and disposes them in
+ * chunks of {@code warehouse.disposal.chunk-size}, each committed on its own.
+ * Only running totals are kept in memory. {@link #executeNextBucket(int)} bounds a
+ * run to the oldest validation dates, for the scheduled disposal.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class DisposeExpiredBasketsService implements DisposeExpiredBasketsUseCase {
     
+    private final ExpiredBasketsDisposalEngine disposalEngine;
     private final BasketRepository basketRepository;
-    private final EventPublisher eventPublisher;
+    private final int chunkSize;
+    
+    public DisposeExpiredBasketsService(
+            ExpiredBasketsDisposalEngine disposalEngine,
+            BasketRepository basketRepository,
+            @Value("${warehouse.disposal.chunk-size:1000}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Disposal chunk size must be positive");
+        }
+        this.disposalEngine = disposalEngine;
+        this.basketRepository = basketRepository;
+        this.chunkSize = chunkSize;
+    }
     
     @Override
-    @Transactional
     public DisposeExpiredBasketsResult execute() {
-        log.info("Disposing expired baskets");
-        
-        // Find all expired baskets
-        List<BasicBasket> expiredBaskets = basketRepository.findExpiredBaskets();
-        
-        if (expiredBaskets.isEmpty()) {
-            log.info("No expired baskets found");
-            return new DisposeExpiredBasketsResult(
-                    List.of(),
-                    0L,
-                    "No expired baskets to dispose"
-            );
+        // The queries only dispose baskets expired by the database date; this bound never cuts in
+        return dispose(LocalDate.now().plusDays(1));
+    }
+    
+    @Override
+    public DisposeExpiredBasketsResult executeNextBucket(int bucketDays) {
+        if (bucketDays <= 0) {
+            throw new IllegalArgumentException("Disposal bucket must be at least one day wide");
         }
         
-        // Mark baskets as disposed
-        expiredBaskets.forEach(BasicBasket::markAsDisposed);
-        
-        // Save baskets
-        basketRepository.saveAll(expiredBaskets);
+        Optional<LocalDate> oldest = basketRepository.findOldestDisposableValidationDate();
+        if (oldest.isEmpty()) {
+            log.debug("No expired baskets found");
+            return noExpiredBaskets();
+        }
         
-        // Get basket IDs
-        List<UUID> disposedBasketIds = expiredBaskets.stream()
-                .map(BasicBasket::getId)
-                .toList();
+        log.info("Disposing expired baskets validated from {} up to {} days later", oldest.get(), bucketDays);
+        return dispose(oldest.get().plusDays(bucketDays));
+    }
+    
+    private DisposeExpiredBasketsResult dispose(LocalDate expiredBefore) {
+        log.info("Disposing expired baskets in chunks of {}", chunkSize);
         
-        // Calculate total loss amount
-        BigDecimal lossAmount = expiredBaskets.stream()
-                .map(basket -> basket.getPrice().getAmount())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        DisposalCursor cursor = DisposalCursor.START;
+        long totalDisposed = 0;
+        MoneyAccumulator totalLoss = new MoneyAccumulator();
+        int chunksProcessed = 0;
         
-        // Publish domain event using factory method
-        BasketsDisposedEvent event = BasketsDisposedEvent.of(
-                (long) expiredBaskets.size(),
-                Money.of(lossAmount)
-        );
+        while (true) {
+            DisposedChunk chunk = disposalEngine.disposeNextChunk(cursor, expiredBefore, chunkSize);
+            if (chunk.quantity() == 0) {
+                break;
+            }
+            
+            totalDisposed += chunk.quantity();
+            totalLoss.add(chunk.lossAmount());
+            chunksProcessed++;
+            cursor = chunk.lastKey();
+            
+            if (chunk.quantity() < chunkSize) {
+                // Nothing left after the cursor
+                break;
+            }
+        }
         
-        eventPublisher.publish(event);
+        if (totalDisposed == 0) {
+            log.info("No expired baskets found");
+            return noExpiredBaskets();
+        }
         
-        log.info("Successfully disposed {} expired baskets", expiredBaskets.size());
+        BigDecimal totalLossAmount = totalLoss.toBigDecimal();
+        log.info("Successfully disposed {} expired baskets in {} chunks. Total loss: {}",
+                totalDisposed, chunksProcessed, totalLossAmount);
         
         return new DisposeExpiredBasketsResult(
-                disposedBasketIds,
-                (long) expiredBaskets.size(),
-                "Successfully disposed " + expiredBaskets.size() + " expired baskets"
+                totalDisposed,
+                totalLossAmount,
+                chunksProcessed,
+                "Successfully disposed " + totalDisposed + " expired baskets"
+        );
+    }
+    
+    private static DisposeExpiredBasketsResult noExpiredBaskets() {
+        return new DisposeExpiredBasketsResult(
+                0L,
+                BigDecimal.ZERO,
+                0,
+                "No expired baskets to dispose"
         );
     }
 }
@@ -0,0 +1,61 @@
+package br.com.dio.warehouse.application.service;
+
+import br.com.dio.warehouse.application.port.out.EventPublisher;
+import br.com.dio.warehouse.domain.event.BasketsDisposedEvent;
+import br.com.dio.warehouse.domain.repository.BasketRepository;
+import br.com.dio.warehouse.domain.repository.BasketRepository.DisposalCursor;
+import br.com.dio.warehouse.domain.repository.BasketRepository.DisposedChunk;
+import br.com.dio.warehouse.domain.repository.InventoryCountersRepository;
+import br.com.dio.warehouse.domain.valueobject.InventoryCounters;
+import br.com.dio.warehouse.domain.valueobject.Money;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Disposes expired baskets one bounded chunk at a time
+ * 
+ * Each chunk runs in its own transaction, so a large backlog of expired baskets
+ * never turns into one long transaction holding millions of row locks.
+ * The inventory counters are updated and a BasketsDisposedEvent is published
+ * per committed chunk.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExpiredBasketsDisposalEngine {
+    
+    private final BasketRepository basketRepository;
+    private final InventoryCountersRepository inventoryCountersRepository;
+    private final EventPublisher eventPublisher;
+    
+    /**
+     * Disposes the next chunk after the given cursor in a new transaction
+     * 
+     * @param after         keyset cursor to continue from
+     * @param expiredBefore exclusive upper bound of the validation dates
+     * @param chunkSize     maximum number of baskets to dispose
+     * @return totals of the disposed chunk
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public DisposedChunk disposeNextChunk(DisposalCursor after, LocalDate expiredBefore, int chunkSize) {
+        DisposedChunk chunk = basketRepository.disposeExpiredChunk(
+                after, expiredBefore, chunkSize, LocalDateTime.now());
+        
+        if (chunk.quantity() > 0) {
+            inventoryCountersRepository.apply(InventoryCounters.disposed(
+                    chunk.quantity() - chunk.reservedQuantity(),
+                    chunk.reservedQuantity(),
+                    chunk.lossAmount().subtract(chunk.reservedLossAmount())));
+            eventPublisher.publish(BasketsDisposedEvent.of(chunk.quantity(), Money.of(chunk.lossAmount())));
+            log.debug("Disposed chunk of {} baskets up to {}", chunk.quantity(), chunk.lastKey());
+        }
+        
+        return chunk;
+    }
+}
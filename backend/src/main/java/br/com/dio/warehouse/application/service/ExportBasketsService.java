@@ -0,0 +1,46 @@
+package br.com.dio.warehouse.application.service;
+
+import br.com.dio.warehouse.application.port.in.ExportBasketsUseCase;
+import br.com.dio.warehouse.domain.model.BasicBasket;
+import br.com.dio.warehouse.domain.repository.BasketRepository;
+import br.com.dio.warehouse.domain.valueobject.BasketFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Service implementation for exporting baskets
+ * Application layer service that orchestrates domain logic
+ * 
+ * The baskets are read through a database cursor and handed over one at a time,
+ * so an export of millions of rows runs in constant memory. The read-only
+ * transaction stays open until the sink has consumed the last basket.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportBasketsService implements ExportBasketsUseCase {
+    
+    private final BasketRepository basketRepository;
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long execute(BasketFilter filter, Consumer<BasicBasket> sink) {
+        log.info("Exporting baskets: filter={}", filter);
+        
+        long exported = 0;
+        try (Stream<BasicBasket> baskets = basketRepository.streamBaskets(filter)) {
+            for (BasicBasket basket : (Iterable<BasicBasket>) baskets::iterator) {
+                sink.accept(basket);
+                exported++;
+            }
+        }
+        
+        log.info("Exported {} baskets", exported);
+        return exported;
+    }
+}
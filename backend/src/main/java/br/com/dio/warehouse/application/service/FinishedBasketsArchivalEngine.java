@@ -0,0 +1,48 @@
+package br.com.dio.warehouse.application.service;
+
+import br.com.dio.warehouse.domain.repository.BasketRepository;
+import br.com.dio.warehouse.domain.repository.BasketRepository.ArchivedChunk;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Archives finished baskets one bounded chunk at a time
+ * 
+ * Each chunk runs in its own transaction, so archiving years of history never holds
+ * more than one chunk of row locks. Archived baskets keep counting in the inventory
+ * counters, which are all-time totals, so no counter delta is applied.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FinishedBasketsArchivalEngine {
+    
+    private final BasketRepository basketRepository;
+    
+    /**
+     * Archives the finished baskets of the next chunk after the given cursor in a new transaction
+     * 
+     * @param afterId        keyset cursor to continue from
+     * @param chunkSize      maximum number of baskets to look at
+     * @param finishedBefore only baskets finished before this timestamp are moved
+     * @param archivedAt     timestamp recorded on the archived baskets
+     * @return number of baskets moved and the cursor to continue from
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ArchivedChunk archiveNextChunk(UUID afterId, int chunkSize, LocalDateTime finishedBefore,
+                                          LocalDateTime archivedAt) {
+        ArchivedChunk chunk = basketRepository.archiveFinishedChunk(afterId, chunkSize, finishedBefore, archivedAt);
+        
+        if (chunk.archived() > 0) {
+            log.debug("Archived {} baskets up to {}", chunk.archived(), chunk.lastId());
+        }
+        
+        return chunk;
+    }
+}
@@ -1,13 +1,15 @@
 package br.com.dio.warehouse.application.service;
 
 import br.com.dio.warehouse.application.port.in.GetCashRegisterUseCase;
-import br.com.dio.warehouse.domain.model.BasicBasket;
-import br.com.dio.warehouse.domain.model.DeliveryBox;
+import br.com.dio.warehouse.application.port.out.SummaryCache;
 import br.com.dio.warehouse.domain.repository.BasketRepository;
+import br.com.dio.warehouse.domain.repository.BasketRepository.SalesSummary;
+import br.com.dio.warehouse.domain.repository.InventoryCountersRepository;
+import br.com.dio.warehouse.domain.valueobject.InventoryCounters;
+import br.com.dio.warehouse.domain.valueobject.MoneyAccumulator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -16,6 +18,13 @@ import java.util.List;
 /**
  * Service implementation for getting cash register information
  * Application layer service that orchestrates domain logic
+ * 
+ * All-time totals are read from the incrementally maintained inventory counters.
+ * Period reports are computed by aggregate join queries, so no sold basket or
+ * delivery is loaded into memory.
+ * 
+ * Totals and reports are served from the cash-register {@link SummaryCache}, keyed by
+ * the report query, which loads them in their own transaction.
  */
 @Slf4j
 @Service
@@ -23,48 +32,88 @@ import java.util.List;
 public class GetCashRegisterService implements GetCashRegisterUseCase {
     
     private final BasketRepository basketRepository;
+    private final InventoryCountersRepository inventoryCountersRepository;
+    private final SummaryCache summaryCache;
     
     @Override
-    @Transactional(readOnly = true)
     public CashRegisterInfo execute() {
+        return summaryCache.get(SummaryCache.CASH_REGISTER, "totals", this::loadCashRegisterInfo);
+    }
+    
+    @Override
+    public CashRegisterReport execute(CashRegisterReportQuery query) {
+        return summaryCache.get(SummaryCache.CASH_REGISTER, query, () -> loadCashRegisterReport(query));
+    }
+    
+    private CashRegisterInfo loadCashRegisterInfo() {
         log.debug("Getting cash register information");
         
-        // Get all sold baskets
-        List<BasicBasket> soldBaskets = basketRepository.findByStatus(BasicBasket.BasketStatus.SOLD);
-        
-        // Calculate total revenue (sum of prices of sold baskets)
-        BigDecimal totalRevenue = soldBaskets.stream()
-                .map(basket -> basket.getPrice().getAmount())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        InventoryCounters counters = inventoryCountersRepository.current();
+        BigDecimal grossProfit = counters.revenue().subtract(counters.cost());
+        BigDecimal profitMargin = profitMargin(grossProfit, counters.revenue());
         
-        // Calculate total cost (sum of unit costs from delivery boxes)
-        BigDecimal totalCost = soldBaskets.stream()
-                .map(basket -> {
-                    DeliveryBox delivery = basket.getDeliveryBox();
-                    return delivery != null ? delivery.getUnitCost().getAmount() : BigDecimal.ZERO;
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        log.debug("Cash register - Revenue: {}, Cost: {}, Profit: {}, Margin: {}%, Baskets sold: {}",
+                counters.revenue(), counters.cost(), grossProfit, profitMargin, counters.soldBaskets());
         
-        // Calculate gross profit
-        BigDecimal grossProfit = totalRevenue.subtract(totalCost);
+        return new CashRegisterInfo(
+                counters.revenue(),
+                counters.cost(),
+                grossProfit,
+                profitMargin,
+                counters.soldBaskets()
+        );
+    }
+    
+    private CashRegisterReport loadCashRegisterReport(CashRegisterReportQuery query) {
+        log.debug("Getting cash register report from {} to {} by {}", query.from(), query.to(), query.grouping());
         
-        // Calculate profit margin percentage
-        BigDecimal profitMargin = totalRevenue.compareTo(BigDecimal.ZERO) > 0
-                ? grossProfit.divide(totalRevenue, 4, RoundingMode.HALF_UP)
-                        .multiply(BigDecimal.valueOf(100))
-                : BigDecimal.ZERO;
+        List<SalesSummary> sales = basketRepository.summarizeSales(
+                query.from().atStartOfDay(),
+                query.to().plusDays(1).atStartOfDay(),
+                query.grouping()
+        );
         
-        long totalBasketsSold = soldBaskets.size();
+        List<CashRegisterPeriod> periods = sales.stream()
+                .map(period -> new CashRegisterPeriod(
+                        period.periodStart(),
+                        period.revenue(),
+                        period.cost(),
+                        period.grossProfit(),
+                        period.profitMargin(),
+                        period.basketsSold()))
+                .toList();
         
-        log.debug("Cash register - Revenue: {}, Cost: {}, Profit: {}, Margin: {}%, Baskets sold: {}",
-                totalRevenue, totalCost, grossProfit, profitMargin, totalBasketsSold);
+        // Range totals from the (few) period rows
+        MoneyAccumulator revenue = new MoneyAccumulator();
+        MoneyAccumulator cost = new MoneyAccumulator();
+        long totalBasketsSold = 0;
+        for (SalesSummary period : sales) {
+            revenue.add(period.revenue());
+            cost.add(period.cost());
+            totalBasketsSold += period.basketsSold();
+        }
+        BigDecimal totalRevenue = revenue.toBigDecimal();
+        BigDecimal totalCost = cost.toBigDecimal();
+        BigDecimal grossProfit = totalRevenue.subtract(totalCost);
         
-        return new CashRegisterInfo(
+        CashRegisterInfo totals = new CashRegisterInfo(
                 totalRevenue,
                 totalCost,
                 grossProfit,
-                profitMargin,
+                profitMargin(grossProfit, totalRevenue),
                 totalBasketsSold
         );
+        
+        return new CashRegisterReport(query.from(), query.to(), query.grouping(), periods, totals);
+    }
+    
+    /**
+     * Profit margin percentage, same rounding as the aggregate queries
+     */
+    private BigDecimal profitMargin(BigDecimal grossProfit, BigDecimal revenue) {
+        return revenue.compareTo(BigDecimal.ZERO) > 0
+                ? grossProfit.divide(revenue, 4, RoundingMode.HALF_UP)
+                        .multiply(BigDecimal.valueOf(100))
+                : BigDecimal.ZERO;
     }
 }
@@ -0,0 +1,86 @@
+package br.com.dio.warehouse.application.service;
+
+import br.com.dio.warehouse.application.port.in.GetSalesSeriesUseCase;
+import br.com.dio.warehouse.domain.repository.SalesRollupRepository;
+import br.com.dio.warehouse.domain.valueobject.MoneyAccumulator;
+import br.com.dio.warehouse.domain.valueobject.SalesBucket;
+import br.com.dio.warehouse.domain.valueobject.SalesBucket.Resolution;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Service implementation for sales curves
+ * Application layer service that orchestrates domain logic
+ * 
+ * Reads the stored buckets of the range and fills the buckets without sales with
+ * zeros. The range is widened to whole buckets and limited to
+ * {@code warehouse.sales.rollup.max-points} buckets per request.
+ */
+@Slf4j
+@Service
+public class GetSalesSeriesService implements GetSalesSeriesUseCase {
+    
+    private final SalesRollupRepository salesRollupRepository;
+    private final int maxPoints;
+    
+    public GetSalesSeriesService(
+            SalesRollupRepository salesRollupRepository,
+            @Value("${warehouse.sales.rollup.max-points:10080}") int maxPoints) {
+        if (maxPoints <= 0) {
+            throw new IllegalArgumentException("Sales series maximum points must be positive");
+        }
+        this.salesRollupRepository = salesRollupRepository;
+        this.maxPoints = maxPoints;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public SalesSeries execute(SalesSeriesQuery query) {
+        Resolution resolution = query.resolution();
+        LocalDateTime from = resolution.truncate(LocalDateTime.ofInstant(query.from(), ZoneOffset.UTC));
+        LocalDateTime to = LocalDateTime.ofInstant(query.to(), ZoneOffset.UTC);
+        if (!resolution.truncate(to).equals(to)) {
+            to = resolution.truncate(to).plus(1, resolution.unit());
+        }
+        long buckets = resolution.unit().between(from, to);
+        if (buckets > maxPoints) {
+            throw new IllegalArgumentException("Sales series is limited to " + maxPoints
+                    + " points; use a shorter range or a wider resolution");
+        }
+        log.debug("Getting sales series from {} to {} per {}", from, to, resolution);
+        
+        Iterator<SalesBucket> stored = salesRollupRepository.find(resolution, from, to).iterator();
+        SalesBucket next = stored.hasNext() ? stored.next() : null;
+        List<SalesPoint> points = new ArrayList<>((int) buckets);
+        long totalQuantity = 0;
+        MoneyAccumulator totalRevenue = new MoneyAccumulator();
+        
+        for (LocalDateTime start = from; start.isBefore(to); start = start.plus(1, resolution.unit())) {
+            if (next != null && next.bucketStart().equals(start)) {
+                points.add(new SalesPoint(start.toInstant(ZoneOffset.UTC), next.quantity(), next.revenue(), next.sales()));
+                totalQuantity += next.quantity();
+                totalRevenue.add(next.revenue());
+                next = stored.hasNext() ? stored.next() : null;
+            } else {
+                points.add(new SalesPoint(start.toInstant(ZoneOffset.UTC), 0L, BigDecimal.ZERO, 0L));
+            }
+        }
+        
+        return new SalesSeries(
+                from.toInstant(ZoneOffset.UTC),
+                to.toInstant(ZoneOffset.UTC),
+                resolution,
+                points,
+                totalQuantity,
+                totalRevenue.toBigDecimal());
+    }
+}
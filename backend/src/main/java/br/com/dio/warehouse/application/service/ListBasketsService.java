@@ -0,0 +1,43 @@
+package br.com.dio.warehouse.application.service;
+
+import br.com.dio.warehouse.application.port.in.ListBasketsUseCase;
+import br.com.dio.warehouse.domain.model.BasicBasket;
+import br.com.dio.warehouse.domain.repository.BasketRepository;
+import br.com.dio.warehouse.domain.valueobject.BasketCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Service implementation for listing baskets
+ * Application layer service that orchestrates domain logic
+ * 
+ * Pages are read with keyset pagination: the next page starts after the last
+ * (validation date, id) of the previous one instead of skipping an offset.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ListBasketsService implements ListBasketsUseCase {
+    
+    private final BasketRepository basketRepository;
+    
+    @Override
+    @Transactional(readOnly = true)
+    public BasketPage execute(ListBasketsQuery query) {
+        log.debug("Listing baskets: filter={}, after={}, limit={}", query.filter(), query.after(), query.limit());
+        
+        // One extra row tells whether there is a next page
+        List<BasicBasket> baskets = basketRepository.findPage(query.filter(), query.after(), query.limit() + 1);
+        if (baskets.size() <= query.limit()) {
+            return new BasketPage(baskets, null);
+        }
+        
+        List<BasicBasket> page = baskets.subList(0, query.limit());
+        BasicBasket last = page.getLast();
+        return new BasketPage(List.copyOf(page), new BasketCursor(last.getValidationDate(), last.getId()));
+    }
+}
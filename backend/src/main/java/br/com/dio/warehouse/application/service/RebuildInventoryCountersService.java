@@ -0,0 +1,118 @@
+package br.com.dio.warehouse.application.service;
+
+import br.com.dio.warehouse.application.port.in.RebuildInventoryCountersUseCase;
+import br.com.dio.warehouse.application.port.out.SummaryCache;
+import br.com.dio.warehouse.domain.repository.BasketRepository;
+import br.com.dio.warehouse.domain.repository.BasketRepository.CountersChunk;
+import br.com.dio.warehouse.domain.repository.InventoryCountersRepository;
+import br.com.dio.warehouse.domain.valueobject.InventoryCounters;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+/**
+ * Service implementation for rebuilding the inventory counters
+ * Application layer service that orchestrates domain logic
+ * 
+ * The counters and the baskets are read in one REPEATABLE READ snapshot, without
+ * locking: every writer changes the baskets and applies its delta in the same
+ * transaction, so within the snapshot the counters should equal the recount. The
+ * baskets are recounted in chunks of {@code warehouse.inventory.rebuild-chunk-size}
+ * in id order, each chunk read by a separate statement. Only the difference between
+ * the recount and the counters is then applied, as one more delta in a short
+ * transaction, so sales, deliveries and disposals that commit meanwhile are neither
+ * blocked nor overwritten.
+ */
+@Slf4j
+@Service
+public class RebuildInventoryCountersService implements RebuildInventoryCountersUseCase {
+    
+    private final BasketRepository basketRepository;
+    private final InventoryCountersRepository inventoryCountersRepository;
+    private final SummaryCache summaryCache;
+    private final TransactionTemplate snapshotTransaction;
+    private final TransactionTemplate correctionTransaction;
+    private final int chunkSize;
+    
+    public RebuildInventoryCountersService(
+            BasketRepository basketRepository,
+            InventoryCountersRepository inventoryCountersRepository,
+            SummaryCache summaryCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${warehouse.inventory.rebuild-chunk-size:5000}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Rebuild chunk size must be positive");
+        }
+        this.basketRepository = basketRepository;
+        this.inventoryCountersRepository = inventoryCountersRepository;
+        this.summaryCache = summaryCache;
+        // Not read-only: the snapshot must come from the primary the deltas are written to
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.correctionTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+    
+    @Override
+    public RebuildInventoryCountersResult execute() {
+        log.info("Rebuilding inventory counters in chunks of {}", chunkSize);
+        
+        Recount recount = snapshotTransaction.execute(_ -> recount());
+        InventoryCounters previous = recount.previous();
+        InventoryCounters rebuilt = recount.rebuilt();
+        int chunksProcessed = recount.chunksProcessed();
+        
+        boolean driftDetected = !previous.matches(rebuilt);
+        if (driftDetected) {
+            log.warn("Inventory counters had drifted. Previous: {}, Rebuilt: {}", previous, rebuilt);
+            correctionTransaction.executeWithoutResult(
+                    _ -> inventoryCountersRepository.apply(rebuilt.subtract(previous)));
+            summaryCache.invalidateAll();
+        }
+        
+        log.info("Inventory counters rebuilt from {} baskets in {} chunks",
+                rebuilt.totalBaskets(), chunksProcessed);
+        
+        return new RebuildInventoryCountersResult(
+                previous,
+                rebuilt,
+                chunksProcessed,
+                driftDetected,
+                driftDetected
+                        ? "Inventory counters rebuilt; drift corrected"
+                        : "Inventory counters rebuilt; no drift found"
+        );
+    }
+    
+    private Recount recount() {
+        InventoryCounters previous = inventoryCountersRepository.current();
+        
+        InventoryCounters rebuilt = InventoryCounters.ZERO;
+        UUID cursor = CountersChunk.START;
+        int chunksProcessed = 0;
+        
+        while (true) {
+            CountersChunk chunk = basketRepository.summarizeCounters(cursor, chunkSize);
+            if (chunk.counters().totalBaskets() == 0) {
+                break;
+            }
+            
+            rebuilt = rebuilt.add(chunk.counters());
+            chunksProcessed++;
+            cursor = chunk.lastId();
+            
+            if (chunk.counters().totalBaskets() < chunkSize) {
+                // Nothing left after the cursor
+                break;
+            }
+        }
+        return new Recount(previous, rebuilt, chunksProcessed);
+    }
+    
+    private record Recount(InventoryCounters previous, InventoryCounters rebuilt, int chunksProcessed) {}
+}
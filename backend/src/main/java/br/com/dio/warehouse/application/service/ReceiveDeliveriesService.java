@@ -0,0 +1,116 @@
+package br.com.dio.warehouse.application.service;
+
+import br.com.dio.warehouse.application.port.in.ReceiveDeliveriesUseCase;
+import br.com.dio.warehouse.application.port.in.ReceiveDeliveryUseCase.ReceiveDeliveryCommand;
+import br.com.dio.warehouse.domain.model.DeliveryBox;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Service implementation for receiving deliveries in bulk
+ * Application layer service that orchestrates domain logic
+ * 
+ * Valid lines are buffered and handed to the {@link DeliveryReceivingEngine} in
+ * batches of {@code warehouse.delivery.bulk.batch-size}, each committed on its own
+ * with one counters update and one DeliveriesReceivedEvent. Only the current batch
+ * and the per-line results are kept in memory. A failed batch marks its lines
+ * FAILED and the following batches are still received.
+ */
+@Slf4j
+@Service
+public class ReceiveDeliveriesService implements ReceiveDeliveriesUseCase {
+    
+    private final DeliveryReceivingEngine receivingEngine;
+    private final int batchSize;
+    
+    public ReceiveDeliveriesService(
+            DeliveryReceivingEngine receivingEngine,
+            @Value("${warehouse.delivery.bulk.batch-size:50}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Bulk delivery batch size must be positive");
+        }
+        this.receivingEngine = receivingEngine;
+        this.batchSize = batchSize;
+    }
+    
+    @Override
+    public ReceiveDeliveriesResult execute(Iterator<DeliveryLine> lines) {
+        log.info("Receiving deliveries in batches of {}", batchSize);
+        
+        BulkReceipt receipt = new BulkReceipt();
+        List<DeliveryLine> batch = new ArrayList<>(batchSize);
+        
+        while (lines.hasNext()) {
+            DeliveryLine line = lines.next();
+            if (line.error() != null) {
+                receipt.add(new DeliveryLineResult(line.lineNumber(), LineStatus.REJECTED, null, line.error()));
+                continue;
+            }
+            batch.add(line);
+            if (batch.size() == batchSize) {
+                receiveBatch(batch, receipt);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            receiveBatch(batch, receipt);
+        }
+        
+        log.info("Bulk delivery finished: {} received, {} rejected, {} failed in {} batches",
+                receipt.received, receipt.rejected, receipt.failed, receipt.batchesCommitted);
+        
+        return receipt.toResult();
+    }
+    
+    private void receiveBatch(List<DeliveryLine> batch, BulkReceipt receipt) {
+        List<ReceiveDeliveryCommand> commands = batch.stream().map(DeliveryLine::command).toList();
+        try {
+            List<DeliveryBox> deliveryBoxes = receivingEngine.receiveBatch(commands);
+            for (int i = 0; i < batch.size(); i++) {
+                receipt.add(new DeliveryLineResult(
+                        batch.get(i).lineNumber(), LineStatus.RECEIVED, deliveryBoxes.get(i).getId(), null));
+            }
+            receipt.batchesCommitted++;
+        } catch (RuntimeException e) {
+            // Rolled back as a whole; the next batches are independent
+            log.warn("Failed to receive batch of {} deliveries starting at line {}",
+                    batch.size(), batch.getFirst().lineNumber(), e);
+            String error = "Batch could not be committed: " + e.getMessage();
+            for (DeliveryLine line : batch) {
+                receipt.add(new DeliveryLineResult(line.lineNumber(), LineStatus.FAILED, null, error));
+            }
+        }
+    }
+    
+    /**
+     * Running totals and line results of a bulk delivery
+     */
+    private static final class BulkReceipt {
+        private final List<DeliveryLineResult> lines = new ArrayList<>();
+        private long received;
+        private long rejected;
+        private long failed;
+        private int batchesCommitted;
+        
+        void add(DeliveryLineResult line) {
+            lines.add(line);
+            switch (line.status()) {
+                case RECEIVED -> received++;
+                case REJECTED -> rejected++;
+                case FAILED -> failed++;
+            }
+        }
+        
+        ReceiveDeliveriesResult toResult() {
+            // Rejected lines are reported as read, valid ones once their batch is done
+            lines.sort(Comparator.comparingLong(DeliveryLineResult::lineNumber));
+            return new ReceiveDeliveriesResult(received, rejected, failed, batchesCommitted, List.copyOf(lines));
+        }
+    }
+}
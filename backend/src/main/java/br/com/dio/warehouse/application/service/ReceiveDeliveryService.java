@@ -4,8 +4,7 @@ import br.com.dio.warehouse.application.port.in.ReceiveDeliveryUseCase;
 import br.com.dio.warehouse.application.port.out.EventPublisher;
 import br.com.dio.warehouse.domain.event.DeliveryReceivedEvent;
 import br.com.dio.warehouse.domain.model.DeliveryBox;
-import br.com.dio.warehouse.domain.repository.DeliveryBoxRepository;
-import br.com.dio.warehouse.domain.valueobject.Money;
+import br.com.dio.warehouse.domain.repository.InventoryCountersRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -14,13 +13,17 @@ import org.springframework.transaction.annotation.Transactional;
 /**
  * Service implementation for receiving deliveries
  * Application layer service that orchestrates domain logic
+ * 
+ * The baskets of a delivery are not built as entities: they are streamed to the
+ * database in bounded chunks, so memory use is the same for any delivery size.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ReceiveDeliveryService implements ReceiveDeliveryUseCase {
     
-    private final DeliveryBoxRepository deliveryBoxRepository;
+    private final DeliveryReceivingEngine receivingEngine;
+    private final InventoryCountersRepository inventoryCountersRepository;
     private final EventPublisher eventPublisher;
     
     @Override
@@ -28,30 +31,10 @@ public class ReceiveDeliveryService implements ReceiveDeliveryUseCase {
     public DeliveryBox execute(ReceiveDeliveryCommand command) {
         log.info("Receiving delivery of {} baskets", command.totalQuantity());
         
-        // Create delivery box with cost and profit margin
-        Money totalCost = Money.of(command.totalCost());
-        DeliveryBox deliveryBox = DeliveryBox.builder()
-                .totalQuantity(command.totalQuantity())
-                .validationDate(command.validationDate())
-                .totalCost(totalCost)
-                .profitMargin(command.profitMarginPercentage().doubleValue())
-                .build();
+        DeliveryBox savedDeliveryBox = receivingEngine.store(command);
         
-        // Calculate unit cost and selling price BEFORE persisting
-        Money unitCost = deliveryBox.calculateUnitCost();
-        // Convert percentage to decimal (25.0 -> 0.25)
-        double marginAsDecimal = command.profitMarginPercentage().doubleValue() / 100.0;
-        Money sellingPrice = deliveryBox.calculateSellingPrice(marginAsDecimal);
-        
-        // Set calculated values
-        deliveryBox.setUnitCost(unitCost);
-        deliveryBox.setSellingPrice(sellingPrice);
-        
-        // Generate individual baskets
-        deliveryBox.generateBaskets(sellingPrice);
-        
-        // Save delivery box (cascade will save baskets)
-        DeliveryBox savedDeliveryBox = deliveryBoxRepository.save(deliveryBox);
+        // New baskets are available at the selling price
+        inventoryCountersRepository.apply(receivingEngine.received(savedDeliveryBox));
         
         // Publish domain event using factory method
         DeliveryReceivedEvent event = DeliveryReceivedEvent.of(
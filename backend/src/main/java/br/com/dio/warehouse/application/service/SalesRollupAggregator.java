@@ -0,0 +1,156 @@
+package br.com.dio.warehouse.application.service;
+
+import br.com.dio.warehouse.domain.repository.SalesRollupRepository;
+import br.com.dio.warehouse.domain.valueobject.MoneyAccumulator;
+import br.com.dio.warehouse.domain.valueobject.SalesBucket;
+import br.com.dio.warehouse.domain.valueobject.SalesBucket.Resolution;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Folds batches of sales into per-minute and per-hour buckets and adds them to the
+ * sales rollups
+ * 
+ * A batch is written as one increment per bucket it touches, in one transaction, so
+ * the event consumer does a few row updates per batch instead of two per sale and
+ * the rollups hold either the whole batch or none of it. The consumer acks the batch
+ * only after {@link #record(Collection)} returns, so a batch may be redelivered after
+ * its rollups were written (the connection dropped before the ack). The event ids are
+ * recorded in the same transaction as the buckets and sales whose event was recorded
+ * before are skipped, so a redelivered sale is counted once.
+ * 
+ * Recorded sales are counted in {@code warehouse.sales.rollup.events}, skipped
+ * redeliveries in {@code warehouse.sales.rollup.duplicates} and written buckets in
+ * {@code warehouse.sales.rollup.buckets}.
+ */
+@Slf4j
+@Component
+public class SalesRollupAggregator {
+    
+    private final SalesRollupRepository salesRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter recorded;
+    private final Counter duplicates;
+    private final Counter written;
+    
+    public SalesRollupAggregator(
+            SalesRollupRepository salesRollupRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.salesRollupRepository = salesRollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recorded = meterRegistry.counter("warehouse.sales.rollup.events");
+        this.duplicates = meterRegistry.counter("warehouse.sales.rollup.duplicates");
+        this.written = meterRegistry.counter("warehouse.sales.rollup.buckets");
+    }
+    
+    /**
+     * Adds a batch of sales to the buckets of their minutes and hours, skipping sales
+     * already added
+     * 
+     * @param sales the sales of the batch
+     * @return number of buckets written
+     */
+    public int record(Collection<Sale> sales) {
+        if (sales.isEmpty()) {
+            return 0;
+        }
+        
+        Recorded result = transactionTemplate.execute(_ -> {
+            Set<UUID> fresh = salesRollupRepository.recordProcessed(sales.stream()
+                    .map(Sale::eventId)
+                    .filter(Objects::nonNull)
+                    .toList());
+            List<Sale> unseen = sales.stream()
+                    .filter(sale -> sale.eventId() == null || fresh.remove(sale.eventId()))
+                    .toList();
+            List<SalesBucket> buckets = fold(unseen);
+            salesRollupRepository.add(buckets);
+            return new Recorded(unseen.size(), buckets.size());
+        });
+        
+        recorded.increment(result.sales());
+        duplicates.increment(sales.size() - result.sales());
+        written.increment(result.buckets());
+        log.debug("Recorded {} sales into {} sales rollup buckets, skipped {} already recorded",
+                result.sales(), result.buckets(), sales.size() - result.sales());
+        return result.buckets();
+    }
+    
+    /**
+     * Deletes up to {@code limit} records of sales recorded before {@code cutoff};
+     * a redelivery of those sales would be counted again
+     * 
+     * @return number of records deleted
+     */
+    public int forgetRecordedBefore(LocalDateTime cutoff, int limit) {
+        return salesRollupRepository.deleteProcessedBefore(cutoff, limit);
+    }
+    
+    private static List<SalesBucket> fold(Collection<Sale> sales) {
+        Map<BucketKey, PendingBucket> folded = new HashMap<>();
+        for (Sale sale : sales) {
+            LocalDateTime time = LocalDateTime.ofInstant(sale.soldAt(), ZoneOffset.UTC);
+            long cents = MoneyAccumulator.toCents(sale.revenue());
+            for (Resolution resolution : Resolution.values()) {
+                folded.computeIfAbsent(new BucketKey(resolution, resolution.truncate(time)), _ -> new PendingBucket())
+                        .add(sale.quantity(), cents, 1);
+            }
+        }
+        
+        List<SalesBucket> buckets = new ArrayList<>(folded.size());
+        folded.forEach((key, bucket) -> buckets.add(bucket.toSalesBucket(key)));
+        return buckets;
+    }
+    
+    /**
+     * A sale to fold into the rollups
+     * 
+     * @param eventId  id of the event that reported the sale; sales without one are
+     *                 never recognised as redelivered
+     * @param soldAt   when the sale happened
+     * @param quantity baskets sold
+     * @param revenue  value of the sale
+     */
+    public record Sale(UUID eventId, Instant soldAt, long quantity, BigDecimal revenue) {}
+    
+    private record Recorded(int sales, int buckets) {}
+    
+    private record BucketKey(Resolution resolution, LocalDateTime bucketStart) {}
+    
+    /**
+     * Running totals of a bucket while a batch is folded
+     */
+    private static final class PendingBucket {
+        private long quantity;
+        private long cents;
+        private long sales;
+        
+        void add(long quantity, long cents, long sales) {
+            this.quantity += quantity;
+            this.cents = Math.addExact(this.cents, cents);
+            this.sales += sales;
+        }
+        
+        SalesBucket toSalesBucket(BucketKey key) {
+            return new SalesBucket(key.resolution(), key.bucketStart(), quantity, BigDecimal.valueOf(cents, 2), sales);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package br.com.dio.warehouse.application.service;
+
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase.SellBasketsCommand;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase.SellBasketsResult;
+import br.com.dio.warehouse.domain.exception.InsufficientStockException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group commit for concurrent sales ({@code warehouse.sales.mode=batched})
+ * 
+ * Callers queue their sale and wait; a single writer thread takes every sale that
+ * arrives within {@code warehouse.sales.batch.window} of the first one, up to
+ * {@code warehouse.sales.batch.max-size}, and sells them in one transaction through
+ * the {@link BasketSalesEngine}. Under load many sales share one claim statement and
+ * one commit instead of competing for the same rows.
+ * 
+ * When the batch fails, because the stock cannot cover all of it or because one of
+ * its commands is rejected, the batch is rolled back and its sales are retried one
+ * at a time, so each caller gets the outcome it would have had on its own. The queue holds at most {@code warehouse.sales.batch.queue-capacity}
+ * sales; callers beyond that wait for room.
+ * 
+ * Callers wait at most {@code warehouse.sales.batch.timeout}. A sale whose caller gave
+ * up is dropped if the writer has not picked it up yet; if its batch was already
+ * being sold, it may still commit. Sales queued while the batcher stops, or left
+ * behind when the writer exits, are failed rather than left waiting.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "warehouse.sales.mode", havingValue = "batched")
+public class SellBasketsBatcher implements SmartLifecycle {
+    
+    // Started before the web server, stopped after it has drained its requests
+    private static final int PHASE = Integer.MIN_VALUE + 2000;
+    
+    private final BasketSalesEngine salesEngine;
+    private final BlockingQueue<PendingSale> queue;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final long timeoutNanos;
+    private final DistributionSummary batchSizes;
+    private volatile Thread writer;
+    private volatile boolean running;
+    
+    public SellBasketsBatcher(
+            BasketSalesEngine salesEngine,
+            MeterRegistry meterRegistry,
+            @Value("${warehouse.sales.batch.window:2ms}") Duration window,
+            @Value("${warehouse.sales.batch.max-size:64}") int maxBatchSize,
+            @Value("${warehouse.sales.batch.queue-capacity:10000}") int queueCapacity,
+            @Value("${warehouse.sales.batch.timeout:30s}") Duration timeout) {
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("Sales batch window must not be negative");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Sales batch size must be positive");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Sales queue capacity must be positive");
+        }
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Sales batch timeout must be positive");
+        }
+        this.salesEngine = salesEngine;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutNanos = timeout.toNanos();
+        this.batchSizes = DistributionSummary.builder("warehouse.sales.batch.size")
+                .description("Sales committed per transaction")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Queues the sale and waits until its batch has been committed
+     */
+    public SellBasketsResult sell(SellBasketsCommand command) {
+        if (!running) {
+            throw new IllegalStateException("Sales batcher is not running");
+        }
+        PendingSale sale = new PendingSale(command, new CompletableFuture<>());
+        long deadline = System.nanoTime() + timeoutNanos;
+        try {
+            while (!queue.offer(sale, 100, TimeUnit.MILLISECONDS)) {
+                if (!running || System.nanoTime() - deadline > 0) {
+                    throw new IllegalStateException("Sales batcher has no room for the sale");
+                }
+            }
+            if (!running && queue.remove(sale)) {
+                // Queued after the writer drained the queue for the last time
+                throw new IllegalStateException("Sales batcher stopped");
+            }
+            return sale.result().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            sale.result().cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the sale", e);
+        } catch (TimeoutException e) {
+            sale.result().cancel(false);
+            throw new IllegalStateException("Sale was not committed within the batch timeout", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Sale failed", e.getCause());
+        }
+    }
+    
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::run, "sales-batcher");
+        writer.setDaemon(true);
+        writer.start();
+    }
+    
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = writer;
+        if (current != null) {
+            try {
+                // The writer drains the queue before it exits
+                current.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        failPending(new IllegalStateException("Sales batcher stopped"));
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+    
+    private void run() {
+        List<PendingSale> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    PendingSale first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    collect(batch);
+                    // Callers that gave up have cancelled their futures
+                    batch.removeIf(sale -> sale.result().isDone());
+                    if (!batch.isEmpty()) {
+                        process(batch);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } finally {
+                    // Nothing in a batch is left waiting, whatever process() threw
+                    batch.forEach(sale -> sale.result().completeExceptionally(
+                            new IllegalStateException("Sale was not processed")));
+                    batch.clear();
+                }
+            }
+        } finally {
+            running = false;
+            failPending(new IllegalStateException("Sales batcher stopped"));
+        }
+    }
+    
+    /**
+     * Adds the sales arriving within the window of the first one, up to the batch size
+     */
+    private void collect(List<PendingSale> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            PendingSale next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+    
+    private void process(List<PendingSale> batch) {
+        batchSizes.record(batch.size());
+        try {
+            List<SellBasketsResult> results = salesEngine.sellAll(batch.stream().map(PendingSale::command).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.getFirst().result().completeExceptionally(e);
+                return;
+            }
+            // One sale the stock cannot cover, or a command the storage rejects, must not fail the others
+            if (e instanceof InsufficientStockException) {
+                log.debug("Stock cannot cover a batch of {} sales, selling them one at a time", batch.size());
+            } else {
+                log.warn("Failed to sell a batch of {} sales, selling them one at a time", batch.size(), e);
+            }
+            for (PendingSale sale : batch) {
+                try {
+                    sale.result().complete(salesEngine.sellAll(List.of(sale.command())).getFirst());
+                } catch (RuntimeException saleFailure) {
+                    sale.result().completeExceptionally(saleFailure);
+                }
+            }
+        }
+    }
+    
+    private void failPending(RuntimeException failure) {
+        PendingSale sale;
+        while ((sale = queue.poll()) != null) {
+            sale.result().completeExceptionally(failure);
+        }
+    }
+    
+    private record PendingSale(SellBasketsCommand command, CompletableFuture<SellBasketsResult> result) {}
+}
@@ -1,5 +1,6 @@
 package br.com.dio.warehouse.domain.event;
 
+import br.com.dio.shared.identity.Ids;
 import br.com.dio.warehouse.domain.valueobject.Money;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -37,7 +38,7 @@ public class BasketsDisposedEvent {
 
     public static BasketsDisposedEvent of(Long quantity, Money lossAmount) {
         return BasketsDisposedEvent.builder()
-            .eventId(UUID.randomUUID())
+            .eventId(Ids.next())
             .occurredOn(Instant.now())
             .quantity(quantity)
             .lossAmount(lossAmount)
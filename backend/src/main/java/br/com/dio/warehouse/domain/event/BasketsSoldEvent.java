@@ -6,6 +6,7 @@ import java.util.UUID;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import br.com.dio.shared.identity.Ids;
 import br.com.dio.warehouse.domain.valueobject.Money;
 import lombok.Builder;
 import lombok.Value;
@@ -41,7 +42,7 @@ public class BasketsSoldEvent {
 
     public static BasketsSoldEvent of(Long quantity, Money totalValue, String transactionId) {
         return BasketsSoldEvent.builder()
-            .eventId(UUID.randomUUID())
+            .eventId(Ids.next())
             .occurredOn(Instant.now())
             .quantity(quantity)
             .totalValue(totalValue)
@@ -0,0 +1,47 @@
+package br.com.dio.warehouse.domain.event;
+
+import br.com.dio.shared.identity.Ids;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Event published once per batch of deliveries received together
+ *
+ * @author Franklin Canduri
+ */
+@Value
+@Builder
+public class DeliveriesReceivedEvent {
+    UUID eventId;
+    Instant occurredOn;
+    List<UUID> deliveryBoxIds;
+    Long totalQuantity;
+
+    @JsonCreator
+    public DeliveriesReceivedEvent(
+            @JsonProperty("eventId") UUID eventId,
+            @JsonProperty("occurredOn") Instant occurredOn,
+            @JsonProperty("deliveryBoxIds") List<UUID> deliveryBoxIds,
+            @JsonProperty("totalQuantity") Long totalQuantity
+    ) {
+        this.eventId = eventId;
+        this.occurredOn = occurredOn;
+        this.deliveryBoxIds = deliveryBoxIds == null ? List.of() : List.copyOf(deliveryBoxIds);
+        this.totalQuantity = totalQuantity;
+    }
+
+    public static DeliveriesReceivedEvent of(List<UUID> deliveryBoxIds, Long totalQuantity) {
+        return DeliveriesReceivedEvent.builder()
+            .eventId(Ids.next())
+            .occurredOn(Instant.now())
+            .deliveryBoxIds(deliveryBoxIds)
+            .totalQuantity(totalQuantity)
+            .build();
+    }
+}
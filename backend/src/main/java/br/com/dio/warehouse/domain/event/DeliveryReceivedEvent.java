@@ -1,5 +1,6 @@
 package br.com.dio.warehouse.domain.event;
 
+import br.com.dio.shared.identity.Ids;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
@@ -36,7 +37,7 @@ public class DeliveryReceivedEvent {
 
     public static DeliveryReceivedEvent of(UUID deliveryBoxId, Long totalQuantity) {
         return DeliveryReceivedEvent.builder()
-            .eventId(UUID.randomUUID())
+            .eventId(Ids.next())
             .occurredOn(Instant.now())
             .deliveryBoxId(deliveryBoxId)
             .totalQuantity(totalQuantity)
@@ -1,5 +1,6 @@
 package br.com.dio.warehouse.domain.event;
 
+import br.com.dio.shared.identity.Ids;
 import lombok.Builder;
 import lombok.Value;
 
@@ -21,7 +22,7 @@ public class DomainEvent {
 
     public static DomainEvent of(String eventType, Object payload) {
         return DomainEvent.builder()
-            .eventId(UUID.randomUUID())
+            .eventId(Ids.next())
             .eventType(eventType)
             .occurredOn(Instant.now())
             .payload(payload)
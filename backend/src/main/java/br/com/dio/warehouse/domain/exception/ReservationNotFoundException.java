@@ -0,0 +1,16 @@
+package br.com.dio.warehouse.domain.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when a basket reservation does not exist, or no longer does
+ * because it was confirmed, released or expired
+ * 
+ * @author Franklin Canduri
+ */
+public class ReservationNotFoundException extends DomainException {
+
+    public ReservationNotFoundException(UUID id) {
+        super("Reservation not found with id: " + id);
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.dio.warehouse.domain.model;
 
+import br.com.dio.shared.identity.GeneratedUuid;
 import br.com.dio.warehouse.domain.valueobject.Money;
 import jakarta.persistence.*;
 import lombok.*;
@@ -20,20 +21,20 @@ import java.util.UUID;
 @Entity
 @Table(name = "basic_baskets", indexes = {
     @Index(name = "idx_basket_validation_date", columnList = "validation_date"),
-    @Index(name = "idx_basket_status", columnList = "status"),
-    @Index(name = "idx_basket_created_at", columnList = "created_at")
+    @Index(name = "idx_basket_status", columnList = "status")
 })
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
+// Populated instances only come from the builder, which copies the Money values
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Builder
 @ToString
 public class BasicBasket {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuid
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -73,6 +74,13 @@ public class BasicBasket {
     @Column(name = "version")
     private Long version;
 
+    /**
+     * Keeps a copy of the price: Hibernate may write into the instance on merge
+     */
+    public void setPrice(Money price) {
+        this.price = price != null ? price.unshared() : null;
+    }
+
     // Business Methods
 
     /**
@@ -124,4 +132,14 @@ public class BasicBasket {
         DISPOSED,
         RESERVED
     }
+
+    public static class BasicBasketBuilder {
+
+        private Money price;
+
+        public BasicBasketBuilder price(Money price) {
+            this.price = price != null ? price.unshared() : null;
+            return this;
+        }
+    }
 }
@@ -0,0 +1,59 @@
+package br.com.dio.warehouse.domain.model;
+
+import br.com.dio.shared.identity.GeneratedUuid;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * BasketReservation Entity
+ * Baskets held RESERVED for a customer until the reservation is confirmed,
+ * released or expires
+ * 
+ * @author Franklin Canduri
+ */
+@Entity
+@Table(name = "basket_reservations")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class BasketReservation {
+
+    @Id
+    @GeneratedUuid
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "basket_ids", nullable = false, updatable = false)
+    private List<UUID> basketIds;
+
+    @Column(name = "reserved_at", nullable = false, updatable = false)
+    private LocalDateTime reservedAt;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private LocalDateTime expiresAt;
+
+    // Business Methods
+
+    /**
+     * Check if the reservation has expired at {@code now}
+     */
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.dio.warehouse.domain.model;
 
+import br.com.dio.shared.identity.GeneratedUuid;
 import br.com.dio.warehouse.domain.valueobject.Money;
 import jakarta.persistence.*;
 import lombok.*;
@@ -27,13 +28,14 @@ import java.util.UUID;
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
+// Populated instances only come from the builder, which copies the Money values
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Builder
 @ToString(exclude = "baskets")
 public class DeliveryBox {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuid
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -76,6 +78,24 @@ public class DeliveryBox {
     @Column(name = "version")
     private Long version;
 
+    // Money setters keep copies: Hibernate may write into the instances on merge
+
+    public void setTotalCost(Money totalCost) {
+        this.totalCost = unshared(totalCost);
+    }
+
+    public void setUnitCost(Money unitCost) {
+        this.unitCost = unshared(unitCost);
+    }
+
+    public void setSellingPrice(Money sellingPrice) {
+        this.sellingPrice = unshared(sellingPrice);
+    }
+
+    private static Money unshared(Money money) {
+        return money != null ? money.unshared() : null;
+    }
+
     // Business Methods
 
     /**
@@ -130,4 +150,26 @@ public class DeliveryBox {
             .filter(BasicBasket::isExpired)
             .count();
     }
+
+    public static class DeliveryBoxBuilder {
+
+        private Money totalCost;
+        private Money unitCost;
+        private Money sellingPrice;
+
+        public DeliveryBoxBuilder totalCost(Money totalCost) {
+            this.totalCost = unshared(totalCost);
+            return this;
+        }
+
+        public DeliveryBoxBuilder unitCost(Money unitCost) {
+            this.unitCost = unshared(unitCost);
+            return this;
+        }
+
+        public DeliveryBoxBuilder sellingPrice(Money sellingPrice) {
+            this.sellingPrice = unshared(sellingPrice);
+            return this;
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package br.com.dio.warehouse.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * InventoryCounterSlot Entity
+ * One stripe of the inventory counters; the current totals are the sum of all slots.
+ * Rows are created by the migration and only ever updated in place.
+ *
+ * @author Franklin Canduri
+ */
+@Entity
+@Table(name = "inventory_counters")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class InventoryCounterSlot {
+
+    /**
+     * Number of slots created by V7__Create_inventory_counters.sql
+     */
+    public static final int SLOTS = 16;
+
+    @Id
+    @Column(name = "slot", updatable = false, nullable = false)
+    private Short slot;
+
+    @Column(name = "total_baskets", nullable = false)
+    private Long totalBaskets;
+
+    @Column(name = "available_baskets", nullable = false)
+    private Long availableBaskets;
+
+    @Column(name = "sold_baskets", nullable = false)
+    private Long soldBaskets;
+
+    @Column(name = "disposed_baskets", nullable = false)
+    private Long disposedBaskets;
+
+    @Column(name = "reserved_baskets", nullable = false)
+    private Long reservedBaskets;
+
+    @Column(name = "available_value", nullable = false, precision = 19, scale = 2)
+    private BigDecimal availableValue;
+
+    @Column(name = "revenue", nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "cost", nullable = false, precision = 19, scale = 2)
+    private BigDecimal cost;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
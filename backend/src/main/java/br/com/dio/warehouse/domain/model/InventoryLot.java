@@ -0,0 +1,63 @@
+package br.com.dio.warehouse.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * InventoryLot Entity
+ * The baskets of one delivery kept as quantities per status instead of one row
+ * per basket. Used when {@code warehouse.inventory.storage=lots}; rows are written
+ * by set-based statements only.
+ *
+ * @author Franklin Canduri
+ */
+@Entity
+@Table(name = "inventory_lots")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class InventoryLot {
+
+    @Id
+    @Column(name = "delivery_box_id", updatable = false, nullable = false)
+    private UUID deliveryBoxId;
+
+    @Column(name = "validation_date", nullable = false)
+    private LocalDate validationDate;
+
+    @Column(name = "price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @Column(name = "unit_cost", nullable = false, precision = 10, scale = 2)
+    private BigDecimal unitCost;
+
+    @Column(name = "total_quantity", nullable = false)
+    private Long totalQuantity;
+
+    @Column(name = "available_quantity", nullable = false)
+    private Long availableQuantity;
+
+    @Column(name = "sold_quantity", nullable = false)
+    private Long soldQuantity;
+
+    @Column(name = "disposed_quantity", nullable = false)
+    private Long disposedQuantity;
+
+    @Column(name = "reserved_quantity", nullable = false)
+    private Long reservedQuantity;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+}
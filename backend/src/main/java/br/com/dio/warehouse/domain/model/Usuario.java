@@ -1,5 +1,6 @@
 package br.com.dio.warehouse.domain.model;
 
+import br.com.dio.shared.identity.GeneratedUuid;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
@@ -34,7 +35,7 @@ public class Usuario {
      * Chave primária gerada automaticamente.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuid
     @Column(name = "id", columnDefinition = "UUID")
     private UUID id;
     
@@ -1,17 +1,28 @@
 package br.com.dio.warehouse.domain.repository;
 
 import br.com.dio.warehouse.domain.model.BasicBasket;
+import br.com.dio.warehouse.domain.valueobject.BasketCursor;
+import br.com.dio.warehouse.domain.valueobject.BasketFilter;
+import br.com.dio.warehouse.domain.valueobject.InventoryCounters;
+import br.com.dio.warehouse.domain.valueobject.SalesGrouping;
+import br.com.dio.warehouse.domain.valueobject.SelectionStrategy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for BasicBasket aggregate
  * This is a domain interface, not a Spring Data repository
+ *
+ * Entity finders and counts only see baskets that have not been archived; archived
+ * baskets are read only by the methods that say so.
  * 
  * @author Franklin Canduri
  */
@@ -39,6 +50,9 @@ public interface BasketRepository {
 
     List<BasicBasket> findAvailableBaskets();
 
+    /**
+     * Baskets past their validation date that are still awaiting disposal, as counted by {@link #countExpiredBaskets()}
+     */
     List<BasicBasket> findExpiredBaskets();
 
     List<BasicBasket> findByStatus(BasicBasket.BasketStatus status);
@@ -51,7 +65,194 @@ public interface BasketRepository {
 
     long countByStatus(BasicBasket.BasketStatus status);
 
+    /**
+     * Baskets past their validation date that are still awaiting disposal (available or reserved)
+     */
     long countExpiredBaskets();
 
     long countAvailableBaskets();
+
+    /**
+     * Returns up to {@code limit} baskets matching {@code filter} that come after
+     * {@code after} in (validation_date, id) order. Seeking past the cursor keeps
+     * deep pages as cheap as the first one.
+     *
+     * @param after keyset cursor, or null for the first page
+     */
+    List<BasicBasket> findPage(BasketFilter filter, BasketCursor after, int limit);
+
+    /**
+     * Streams every basket matching {@code filter} in (validation_date, id) order,
+     * fetched from the database in batches. Must be consumed inside a transaction and
+     * closed. Baskets are detached as they are read, so memory use does not grow
+     * with the number of rows.
+     */
+    Stream<BasicBasket> streamBaskets(BasketFilter filter);
+
+    /**
+     * Sums revenue and delivery cost of the baskets sold in [from, to),
+     * grouped by the start of each period, in one aggregate join query.
+     * Archived baskets are included when {@code from} reaches back past the archival age.
+     *
+     * @param from     inclusive lower bound of sold_at
+     * @param to       exclusive upper bound of sold_at
+     * @param grouping size of each period
+     * @return one summary per period with sales, ordered by period start
+     */
+    List<SalesSummary> summarizeSales(LocalDateTime from, LocalDateTime to, SalesGrouping grouping);
+
+    /**
+     * Computes the inventory counters of the next {@code chunkSize} baskets after
+     * {@code afterId} in id order, joining the delivery unit cost of sold baskets.
+     * Archived baskets are included, as the counters are all-time totals.
+     *
+     * @param afterId   keyset cursor; {@link CountersChunk#START} for the first chunk
+     * @param chunkSize maximum number of baskets to read
+     * @return counters of the chunk and the cursor to continue from
+     */
+    CountersChunk summarizeCounters(UUID afterId, int chunkSize);
+
+    // Set-based Operations
+
+    /**
+     * Inserts {@code quantity} AVAILABLE baskets of a delivery without creating entities,
+     * streaming the rows in bounded chunks. The delivery must already be flushed.
+     *
+     * @return number of baskets inserted
+     */
+    long insertAvailableBaskets(UUID deliveryBoxId, LocalDate validationDate, BigDecimal price, long quantity);
+
+    /**
+     * Claims up to {@code quantity} available baskets in the order of {@code strategy} and
+     * marks them as sold in the database, without loading entities into memory.
+     * Rows already locked by a concurrent seller are skipped, so the result may hold fewer
+     * baskets than requested; callers decide whether a partial claim is acceptable.
+     *
+     * @param quantity maximum number of baskets to claim
+     * @param strategy order in which baskets are picked
+     * @param soldAt   timestamp recorded on the claimed baskets
+     * @return the claimed baskets in picking order, grouped into runs that share a selling
+     *         price and delivery unit cost
+     */
+    List<ClaimedLot> claimAvailableBaskets(long quantity, SelectionStrategy strategy, LocalDateTime soldAt);
+
+    /**
+     * Claims up to {@code quantity} available baskets (first-expired-first-out) and marks
+     * them as reserved. Like {@link #claimAvailableBaskets}, the result may hold fewer
+     * baskets than requested.
+     *
+     * @param quantity   maximum number of baskets to reserve
+     * @param reservedAt timestamp recorded on the reserved baskets
+     * @return the reserved baskets with their selling price and delivery unit cost
+     */
+    List<ClaimedBasket> reserveAvailableBaskets(long quantity, LocalDateTime reservedAt);
+
+    /**
+     * Marks the given baskets as sold if they are still reserved
+     *
+     * @return the baskets that were sold
+     */
+    List<ClaimedBasket> sellReservedBaskets(List<UUID> ids, LocalDateTime soldAt);
+
+    /**
+     * Makes the given baskets available again if they are still reserved
+     *
+     * @return the baskets that were released
+     */
+    List<ClaimedBasket> releaseReservedBaskets(List<UUID> ids, LocalDateTime releasedAt);
+
+    /**
+     * Oldest validation date among the expired, unsold baskets that are not disposed yet
+     */
+    Optional<LocalDate> findOldestDisposableValidationDate();
+
+    /**
+     * Disposes the next chunk of expired, unsold baskets validated before
+     * {@code expiredBefore} after {@code after} in (validation_date, id) order, adding
+     * up the loss in the same statement. Rows locked by concurrent transactions are skipped.
+     *
+     * @param after         keyset cursor; {@link DisposalCursor#START} for the first chunk
+     * @param expiredBefore exclusive upper bound of the validation dates; baskets are
+     *                      only disposed once expired, whatever the bound
+     * @param chunkSize     maximum number of baskets to dispose
+     * @param disposedAt    timestamp recorded on the disposed baskets
+     * @return totals of the chunk and the cursor to continue from
+     */
+    DisposedChunk disposeExpiredChunk(DisposalCursor after, LocalDate expiredBefore, int chunkSize,
+                                      LocalDateTime disposedAt);
+
+    /**
+     * Moves the finished (SOLD or DISPOSED) baskets among the next {@code chunkSize}
+     * baskets after {@code afterId} in id order to the basket history, if they were
+     * sold or disposed before {@code finishedBefore}. Rows locked by concurrent
+     * transactions are skipped and picked up by a later run.
+     *
+     * @param afterId        keyset cursor; {@link ArchivedChunk#START} for the first chunk
+     * @param chunkSize      maximum number of baskets to look at
+     * @param finishedBefore only baskets finished before this timestamp are moved
+     * @param archivedAt     timestamp recorded on the archived baskets
+     * @return number of baskets moved and the cursor to continue from
+     */
+    ArchivedChunk archiveFinishedChunk(UUID afterId, int chunkSize, LocalDateTime finishedBefore,
+                                       LocalDateTime archivedAt);
+
+    /**
+     * Aggregated sales figures of one period
+     */
+    record SalesSummary(
+            LocalDate periodStart,
+            long basketsSold,
+            BigDecimal revenue,
+            BigDecimal cost,
+            BigDecimal grossProfit,
+            BigDecimal profitMargin
+    ) {}
+
+    /**
+     * Basket claimed by a set-based operation; {@code unitCost} is zero when the
+     * delivery no longer exists and {@code id} is null when the basket has no row of
+     * its own (lot storage without unit tracing)
+     */
+    record ClaimedBasket(UUID id, BigDecimal price, BigDecimal unitCost) {}
+
+    /**
+     * {@code quantity} claimed baskets sharing a selling price and unit cost, such as the
+     * baskets sold from one lot; {@code ids} holds their ids in order, or is empty when the
+     * baskets have no row of their own (lot storage without unit tracing)
+     */
+    record ClaimedLot(long quantity, BigDecimal price, BigDecimal unitCost, List<UUID> ids) {}
+
+    /**
+     * Result of one archival chunk; {@code lastId} is null when no basket was left
+     * after the cursor
+     */
+    record ArchivedChunk(long archived, UUID lastId) {
+        public static final UUID START = new UUID(0L, 0L);
+    }
+
+    /**
+     * Keyset position in (validation_date, id) order
+     */
+    record DisposalCursor(LocalDate validationDate, UUID id) {
+        public static final DisposalCursor START = new DisposalCursor(LocalDate.of(1, 1, 1), new UUID(0L, 0L));
+    }
+
+    /**
+     * Totals of a disposed chunk, with the share of baskets that were RESERVED;
+     * {@code lastKey} is null when nothing was disposed
+     */
+    record DisposedChunk(
+            long quantity,
+            BigDecimal lossAmount,
+            long reservedQuantity,
+            BigDecimal reservedLossAmount,
+            DisposalCursor lastKey
+    ) {}
+
+    /**
+     * Counters of a chunk of baskets; {@code lastId} is null when the chunk is empty
+     */
+    record CountersChunk(InventoryCounters counters, UUID lastId) {
+        public static final UUID START = new UUID(0L, 0L);
+    }
 }
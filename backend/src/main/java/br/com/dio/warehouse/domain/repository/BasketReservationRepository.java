@@ -0,0 +1,48 @@
+package br.com.dio.warehouse.domain.repository;
+
+import br.com.dio.warehouse.domain.model.BasketReservation;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for BasketReservation
+ * This is a domain interface, not a Spring Data repository
+ *
+ * Removing a reservation is how it is claimed for confirmation, release or expiry:
+ * whoever removes it owns its baskets, so concurrent attempts cannot both succeed.
+ * 
+ * @author Franklin Canduri
+ */
+public interface BasketReservationRepository {
+
+    BasketReservation save(BasketReservation reservation);
+
+    /**
+     * Removes the reservation, if it still exists
+     */
+    Optional<BasketReservation> remove(UUID id);
+
+    /**
+     * Removes those of the given reservations that expired at {@code now}
+     */
+    List<BasketReservation> removeExpired(Collection<UUID> ids, LocalDateTime now);
+
+    /**
+     * Ids of up to {@code limit} reservations that expired at {@code now}, earliest deadline first
+     */
+    List<UUID> findExpiredIds(LocalDateTime now, int limit);
+
+    /**
+     * Deadlines of every open reservation
+     */
+    List<ReservationDeadline> findAllDeadlines();
+
+    /**
+     * Id and expiry of an open reservation
+     */
+    record ReservationDeadline(UUID id, LocalDateTime expiresAt) {}
+}
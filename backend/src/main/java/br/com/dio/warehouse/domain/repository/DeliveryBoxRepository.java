@@ -19,6 +19,12 @@ public interface DeliveryBoxRepository {
 
     DeliveryBox save(DeliveryBox deliveryBox);
 
+    /**
+     * Saves and writes the delivery immediately, so rows inserted outside the
+     * persistence context can reference it
+     */
+    DeliveryBox saveAndFlush(DeliveryBox deliveryBox);
+
     Optional<DeliveryBox> findById(UUID id);
 
     List<DeliveryBox> findAll();
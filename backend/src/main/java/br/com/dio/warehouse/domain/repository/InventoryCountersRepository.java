@@ -0,0 +1,22 @@
+package br.com.dio.warehouse.domain.repository;
+
+import br.com.dio.warehouse.domain.valueobject.InventoryCounters;
+
+/**
+ * Repository interface for the incrementally maintained inventory counters
+ * This is a domain interface, not a Spring Data repository
+ *
+ * @author Franklin Canduri
+ */
+public interface InventoryCountersRepository {
+
+    /**
+     * Adds a delta to the counters; must run in the transaction that changed the baskets
+     */
+    void apply(InventoryCounters delta);
+
+    /**
+     * Current totals
+     */
+    InventoryCounters current();
+}
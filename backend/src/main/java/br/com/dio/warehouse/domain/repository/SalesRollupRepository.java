@@ -0,0 +1,45 @@
+package br.com.dio.warehouse.domain.repository;
+
+import br.com.dio.warehouse.domain.valueobject.SalesBucket;
+import br.com.dio.warehouse.domain.valueobject.SalesBucket.Resolution;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Repository interface for the per-minute and per-hour sales rollups
+ * This is a domain interface, not a Spring Data repository
+ *
+ * @author Franklin Canduri
+ */
+public interface SalesRollupRepository {
+
+    /**
+     * Adds the quantities, revenue and sales of the buckets to the stored rollups,
+     * creating missing ones
+     */
+    void add(Collection<SalesBucket> buckets);
+
+    /**
+     * Records the events as added to the rollups, in the current transaction, and
+     * returns those not recorded before. Of concurrent calls with the same event, the
+     * later waits for the earlier to finish, so an event is returned by one committed
+     * call only.
+     */
+    Set<UUID> recordProcessed(Collection<UUID> eventIds);
+
+    /**
+     * Deletes up to {@code limit} records of events processed before {@code cutoff}
+     *
+     * @return number of records deleted
+     */
+    int deleteProcessedBefore(LocalDateTime cutoff, int limit);
+
+    /**
+     * Stored buckets starting in [from, to), oldest first; buckets without sales are absent
+     */
+    List<SalesBucket> find(Resolution resolution, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,47 @@
+package br.com.dio.warehouse.domain.valueobject;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * BasketCursor Value Object
+ * Keyset position in (validation_date, id) order, used to continue a basket listing
+ * after the last basket of the previous page. The token form is
+ * {@code <validation date>_<id>}.
+ *
+ * @author Franklin Canduri
+ */
+public record BasketCursor(LocalDate validationDate, UUID id) {
+
+    private static final char SEPARATOR = '_';
+
+    public BasketCursor {
+        Objects.requireNonNull(validationDate, "Validation date cannot be null");
+        Objects.requireNonNull(id, "Id cannot be null");
+    }
+
+    /**
+     * Parses a token produced by {@link #toToken()}
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static BasketCursor parse(String token) {
+        int separator = token.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+        try {
+            return new BasketCursor(
+                    LocalDate.parse(token.substring(0, separator)),
+                    UUID.fromString(token.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public String toToken() {
+        return validationDate.toString() + SEPARATOR + id;
+    }
+}
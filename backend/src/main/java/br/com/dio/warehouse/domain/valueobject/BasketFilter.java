@@ -0,0 +1,23 @@
+package br.com.dio.warehouse.domain.valueobject;
+
+import br.com.dio.warehouse.domain.model.BasicBasket.BasketStatus;
+
+import java.time.LocalDate;
+
+/**
+ * BasketFilter Value Object
+ * Criteria for listing baskets; a null criterion does not restrict the result.
+ * validFrom and validTo bound the validation date, both inclusive.
+ *
+ * @author Franklin Canduri
+ */
+public record BasketFilter(BasketStatus status, LocalDate validFrom, LocalDate validTo) {
+
+    public static final BasketFilter ALL = new BasketFilter(null, null, null);
+
+    public BasketFilter {
+        if (validFrom != null && validTo != null && validFrom.isAfter(validTo)) {
+            throw new IllegalArgumentException("validFrom must not be after validTo");
+        }
+    }
+}
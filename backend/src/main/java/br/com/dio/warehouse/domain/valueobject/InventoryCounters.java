@@ -0,0 +1,123 @@
+package br.com.dio.warehouse.domain.valueobject;
+
+import java.math.BigDecimal;
+
+/**
+ * InventoryCounters Value Object
+ * Running totals of the basket inventory, or a delta to be added to them
+ *
+ * @author Franklin Canduri
+ */
+public record InventoryCounters(
+        long totalBaskets,
+        long availableBaskets,
+        long soldBaskets,
+        long disposedBaskets,
+        long reservedBaskets,
+        BigDecimal availableValue,
+        BigDecimal revenue,
+        BigDecimal cost
+) {
+
+    public static final InventoryCounters ZERO = new InventoryCounters(
+            0, 0, 0, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
+    /**
+     * Delta of a delivery of {@code quantity} available baskets
+     */
+    public static InventoryCounters received(long quantity, BigDecimal unitPrice) {
+        return new InventoryCounters(quantity, quantity, 0, 0, 0,
+                unitPrice.multiply(BigDecimal.valueOf(quantity)), BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    /**
+     * Delta of a sale of {@code quantity} available baskets
+     */
+    public static InventoryCounters sold(long quantity, BigDecimal revenue, BigDecimal cost) {
+        return new InventoryCounters(0, -quantity, quantity, 0, 0,
+                revenue.negate(), revenue, cost);
+    }
+
+    /**
+     * Delta of the reservation of {@code quantity} available baskets worth {@code value}
+     */
+    public static InventoryCounters reserved(long quantity, BigDecimal value) {
+        return new InventoryCounters(0, -quantity, 0, 0, quantity,
+                value.negate(), BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    /**
+     * Delta of the sale of {@code quantity} reserved baskets
+     */
+    public static InventoryCounters reservationSold(long quantity, BigDecimal revenue, BigDecimal cost) {
+        return new InventoryCounters(0, 0, quantity, 0, -quantity,
+                BigDecimal.ZERO, revenue, cost);
+    }
+
+    /**
+     * Delta of {@code quantity} reserved baskets worth {@code value} made available again
+     */
+    public static InventoryCounters released(long quantity, BigDecimal value) {
+        return new InventoryCounters(0, quantity, 0, 0, -quantity,
+                value, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    /**
+     * Delta of the disposal of available and reserved baskets
+     *
+     * @param availableQuantity   disposed baskets that were AVAILABLE
+     * @param reservedQuantity    disposed baskets that were RESERVED
+     * @param availableValueLoss  price of the disposed baskets that were AVAILABLE
+     */
+    public static InventoryCounters disposed(long availableQuantity, long reservedQuantity,
+                                             BigDecimal availableValueLoss) {
+        return new InventoryCounters(0, -availableQuantity, 0, availableQuantity + reservedQuantity,
+                -reservedQuantity, availableValueLoss.negate(), BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    /**
+     * Adds two counters (or a counter and a delta)
+     */
+    public InventoryCounters add(InventoryCounters other) {
+        return new InventoryCounters(
+                totalBaskets + other.totalBaskets,
+                availableBaskets + other.availableBaskets,
+                soldBaskets + other.soldBaskets,
+                disposedBaskets + other.disposedBaskets,
+                reservedBaskets + other.reservedBaskets,
+                availableValue.add(other.availableValue),
+                revenue.add(other.revenue),
+                cost.add(other.cost)
+        );
+    }
+
+    /**
+     * Delta that turns {@code other} into these counters
+     */
+    public InventoryCounters subtract(InventoryCounters other) {
+        return new InventoryCounters(
+                totalBaskets - other.totalBaskets,
+                availableBaskets - other.availableBaskets,
+                soldBaskets - other.soldBaskets,
+                disposedBaskets - other.disposedBaskets,
+                reservedBaskets - other.reservedBaskets,
+                availableValue.subtract(other.availableValue),
+                revenue.subtract(other.revenue),
+                cost.subtract(other.cost)
+        );
+    }
+
+    /**
+     * Whether all figures are equal, ignoring the scale of the amounts
+     */
+    public boolean matches(InventoryCounters other) {
+        return totalBaskets == other.totalBaskets
+                && availableBaskets == other.availableBaskets
+                && soldBaskets == other.soldBaskets
+                && disposedBaskets == other.disposedBaskets
+                && reservedBaskets == other.reservedBaskets
+                && availableValue.compareTo(other.availableValue) == 0
+                && revenue.compareTo(other.revenue) == 0
+                && cost.compareTo(other.cost) == 0;
+    }
+}
@@ -7,11 +7,19 @@ import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Money Value Object
  * Represents a monetary value with proper rounding and arithmetic operations
  * 
+ * Instances are immutable, so amounts from 0.00 to 99.99 (basket prices, unit costs
+ * and small sales) are interned: the factories hand out one shared instance per value.
+ * Sums over many amounts should use a {@link MoneyAccumulator}.
+ * 
+ * Hibernate treats an embedded Money as mutable and copies merged values into the
+ * instance an entity holds, so entities keep an {@link #unshared()} copy instead.
+ * 
  * @author Franklin Canduri
  */
 @Embeddable
@@ -23,6 +31,8 @@ public class Money implements Serializable, Comparable<Money> {
 
     private static final int SCALE = 2;
     private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
+    private static final int INTERNED_CENTS = 10_000;
+    private static final AtomicReferenceArray<Money> INTERNED = new AtomicReferenceArray<>(INTERNED_CENTS);
 
     private BigDecimal amount;
 
@@ -33,7 +43,42 @@ public class Money implements Serializable, Comparable<Money> {
         if (amount == null) {
             throw new IllegalArgumentException("Amount cannot be null");
         }
-        return new Money(amount.setScale(SCALE, ROUNDING_MODE));
+        BigDecimal scaled = amount.setScale(SCALE, ROUNDING_MODE);
+        // Precision of at most 4 digits at scale 2: from 0.00 to 99.99
+        if (scaled.signum() >= 0 && scaled.precision() <= 4) {
+            return interned((int) MoneyAccumulator.toCents(scaled), scaled);
+        }
+        return new Money(scaled);
+    }
+
+    /**
+     * Factory method to create Money from a count of cents
+     */
+    public static Money ofCents(long cents) {
+        if (cents >= 0 && cents < INTERNED_CENTS) {
+            return interned((int) cents, null);
+        }
+        return new Money(BigDecimal.valueOf(cents, SCALE));
+    }
+
+    private static Money interned(int cents, BigDecimal amount) {
+        Money money = INTERNED.get(cents);
+        if (money == null) {
+            Money created = new Money(amount != null ? amount : BigDecimal.valueOf(cents, SCALE));
+            // Concurrent callers all end up with the first instance stored
+            money = INTERNED.compareAndExchange(cents, null, created);
+            if (money == null) {
+                money = created;
+            }
+        }
+        return money;
+    }
+
+    /**
+     * Copy of this amount that no other holder shares, for entity fields
+     */
+    public Money unshared() {
+        return new Money(amount);
     }
 
     /**
@@ -57,7 +102,7 @@ public class Money implements Serializable, Comparable<Money> {
      * Factory method for zero money
      */
     public static Money zero() {
-        return of(BigDecimal.ZERO);
+        return ofCents(0);
     }
 
     /**
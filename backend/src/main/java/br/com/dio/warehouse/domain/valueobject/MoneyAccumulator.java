@@ -0,0 +1,68 @@
+package br.com.dio.warehouse.domain.valueobject;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Running total of monetary amounts kept as a long count of cents
+ * 
+ * Adding an amount does not create a BigDecimal or a Money per step, which keeps
+ * the sums over sold, reserved or disposed baskets free of garbage. Amounts are
+ * rounded to cents like {@link Money}; a total beyond the range of a long throws
+ * an ArithmeticException instead of wrapping around. Not thread-safe.
+ * 
+ * @author Franklin Canduri
+ */
+public final class MoneyAccumulator {
+    
+    private static final int SCALE = 2;
+    
+    private long cents;
+    
+    /**
+     * Adds {@code amount}, rounded to cents
+     */
+    public MoneyAccumulator add(BigDecimal amount) {
+        cents = Math.addExact(cents, toCents(amount));
+        return this;
+    }
+    
+    /**
+     * Adds {@code quantity} times {@code amount}, rounded to cents
+     */
+    public MoneyAccumulator add(BigDecimal amount, long quantity) {
+        cents = Math.addExact(cents, Math.multiplyExact(toCents(amount), quantity));
+        return this;
+    }
+    
+    /**
+     * Adds the total of another accumulator
+     */
+    public MoneyAccumulator add(MoneyAccumulator other) {
+        cents = Math.addExact(cents, other.cents);
+        return this;
+    }
+    
+    public long cents() {
+        return cents;
+    }
+    
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+    
+    public Money toMoney() {
+        return Money.ofCents(cents);
+    }
+    
+    /**
+     * Amount as a count of cents
+     * 
+     * Amounts already at two decimals, as read from the DECIMAL(10, 2) columns, are
+     * converted without rounding.
+     */
+    public static long toCents(BigDecimal amount) {
+        BigDecimal inCents = amount.scale() == SCALE ? amount : amount.setScale(SCALE, RoundingMode.HALF_UP);
+        return inCents.unscaledValue().longValueExact();
+    }
+}
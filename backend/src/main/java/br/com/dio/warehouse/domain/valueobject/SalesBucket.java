@@ -0,0 +1,55 @@
+package br.com.dio.warehouse.domain.valueobject;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Baskets sold and revenue within one minute or one hour
+ * 
+ * Bucket starts are UTC and truncated to the resolution.
+ * 
+ * @author Franklin Canduri
+ */
+public record SalesBucket(
+        Resolution resolution,
+        LocalDateTime bucketStart,
+        long quantity,
+        BigDecimal revenue,
+        long sales
+) {
+    
+    public SalesBucket {
+        if (resolution == null || bucketStart == null || revenue == null) {
+            throw new IllegalArgumentException("Sales bucket resolution, start and revenue are required");
+        }
+        if (!bucketStart.equals(resolution.truncate(bucketStart))) {
+            throw new IllegalArgumentException("Sales bucket must start at a whole " + resolution.unit());
+        }
+    }
+    
+    /**
+     * Width of a bucket
+     */
+    public enum Resolution {
+        MINUTE(ChronoUnit.MINUTES),
+        HOUR(ChronoUnit.HOURS);
+        
+        private final ChronoUnit unit;
+        
+        Resolution(ChronoUnit unit) {
+            this.unit = unit;
+        }
+        
+        public ChronoUnit unit() {
+            return unit;
+        }
+        
+        /**
+         * Start of the bucket that contains {@code time}
+         */
+        public LocalDateTime truncate(LocalDateTime time) {
+            return time.truncatedTo(unit);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.dio.warehouse.domain.valueobject;
+
+/**
+ * SalesGrouping Value Object
+ * Size of the periods sales figures are summed over.
+ * Periods start at midnight; weeks start on Monday.
+ *
+ * @author Franklin Canduri
+ */
+public enum SalesGrouping {
+
+    DAY,
+
+    WEEK,
+
+    MONTH
+}
@@ -0,0 +1,26 @@
+package br.com.dio.warehouse.domain.valueobject;
+
+/**
+ * SelectionStrategy Value Object
+ * Order in which available baskets are picked for a sale.
+ * Expired baskets are never picked.
+ *
+ * @author Franklin Canduri
+ */
+public enum SelectionStrategy {
+
+    /**
+     * First expired, first out: earliest validation date first
+     */
+    FEFO,
+
+    /**
+     * First in, first out: earliest received first
+     */
+    FIFO,
+
+    /**
+     * Lowest price first
+     */
+    CHEAPEST
+}
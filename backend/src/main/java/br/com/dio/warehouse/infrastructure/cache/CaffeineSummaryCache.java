@@ -0,0 +1,211 @@
+package br.com.dio.warehouse.infrastructure.cache;
+
+import br.com.dio.warehouse.application.port.out.SummaryCache;
+import br.com.dio.warehouse.domain.event.BasketsDisposedEvent;
+import br.com.dio.warehouse.domain.event.BasketsSoldEvent;
+import br.com.dio.warehouse.domain.event.DeliveriesReceivedEvent;
+import br.com.dio.warehouse.domain.event.DeliveryReceivedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Summary cache on the Caffeine caches of the Spring cache manager
+ *
+ * Size and expiry come from {@code spring.cache.caffeine.spec}; the cache manager
+ * registers the hit, miss, put and eviction metrics of each cache. Entries older than
+ * {@code warehouse.cache.summaries.refresh-after} are still returned, and a single
+ * background thread reloads them, so polling clients are served from memory while
+ * the summary is revalidated. Concurrent misses on one key wait for a single load.
+ *
+ * Every cache is cleared once a transaction that published a
+ * {@link DeliveryReceivedEvent}, {@link DeliveriesReceivedEvent}, {@link BasketsSoldEvent}
+ * or {@link BasketsDisposedEvent} has committed. A load that started before the clear is discarded when it is read.
+ * Loads run on the primary, so a summary loaded after a clear always includes the
+ * change; a replica could still be behind and cache the old figures until refresh.
+ * The events are only seen by the instance that committed them, so the clear is
+ * passed on to the other instances by the {@link SummaryCacheInvalidationBroadcaster};
+ * with {@code rabbitmq.enabled=false} it stays in this instance.
+ * With {@code warehouse.cache.summaries.enabled=false} every call loads, in a read-only
+ * transaction.
+ *
+ * @author Franklin Canduri
+ */
+@Slf4j
+@Component
+public class CaffeineSummaryCache implements SummaryCache, DisposableBean {
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate primaryTransaction;
+    private final ObjectProvider<SummaryCacheInvalidationBroadcaster> broadcaster;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long refreshAfterNanos;
+    private final Map<String, Cache<Object, Object>> caches = new ConcurrentHashMap<>();
+    private final Set<RefreshKey> refreshing = ConcurrentHashMap.newKeySet();
+    private final AtomicLong generation = new AtomicLong();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("summary-cache-refresh").daemon().factory());
+
+    public CaffeineSummaryCache(
+            CacheManager cacheManager,
+            PlatformTransactionManager transactionManager,
+            ObjectProvider<SummaryCacheInvalidationBroadcaster> broadcaster,
+            MeterRegistry meterRegistry,
+            @Value("${warehouse.cache.summaries.enabled:true}") boolean enabled,
+            @Value("${warehouse.cache.summaries.refresh-after:10s}") Duration refreshAfter) {
+        if (refreshAfter.isNegative() || refreshAfter.isZero()) {
+            throw new IllegalArgumentException("Summary refresh interval must be positive");
+        }
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.broadcaster = broadcaster;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        if (enabled) {
+            for (String cacheName : new String[] {STOCK_SUMMARY, CASH_REGISTER}) {
+                if (!(cacheManager.getCache(cacheName) instanceof CaffeineCache cache)) {
+                    throw new IllegalStateException(
+                            "Summary cache " + cacheName + " requires spring.cache.type=caffeine");
+                }
+                caches.put(cacheName, cache.getNativeCache());
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(String cacheName, Object key, Supplier<T> loader) {
+        if (!enabled) {
+            return load(loader);
+        }
+        Cache<Object, Object> cache = cache(cacheName);
+        CachedSummary entry = (CachedSummary) cache.get(key, _ -> loadEntry(loader));
+        if (entry.generation() != generation.get()) {
+            // Loaded before the inventory changed
+            cache.asMap().remove(key, entry);
+            entry = (CachedSummary) cache.get(key, _ -> loadEntry(loader));
+        }
+        if (System.nanoTime() - entry.loadedAt() >= refreshAfterNanos) {
+            refreshAsync(cacheName, cache, key, loader);
+        }
+        return (T) entry.value();
+    }
+
+    @Override
+    public void invalidateAll() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            clear();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                clear();
+            }
+        });
+    }
+
+    /**
+     * Clears the caches after the transaction that published the event has committed
+     */
+    @TransactionalEventListener(
+            classes = {DeliveryReceivedEvent.class, DeliveriesReceivedEvent.class, BasketsSoldEvent.class,
+                    BasketsDisposedEvent.class},
+            fallbackExecution = true)
+    public void onInventoryChanged(Object event) {
+        log.debug("Clearing summary caches after {}", event.getClass().getSimpleName());
+        clear();
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+
+    private void clear() {
+        clearLocal();
+        if (enabled) {
+            broadcaster.ifAvailable(SummaryCacheInvalidationBroadcaster::broadcast);
+        }
+    }
+
+    /**
+     * Clears the caches of this instance only
+     */
+    void clearLocal() {
+        generation.incrementAndGet();
+        caches.values().forEach(Cache::invalidateAll);
+    }
+
+    private Cache<Object, Object> cache(String cacheName) {
+        Cache<Object, Object> cache = caches.get(cacheName);
+        if (cache == null) {
+            throw new IllegalArgumentException("Unknown summary cache: " + cacheName);
+        }
+        return cache;
+    }
+
+    private <T> T load(Supplier<T> loader) {
+        return readOnlyTransaction.execute(_ -> loader.get());
+    }
+
+    private CachedSummary loadEntry(Supplier<?> loader) {
+        long loadGeneration = generation.get();
+        // Read-write, so the load is not sent to a replica that may not have the change yet
+        Object value = primaryTransaction.execute(_ -> loader.get());
+        return new CachedSummary(value, System.nanoTime(), loadGeneration);
+    }
+
+    private void refreshAsync(String cacheName, Cache<Object, Object> cache, Object key, Supplier<?> loader) {
+        RefreshKey refreshKey = new RefreshKey(cacheName, key);
+        if (!refreshing.add(refreshKey)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                String outcome = "success";
+                try {
+                    cache.put(key, loadEntry(loader));
+                } catch (RuntimeException e) {
+                    // The stale entry keeps being served until it expires
+                    log.warn("Failed to refresh {} summary {}", cacheName, key, e);
+                    outcome = "failure";
+                } finally {
+                    refreshing.remove(refreshKey);
+                }
+                meterRegistry.counter("warehouse.cache.summaries.refreshes",
+                        "cache", cacheName, "outcome", outcome).increment();
+            });
+        } catch (RuntimeException e) {
+            refreshing.remove(refreshKey);
+            log.debug("Summary refresh not scheduled", e);
+        }
+    }
+
+    private record CachedSummary(Object value, long loadedAt, long generation) {}
+
+    private record RefreshKey(String cacheName, Object key) {}
+}
@@ -0,0 +1,106 @@
+package br.com.dio.warehouse.infrastructure.cache;
+
+import br.com.dio.shared.identity.Ids;
+import br.com.dio.warehouse.infrastructure.config.RabbitMQConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Spreads summary cache clears to the other instances
+ *
+ * Every instance binds its own anonymous queue to the
+ * {@value RabbitMQConfig#CACHE_INVALIDATION_EXCHANGE} fanout exchange. After a local
+ * clear the cache publishes an empty message carrying the id of this instance; the
+ * other instances clear their caches when it arrives and this one ignores it.
+ * Clears are published by a background thread, at most once per
+ * {@code warehouse.cache.summaries.broadcast-delay}: the clears made within that delay
+ * share one message, and committing requests never wait on the broker.
+ * Delivery is best effort: an instance that misses a clear serves its entries until
+ * they are refreshed or expire.
+ *
+ * @author Franklin Canduri
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "rabbitmq.enabled", havingValue = "true", matchIfMissing = true)
+public class SummaryCacheInvalidationBroadcaster implements DisposableBean {
+
+    static final String ORIGIN_HEADER = "x-origin-instance";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final CaffeineSummaryCache summaryCache;
+    private final long delayNanos;
+    private final String instanceId = Ids.next().toString();
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private final ScheduledExecutorService sender = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("summary-cache-broadcast").daemon().factory());
+
+    public SummaryCacheInvalidationBroadcaster(
+            RabbitTemplate rabbitTemplate,
+            CaffeineSummaryCache summaryCache,
+            @Value("${warehouse.cache.summaries.broadcast-delay:200ms}") Duration delay) {
+        if (delay.isNegative()) {
+            throw new IllegalArgumentException("Summary broadcast delay must not be negative");
+        }
+        this.rabbitTemplate = rabbitTemplate;
+        this.summaryCache = summaryCache;
+        this.delayNanos = delay.toNanos();
+    }
+
+    /**
+     * Tells the other instances to clear their summary caches, once the delay has passed
+     */
+    public void broadcast() {
+        if (!pending.compareAndSet(false, true)) {
+            // The pending message covers this clear
+            return;
+        }
+        try {
+            sender.schedule(this::send, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            pending.set(false);
+            log.debug("Summary cache clear not broadcast, shutting down", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        sender.shutdown();
+    }
+
+    private void send() {
+        // Clears made from now on need another message
+        pending.set(false);
+        MessageProperties properties = new MessageProperties();
+        properties.setHeader(ORIGIN_HEADER, instanceId);
+        try {
+            rabbitTemplate.send(RabbitMQConfig.CACHE_INVALIDATION_EXCHANGE, "", new Message(new byte[0], properties));
+        } catch (AmqpException e) {
+            log.warn("Failed to broadcast a summary cache clear", e);
+        }
+    }
+
+    @RabbitListener(queues = "#{cacheInvalidationQueue.name}", concurrency = "1")
+    public void onInvalidation(Message message) {
+        if (instanceId.equals(message.getMessageProperties().getHeader(ORIGIN_HEADER))) {
+            return;
+        }
+        log.debug("Clearing summary caches after a clear on another instance");
+        summaryCache.clearLocal();
+    }
+}
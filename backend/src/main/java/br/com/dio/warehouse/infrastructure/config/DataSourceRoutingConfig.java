@@ -0,0 +1,104 @@
+package br.com.dio.warehouse.infrastructure.config;
+
+import br.com.dio.shared.datasource.ReadReplicaRoutingDataSource;
+import br.com.dio.shared.datasource.ReadYourWritesTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration of read replica routing
+ * 
+ * Active when {@code warehouse.datasource.replicas.urls} lists at least one JDBC url.
+ * The primary pool is built from {@code spring.datasource}; every replica gets a
+ * read-only pool with the same Hikari settings. Read-only transactions go to the
+ * replicas, everything else to the primary. After a write, the same authenticated
+ * user keeps reading from the primary for {@code warehouse.datasource.read-your-writes-window}.
+ * 
+ * @author Franklin Canduri
+ */
+@Slf4j
+@Configuration
+@ConditionalOnExpression("!'${warehouse.datasource.replicas.urls:}'.isBlank()")
+public class DataSourceRoutingConfig {
+    
+    @Bean
+    public ReadReplicaRoutingDataSource dataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${warehouse.datasource.replicas.urls}") List<String> replicaUrls,
+            @Value("${warehouse.datasource.replicas.username:${spring.datasource.username:}}") String replicaUsername,
+            @Value("${warehouse.datasource.replicas.password:${spring.datasource.password:}}") String replicaPassword,
+            @Value("${warehouse.datasource.read-your-writes-window:0s}") Duration readYourWritesWindow) {
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        String primaryName = primary.getPoolName() != null ? primary.getPoolName() : "primary";
+        configurePool(primary, primaryName, registry);
+        
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setReadOnly(true);
+            String replicaName = primaryName + "-replica-" + (replicas.size() + 1);
+            configurePool(replica, replicaName, registry);
+            replicas.put(replicaName, replica);
+        }
+        
+        log.info("Routing read-only transactions to {} replica pool(s), read-your-writes window {}",
+                replicas.size(), readYourWritesWindow);
+        return new ReadReplicaRoutingDataSource(primaryName, primary, replicas,
+                new ReadYourWritesTracker(readYourWritesWindow), DataSourceRoutingConfig::currentUser, registry);
+    }
+    
+    /**
+     * Names the pool, shows it as application_name in pg_stat_activity and
+     * publishes its hikaricp.* metrics
+     */
+    private static void configurePool(HikariDataSource pool, String name, MeterRegistry registry) {
+        pool.setPoolName(name);
+        pool.addDataSourceProperty("ApplicationName", name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+    }
+    
+    static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null
+                || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
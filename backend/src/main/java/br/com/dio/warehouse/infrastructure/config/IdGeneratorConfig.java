@@ -0,0 +1,29 @@
+package br.com.dio.warehouse.infrastructure.config;
+
+import br.com.dio.shared.identity.IdGenerator;
+import br.com.dio.shared.identity.Ids;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the identifier generator used for entities, events and transaction ids
+ * 
+ * {@code warehouse.ids.generator} selects {@code time-ordered} (UUIDv7, default)
+ * or {@code random} (UUIDv4).
+ * 
+ * @author Franklin Canduri
+ */
+@Slf4j
+@Configuration
+public class IdGeneratorConfig {
+    
+    public IdGeneratorConfig(@Value("${warehouse.ids.generator:time-ordered}") String generator) {
+        Ids.use(switch (generator) {
+            case "time-ordered" -> IdGenerator.TIME_ORDERED;
+            case "random" -> IdGenerator.RANDOM;
+            default -> throw new IllegalArgumentException("Unknown id generator: " + generator);
+        });
+        log.info("Using {} id generator", generator);
+    }
+}
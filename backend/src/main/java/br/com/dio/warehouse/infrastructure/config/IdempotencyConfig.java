@@ -0,0 +1,38 @@
+package br.com.dio.warehouse.infrastructure.config;
+
+import br.com.dio.shared.idempotency.IdempotentRequests;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+/**
+ * Configuration of {@code Idempotency-Key} handling for the sell, delivery and checkout endpoints
+ * 
+ * Keys are scoped to the authenticated user. Responses are kept for
+ * {@code warehouse.idempotency.ttl}, the latest {@code warehouse.idempotency.memory-size}
+ * also in memory.
+ * 
+ * @author Franklin Canduri
+ */
+@Configuration
+public class IdempotencyConfig {
+    
+    @Bean
+    public IdempotentRequests idempotentRequests(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${warehouse.idempotency.ttl:24h}") Duration ttl,
+            @Value("${warehouse.idempotency.in-progress-timeout:10s}") Duration inProgressTimeout,
+            @Value("${warehouse.idempotency.memory-size:10000}") long memorySize) {
+        return new IdempotentRequests(jdbcTemplate, transactionManager, objectMapper,
+                DataSourceRoutingConfig::currentUser, meterRegistry, ttl, inProgressTimeout, memorySize);
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.dio.warehouse.infrastructure.config;
+
+import br.com.dio.shared.outbox.EventOutbox;
+import br.com.dio.shared.outbox.OutboxRelay;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the transactional outbox of the warehouse and storefront events
+ * 
+ * Publishers write events to the outbox in their own transaction; the relay, which
+ * only runs with RabbitMQ enabled, publishes them in batches of
+ * {@code warehouse.outbox.relay.batch-size}.
+ * 
+ * @author Franklin Canduri
+ */
+@Configuration
+public class OutboxConfig {
+    
+    @Bean
+    public EventOutbox eventOutbox(JdbcTemplate jdbcTemplate, MessageConverter messageConverter) {
+        return new EventOutbox(jdbcTemplate, messageConverter);
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "rabbitmq.enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay outboxRelay(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${warehouse.outbox.relay.batch-size:200}") int batchSize,
+            @Value("${warehouse.outbox.relay.confirm-timeout:10s}") Duration confirmTimeout,
+            @Value("${warehouse.outbox.relay.backoff:1s}") Duration backoff,
+            @Value("${warehouse.outbox.relay.max-backoff:5m}") Duration maxBackoff) {
+        return new OutboxRelay(jdbcTemplate, transactionManager, rabbitTemplate, meterRegistry,
+                batchSize, confirmTimeout, backoff, maxBackoff);
+    }
+}
@@ -4,19 +4,27 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.rabbit.retry.MessageBatchRecoverer;
 import org.springframework.amqp.rabbit.retry.RejectAndDontRequeueRecoverer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.retry.interceptor.RetryOperationsInterceptor;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -25,18 +33,23 @@ import java.util.Map;
  * 
  * Topology:
  * - Exchange: warehouse.events (topic)
- * - Queues: warehouse.delivery, warehouse.baskets.sold, warehouse.baskets.disposed
+ * - Exchange: storefront.events (topic), for the storefront events
+ * - Queues: warehouse.delivery, warehouse.deliveries, warehouse.baskets.sold, warehouse.baskets.disposed
  * - Dead Letter Exchange: warehouse.dlx
  * - Dead Letter Queue: warehouse.dlq
+ * - Exchange: warehouse.cache.invalidation (fanout), with an anonymous queue per instance
  * 
  * Routing Keys:
  * - delivery.received → warehouse.delivery
+ * - deliveries.received → warehouse.deliveries
  * - baskets.sold → warehouse.baskets.sold
  * - baskets.disposed → warehouse.baskets.disposed
  * 
  * Features:
+ * - Events published through the transactional outbox with publisher confirms
  * - Automatic retry with exponential backoff
  * - Dead Letter Queue for failed messages
+ * - Batch listeners with per-queue concurrency, prefetch and batch size
  * - JSON serialization with Jackson
  * - Connection recovery
  * 
@@ -51,18 +64,24 @@ public class RabbitMQConfig {
     // Exchange names
     public static final String EVENTS_EXCHANGE = "warehouse.events";
     public static final String DLX_EXCHANGE = "warehouse.dlx";
+    public static final String CACHE_INVALIDATION_EXCHANGE = "warehouse.cache.invalidation";
     
     // Queue names
     public static final String DELIVERY_QUEUE = "warehouse.delivery";
+    public static final String DELIVERIES_QUEUE = "warehouse.deliveries";
     public static final String BASKETS_SOLD_QUEUE = "warehouse.baskets.sold";
     public static final String BASKETS_DISPOSED_QUEUE = "warehouse.baskets.disposed";
     public static final String DLQ = "warehouse.dlq";
     
     // Routing keys
     public static final String DELIVERY_ROUTING_KEY = "delivery.received";
+    public static final String DELIVERIES_ROUTING_KEY = "deliveries.received";
     public static final String BASKETS_SOLD_ROUTING_KEY = "baskets.sold";
     public static final String BASKETS_DISPOSED_ROUTING_KEY = "baskets.disposed";
     
+    // Listener container factories
+    public static final String BATCH_LISTENER_FACTORY = "batchRabbitListenerContainerFactory";
+    
     @Value("${spring.rabbitmq.listener.simple.retry.enabled:true}")
     private boolean retryEnabled;
     
@@ -75,6 +94,12 @@ public class RabbitMQConfig {
     @Value("${spring.rabbitmq.listener.simple.retry.multiplier:2.0}")
     private double multiplier;
     
+    @Value("${warehouse.messaging.listeners.batch-receive-timeout:200ms}")
+    private Duration batchReceiveTimeout;
+    
+    @Value("${rabbitmq.exchange.storefront:storefront.events}")
+    private String storefrontExchange;
+    
     // ========== Message Converter ==========
     
     /**
@@ -140,6 +165,17 @@ public class RabbitMQConfig {
         return exchange;
     }
     
+    /**
+     * Storefront events exchange (topic)
+     * Storefront domain events are published here with storefront.* routing keys
+     */
+    @Bean
+    public TopicExchange storefrontEventsExchange() {
+        TopicExchange exchange = new TopicExchange(storefrontExchange, true, false);
+        log.info("📡 Created storefront events exchange: {}", storefrontExchange);
+        return exchange;
+    }
+    
     /**
      * Dead Letter Exchange (DLX)
      * Failed messages are routed here after max retry attempts
@@ -151,6 +187,17 @@ public class RabbitMQConfig {
         return exchange;
     }
     
+    /**
+     * Summary cache invalidation exchange (fanout)
+     * Every instance receives the clears of the others
+     */
+    @Bean
+    public FanoutExchange cacheInvalidationExchange() {
+        FanoutExchange exchange = new FanoutExchange(CACHE_INVALIDATION_EXCHANGE, true, false);
+        log.info("📡 Created cache invalidation exchange: {}", CACHE_INVALIDATION_EXCHANGE);
+        return exchange;
+    }
+    
     // ========== Queues ==========
     
     /**
@@ -165,6 +212,18 @@ public class RabbitMQConfig {
         return queue;
     }
     
+    /**
+     * Bulk delivery events queue
+     * Consumes: DeliveriesReceivedEvent
+     */
+    @Bean
+    public Queue deliveriesQueue() {
+        Map<String, Object> args = deadLetterArgs();
+        Queue queue = new Queue(DELIVERIES_QUEUE, true, false, false, args);
+        log.info("📬 Created deliveries queue: {}", DELIVERIES_QUEUE);
+        return queue;
+    }
+    
     /**
      * Baskets sold events queue
      * Consumes: BasketsSoldEvent
@@ -200,6 +259,15 @@ public class RabbitMQConfig {
         return queue;
     }
     
+    /**
+     * Summary cache invalidation queue of this instance
+     * Server-named, exclusive and auto-delete: it goes away with the instance
+     */
+    @Bean
+    public Queue cacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+    
     /**
      * Dead letter arguments for queue configuration
      * Routes failed messages to DLX after max retries
@@ -228,6 +296,21 @@ public class RabbitMQConfig {
         return binding;
     }
     
+    /**
+     * Bind deliveries queue to events exchange
+     * Routing key: deliveries.received
+     */
+    @Bean
+    public Binding deliveriesBinding(Queue deliveriesQueue, TopicExchange eventsExchange) {
+        Binding binding = BindingBuilder
+                .bind(deliveriesQueue)
+                .to(eventsExchange)
+                .with(DELIVERIES_ROUTING_KEY);
+        log.info("🔗 Bound {} to {} with routing key: {}", 
+                DELIVERIES_QUEUE, EVENTS_EXCHANGE, DELIVERIES_ROUTING_KEY);
+        return binding;
+    }
+    
     /**
      * Bind baskets sold queue to events exchange
      * Routing key: baskets.sold
@@ -258,6 +341,14 @@ public class RabbitMQConfig {
         return binding;
     }
     
+    /**
+     * Bind this instance's cache invalidation queue to the fanout exchange
+     */
+    @Bean
+    public Binding cacheInvalidationBinding(Queue cacheInvalidationQueue, FanoutExchange cacheInvalidationExchange) {
+        return BindingBuilder.bind(cacheInvalidationQueue).to(cacheInvalidationExchange);
+    }
+    
     /**
      * Bind dead letter queue to DLX
      * All failed messages go here
@@ -312,4 +403,106 @@ public class RabbitMQConfig {
                 .recoverer(new RejectAndDontRequeueRecoverer())
                 .build();
     }
+    
+    // ========== Batch Listener Container Factory ==========
+    
+    /**
+     * Listener container factory for listeners that take a List of events
+     * 
+     * Each consumer collects up to the batch size of its queue, or what arrived within
+     * the batch receive timeout, hands the list to the listener in one call and acks
+     * the whole batch when it returns. A failing batch is retried as a whole and then
+     * rejected to the DLQ. Concurrency, prefetch and batch size are read per queue
+     * from warehouse.messaging.listeners.queues.
+     */
+    @Bean(BATCH_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory batchRabbitListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            Environment environment) {
+        
+        if (batchReceiveTimeout.isNegative() || batchReceiveTimeout.isZero()) {
+            throw new IllegalArgumentException(
+                    "warehouse.messaging.listeners.batch-receive-timeout must be positive: " + batchReceiveTimeout);
+        }
+        Map<String, ListenerSettings> queueSettings = Binder.get(environment)
+                .bind("warehouse.messaging.listeners.queues", Bindable.mapOf(String.class, ListenerSettings.class))
+                .orElse(Map.of());
+        
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(messageConverter);
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        factory.setDefaultRequeueRejected(false);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchReceiveTimeout(batchReceiveTimeout.toMillis());
+        factory.setContainerCustomizer(container -> {
+            String queue = container.getQueueNames()[0];
+            ListenerSettings settings = queueSettings.getOrDefault(queue, ListenerSettings.DEFAULT);
+            settings.applyTo(container);
+            log.info("✅ Batch listener on {}: {}-{} consumers, prefetch {}, batch size {}",
+                    queue, settings.concurrency(), settings.maxConcurrency(), settings.prefetch(), settings.batchSize());
+        });
+        
+        if (retryEnabled) {
+            factory.setAdviceChain(batchRetryInterceptor());
+        }
+        
+        log.info("✅ Configured batch RabbitListenerContainerFactory for queues {}", queueSettings.keySet());
+        return factory;
+    }
+    
+    /**
+     * Retry interceptor for batch listeners; after max attempts every message of the
+     * batch is rejected to the DLQ
+     */
+    private RetryOperationsInterceptor batchRetryInterceptor() {
+        MessageBatchRecoverer rejectBatch = (messages, cause) -> {
+            throw new AmqpRejectAndDontRequeueException(
+                    "Retries exhausted for a batch of " + messages.size() + " messages", cause);
+        };
+        return RetryInterceptorBuilder.stateless()
+                .maxAttempts(maxAttempts)
+                .backOffOptions(initialInterval, multiplier, initialInterval * 10)
+                .recoverer(rejectBatch)
+                .build();
+    }
+    
+    /**
+     * Consumers of a batch listener queue
+     * 
+     * @param concurrency    consumers started with the container
+     * @param maxConcurrency consumers the container may scale up to under load
+     * @param prefetch       unacked messages a consumer may hold; at least the batch size
+     * @param batchSize      messages handed to the listener per call
+     */
+    public record ListenerSettings(
+            @DefaultValue("1") int concurrency,
+            @DefaultValue("1") int maxConcurrency,
+            @DefaultValue("100") int prefetch,
+            @DefaultValue("50") int batchSize) {
+        
+        static final ListenerSettings DEFAULT = new ListenerSettings(1, 1, 100, 50);
+        
+        public ListenerSettings {
+            if (concurrency < 1 || maxConcurrency < concurrency) {
+                throw new IllegalArgumentException(
+                        "Listener concurrency must be at least 1 and at most max-concurrency, got "
+                                + concurrency + " and " + maxConcurrency);
+            }
+            if (batchSize < 1 || prefetch < batchSize) {
+                throw new IllegalArgumentException(
+                        "Listener batch-size must be at least 1 and at most prefetch, got "
+                                + batchSize + " and " + prefetch);
+            }
+        }
+        
+        void applyTo(SimpleMessageListenerContainer container) {
+            container.setConcurrentConsumers(concurrency);
+            container.setMaxConcurrentConsumers(maxConcurrency);
+            container.setPrefetchCount(prefetch);
+            container.setBatchSize(batchSize);
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package br.com.dio.warehouse.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled maintenance jobs
+ * 
+ * Each job has its own cron property and is disabled ("-") unless configured.
+ * 
+ * @author Franklin Canduri
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
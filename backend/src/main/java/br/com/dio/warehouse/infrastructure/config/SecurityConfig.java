@@ -85,11 +85,20 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/v1/produtos/**").permitAll()
                         
                         // Delivery endpoints - requires ADMIN or WAREHOUSE_MANAGER role
-                        .requestMatchers(HttpMethod.POST, "/api/v1/deliveries").hasAnyRole("ADMIN", "WAREHOUSE_MANAGER")
+                        .requestMatchers(HttpMethod.POST, "/api/v1/deliveries", "/api/v1/deliveries/bulk").hasAnyRole("ADMIN", "WAREHOUSE_MANAGER")
                         
                         // Basket sale endpoints - requires ADMIN, WAREHOUSE_MANAGER, or SALES role
                         .requestMatchers(HttpMethod.POST, "/api/v1/baskets/sell").hasAnyRole("ADMIN", "WAREHOUSE_MANAGER", "SALES")
                         
+                        // Basket reservation endpoints - requires ADMIN, WAREHOUSE_MANAGER, or SALES role
+                        .requestMatchers("/api/v1/baskets/reservations/**").hasAnyRole("ADMIN", "WAREHOUSE_MANAGER", "SALES")
+                        
+                        // Basket archival - requires ADMIN or WAREHOUSE_MANAGER role
+                        .requestMatchers(HttpMethod.POST, "/api/v1/baskets/archive").hasAnyRole("ADMIN", "WAREHOUSE_MANAGER")
+                        
+                        // Inventory counters rebuild - requires ADMIN or WAREHOUSE_MANAGER role
+                        .requestMatchers(HttpMethod.POST, "/api/v1/stock/counters/rebuild").hasAnyRole("ADMIN", "WAREHOUSE_MANAGER")
+                        
                         // Cart endpoints - requires authentication
                         .requestMatchers("/api/v1/carrinhos/**").authenticated()
                         
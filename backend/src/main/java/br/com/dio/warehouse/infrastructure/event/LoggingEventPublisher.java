@@ -3,6 +3,7 @@ package br.com.dio.warehouse.infrastructure.event;
 import br.com.dio.warehouse.application.port.out.EventPublisher;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 /**
@@ -16,6 +17,8 @@ import org.springframework.stereotype.Component;
  * 
  * Enable with: rabbitmq.enabled=false
  * 
+ * Events still reach in-process Spring event listeners, such as the summary cache.
+ * 
  * In production, use RabbitMQEventPublisher instead.
  * 
  * @author Franklin Canduri
@@ -27,13 +30,17 @@ import org.springframework.stereotype.Component;
 @ConditionalOnProperty(name = "rabbitmq.enabled", havingValue = "false")
 public class LoggingEventPublisher implements EventPublisher {
     
-    public LoggingEventPublisher() {
+    private final ApplicationEventPublisher applicationEventPublisher;
+    
+    public LoggingEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
         log.warn("⚠️ Using LoggingEventPublisher - RabbitMQ is DISABLED");
         log.warn("⚠️ Events will only be logged, not published to message broker");
     }
     
     @Override
     public void publish(Object event) {
+        applicationEventPublisher.publishEvent(event);
         log.info("📢 Domain Event Published (LOG ONLY): {}", event.getClass().getSimpleName());
         log.debug("Event details: {}", event);
     }
@@ -1,13 +1,14 @@
 package br.com.dio.warehouse.infrastructure.event;
 
-import org.springframework.amqp.AmqpException;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+import br.com.dio.shared.outbox.EventOutbox;
 import br.com.dio.warehouse.application.port.out.EventPublisher;
 import br.com.dio.warehouse.domain.event.BasketsDisposedEvent;
 import br.com.dio.warehouse.domain.event.BasketsSoldEvent;
+import br.com.dio.warehouse.domain.event.DeliveriesReceivedEvent;
 import br.com.dio.warehouse.domain.event.DeliveryReceivedEvent;
 import br.com.dio.warehouse.infrastructure.config.RabbitMQConfig;
 import lombok.RequiredArgsConstructor;
@@ -16,18 +17,22 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * RabbitMQ implementation of EventPublisher
  * 
- * Publishes domain events to RabbitMQ exchanges with appropriate routing keys.
- * Handles serialization, error handling, and dead letter routing.
+ * Publishes domain events to RabbitMQ exchanges with appropriate routing keys,
+ * through the transactional outbox: the event is written to event_outbox in the
+ * caller's transaction and the OutboxRelay sends it once that transaction commits.
+ * Events of a rolled back transaction are never sent, and a slow or unavailable
+ * broker does not hold up the caller or its database locks.
  * 
  * Features:
  * - Automatic JSON serialization
- * - Publisher confirms
- * - Return handling for unroutable messages
+ * - At-least-once delivery with publisher confirms (by the relay)
  * - Dead letter queue support
  * - Structured logging
+ * - In-process delivery to Spring event listeners, such as the summary cache
  * 
  * Event Routing:
  * - DeliveryReceivedEvent → delivery.received
+ * - DeliveriesReceivedEvent → deliveries.received
  * - BasketsSoldEvent → baskets.sold
  * - BasketsDisposedEvent → baskets.disposed
  * 
@@ -45,7 +50,8 @@ import lombok.extern.slf4j.Slf4j;
 @ConditionalOnProperty(name = "rabbitmq.enabled", havingValue = "true", matchIfMissing = true)
 public class RabbitMQEventPublisher implements EventPublisher {
     
-    private final RabbitTemplate rabbitTemplate;
+    private final EventOutbox eventOutbox;
+    private final ApplicationEventPublisher applicationEventPublisher;
     
     @Override
     public void publish(Object event) {
@@ -54,6 +60,8 @@ public class RabbitMQEventPublisher implements EventPublisher {
             return;
         }
         
+        applicationEventPublisher.publishEvent(event);
+        
         String routingKey = determineRoutingKey(event);
         
         if (routingKey == null) {
@@ -62,33 +70,15 @@ public class RabbitMQEventPublisher implements EventPublisher {
             return;
         }
         
-        try {
-            rabbitTemplate.convertAndSend(
-                    RabbitMQConfig.EVENTS_EXCHANGE,
-                    routingKey,
-                    event
-            );
-            
-            log.info("📢 Published event: {} to exchange: {} with routing key: {}",
-                    event.getClass().getSimpleName(),
-                    RabbitMQConfig.EVENTS_EXCHANGE,
-                    routingKey);
-            
-            log.debug("Event details: {}", event);
-            
-        } catch (AmqpException e) {
-            log.error("❌ Failed to publish event: {} - Error: {}",
-                    event.getClass().getSimpleName(),
-                    e.getMessage(),
-                    e);
-            
-            // Depending on business requirements, you might want to:
-            // 1. Throw exception to fail the transaction
-            // 2. Store event in database for retry
-            // 3. Send to fallback system
-            
-            // For now, we log and continue (at-most-once delivery)
-        }
+        // A failed write fails the caller's transaction along with its changes
+        eventOutbox.append(RabbitMQConfig.EVENTS_EXCHANGE, routingKey, event);
+        
+        log.info("📢 Queued event: {} in the outbox for exchange: {} with routing key: {}",
+                event.getClass().getSimpleName(),
+                RabbitMQConfig.EVENTS_EXCHANGE,
+                routingKey);
+        
+        log.debug("Event details: {}", event);
     }
     
     /**
@@ -100,6 +90,7 @@ public class RabbitMQEventPublisher implements EventPublisher {
     private String determineRoutingKey(Object event) {
         return switch (event) {
             case DeliveryReceivedEvent _ -> RabbitMQConfig.DELIVERY_ROUTING_KEY;
+            case DeliveriesReceivedEvent _ -> RabbitMQConfig.DELIVERIES_ROUTING_KEY;
             case BasketsSoldEvent _ -> RabbitMQConfig.BASKETS_SOLD_ROUTING_KEY;
             case BasketsDisposedEvent _ -> RabbitMQConfig.BASKETS_DISPOSED_ROUTING_KEY;
             default -> {
@@ -118,20 +109,9 @@ public class RabbitMQEventPublisher implements EventPublisher {
         
         log.info("📢 Publishing {} events in batch", events.length);
         
-        int successCount = 0;
-        int failureCount = 0;
-        
+        // No failure is skipped: an event missing from the outbox would never be sent
         for (Object event : events) {
-            try {
-                publish(event);
-                successCount++;
-            } catch (Exception e) {
-                failureCount++;
-                log.error("❌ Failed to publish event in batch: {}", 
-                        event != null ? event.getClass().getSimpleName() : "null", e);
-            }
+            publish(event);
         }
-        
-        log.info("📊 Batch publish complete: {} successful, {} failed", successCount, failureCount);
     }
 }
@@ -6,13 +6,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * Event Listener for BasketsDisposedEvent
  * 
- * Processes baskets disposed events asynchronously.
+ * Processes baskets disposed events asynchronously, in batches.
  * 
  * Responsibilities:
  * - Record loss/waste metrics
@@ -22,8 +23,9 @@ import org.springframework.stereotype.Component;
  * - Optimize inventory management
  * 
  * Error Handling:
- * - Automatic retry with exponential backoff (configured in RabbitMQConfig)
- * - After max retries, message goes to Dead Letter Queue
+ * - The batch is acked once it is processed; a failing batch is retried as a whole
+ *   with exponential backoff (configured in RabbitMQConfig)
+ * - After max retries, every message of the batch goes to Dead Letter Queue
  * - Failed messages can be manually inspected and reprocessed
  * 
  * @author Franklin Canduri
@@ -37,30 +39,30 @@ import org.springframework.stereotype.Component;
 public class BasketsDisposedEventListener {
     
     /**
-     * Handles BasketsDisposedEvent from RabbitMQ
+     * Handles a batch of BasketsDisposedEvents from RabbitMQ
      * 
-     * @param event The baskets disposed event
+     * @param events The baskets disposed events of the batch
      */
-    @RabbitListener(queues = RabbitMQConfig.BASKETS_DISPOSED_QUEUE)
-    public void handleBasketsDisposed(@Payload BasketsDisposedEvent event) {
-        log.info("🗑️ Received BasketsDisposedEvent: quantity={}, lossAmount={}",
-                event.getQuantity(),
-                event.getLossAmount());
+    @RabbitListener(queues = RabbitMQConfig.BASKETS_DISPOSED_QUEUE, containerFactory = RabbitMQConfig.BATCH_LISTENER_FACTORY)
+    public void handleBasketsDisposed(List<BasketsDisposedEvent> events) {
+        log.info("🗑️ Received {} BasketsDisposedEvents: quantity={}",
+                events.size(),
+                events.stream().mapToLong(BasketsDisposedEvent::getQuantity).sum());
         
         try {
-            // Process the event
-            processDisposalEvent(event);
+            // Process the batch
+            events.forEach(this::processDisposalEvent);
             
-            log.info("✅ Successfully processed BasketsDisposedEvent: {}", event.getEventId());
+            log.info("✅ Successfully processed {} BasketsDisposedEvents", events.size());
             
         } catch (Exception e) {
-            log.error("❌ Error processing BasketsDisposedEvent: {} - Error: {}",
-                    event.getEventId(),
+            log.error("❌ Error processing a batch of {} BasketsDisposedEvents - Error: {}",
+                    events.size(),
                     e.getMessage(),
                     e);
             
             // Exception will trigger retry mechanism
-            throw new RuntimeException("Failed to process BasketsDisposedEvent", e);
+            throw new RuntimeException("Failed to process a batch of BasketsDisposedEvents", e);
         }
     }
     
@@ -97,19 +99,5 @@ public class BasketsDisposedEventListener {
                 event.getQuantity(),
                 event.getLossAmount(),
                 event.getOccurredOn());
-        
-        // Simulate processing time
-        simulateProcessing();
-    }
-    
-    /**
-     * Simulates processing time (remove in production)
-     */
-    private void simulateProcessing() {
-        try {
-            Thread.sleep(100); // 100ms processing time
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
     }
 }
@@ -1,10 +1,13 @@
 package br.com.dio.warehouse.infrastructure.event.listener;
 
+import java.util.List;
+
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import br.com.dio.warehouse.application.service.SalesRollupAggregator;
+import br.com.dio.warehouse.application.service.SalesRollupAggregator.Sale;
 import br.com.dio.warehouse.domain.event.BasketsSoldEvent;
 import br.com.dio.warehouse.infrastructure.config.RabbitMQConfig;
 import lombok.RequiredArgsConstructor;
@@ -13,18 +16,18 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * Event Listener for BasketsSoldEvent
  * 
- * Processes baskets sold events asynchronously.
+ * Processes baskets sold events asynchronously, in batches.
  * 
  * Responsibilities:
- * - Update sales analytics
- * - Trigger revenue reports
- * - Send customer receipts
- * - Update loyalty programs
- * - Integrate with accounting systems
+ * - Fold each batch of sales into the per-minute and per-hour sales rollups, in one
+ *   transaction per batch
+ * - Audit log of the sales
  * 
  * Error Handling:
- * - Automatic retry with exponential backoff (configured in RabbitMQConfig)
- * - After max retries, message goes to Dead Letter Queue
+ * - The batch is acked once it is processed; a failing batch is retried as a whole
+ *   with exponential backoff (configured in RabbitMQConfig)
+ * - Events of a redelivered batch that were already recorded are skipped by their eventId
+ * - After max retries, every message of the batch goes to Dead Letter Queue
  * - Failed messages can be manually inspected and reprocessed
  * 
  * @author Franklin Canduri
@@ -37,77 +40,59 @@ import lombok.extern.slf4j.Slf4j;
 @ConditionalOnProperty(name = "rabbitmq.enabled", havingValue = "true", matchIfMissing = true)
 public class BasketsSoldEventListener {
     
+    private final SalesRollupAggregator salesRollupAggregator;
+    
     /**
-     * Handles BasketsSoldEvent from RabbitMQ
+     * Handles a batch of BasketsSoldEvents from RabbitMQ
      * 
-     * @param event The baskets sold event
+     * @param events The baskets sold events of the batch
      */
-    @RabbitListener(queues = RabbitMQConfig.BASKETS_SOLD_QUEUE)
-    public void handleBasketsSold(@Payload BasketsSoldEvent event) {
-        log.info("💰 Received BasketsSoldEvent: quantity={}, totalValue={}, transactionId={}",
-                event.getQuantity(),
-                event.getTotalValue(),
-                event.getTransactionId());
+    @RabbitListener(queues = RabbitMQConfig.BASKETS_SOLD_QUEUE, containerFactory = RabbitMQConfig.BATCH_LISTENER_FACTORY)
+    public void handleBasketsSold(List<BasketsSoldEvent> events) {
+        log.info("💰 Received {} BasketsSoldEvents", events.size());
         
         try {
-            // Process the event
-            processSalesEvent(event);
+            // Process the batch
+            int buckets = processSalesEvents(events);
             
-            log.info("✅ Successfully processed BasketsSoldEvent: {}", event.getEventId());
+            log.info("✅ Successfully processed {} BasketsSoldEvents into {} rollup buckets", events.size(), buckets);
             
         } catch (Exception e) {
-            log.error("❌ Error processing BasketsSoldEvent: {} - Error: {}",
-                    event.getEventId(),
+            log.error("❌ Error processing a batch of {} BasketsSoldEvents - Error: {}",
+                    events.size(),
                     e.getMessage(),
                     e);
             
             // Exception will trigger retry mechanism
-            throw new RuntimeException("Failed to process BasketsSoldEvent", e);
+            throw new RuntimeException("Failed to process a batch of BasketsSoldEvents", e);
         }
     }
     
     /**
-     * Business logic for processing sales event
+     * Business logic for processing a batch of sales events
      * 
-     * @param event The sales event
+     * @param events The sales events
+     * @return number of rollup buckets written
      */
-    private void processSalesEvent(BasketsSoldEvent event) {
-        
-        // Examples:
-        // 1. Update sales dashboard
-        // dashboardService.updateSalesMetrics(event);
-        
-        // 2. Send receipt to customer
-        // receiptService.sendReceipt(event.getTransactionId(), event.getTotalValue());
-        
-        // 3. Update accounting system
-        // accountingService.recordRevenue(event.getTotalValue());
-        
-        // 4. Trigger loyalty points
-        // loyaltyService.addPoints(event.getQuantity());
+    private int processSalesEvents(List<BasketsSoldEvent> events) {
         
-        // 5. Update inventory forecasting
-        // forecastingService.recordSale(event.getQuantity());
+        // Update the sales curves: one transaction for the whole batch
+        int buckets = salesRollupAggregator.record(events.stream()
+                .map(event -> new Sale(
+                        event.getEventId(),
+                        event.getOccurredOn(),
+                        event.getQuantity(),
+                        event.getTotalValue().getAmount()))
+                .toList());
         
-        // 6. Log to audit trail
-        log.debug("📝 Audit: Baskets sold - Quantity: {}, Revenue: {}, Transaction: {}, Timestamp: {}",
-                event.getQuantity(),
-                event.getTotalValue(),
-                event.getTransactionId(),
-                event.getOccurredOn());
-        
-        // Simulate processing time
-        simulateProcessing();
-    }
-    
-    /**
-     * Simulates processing time (remove in production)
-     */
-    private void simulateProcessing() {
-        try {
-            Thread.sleep(100); // 100ms processing time
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        // Log to audit trail
+        for (BasketsSoldEvent event : events) {
+            log.debug("📝 Audit: Baskets sold - Quantity: {}, Revenue: {}, Transaction: {}, Timestamp: {}",
+                    event.getQuantity(),
+                    event.getTotalValue(),
+                    event.getTransactionId(),
+                    event.getOccurredOn());
         }
+        return buckets;
     }
 }
@@ -0,0 +1,69 @@
+package br.com.dio.warehouse.infrastructure.event.listener;
+
+import java.util.List;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import br.com.dio.warehouse.domain.event.DeliveriesReceivedEvent;
+import br.com.dio.warehouse.infrastructure.config.RabbitMQConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Event Listener for DeliveriesReceivedEvent
+ * 
+ * Processes the aggregated event of a batch of deliveries received through the
+ * bulk endpoint: one message per committed batch instead of one per delivery.
+ * The events themselves are consumed in batches as well.
+ * 
+ * Error Handling:
+ * - The batch is acked once it is processed; a failing batch is retried as a whole
+ *   with exponential backoff (configured in RabbitMQConfig)
+ * - After max retries, every message of the batch goes to Dead Letter Queue
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "rabbitmq.enabled", havingValue = "true", matchIfMissing = true)
+public class DeliveriesReceivedEventListener {
+    
+    /**
+     * Handles a batch of DeliveriesReceivedEvents from RabbitMQ
+     * 
+     * @param events The deliveries received events of the batch
+     */
+    @RabbitListener(queues = RabbitMQConfig.DELIVERIES_QUEUE, containerFactory = RabbitMQConfig.BATCH_LISTENER_FACTORY)
+    public void handleDeliveriesReceived(List<DeliveriesReceivedEvent> events) {
+        log.info("📦 Received {} DeliveriesReceivedEvents: deliveries={}, quantity={}",
+                events.size(),
+                events.stream().mapToInt(event -> event.getDeliveryBoxIds().size()).sum(),
+                events.stream().mapToLong(DeliveriesReceivedEvent::getTotalQuantity).sum());
+        
+        try {
+            // Log to audit trail
+            for (DeliveriesReceivedEvent event : events) {
+                log.debug("📝 Audit: Deliveries received - DeliveryBoxIds: {}, Quantity: {}, Timestamp: {}",
+                        event.getDeliveryBoxIds(),
+                        event.getTotalQuantity(),
+                        event.getOccurredOn());
+            }
+            
+            log.info("✅ Successfully processed {} DeliveriesReceivedEvents", events.size());
+        
+        } catch (Exception e) {
+            log.error("❌ Error processing a batch of {} DeliveriesReceivedEvents - Error: {}",
+                    events.size(),
+                    e.getMessage(),
+                    e);
+            
+            // Exception will trigger retry mechanism
+            throw new RuntimeException("Failed to process a batch of DeliveriesReceivedEvents", e);
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package br.com.dio.warehouse.infrastructure.event.listener;
 
+import java.util.List;
+
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
 import br.com.dio.warehouse.domain.event.DeliveryReceivedEvent;
@@ -13,7 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * Event Listener for DeliveryReceivedEvent
  * 
- * Processes delivery received events asynchronously.
+ * Processes delivery received events asynchronously, in batches.
  * 
  * Responsibilities:
  * - Log delivery information
@@ -22,8 +23,9 @@ import lombok.extern.slf4j.Slf4j;
  * - Integrate with external systems
  * 
  * Error Handling:
- * - Automatic retry with exponential backoff (configured in RabbitMQConfig)
- * - After max retries, message goes to Dead Letter Queue
+ * - The batch is acked once it is processed; a failing batch is retried as a whole
+ *   with exponential backoff (configured in RabbitMQConfig)
+ * - After max retries, every message of the batch goes to Dead Letter Queue
  * - Failed messages can be manually inspected and reprocessed
  * 
  * @author Franklin Canduri
@@ -37,30 +39,30 @@ import lombok.extern.slf4j.Slf4j;
 public class DeliveryReceivedEventListener {
     
     /**
-     * Handles DeliveryReceivedEvent from RabbitMQ
+     * Handles a batch of DeliveryReceivedEvents from RabbitMQ
      * 
-     * @param event The delivery received event
+     * @param events The delivery received events of the batch
      */
-    @RabbitListener(queues = RabbitMQConfig.DELIVERY_QUEUE)
-    public void handleDeliveryReceived(@Payload DeliveryReceivedEvent event) {
-        log.info("📦 Received DeliveryReceivedEvent: deliveryBoxId={}, quantity={}",
-                event.getDeliveryBoxId(),
-                event.getTotalQuantity());
+    @RabbitListener(queues = RabbitMQConfig.DELIVERY_QUEUE, containerFactory = RabbitMQConfig.BATCH_LISTENER_FACTORY)
+    public void handleDeliveryReceived(List<DeliveryReceivedEvent> events) {
+        log.info("📦 Received {} DeliveryReceivedEvents: quantity={}",
+                events.size(),
+                events.stream().mapToLong(DeliveryReceivedEvent::getTotalQuantity).sum());
         
         try {
-            // Process the event
-            processDeliveryEvent(event);
+            // Process the batch
+            events.forEach(this::processDeliveryEvent);
             
-            log.info("✅ Successfully processed DeliveryReceivedEvent: {}", event.getEventId());
+            log.info("✅ Successfully processed {} DeliveryReceivedEvents", events.size());
             
         } catch (Exception e) {
-            log.error("❌ Error processing DeliveryReceivedEvent: {} - Error: {}",
-                    event.getEventId(),
+            log.error("❌ Error processing a batch of {} DeliveryReceivedEvents - Error: {}",
+                    events.size(),
                     e.getMessage(),
                     e);
             
             // Exception will trigger retry mechanism
-            throw new RuntimeException("Failed to process DeliveryReceivedEvent", e);
+            throw new RuntimeException("Failed to process a batch of DeliveryReceivedEvents", e);
         }
     }
     
@@ -86,19 +88,5 @@ public class DeliveryReceivedEventListener {
                 event.getDeliveryBoxId(),
                 event.getTotalQuantity(),
                 event.getOccurredOn());
-        
-        // Simulate processing time
-        simulateProcessing();
-    }
-    
-    /**
-     * Simulates processing time (remove in production)
-     */
-    private void simulateProcessing() {
-        try {
-            Thread.sleep(100); // 100ms processing time
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
     }
 }
@@ -0,0 +1,86 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Durable log of the sales allocated by the in-memory inventory engine
+ *
+ * A sale is appended in its own transaction, so it becomes durable exactly when the
+ * sale commits. Applying the log marks the logged baskets SOLD and deletes the log rows
+ * in one statement; replaying rows that were already applied changes nothing, as only
+ * AVAILABLE baskets are updated.
+ *
+ * @author Franklin Canduri
+ */
+@Slf4j
+@Component
+public class BasketAllocationLog {
+
+    private static final String APPEND_SQL = "INSERT INTO basket_allocations (basket_ids, sold_at) VALUES (?, ?)";
+
+    private static final String APPLY_SQL = """
+        WITH batch AS (
+            DELETE FROM basket_allocations
+            WHERE id IN (SELECT id FROM basket_allocations ORDER BY id LIMIT ? FOR UPDATE)
+            RETURNING basket_ids, sold_at
+        ), sold AS (
+            UPDATE basic_baskets b
+            SET status = 'SOLD', sold_at = s.sold_at, updated_at = s.sold_at, version = b.version + 1
+            FROM (SELECT unnest(basket_ids) AS id, sold_at FROM batch) s
+            WHERE b.id = s.id AND b.status = 'AVAILABLE'
+            RETURNING b.id
+        )
+        SELECT (SELECT COUNT(*) FROM batch) AS allocations,
+               (SELECT COALESCE(SUM(cardinality(basket_ids)), 0) FROM batch) AS allocated,
+               (SELECT COUNT(*) FROM sold) AS sold
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BasketAllocationLog(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Logs the sale of {@code basketIds} in the current transaction
+     */
+    public void append(UUID[] basketIds, LocalDateTime soldAt) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(APPEND_SQL);
+            Array ids = connection.createArrayOf("uuid", basketIds);
+            statement.setArray(1, ids);
+            statement.setTimestamp(2, Timestamp.valueOf(soldAt));
+            return statement;
+        });
+    }
+
+    /**
+     * Applies the oldest {@code batchSize} logged sales to basic_baskets. Waits for
+     * a concurrent apply of the same rows instead of skipping them, so every sale
+     * committed before the call has been applied when no row is left.
+     *
+     * @return number of logged sales applied
+     */
+    public int applyBatch(int batchSize) {
+        return jdbcTemplate.query(APPLY_SQL, (ResultSet rs) -> {
+            rs.next();
+            int allocations = rs.getInt("allocations");
+            long allocated = rs.getLong("allocated");
+            long sold = rs.getLong("sold");
+            if (sold < allocated) {
+                log.warn("{} of {} allocated baskets were no longer AVAILABLE when applied",
+                        allocated - sold, allocated);
+            }
+            return allocations;
+        }, batchSize);
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import br.com.dio.shared.identity.Ids;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Streams new baskets into basic_baskets with PostgreSQL COPY
+ *
+ * Rows are written from a fixed buffer of {@code warehouse.delivery.insert-chunk-size}
+ * rows, so memory use does not depend on the size of the delivery. Only the ids differ
+ * between rows; they come from the configured id generator and are written in place
+ * into the buffer. created_at and version come from the column defaults. Runs on the
+ * connection of the current transaction.
+ *
+ * @author Franklin Canduri
+ */
+@Slf4j
+@Component
+public class BasketCopyWriter {
+
+    private static final String COPY_SQL =
+            "COPY basic_baskets (id, validation_date, price, status, delivery_box_id) FROM STDIN";
+
+    private static final int UUID_LENGTH = 36;
+
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+
+    public BasketCopyWriter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${warehouse.delivery.insert-chunk-size:10000}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Insert chunk size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Inserts {@code quantity} AVAILABLE baskets of one delivery
+     *
+     * @return number of rows written
+     */
+    public long copyAvailableBaskets(UUID deliveryBoxId, LocalDate validationDate, BigDecimal price, long quantity) {
+        byte[] rowSuffix = ("\t" + validationDate + "\t" + price.toPlainString() + "\tAVAILABLE\t" + deliveryBoxId + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+        int rowLength = UUID_LENGTH + rowSuffix.length;
+        int rowsPerChunk = (int) Math.min(chunkSize, quantity);
+        byte[] chunk = new byte[rowLength * rowsPerChunk];
+        for (int i = 0; i < rowsPerChunk; i++) {
+            System.arraycopy(rowSuffix, 0, chunk, i * rowLength + UUID_LENGTH, rowSuffix.length);
+        }
+
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            try {
+                long remaining = quantity;
+                while (remaining > 0) {
+                    int rows = (int) Math.min(rowsPerChunk, remaining);
+                    for (int i = 0; i < rows; i++) {
+                        writeUuid(Ids.next(), chunk, i * rowLength);
+                    }
+                    copyIn.writeToCopy(chunk, 0, rows * rowLength);
+                    remaining -= rows;
+                }
+                return copyIn.endCopy();
+            } catch (SQLException e) {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+                throw e;
+            }
+        });
+
+        log.debug("Copied {} baskets for delivery {}", copied, deliveryBoxId);
+        return copied;
+    }
+
+    /**
+     * Writes the canonical 8-4-4-4-12 text form of {@code id} at {@code offset}
+     */
+    private static void writeUuid(UUID id, byte[] buffer, int offset) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        int position = offset;
+        for (int nibble = 0; nibble < 32; nibble++) {
+            if (nibble == 8 || nibble == 12 || nibble == 16 || nibble == 20) {
+                buffer[position++] = '-';
+            }
+            long bits = nibble < 16 ? msb : lsb;
+            int shift = 60 - (nibble % 16) * 4;
+            buffer[position++] = HEX_DIGITS[(int) (bits >>> shift) & 0xF];
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Creates the monthly partitions of basic_baskets_history on demand
+ *
+ * basic_baskets_history has no default partition, so rows archived in a month
+ * without a partition fail instead of piling up in a partition that later blocks
+ * creating the real one. The partition is checked in the caller's transaction, right
+ * before the rows are archived into it, rather than remembered per instance: a
+ * partition detached or dropped after this instance first saw it is simply created
+ * again. The check is a catalog lookup, and the DDL only runs when it is missing.
+ *
+ * @author Franklin Canduri
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BasketHistoryPartitions {
+
+    private static final DateTimeFormatter PARTITION_NAME =
+            DateTimeFormatter.ofPattern("'basic_baskets_history_'yyyy_MM");
+
+    private static final String CREATE_PARTITION_SQL = """
+            CREATE TABLE IF NOT EXISTS %s PARTITION OF basic_baskets_history
+            FOR VALUES FROM ('%s') TO ('%s')
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Makes sure the partition holding {@code archivedAt} exists; must run in the
+     * transaction that archives into it
+     */
+    public void ensurePartitionFor(LocalDateTime archivedAt) {
+        YearMonth month = YearMonth.from(archivedAt);
+        String partition = month.format(PARTITION_NAME);
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+        jdbcTemplate.execute(CREATE_PARTITION_SQL.formatted(partition, month.atDay(1), month.plusMonths(1).atDay(1)));
+        log.info("Created basket history partition {}", partition);
+    }
+}
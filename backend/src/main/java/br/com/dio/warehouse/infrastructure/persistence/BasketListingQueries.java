@@ -0,0 +1,88 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import br.com.dio.warehouse.domain.model.BasicBasket;
+import br.com.dio.warehouse.domain.valueobject.BasketCursor;
+import br.com.dio.warehouse.domain.valueobject.BasketFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Filtered basket listing queries in (validation_date, id) order
+ *
+ * The JPQL only contains the criteria that are set, so every combination gets a plan
+ * that can use the matching index instead of one catch-all query with
+ * {@code :param IS NULL OR ...} predicates. Streams are read with
+ * {@code warehouse.baskets.export-fetch-size} rows per round trip.
+ *
+ * @author Franklin Canduri
+ */
+@Component
+public class BasketListingQueries {
+
+    private final EntityManager entityManager;
+    private final int fetchSize;
+
+    public BasketListingQueries(
+            EntityManager entityManager,
+            @Value("${warehouse.baskets.export-fetch-size:1000}") int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Export fetch size must be positive");
+        }
+        this.entityManager = entityManager;
+        this.fetchSize = fetchSize;
+    }
+
+    public List<BasicBasket> findPage(BasketFilter filter, BasketCursor after, int limit) {
+        return query(filter, after)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public Stream<BasicBasket> stream(BasketFilter filter) {
+        return query(filter, null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .peek(entityManager::detach);
+    }
+
+    private TypedQuery<BasicBasket> query(BasketFilter filter, BasketCursor after) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (filter.status() != null) {
+            conditions.add("b.status = :status");
+            parameters.put("status", filter.status());
+        }
+        if (filter.validFrom() != null) {
+            conditions.add("b.validationDate >= :validFrom");
+            parameters.put("validFrom", filter.validFrom());
+        }
+        if (filter.validTo() != null) {
+            conditions.add("b.validationDate <= :validTo");
+            parameters.put("validTo", filter.validTo());
+        }
+        if (after != null) {
+            // The first bound gives the index scan its start key
+            conditions.add("b.validationDate >= :afterDate");
+            conditions.add("(b.validationDate > :afterDate OR b.id > :afterId)");
+            parameters.put("afterDate", after.validationDate());
+            parameters.put("afterId", after.id());
+        }
+
+        String jpql = "SELECT b FROM BasicBasket b"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY b.validationDate, b.id";
+        TypedQuery<BasicBasket> query = entityManager.createQuery(jpql, BasicBasket.class);
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+}
@@ -2,28 +2,59 @@ package br.com.dio.warehouse.infrastructure.persistence;
 
 import br.com.dio.warehouse.domain.model.BasicBasket;
 import br.com.dio.warehouse.domain.repository.BasketRepository;
-import lombok.RequiredArgsConstructor;
+import br.com.dio.warehouse.domain.valueobject.BasketCursor;
+import br.com.dio.warehouse.domain.valueobject.BasketFilter;
+import br.com.dio.warehouse.domain.valueobject.InventoryCounters;
+import br.com.dio.warehouse.domain.valueobject.SalesGrouping;
+import br.com.dio.warehouse.domain.valueobject.SelectionStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Adapter that implements the domain BasketRepository interface
  * using Spring Data JPA
+ *
+ * Default storage mode: one basic_baskets row per basket. See
+ * {@link LotBasketRepositoryAdapter} for {@code warehouse.inventory.storage=lots} and
+ * {@link InMemoryBasketRepositoryAdapter} for {@code warehouse.inventory.storage=memory}.
  * 
  * @author Franklin Canduri
  */
 @Component
-@RequiredArgsConstructor
+@ConditionalOnProperty(name = "warehouse.inventory.storage", havingValue = "rows", matchIfMissing = true)
 public class BasketRepositoryAdapter implements BasketRepository {
 
     private final JpaBasketRepository jpaRepository;
+    private final BasketCopyWriter copyWriter;
+    private final BasketListingQueries listingQueries;
+    private final BasketHistoryPartitions historyPartitions;
+    private final int archiveAfterDays;
+
+    public BasketRepositoryAdapter(
+            JpaBasketRepository jpaRepository,
+            BasketCopyWriter copyWriter,
+            BasketListingQueries listingQueries,
+            BasketHistoryPartitions historyPartitions,
+            @Value("${warehouse.archive.after-days:90}") int archiveAfterDays) {
+        this.jpaRepository = jpaRepository;
+        this.copyWriter = copyWriter;
+        this.listingQueries = listingQueries;
+        this.historyPartitions = historyPartitions;
+        this.archiveAfterDays = archiveAfterDays;
+    }
 
     @Override
     public BasicBasket save(BasicBasket basket) {
@@ -115,4 +146,145 @@ public class BasketRepositoryAdapter implements BasketRepository {
     public long countAvailableBaskets() {
         return jpaRepository.countAvailableBaskets();
     }
+
+    @Override
+    public List<BasicBasket> findPage(BasketFilter filter, BasketCursor after, int limit) {
+        return listingQueries.findPage(filter, after, limit);
+    }
+
+    @Override
+    public Stream<BasicBasket> streamBaskets(BasketFilter filter) {
+        return listingQueries.stream(filter);
+    }
+
+    @Override
+    public List<SalesSummary> summarizeSales(LocalDateTime from, LocalDateTime to, SalesGrouping grouping) {
+        String unit = grouping.name().toLowerCase();
+        // Baskets sold before the archival age may already be in the history
+        boolean includeHistory = from.isBefore(LocalDateTime.now().minusDays(archiveAfterDays));
+        List<JpaBasketRepository.PeriodSalesSummaryRow> rows = includeHistory
+                ? jpaRepository.summarizeSalesWithHistory(from, to, unit)
+                : jpaRepository.summarizeSales(from, to, unit);
+        return rows.stream()
+                .map(BasketRepositoryAdapter::toSalesSummary)
+                .toList();
+    }
+
+    @Override
+    public long insertAvailableBaskets(UUID deliveryBoxId, LocalDate validationDate, BigDecimal price, long quantity) {
+        return copyWriter.copyAvailableBaskets(deliveryBoxId, validationDate, price, quantity);
+    }
+
+    @Override
+    public List<ClaimedLot> claimAvailableBaskets(long quantity, SelectionStrategy strategy, LocalDateTime soldAt) {
+        // One query per strategy, so each claim reads its own index in order
+        return toClaimedLots(toClaimedBaskets(switch (strategy) {
+            case FEFO -> jpaRepository.claimAndMarkAsSold(quantity, soldAt);
+            case FIFO -> jpaRepository.claimOldestAndMarkAsSold(quantity, soldAt);
+            case CHEAPEST -> jpaRepository.claimCheapestAndMarkAsSold(quantity, soldAt);
+        }));
+    }
+
+    @Override
+    public List<ClaimedBasket> reserveAvailableBaskets(long quantity, LocalDateTime reservedAt) {
+        return toClaimedBaskets(jpaRepository.claimAndMarkAsReserved(quantity, reservedAt));
+    }
+
+    @Override
+    public List<ClaimedBasket> sellReservedBaskets(List<UUID> ids, LocalDateTime soldAt) {
+        return ids.isEmpty() ? List.of() : toClaimedBaskets(jpaRepository.sellReserved(ids.toArray(UUID[]::new), soldAt));
+    }
+
+    @Override
+    public List<ClaimedBasket> releaseReservedBaskets(List<UUID> ids, LocalDateTime releasedAt) {
+        return ids.isEmpty() ? List.of() : toClaimedBaskets(jpaRepository.releaseReserved(ids.toArray(UUID[]::new), releasedAt));
+    }
+
+    @Override
+    public Optional<LocalDate> findOldestDisposableValidationDate() {
+        return Optional.ofNullable(jpaRepository.findOldestDisposableValidationDate());
+    }
+
+    @Override
+    public DisposedChunk disposeExpiredChunk(DisposalCursor after, LocalDate expiredBefore, int chunkSize,
+                                             LocalDateTime disposedAt) {
+        return toDisposedChunk(jpaRepository.disposeExpiredChunk(
+                after.validationDate(), after.id(), expiredBefore, chunkSize, disposedAt));
+    }
+
+    @Override
+    public CountersChunk summarizeCounters(UUID afterId, int chunkSize) {
+        return toCountersChunk(jpaRepository.summarizeCounters(afterId, chunkSize));
+    }
+
+    @Override
+    public ArchivedChunk archiveFinishedChunk(UUID afterId, int chunkSize, LocalDateTime finishedBefore,
+                                              LocalDateTime archivedAt) {
+        historyPartitions.ensurePartitionFor(archivedAt);
+        JpaBasketRepository.ArchivedChunkRow row = jpaRepository.archiveFinishedChunk(
+                afterId, chunkSize, finishedBefore, archivedAt);
+        return new ArchivedChunk(row.getArchived(), row.getLastId());
+    }
+
+    protected static List<ClaimedBasket> toClaimedBaskets(List<JpaBasketRepository.ClaimedBasketRow> rows) {
+        return rows.stream()
+                .map(row -> new ClaimedBasket(
+                        row.getId(),
+                        row.getPrice(),
+                        row.getUnitCost() != null ? row.getUnitCost() : BigDecimal.ZERO))
+                .toList();
+    }
+
+    /**
+     * Groups consecutive baskets with the same price and unit cost, keeping their order
+     */
+    protected static List<ClaimedLot> toClaimedLots(List<ClaimedBasket> baskets) {
+        List<ClaimedLot> lots = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= baskets.size(); i++) {
+            if (i == baskets.size() || !sameLot(baskets.get(start), baskets.get(i))) {
+                ClaimedBasket first = baskets.get(start);
+                List<UUID> ids = baskets.subList(start, i).stream().map(ClaimedBasket::id).toList();
+                lots.add(new ClaimedLot(i - start, first.price(), first.unitCost(), ids));
+                start = i;
+            }
+        }
+        return lots;
+    }
+
+    private static boolean sameLot(ClaimedBasket a, ClaimedBasket b) {
+        return a.price().compareTo(b.price()) == 0 && a.unitCost().compareTo(b.unitCost()) == 0;
+    }
+
+    protected static SalesSummary toSalesSummary(JpaBasketRepository.PeriodSalesSummaryRow row) {
+        return new SalesSummary(
+                row.getPeriodStart().toLocalDate(),
+                row.getBasketsSold(),
+                row.getRevenue(),
+                row.getCost(),
+                row.getGrossProfit(),
+                row.getProfitMargin());
+    }
+
+    protected static DisposedChunk toDisposedChunk(JpaBasketRepository.DisposedChunkRow row) {
+        DisposalCursor lastKey = row.getQuantity() > 0
+                ? new DisposalCursor(row.getLastValidationDate(), row.getLastId())
+                : null;
+        return new DisposedChunk(row.getQuantity(), row.getLossAmount(),
+                row.getReservedQuantity(), row.getReservedLossAmount(), lastKey);
+    }
+
+    protected static CountersChunk toCountersChunk(JpaBasketRepository.CountersChunkRow row) {
+        InventoryCounters counters = new InventoryCounters(
+                row.getTotalBaskets(),
+                row.getAvailableBaskets(),
+                row.getSoldBaskets(),
+                row.getDisposedBaskets(),
+                row.getReservedBaskets(),
+                row.getAvailableValue(),
+                row.getRevenue(),
+                row.getCost()
+        );
+        return new CountersChunk(counters, row.getLastId());
+    }
 }
@@ -0,0 +1,55 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import br.com.dio.warehouse.domain.model.BasketReservation;
+import br.com.dio.warehouse.domain.repository.BasketReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Adapter that implements the domain BasketReservationRepository interface
+ * using Spring Data JPA
+ * 
+ * @author Franklin Canduri
+ */
+@Component
+@RequiredArgsConstructor
+public class BasketReservationRepositoryAdapter implements BasketReservationRepository {
+
+    private final JpaBasketReservationRepository jpaRepository;
+
+    @Override
+    public BasketReservation save(BasketReservation reservation) {
+        return jpaRepository.save(reservation);
+    }
+
+    @Override
+    public Optional<BasketReservation> remove(UUID id) {
+        return jpaRepository.deleteReturning(id);
+    }
+
+    @Override
+    public List<BasketReservation> removeExpired(Collection<UUID> ids, LocalDateTime now) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.deleteExpiredReturning(ids, now);
+    }
+
+    @Override
+    public List<UUID> findExpiredIds(LocalDateTime now, int limit) {
+        return jpaRepository.findExpiredIds(now, limit);
+    }
+
+    @Override
+    public List<ReservationDeadline> findAllDeadlines() {
+        return jpaRepository.findAllDeadlines().stream()
+                .map(row -> new ReservationDeadline(row.getId(), row.getExpiresAt()))
+                .toList();
+    }
+}
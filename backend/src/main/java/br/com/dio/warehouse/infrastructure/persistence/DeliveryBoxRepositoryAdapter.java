@@ -30,6 +30,11 @@ public class DeliveryBoxRepositoryAdapter implements DeliveryBoxRepository {
         return jpaRepository.save(deliveryBox);
     }
 
+    @Override
+    public DeliveryBox saveAndFlush(DeliveryBox deliveryBox) {
+        return jpaRepository.saveAndFlush(deliveryBox);
+    }
+
     @Override
     public Optional<DeliveryBox> findById(UUID id) {
         return jpaRepository.findById(id);
@@ -0,0 +1,175 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Available baskets bucketed by validation date, for first-expired-first-out allocation
+ *
+ * Each date bucket keeps its baskets in parallel primitive arrays (the two halves of
+ * the id and the index of the basket's lot), so a basket costs 20 bytes and no object.
+ * Price and unit cost are shared by every basket of a delivery and kept once per lot.
+ * The order within one date is unspecified. Not thread-safe.
+ *
+ * @author Franklin Canduri
+ */
+final class FefoBasketIndex {
+
+    private static final int INITIAL_BUCKET_CAPACITY = 16;
+
+    private final TreeMap<Long, DateBucket> buckets = new TreeMap<>();
+    private final Map<Lot, Integer> lotIndexes = new HashMap<>();
+    private final List<Lot> lots = new ArrayList<>();
+    private long size;
+
+    /**
+     * Price and unit cost shared by baskets of the same delivery
+     */
+    record Lot(UUID deliveryBoxId, BigDecimal price, BigDecimal unitCost) {}
+
+    void add(UUID id, LocalDate validationDate, Lot lot) {
+        int lotIndex = lotIndexes.computeIfAbsent(lot, key -> {
+            lots.add(key);
+            return lots.size() - 1;
+        });
+        buckets.computeIfAbsent(validationDate.toEpochDay(), day -> new DateBucket())
+                .push(id.getMostSignificantBits(), id.getLeastSignificantBits(), lotIndex);
+        size++;
+    }
+
+    /**
+     * Number of baskets valid on {@code today} or later
+     */
+    long available(LocalDate today) {
+        long expired = 0;
+        for (DateBucket bucket : buckets.headMap(today.toEpochDay(), false).values()) {
+            expired += bucket.size;
+        }
+        return size - expired;
+    }
+
+    /**
+     * Removes up to {@code quantity} baskets valid on {@code today} or later, earliest
+     * validation date first. Expired baskets are dropped from the index; disposing them
+     * is left to the database.
+     */
+    Allocation claim(long quantity, LocalDate today) {
+        NavigableMap<Long, DateBucket> expired = buckets.headMap(today.toEpochDay(), false);
+        for (DateBucket bucket : expired.values()) {
+            size -= bucket.size;
+        }
+        expired.clear();
+
+        Allocation allocation = new Allocation((int) Math.min(quantity, size));
+        Iterator<Map.Entry<Long, DateBucket>> iterator = buckets.entrySet().iterator();
+        while (allocation.size < allocation.capacity() && iterator.hasNext()) {
+            Map.Entry<Long, DateBucket> entry = iterator.next();
+            DateBucket bucket = entry.getValue();
+            while (allocation.size < allocation.capacity() && bucket.size > 0) {
+                int last = --bucket.size;
+                allocation.add(bucket.mostSignificantBits[last], bucket.leastSignificantBits[last],
+                        bucket.lots[last], entry.getKey());
+            }
+            if (bucket.size == 0) {
+                iterator.remove();
+            }
+        }
+        size -= allocation.size;
+        return allocation;
+    }
+
+    /**
+     * Puts the baskets of an allocation that did not go through back into the index
+     */
+    void release(Allocation allocation) {
+        for (int i = 0; i < allocation.size; i++) {
+            buckets.computeIfAbsent(allocation.days[i], day -> new DateBucket())
+                    .push(allocation.mostSignificantBits[i], allocation.leastSignificantBits[i], allocation.lots[i]);
+        }
+        size += allocation.size;
+    }
+
+    Lot lot(int lotIndex) {
+        return lots.get(lotIndex);
+    }
+
+    void clear() {
+        buckets.clear();
+        lotIndexes.clear();
+        lots.clear();
+        size = 0;
+    }
+
+    /**
+     * Baskets taken from the index by one claim
+     */
+    static final class Allocation {
+
+        private final long[] mostSignificantBits;
+        private final long[] leastSignificantBits;
+        private final int[] lots;
+        private final long[] days;
+        private int size;
+
+        private Allocation(int capacity) {
+            this.mostSignificantBits = new long[capacity];
+            this.leastSignificantBits = new long[capacity];
+            this.lots = new int[capacity];
+            this.days = new long[capacity];
+        }
+
+        private int capacity() {
+            return days.length;
+        }
+
+        private void add(long msb, long lsb, int lot, long day) {
+            mostSignificantBits[size] = msb;
+            leastSignificantBits[size] = lsb;
+            lots[size] = lot;
+            days[size] = day;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        UUID id(int i) {
+            return new UUID(mostSignificantBits[i], leastSignificantBits[i]);
+        }
+
+        int lotIndex(int i) {
+            return lots[i];
+        }
+    }
+
+    private static final class DateBucket {
+
+        private long[] mostSignificantBits = new long[INITIAL_BUCKET_CAPACITY];
+        private long[] leastSignificantBits = new long[INITIAL_BUCKET_CAPACITY];
+        private int[] lots = new int[INITIAL_BUCKET_CAPACITY];
+        private int size;
+
+        private void push(long msb, long lsb, int lot) {
+            if (size == lots.length) {
+                int capacity = size * 2;
+                mostSignificantBits = Arrays.copyOf(mostSignificantBits, capacity);
+                leastSignificantBits = Arrays.copyOf(leastSignificantBits, capacity);
+                lots = Arrays.copyOf(lots, capacity);
+            }
+            mostSignificantBits[size] = msb;
+            leastSignificantBits[size] = lsb;
+            lots[size] = lot;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import br.com.dio.warehouse.domain.exception.BusinessRuleViolationException;
+import br.com.dio.warehouse.domain.valueobject.SalesGrouping;
+import br.com.dio.warehouse.domain.valueobject.SelectionStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * BasketRepository adapter for {@code warehouse.inventory.storage=memory}
+ *
+ * Baskets are stored one row each, as with row storage, but sales are allocated by the
+ * {@link InMemoryInventoryEngine} and reach basic_baskets asynchronously. The set-based
+ * operations that read basket status (disposal, archival and sales summaries) apply
+ * the pending sales when they start, that is on their first chunk. Counter rebuilds
+ * read a snapshot that a flush in its own transaction would not reach, so they count
+ * the logged sales as sold instead. Entity finders, counts by status and the listings may lag behind by up to one flush
+ * interval. Reservations update basic_baskets synchronously.
+ *
+ * @author Franklin Canduri
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "warehouse.inventory.storage", havingValue = "memory")
+public class InMemoryBasketRepositoryAdapter extends BasketRepositoryAdapter {
+
+    private final JpaBasketRepository jpaRepository;
+    private final InMemoryInventoryEngine engine;
+
+    public InMemoryBasketRepositoryAdapter(
+            JpaBasketRepository jpaRepository,
+            BasketCopyWriter copyWriter,
+            BasketListingQueries listingQueries,
+            BasketHistoryPartitions historyPartitions,
+            InMemoryInventoryEngine engine,
+            @Value("${warehouse.archive.after-days:90}") int archiveAfterDays) {
+        super(jpaRepository, copyWriter, listingQueries, historyPartitions, archiveAfterDays);
+        this.jpaRepository = jpaRepository;
+        this.engine = engine;
+        log.info("Basket storage: basket rows with in-memory allocation");
+    }
+
+    @Override
+    public long countAvailableBaskets() {
+        return engine.availableBaskets();
+    }
+
+    @Override
+    public List<SalesSummary> summarizeSales(LocalDateTime from, LocalDateTime to, SalesGrouping grouping) {
+        engine.flush();
+        return super.summarizeSales(from, to, grouping);
+    }
+
+    @Override
+    public CountersChunk summarizeCounters(UUID afterId, int chunkSize) {
+        return toCountersChunk(jpaRepository.summarizeCountersWithLoggedSales(afterId, chunkSize));
+    }
+
+    @Override
+    public long insertAvailableBaskets(UUID deliveryBoxId, LocalDate validationDate, BigDecimal price, long quantity) {
+        long inserted = super.insertAvailableBaskets(deliveryBoxId, validationDate, price, quantity);
+        engine.addDelivery(deliveryBoxId);
+        return inserted;
+    }
+
+    /**
+     * The in-memory index hands out baskets FEFO only
+     */
+    @Override
+    public List<ClaimedLot> claimAvailableBaskets(long quantity, SelectionStrategy strategy, LocalDateTime soldAt) {
+        if (strategy != SelectionStrategy.FEFO) {
+            throw new BusinessRuleViolationException("In-memory allocation only sells baskets FEFO, not " + strategy);
+        }
+        return toClaimedLots(engine.claim(quantity, soldAt));
+    }
+
+    /**
+     * Reserved baskets are taken from the engine and marked RESERVED right away, so
+     * reservations never wait for a flush
+     */
+    @Override
+    public List<ClaimedBasket> reserveAvailableBaskets(long quantity, LocalDateTime reservedAt) {
+        List<ClaimedBasket> taken = engine.reserve(quantity);
+        if (taken.isEmpty()) {
+            return taken;
+        }
+        List<UUID> ids = taken.stream().map(ClaimedBasket::id).toList();
+        List<ClaimedBasket> reserved = toClaimedBaskets(jpaRepository.markAsReserved(ids.toArray(UUID[]::new), reservedAt));
+        if (reserved.size() != taken.size()) {
+            // Rolls back the reservation, which puts the baskets back in the engine
+            throw new IllegalStateException("In-memory inventory is out of sync: reserved "
+                    + reserved.size() + " of " + taken.size() + " baskets");
+        }
+        return reserved;
+    }
+
+    @Override
+    public List<ClaimedBasket> releaseReservedBaskets(List<UUID> ids, LocalDateTime releasedAt) {
+        List<ClaimedBasket> released = super.releaseReservedBaskets(ids, releasedAt);
+        engine.addBaskets(released.stream().map(ClaimedBasket::id).toList());
+        return released;
+    }
+
+    @Override
+    public Optional<LocalDate> findOldestDisposableValidationDate() {
+        engine.flush();
+        return super.findOldestDisposableValidationDate();
+    }
+
+    @Override
+    public DisposedChunk disposeExpiredChunk(DisposalCursor after, LocalDate expiredBefore, int chunkSize,
+                                             LocalDateTime disposedAt) {
+        if (DisposalCursor.START.equals(after)) {
+            engine.flush();
+        }
+        return super.disposeExpiredChunk(after, expiredBefore, chunkSize, disposedAt);
+    }
+
+    @Override
+    public ArchivedChunk archiveFinishedChunk(UUID afterId, int chunkSize, LocalDateTime finishedBefore,
+                                              LocalDateTime archivedAt) {
+        if (ArchivedChunk.START.equals(afterId)) {
+            engine.flush();
+        }
+        return super.archiveFinishedChunk(afterId, chunkSize, finishedBefore, archivedAt);
+    }
+}
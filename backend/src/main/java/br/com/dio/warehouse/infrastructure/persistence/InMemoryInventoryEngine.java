@@ -0,0 +1,321 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import br.com.dio.warehouse.domain.repository.BasketRepository.ClaimedBasket;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First-expired-first-out allocation of available baskets from memory
+ *
+ * The available baskets are held in a {@link FefoBasketIndex}, so a sale takes its
+ * baskets without scanning or locking basic_baskets. The sale is logged in the
+ * {@link BasketAllocationLog} within the sale transaction, and its baskets are put back
+ * if the transaction rolls back. A background flusher applies the log to basic_baskets
+ * every {@code warehouse.inventory.memory.flush-interval}.
+ *
+ * On start the log left by a previous run is applied and the index is rebuilt from the
+ * AVAILABLE rows. Reserved baskets leave the index like sold ones and come back
+ * through {@link #addBaskets} when their reservation is released. Only one instance may sell from memory against the same database.
+ *
+ * @author Franklin Canduri
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "warehouse.inventory.storage", havingValue = "memory")
+public class InMemoryInventoryEngine implements SmartLifecycle {
+
+    private static final String AVAILABLE_BASKETS_SQL = """
+        SELECT b.id, b.validation_date, b.price, b.delivery_box_id, d.unit_cost
+        FROM basic_baskets b
+        LEFT JOIN delivery_boxes d ON d.id = b.delivery_box_id
+        WHERE b.status = 'AVAILABLE' AND b.validation_date >= CURRENT_DATE
+        """;
+
+    private static final String BY_DELIVERY_CONDITION = " AND b.delivery_box_id = ?";
+
+    private static final String BY_BASKETS_CONDITION = " AND b.id = ANY(?)";
+
+    // Started before the web server and the message listeners, stopped after them
+    private static final int PHASE = Integer.MIN_VALUE + 1000;
+
+    private final FefoBasketIndex index = new FefoBasketIndex();
+    private final BasketAllocationLog allocationLog;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private final Duration flushInterval;
+    private final int flushBatchSize;
+    private final int loadFetchSize;
+    private ScheduledExecutorService flusher;
+    private volatile boolean running;
+
+    public InMemoryInventoryEngine(
+            BasketAllocationLog allocationLog,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${warehouse.inventory.memory.flush-interval:250ms}") Duration flushInterval,
+            @Value("${warehouse.inventory.memory.flush-batch-size:500}") int flushBatchSize,
+            @Value("${warehouse.inventory.memory.load-fetch-size:10000}") int loadFetchSize) {
+        if (flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("Flush interval must be positive");
+        }
+        if (flushBatchSize <= 0) {
+            throw new IllegalArgumentException("Flush batch size must be positive");
+        }
+        if (loadFetchSize <= 0) {
+            throw new IllegalArgumentException("Load fetch size must be positive");
+        }
+        this.allocationLog = allocationLog;
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.flushInterval = flushInterval;
+        this.flushBatchSize = flushBatchSize;
+        this.loadFetchSize = loadFetchSize;
+    }
+
+    /**
+     * Takes up to {@code quantity} baskets, earliest validation date first, and logs
+     * the sale in the current transaction
+     */
+    public List<ClaimedBasket> claim(long quantity, LocalDateTime soldAt) {
+        List<ClaimedBasket> claimed = new ArrayList<>();
+        FefoBasketIndex.Allocation allocation = take(quantity, claimed);
+        if (claimed.isEmpty()) {
+            return claimed;
+        }
+        UUID[] ids = claimed.stream().map(ClaimedBasket::id).toArray(UUID[]::new);
+        try {
+            allocationLog.append(ids, soldAt);
+        } catch (RuntimeException e) {
+            release(allocation);
+            throw e;
+        }
+        releaseOnRollback(allocation);
+        return claimed;
+    }
+
+    /**
+     * Takes up to {@code quantity} baskets, earliest validation date first, without
+     * logging a sale; the caller updates their rows in the current transaction.
+     * The baskets are put back if the transaction rolls back.
+     */
+    public List<ClaimedBasket> reserve(long quantity) {
+        List<ClaimedBasket> reserved = new ArrayList<>();
+        FefoBasketIndex.Allocation allocation = take(quantity, reserved);
+        if (!reserved.isEmpty()) {
+            releaseOnRollback(allocation);
+        }
+        return reserved;
+    }
+
+    /**
+     * Number of baskets that can be sold today
+     */
+    public long availableBaskets() {
+        synchronized (index) {
+            return index.available(LocalDate.now());
+        }
+    }
+
+    /**
+     * Adds the AVAILABLE baskets of a delivery to the index once the current
+     * transaction has committed them
+     */
+    public void addDelivery(UUID deliveryBoxId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            load(BY_DELIVERY_CONDITION, deliveryBoxId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                load(BY_DELIVERY_CONDITION, deliveryBoxId);
+            }
+        });
+    }
+
+    /**
+     * Adds the given baskets to the index once the current transaction has made them
+     * AVAILABLE again
+     */
+    public void addBaskets(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        UUID[] basketIds = ids.toArray(UUID[]::new);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            load(BY_BASKETS_CONDITION, basketIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                load(BY_BASKETS_CONDITION, basketIds);
+            }
+        });
+    }
+
+    /**
+     * Applies every sale logged so far to basic_baskets, in its own transactions
+     *
+     * @return number of logged sales applied
+     */
+    public long flush() {
+        long applied = 0;
+        int batch;
+        do {
+            batch = newTransaction.execute(status -> allocationLog.applyBatch(flushBatchSize));
+            applied += batch;
+        } while (batch == flushBatchSize);
+        return applied;
+    }
+
+    /**
+     * Applies the pending log and reloads the index from the database.
+     * Must not run while sales are in flight.
+     */
+    public void rebuild() {
+        synchronized (index) {
+            long applied = flush();
+            index.clear();
+            load(null, null);
+            log.info("In-memory inventory rebuilt: {} available baskets ({} logged sales applied)",
+                    index.available(LocalDate.now()), applied);
+        }
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.info("In-memory inventory stopped: {} logged sales applied", flush());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void flushQuietly() {
+        try {
+            long applied = flush();
+            if (applied > 0) {
+                log.debug("Applied {} logged sales to basic_baskets", applied);
+            }
+        } catch (RuntimeException e) {
+            // The log keeps the sales; the next run retries them
+            log.error("Failed to apply the allocation log", e);
+        }
+    }
+
+    private FefoBasketIndex.Allocation take(long quantity, List<ClaimedBasket> taken) {
+        if (!running) {
+            throw new IllegalStateException("In-memory inventory engine is not running");
+        }
+        synchronized (index) {
+            FefoBasketIndex.Allocation allocation = index.claim(quantity, LocalDate.now());
+            for (int i = 0; i < allocation.size(); i++) {
+                FefoBasketIndex.Lot lot = index.lot(allocation.lotIndex(i));
+                taken.add(new ClaimedBasket(allocation.id(i), lot.price(), lot.unitCost()));
+            }
+            return allocation;
+        }
+    }
+
+    private void releaseOnRollback(FefoBasketIndex.Allocation allocation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(allocation);
+                    }
+                }
+            });
+        }
+    }
+
+    private void release(FefoBasketIndex.Allocation allocation) {
+        synchronized (index) {
+            index.release(allocation);
+        }
+    }
+
+    /**
+     * Streams AVAILABLE baskets into the index: all of them, or those matching
+     * {@code condition} with its single parameter
+     */
+    private void load(String condition, Object parameter) {
+        String sql = condition == null ? AVAILABLE_BASKETS_SQL : AVAILABLE_BASKETS_SQL + condition;
+        RowCallbackHandler addBasket = rs -> {
+            BigDecimal unitCost = rs.getBigDecimal("unit_cost");
+            FefoBasketIndex.Lot lot = new FefoBasketIndex.Lot(
+                    rs.getObject("delivery_box_id", UUID.class),
+                    rs.getBigDecimal("price"),
+                    unitCost != null ? unitCost : BigDecimal.ZERO);
+            synchronized (index) {
+                index.add(rs.getObject("id", UUID.class), rs.getObject("validation_date", LocalDate.class), lot);
+            }
+        };
+        // A cursor only streams inside a transaction
+        newTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(loadFetchSize);
+            if (condition != null) {
+                if (parameter instanceof UUID[] ids) {
+                    statement.setArray(1, connection.createArrayOf("uuid", ids));
+                } else {
+                    statement.setObject(1, parameter);
+                }
+            }
+            return statement;
+        }, addBasket));
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import br.com.dio.warehouse.domain.model.InventoryCounterSlot;
+import br.com.dio.warehouse.domain.repository.InventoryCountersRepository;
+import br.com.dio.warehouse.domain.valueobject.InventoryCounters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Adapter that implements the domain InventoryCountersRepository interface
+ * using Spring Data JPA
+ *
+ * Each delta goes to a random slot, so concurrent transactions rarely wait on the
+ * same row lock; reads add up the {@link InventoryCounterSlot#SLOTS} rows.
+ *
+ * @author Franklin Canduri
+ */
+@Component
+@RequiredArgsConstructor
+public class InventoryCountersRepositoryAdapter implements InventoryCountersRepository {
+
+    private final JpaInventoryCounterRepository jpaRepository;
+
+    @Override
+    public void apply(InventoryCounters delta) {
+        short slot = (short) ThreadLocalRandom.current().nextInt(InventoryCounterSlot.SLOTS);
+        int updated = jpaRepository.increment(slot,
+                delta.totalBaskets(),
+                delta.availableBaskets(),
+                delta.soldBaskets(),
+                delta.disposedBaskets(),
+                delta.reservedBaskets(),
+                delta.availableValue(),
+                delta.revenue(),
+                delta.cost());
+        if (updated != 1) {
+            throw new IllegalStateException("Inventory counter slot " + slot + " does not exist");
+        }
+    }
+
+    @Override
+    public InventoryCounters current() {
+        JpaInventoryCounterRepository.CountersRow row = jpaRepository.sumSlots();
+        return new InventoryCounters(
+                row.getTotalBaskets(),
+                row.getAvailableBaskets(),
+                row.getSoldBaskets(),
+                row.getDisposedBaskets(),
+                row.getReservedBaskets(),
+                row.getAvailableValue(),
+                row.getRevenue(),
+                row.getCost()
+        );
+    }
+}
@@ -5,9 +5,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,10 +25,10 @@ public interface JpaBasketRepository extends JpaRepository<BasicBasket, UUID> {
 
     List<BasicBasket> findByStatus(BasicBasket.BasketStatus status);
 
-    @Query("SELECT b FROM BasicBasket b WHERE b.status = 'AVAILABLE' AND b.validationDate >= CURRENT_DATE")
+    @Query("SELECT b FROM BasicBasket b WHERE b.status = 'AVAILABLE' AND b.validationDate >= CURRENT_DATE ORDER BY b.validationDate, b.id")
     List<BasicBasket> findAvailableBaskets();
 
-    @Query("SELECT b FROM BasicBasket b WHERE b.validationDate < CURRENT_DATE AND b.status != 'DISPOSED'")
+    @Query("SELECT b FROM BasicBasket b WHERE b.status IN ('AVAILABLE', 'RESERVED') AND b.validationDate < CURRENT_DATE")
     List<BasicBasket> findExpiredBaskets();
 
     List<BasicBasket> findByValidationDateBefore(LocalDate date);
@@ -37,9 +40,449 @@ public interface JpaBasketRepository extends JpaRepository<BasicBasket, UUID> {
 
     long countByStatus(BasicBasket.BasketStatus status);
 
-    @Query("SELECT COUNT(b) FROM BasicBasket b WHERE b.validationDate < CURRENT_DATE AND b.status != 'DISPOSED'")
+    // Index-only on idx_basket_disposable: expired baskets still awaiting disposal
+    @Query("SELECT COUNT(b) FROM BasicBasket b WHERE b.status IN ('AVAILABLE', 'RESERVED') AND b.validationDate < CURRENT_DATE")
     long countExpiredBaskets();
 
     @Query("SELECT COUNT(b) FROM BasicBasket b WHERE b.status = 'AVAILABLE' AND b.validationDate >= CURRENT_DATE")
     long countAvailableBaskets();
+
+    /**
+     * Sales totals per :unit ('day', 'week' or 'month') for baskets sold in [:from, :to)
+     */
+    @Query(value = """
+        SELECT s.periodStart, s.basketsSold, s.revenue, s.cost,
+               s.revenue - s.cost AS grossProfit,
+               CASE WHEN s.revenue > 0 THEN ROUND((s.revenue - s.cost) / s.revenue, 4) * 100 ELSE 0 END AS profitMargin
+        FROM (
+            SELECT date_trunc(:unit, b.sold_at) AS periodStart,
+                   COUNT(*) AS basketsSold,
+                   COALESCE(SUM(b.price), 0) AS revenue,
+                   COALESCE(SUM(d.unit_cost), 0) AS cost
+            FROM basic_baskets b
+            LEFT JOIN delivery_boxes d ON d.id = b.delivery_box_id
+            WHERE b.status = 'SOLD' AND b.sold_at >= :from AND b.sold_at < :to
+            GROUP BY 1
+        ) s
+        ORDER BY s.periodStart
+        """, nativeQuery = true)
+    List<PeriodSalesSummaryRow> summarizeSales(@Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to,
+                                               @Param("unit") String unit);
+
+    /**
+     * Same as {@link #summarizeSales} over active and archived baskets
+     */
+    @Query(value = """
+        SELECT s.periodStart, s.basketsSold, s.revenue, s.cost,
+               s.revenue - s.cost AS grossProfit,
+               CASE WHEN s.revenue > 0 THEN ROUND((s.revenue - s.cost) / s.revenue, 4) * 100 ELSE 0 END AS profitMargin
+        FROM (
+            SELECT date_trunc(:unit, b.sold_at) AS periodStart,
+                   COUNT(*) AS basketsSold,
+                   COALESCE(SUM(b.price), 0) AS revenue,
+                   COALESCE(SUM(d.unit_cost), 0) AS cost
+            FROM (
+                SELECT sold_at, price, delivery_box_id FROM basic_baskets
+                WHERE status = 'SOLD' AND sold_at >= :from AND sold_at < :to
+                UNION ALL
+                SELECT sold_at, price, delivery_box_id FROM basic_baskets_history
+                WHERE status = 'SOLD' AND sold_at >= :from AND sold_at < :to
+            ) b
+            LEFT JOIN delivery_boxes d ON d.id = b.delivery_box_id
+            GROUP BY 1
+        ) s
+        ORDER BY s.periodStart
+        """, nativeQuery = true)
+    List<PeriodSalesSummaryRow> summarizeSalesWithHistory(@Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to,
+                                                          @Param("unit") String unit);
+
+    /**
+     * Claims up to :quantity available baskets (FEFO) and marks them as sold in one statement.
+     * FOR UPDATE SKIP LOCKED makes concurrent sellers pick disjoint rows instead of waiting
+     * on each other, and the version bump keeps optimistic locking consistent for entities
+     * loaded elsewhere. RETURNING does not keep the order of the claim, so the sold rows
+     * are sorted again and come back in picking order.
+     */
+    @Query(value = """
+        WITH claimed AS (
+            SELECT id FROM basic_baskets
+            WHERE status = 'AVAILABLE' AND validation_date >= CURRENT_DATE
+            ORDER BY validation_date, id
+            LIMIT :quantity
+            FOR UPDATE SKIP LOCKED
+        ),
+        sold AS (
+            UPDATE basic_baskets b
+            SET status = 'SOLD', sold_at = :soldAt, updated_at = :soldAt, version = b.version + 1
+            FROM claimed
+            WHERE b.id = claimed.id
+            RETURNING b.id, b.price, b.validation_date,
+                      (SELECT d.unit_cost FROM delivery_boxes d WHERE d.id = b.delivery_box_id) AS unit_cost
+        )
+        SELECT id AS id, price AS price, unit_cost AS unitCost
+        FROM sold
+        ORDER BY validation_date, id
+        """, nativeQuery = true)
+    List<ClaimedBasketRow> claimAndMarkAsSold(@Param("quantity") long quantity,
+                                              @Param("soldAt") LocalDateTime soldAt);
+
+    /**
+     * Same as {@link #claimAndMarkAsSold}, earliest received first (FIFO); the sold rows are
+     * sorted again the same way
+     */
+    @Query(value = """
+        WITH claimed AS (
+            SELECT id FROM basic_baskets
+            WHERE status = 'AVAILABLE' AND validation_date >= CURRENT_DATE
+            ORDER BY created_at, id
+            LIMIT :quantity
+            FOR UPDATE SKIP LOCKED
+        ),
+        sold AS (
+            UPDATE basic_baskets b
+            SET status = 'SOLD', sold_at = :soldAt, updated_at = :soldAt, version = b.version + 1
+            FROM claimed
+            WHERE b.id = claimed.id
+            RETURNING b.id, b.price, b.created_at,
+                      (SELECT d.unit_cost FROM delivery_boxes d WHERE d.id = b.delivery_box_id) AS unit_cost
+        )
+        SELECT id AS id, price AS price, unit_cost AS unitCost
+        FROM sold
+        ORDER BY created_at, id
+        """, nativeQuery = true)
+    List<ClaimedBasketRow> claimOldestAndMarkAsSold(@Param("quantity") long quantity,
+                                                    @Param("soldAt") LocalDateTime soldAt);
+
+    /**
+     * Same as {@link #claimAndMarkAsSold}, lowest price first; baskets of the same price
+     * are taken FEFO, then by id, and the sold rows are sorted again the same way
+     */
+    @Query(value = """
+        WITH claimed AS (
+            SELECT id FROM basic_baskets
+            WHERE status = 'AVAILABLE' AND validation_date >= CURRENT_DATE
+            ORDER BY price, validation_date, id
+            LIMIT :quantity
+            FOR UPDATE SKIP LOCKED
+        ),
+        sold AS (
+            UPDATE basic_baskets b
+            SET status = 'SOLD', sold_at = :soldAt, updated_at = :soldAt, version = b.version + 1
+            FROM claimed
+            WHERE b.id = claimed.id
+            RETURNING b.id, b.price, b.validation_date,
+                      (SELECT d.unit_cost FROM delivery_boxes d WHERE d.id = b.delivery_box_id) AS unit_cost
+        )
+        SELECT id AS id, price AS price, unit_cost AS unitCost
+        FROM sold
+        ORDER BY price, validation_date, id
+        """, nativeQuery = true)
+    List<ClaimedBasketRow> claimCheapestAndMarkAsSold(@Param("quantity") long quantity,
+                                                      @Param("soldAt") LocalDateTime soldAt);
+
+    /**
+     * Claims up to :quantity available baskets (FEFO) and marks them as reserved, the same
+     * way {@link #claimAndMarkAsSold} sells them
+     */
+    @Query(value = """
+        WITH claimed AS (
+            SELECT id FROM basic_baskets
+            WHERE status = 'AVAILABLE' AND validation_date >= CURRENT_DATE
+            ORDER BY validation_date, id
+            LIMIT :quantity
+            FOR UPDATE SKIP LOCKED
+        )
+        UPDATE basic_baskets b
+        SET status = 'RESERVED', updated_at = :reservedAt, version = b.version + 1
+        FROM claimed
+        WHERE b.id = claimed.id
+        RETURNING b.id AS id, b.price AS price,
+                  (SELECT d.unit_cost FROM delivery_boxes d WHERE d.id = b.delivery_box_id) AS unitCost
+        """, nativeQuery = true)
+    List<ClaimedBasketRow> claimAndMarkAsReserved(@Param("quantity") long quantity,
+                                                  @Param("reservedAt") LocalDateTime reservedAt);
+
+    /**
+     * Marks the given baskets as reserved, skipping those that are no longer available
+     */
+    @Query(value = """
+        UPDATE basic_baskets b
+        SET status = 'RESERVED', updated_at = :reservedAt, version = b.version + 1
+        WHERE b.id = ANY(:ids) AND b.status = 'AVAILABLE'
+        RETURNING b.id AS id, b.price AS price,
+                  (SELECT d.unit_cost FROM delivery_boxes d WHERE d.id = b.delivery_box_id) AS unitCost
+        """, nativeQuery = true)
+    List<ClaimedBasketRow> markAsReserved(@Param("ids") UUID[] ids,
+                                          @Param("reservedAt") LocalDateTime reservedAt);
+
+    /**
+     * Sells the given baskets that are still reserved; baskets disposed in the meantime
+     * are skipped
+     */
+    @Query(value = """
+        UPDATE basic_baskets b
+        SET status = 'SOLD', sold_at = :soldAt, updated_at = :soldAt, version = b.version + 1
+        WHERE b.id = ANY(:ids) AND b.status = 'RESERVED'
+        RETURNING b.id AS id, b.price AS price,
+                  (SELECT d.unit_cost FROM delivery_boxes d WHERE d.id = b.delivery_box_id) AS unitCost
+        """, nativeQuery = true)
+    List<ClaimedBasketRow> sellReserved(@Param("ids") UUID[] ids,
+                                        @Param("soldAt") LocalDateTime soldAt);
+
+    /**
+     * Makes the given baskets that are still reserved available again
+     */
+    @Query(value = """
+        UPDATE basic_baskets b
+        SET status = 'AVAILABLE', updated_at = :releasedAt, version = b.version + 1
+        WHERE b.id = ANY(:ids) AND b.status = 'RESERVED'
+        RETURNING b.id AS id, b.price AS price,
+                  (SELECT d.unit_cost FROM delivery_boxes d WHERE d.id = b.delivery_box_id) AS unitCost
+        """, nativeQuery = true)
+    List<ClaimedBasketRow> releaseReserved(@Param("ids") UUID[] ids,
+                                           @Param("releasedAt") LocalDateTime releasedAt);
+
+    /**
+     * Oldest validation date among the expired baskets that can still be disposed,
+     * read from the first entry of idx_basket_disposable
+     */
+    @Query(value = """
+        SELECT MIN(validation_date) FROM basic_baskets
+        WHERE validation_date < CURRENT_DATE
+          AND status IN ('AVAILABLE', 'RESERVED')
+        """, nativeQuery = true)
+    LocalDate findOldestDisposableValidationDate();
+
+    /**
+     * Disposes the next chunk of expired AVAILABLE/RESERVED baskets validated before
+     * :expiredBefore after the (:afterDate, :afterId) keyset cursor in one UPDATE ... RETURNING, and folds the
+     * returned rows into the chunk totals so no row travels back to the JVM.
+     * SOLD baskets are never disposed. The previous status is carried through the
+     * chunk so RESERVED baskets can be told apart for the inventory counters.
+     */
+    @Query(value = """
+        WITH chunk AS (
+            SELECT id, status FROM basic_baskets
+            WHERE validation_date < CURRENT_DATE
+              AND validation_date < :expiredBefore
+              AND status IN ('AVAILABLE', 'RESERVED')
+              AND (validation_date, id) > (:afterDate, :afterId)
+            ORDER BY validation_date, id
+            LIMIT :chunkSize
+            FOR UPDATE SKIP LOCKED
+        ), disposed AS (
+            UPDATE basic_baskets b
+            SET status = 'DISPOSED', disposed_at = :disposedAt, updated_at = :disposedAt, version = b.version + 1
+            FROM chunk
+            WHERE b.id = chunk.id
+            RETURNING b.id, b.validation_date, b.price, chunk.status AS previous_status
+        )
+        SELECT COUNT(*) AS quantity,
+               COALESCE(SUM(d.price), 0) AS lossAmount,
+               COUNT(*) FILTER (WHERE d.previous_status = 'RESERVED') AS reservedQuantity,
+               COALESCE(SUM(d.price) FILTER (WHERE d.previous_status = 'RESERVED'), 0) AS reservedLossAmount,
+               MAX(d.validation_date) AS lastValidationDate,
+               (SELECT l.id FROM disposed l ORDER BY l.validation_date DESC, l.id DESC LIMIT 1) AS lastId
+        FROM disposed d
+        """, nativeQuery = true)
+    DisposedChunkRow disposeExpiredChunk(@Param("afterDate") LocalDate afterDate,
+                                         @Param("afterId") UUID afterId,
+                                         @Param("expiredBefore") LocalDate expiredBefore,
+                                         @Param("chunkSize") int chunkSize,
+                                         @Param("disposedAt") LocalDateTime disposedAt);
+
+    /**
+     * Moves the SOLD/DISPOSED baskets finished before :finishedBefore among the next
+     * :chunkSize baskets after :afterId to basic_baskets_history, in one statement.
+     * The window is bounded by baskets looked at, not moved, so a run with little to
+     * archive is still a sequence of short primary key range scans.
+     */
+    @Query(value = """
+        WITH scanned AS (
+            SELECT id FROM basic_baskets
+            WHERE id > :afterId
+            ORDER BY id
+            LIMIT :chunkSize
+        ), finished AS (
+            SELECT b.id FROM basic_baskets b
+            JOIN scanned s ON s.id = b.id
+            WHERE b.status IN ('SOLD', 'DISPOSED')
+              AND COALESCE(b.sold_at, b.disposed_at) < :finishedBefore
+            FOR UPDATE OF b SKIP LOCKED
+        ), moved AS (
+            DELETE FROM basic_baskets b
+            USING finished f
+            WHERE b.id = f.id
+            RETURNING b.id, b.validation_date, b.price, b.status, b.delivery_box_id,
+                      b.sold_at, b.disposed_at, b.created_at, b.updated_at, b.version
+        ), archived AS (
+            INSERT INTO basic_baskets_history (id, validation_date, price, status, delivery_box_id,
+                                               sold_at, disposed_at, created_at, updated_at, version, archived_at)
+            SELECT id, validation_date, price, status, delivery_box_id,
+                   sold_at, disposed_at, created_at, updated_at, version, :archivedAt
+            FROM moved
+        )
+        SELECT (SELECT COUNT(*) FROM moved) AS archived,
+               (SELECT s.id FROM scanned s ORDER BY s.id DESC LIMIT 1) AS lastId
+        """, nativeQuery = true)
+    ArchivedChunkRow archiveFinishedChunk(@Param("afterId") UUID afterId,
+                                          @Param("chunkSize") int chunkSize,
+                                          @Param("finishedBefore") LocalDateTime finishedBefore,
+                                          @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Inventory counters of the next :chunkSize baskets after :afterId in primary key
+     * order, so a full recount is a sequence of short index range scans.
+     * Active and archived baskets are merged in id order; a basket is in exactly one
+     * of the two tables.
+     */
+    @Query(value = """
+        WITH keys AS (
+            SELECT b.id, b.status, b.price, b.delivery_box_id
+            FROM basic_baskets b
+            WHERE b.id > :afterId
+            UNION ALL
+            SELECT h.id, h.status, h.price, h.delivery_box_id
+            FROM basic_baskets_history h
+            WHERE h.id > :afterId
+            ORDER BY id
+            LIMIT :chunkSize
+        ), chunk AS (
+            SELECT k.id, k.status, k.price, d.unit_cost
+            FROM keys k
+            LEFT JOIN delivery_boxes d ON d.id = k.delivery_box_id
+        )
+        SELECT COUNT(*) AS totalBaskets,
+               COUNT(*) FILTER (WHERE status = 'AVAILABLE') AS availableBaskets,
+               COUNT(*) FILTER (WHERE status = 'SOLD') AS soldBaskets,
+               COUNT(*) FILTER (WHERE status = 'DISPOSED') AS disposedBaskets,
+               COUNT(*) FILTER (WHERE status = 'RESERVED') AS reservedBaskets,
+               COALESCE(SUM(price) FILTER (WHERE status = 'AVAILABLE'), 0) AS availableValue,
+               COALESCE(SUM(price) FILTER (WHERE status = 'SOLD'), 0) AS revenue,
+               COALESCE(SUM(unit_cost) FILTER (WHERE status = 'SOLD'), 0) AS cost,
+               (SELECT l.id FROM chunk l ORDER BY l.id DESC LIMIT 1) AS lastId
+        FROM chunk
+        """, nativeQuery = true)
+    CountersChunkRow summarizeCounters(@Param("afterId") UUID afterId, @Param("chunkSize") int chunkSize);
+
+    /**
+     * Like {@link #summarizeCounters}, counting the AVAILABLE baskets of sales logged in
+     * basket_allocations but not yet applied as SOLD. The counters already hold those
+     * sales, so in-memory storage recounts them within the same snapshot instead of
+     * applying the log first.
+     */
+    @Query(value = """
+        WITH keys AS (
+            SELECT b.id, b.status, b.price, b.delivery_box_id
+            FROM basic_baskets b
+            WHERE b.id > :afterId
+            UNION ALL
+            SELECT h.id, h.status, h.price, h.delivery_box_id
+            FROM basic_baskets_history h
+            WHERE h.id > :afterId
+            ORDER BY id
+            LIMIT :chunkSize
+        ), logged AS (
+            SELECT DISTINCT unnest(a.basket_ids) AS id
+            FROM basket_allocations a
+        ), chunk AS (
+            SELECT k.id,
+                   CASE WHEN k.status = 'AVAILABLE' AND l.id IS NOT NULL THEN 'SOLD' ELSE k.status END AS status,
+                   k.price, d.unit_cost
+            FROM keys k
+            LEFT JOIN logged l ON l.id = k.id
+            LEFT JOIN delivery_boxes d ON d.id = k.delivery_box_id
+        )
+        SELECT COUNT(*) AS totalBaskets,
+               COUNT(*) FILTER (WHERE status = 'AVAILABLE') AS availableBaskets,
+               COUNT(*) FILTER (WHERE status = 'SOLD') AS soldBaskets,
+               COUNT(*) FILTER (WHERE status = 'DISPOSED') AS disposedBaskets,
+               COUNT(*) FILTER (WHERE status = 'RESERVED') AS reservedBaskets,
+               COALESCE(SUM(price) FILTER (WHERE status = 'AVAILABLE'), 0) AS availableValue,
+               COALESCE(SUM(price) FILTER (WHERE status = 'SOLD'), 0) AS revenue,
+               COALESCE(SUM(unit_cost) FILTER (WHERE status = 'SOLD'), 0) AS cost,
+               (SELECT l.id FROM chunk l ORDER BY l.id DESC LIMIT 1) AS lastId
+        FROM chunk
+        """, nativeQuery = true)
+    CountersChunkRow summarizeCountersWithLoggedSales(@Param("afterId") UUID afterId,
+                                                      @Param("chunkSize") int chunkSize);
+
+    /**
+     * Projection of aggregated sales figures for one period
+     */
+    interface PeriodSalesSummaryRow {
+        LocalDateTime getPeriodStart();
+
+        Long getBasketsSold();
+
+        BigDecimal getRevenue();
+
+        BigDecimal getCost();
+
+        BigDecimal getGrossProfit();
+
+        BigDecimal getProfitMargin();
+    }
+
+    /**
+     * Projection of a basket claimed by a set-based update
+     */
+    interface ClaimedBasketRow {
+        UUID getId();
+
+        BigDecimal getPrice();
+
+        BigDecimal getUnitCost();
+    }
+
+    /**
+     * Projection of the totals of a disposed chunk
+     */
+    interface DisposedChunkRow {
+        Long getQuantity();
+
+        BigDecimal getLossAmount();
+
+        Long getReservedQuantity();
+
+        BigDecimal getReservedLossAmount();
+
+        LocalDate getLastValidationDate();
+
+        UUID getLastId();
+    }
+
+    /**
+     * Projection of the inventory counters of a chunk of baskets
+     */
+    interface CountersChunkRow {
+        Long getTotalBaskets();
+
+        Long getAvailableBaskets();
+
+        Long getSoldBaskets();
+
+        Long getDisposedBaskets();
+
+        Long getReservedBaskets();
+
+        BigDecimal getAvailableValue();
+
+        BigDecimal getRevenue();
+
+        BigDecimal getCost();
+
+        UUID getLastId();
+    }
+
+    /**
+     * Projection of the result of an archival chunk
+     */
+    interface ArchivedChunkRow {
+        Long getArchived();
+
+        UUID getLastId();
+    }
 }
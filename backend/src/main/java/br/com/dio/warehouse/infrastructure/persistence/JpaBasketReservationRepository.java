@@ -0,0 +1,56 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import br.com.dio.warehouse.domain.model.BasketReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA Repository for BasketReservation
+ * 
+ * @author Franklin Canduri
+ */
+@Repository
+public interface JpaBasketReservationRepository extends JpaRepository<BasketReservation, UUID> {
+
+    /**
+     * Deletes the reservation and returns it, so only one caller can take it
+     */
+    @Query(value = "DELETE FROM basket_reservations WHERE id = :id RETURNING *", nativeQuery = true)
+    Optional<BasketReservation> deleteReturning(@Param("id") UUID id);
+
+    @Query(value = """
+        DELETE FROM basket_reservations
+        WHERE id IN (:ids) AND expires_at <= :now
+        RETURNING *
+        """, nativeQuery = true)
+    List<BasketReservation> deleteExpiredReturning(@Param("ids") Collection<UUID> ids,
+                                                   @Param("now") LocalDateTime now);
+
+    // Range scan of idx_basket_reservations_expires_at
+    @Query(value = """
+        SELECT id FROM basket_reservations
+        WHERE expires_at <= :now
+        ORDER BY expires_at
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<UUID> findExpiredIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Query(value = "SELECT id AS id, expires_at AS expiresAt FROM basket_reservations", nativeQuery = true)
+    List<ReservationDeadlineRow> findAllDeadlines();
+
+    /**
+     * Projection of a reservation deadline
+     */
+    interface ReservationDeadlineRow {
+        UUID getId();
+        LocalDateTime getExpiresAt();
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import br.com.dio.warehouse.domain.model.InventoryCounterSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Spring Data JPA Repository for InventoryCounterSlot
+ * This is the infrastructure implementation
+ *
+ * @author Franklin Canduri
+ */
+@Repository
+public interface JpaInventoryCounterRepository extends JpaRepository<InventoryCounterSlot, Short> {
+
+    /**
+     * Adds a delta to one slot in place, without reading it first
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE inventory_counters
+        SET total_baskets = total_baskets + :totalBaskets,
+            available_baskets = available_baskets + :availableBaskets,
+            sold_baskets = sold_baskets + :soldBaskets,
+            disposed_baskets = disposed_baskets + :disposedBaskets,
+            reserved_baskets = reserved_baskets + :reservedBaskets,
+            available_value = available_value + :availableValue,
+            revenue = revenue + :revenue,
+            cost = cost + :cost,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE slot = :slot
+        """, nativeQuery = true)
+    int increment(@Param("slot") short slot,
+                  @Param("totalBaskets") long totalBaskets,
+                  @Param("availableBaskets") long availableBaskets,
+                  @Param("soldBaskets") long soldBaskets,
+                  @Param("disposedBaskets") long disposedBaskets,
+                  @Param("reservedBaskets") long reservedBaskets,
+                  @Param("availableValue") BigDecimal availableValue,
+                  @Param("revenue") BigDecimal revenue,
+                  @Param("cost") BigDecimal cost);
+
+    /**
+     * Sum over all slots
+     */
+    @Query(value = """
+        SELECT COALESCE(SUM(total_baskets), 0) AS totalBaskets,
+               COALESCE(SUM(available_baskets), 0) AS availableBaskets,
+               COALESCE(SUM(sold_baskets), 0) AS soldBaskets,
+               COALESCE(SUM(disposed_baskets), 0) AS disposedBaskets,
+               COALESCE(SUM(reserved_baskets), 0) AS reservedBaskets,
+               COALESCE(SUM(available_value), 0) AS availableValue,
+               COALESCE(SUM(revenue), 0) AS revenue,
+               COALESCE(SUM(cost), 0) AS cost
+        FROM inventory_counters
+        """, nativeQuery = true)
+    CountersRow sumSlots();
+
+    /**
+     * Projection of summed counters
+     */
+    interface CountersRow {
+        Long getTotalBaskets();
+
+        Long getAvailableBaskets();
+
+        Long getSoldBaskets();
+
+        Long getDisposedBaskets();
+
+        Long getReservedBaskets();
+
+        BigDecimal getAvailableValue();
+
+        BigDecimal getRevenue();
+
+        BigDecimal getCost();
+    }
+}
@@ -0,0 +1,256 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import br.com.dio.warehouse.domain.model.InventoryLot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA Repository for InventoryLot
+ * This is the infrastructure implementation
+ *
+ * Projections are shared with {@link JpaBasketRepository}, so both storage modes
+ * map to the same domain records.
+ *
+ * @author Franklin Canduri
+ */
+@Repository
+public interface JpaInventoryLotRepository extends JpaRepository<InventoryLot, UUID> {
+
+    /**
+     * Creates the lot of a flushed delivery, taking the unit cost from the delivery
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO inventory_lots (delivery_box_id, validation_date, price, unit_cost,
+                                    total_quantity, available_quantity)
+        SELECT d.id, :validationDate, :price, d.unit_cost, :quantity, :quantity
+        FROM delivery_boxes d
+        WHERE d.id = :deliveryBoxId
+        """, nativeQuery = true)
+    int insertLot(@Param("deliveryBoxId") UUID deliveryBoxId,
+                  @Param("validationDate") LocalDate validationDate,
+                  @Param("price") BigDecimal price,
+                  @Param("quantity") long quantity);
+
+    /**
+     * Sells up to :quantity baskets from the sellable lots in one statement, recording one
+     * lot_sales row per lot used. Lots are used in the order of :strategy (FEFO, FIFO by
+     * lot creation or CHEAPEST), with FEFO breaking ties; there is one row per delivery,
+     * so ordering the sellable lots is cheap whatever the strategy. Only the lots needed
+     * to cover :quantity, going by a running sum of their unlocked quantities, are then
+     * locked (not skipped), so sellers do not wait on lots they will not use. They are
+     * locked in delivery_box_id order whatever the strategy, so sellers of different
+     * strategies do not lock the same lots in opposite orders, and ranked afterwards.
+     * A lot of that prefix that a concurrent sale emptied meanwhile leaves the result
+     * short; the caller sells the rest with another call, which sees this one's updates.
+     * The lots are returned in picking order.
+     */
+    @Query(value = """
+        WITH ranked AS (
+            SELECT delivery_box_id, available_quantity,
+                   CASE :strategy WHEN 'CHEAPEST' THEN price END AS price_rank,
+                   CASE :strategy WHEN 'FIFO' THEN created_at END AS age_rank,
+                   validation_date
+            FROM inventory_lots
+            WHERE available_quantity > 0 AND validation_date >= CURRENT_DATE
+        ), needed AS (
+            SELECT delivery_box_id
+            FROM (SELECT delivery_box_id,
+                         SUM(available_quantity) OVER (ORDER BY price_rank, age_rank, validation_date, delivery_box_id)
+                             - available_quantity AS preceding
+                  FROM ranked) prefix
+            WHERE preceding < :quantity
+        ), locked AS (
+            SELECT delivery_box_id, validation_date, available_quantity,
+                   CASE :strategy WHEN 'CHEAPEST' THEN price END AS price_rank,
+                   CASE :strategy WHEN 'FIFO' THEN created_at END AS age_rank
+            FROM inventory_lots
+            WHERE delivery_box_id IN (SELECT delivery_box_id FROM needed)
+              AND available_quantity > 0 AND validation_date >= CURRENT_DATE
+            ORDER BY delivery_box_id
+            FOR UPDATE
+        ), allocation AS (
+            SELECT delivery_box_id, price_rank, age_rank,
+                   LEAST(available_quantity,
+                         GREATEST(:quantity - (SUM(available_quantity) OVER picking - available_quantity), 0)) AS taken
+            FROM locked
+            WINDOW picking AS (ORDER BY price_rank, age_rank, validation_date, delivery_box_id)
+        ), sold AS (
+            UPDATE inventory_lots l
+            SET available_quantity = l.available_quantity - a.taken,
+                sold_quantity = l.sold_quantity + a.taken,
+                updated_at = :soldAt,
+                version = l.version + 1
+            FROM allocation a
+            WHERE l.delivery_box_id = a.delivery_box_id AND a.taken > 0
+            RETURNING l.delivery_box_id, l.validation_date, l.price, l.unit_cost, a.taken,
+                      a.price_rank, a.age_rank
+        ), ledger AS (
+            INSERT INTO lot_sales (delivery_box_id, quantity, revenue, cost, sold_at)
+            SELECT delivery_box_id, taken, taken * price, taken * unit_cost, :soldAt
+            FROM sold
+        )
+        SELECT delivery_box_id AS deliveryBoxId, validation_date AS validationDate,
+               price, unit_cost AS unitCost, taken AS quantity
+        FROM sold
+        ORDER BY price_rank, age_rank, validation_date, delivery_box_id
+        """, nativeQuery = true)
+    List<LotSaleRow> sellFromLots(@Param("quantity") long quantity, @Param("strategy") String strategy,
+                                  @Param("soldAt") LocalDateTime soldAt);
+
+    /**
+     * Oldest validation date among the expired lots with baskets left to dispose
+     */
+    @Query(value = """
+        SELECT MIN(validation_date) FROM inventory_lots
+        WHERE validation_date < CURRENT_DATE
+          AND (available_quantity > 0 OR reserved_quantity > 0)
+        """, nativeQuery = true)
+    LocalDate findOldestDisposableValidationDate();
+
+    /**
+     * Disposes the remaining available and reserved baskets of the next chunk of expired
+     * lots validated before :expiredBefore after the (:afterDate, :afterId) keyset cursor.
+     * The chunk carries the quantities
+     * before the update, so the totals can be folded from the returned rows.
+     */
+    @Query(value = """
+        WITH chunk AS (
+            SELECT delivery_box_id, validation_date, price, available_quantity, reserved_quantity
+            FROM inventory_lots
+            WHERE validation_date < CURRENT_DATE
+              AND validation_date < :expiredBefore
+              AND (available_quantity > 0 OR reserved_quantity > 0)
+              AND (validation_date, delivery_box_id) > (:afterDate, :afterId)
+            ORDER BY validation_date, delivery_box_id
+            LIMIT :chunkSize
+            FOR UPDATE SKIP LOCKED
+        ), disposed AS (
+            UPDATE inventory_lots l
+            SET disposed_quantity = l.disposed_quantity + chunk.available_quantity + chunk.reserved_quantity,
+                available_quantity = 0,
+                reserved_quantity = 0,
+                updated_at = :disposedAt,
+                version = l.version + 1
+            FROM chunk
+            WHERE l.delivery_box_id = chunk.delivery_box_id
+            RETURNING chunk.delivery_box_id, chunk.validation_date, chunk.price,
+                      chunk.available_quantity, chunk.reserved_quantity
+        )
+        SELECT COALESCE(SUM(d.available_quantity + d.reserved_quantity), 0)::bigint AS quantity,
+               COALESCE(SUM((d.available_quantity + d.reserved_quantity) * d.price), 0) AS lossAmount,
+               COALESCE(SUM(d.reserved_quantity), 0)::bigint AS reservedQuantity,
+               COALESCE(SUM(d.reserved_quantity * d.price), 0) AS reservedLossAmount,
+               MAX(d.validation_date) AS lastValidationDate,
+               (SELECT l.delivery_box_id FROM disposed l
+                ORDER BY l.validation_date DESC, l.delivery_box_id DESC LIMIT 1) AS lastId
+        FROM disposed d
+        """, nativeQuery = true)
+    JpaBasketRepository.DisposedChunkRow disposeExpiredLots(@Param("afterDate") LocalDate afterDate,
+                                                            @Param("afterId") UUID afterId,
+                                                            @Param("expiredBefore") LocalDate expiredBefore,
+                                                            @Param("chunkSize") int chunkSize,
+                                                            @Param("disposedAt") LocalDateTime disposedAt);
+
+    /**
+     * Inventory counters of the next :chunkSize lots after :afterId
+     */
+    @Query(value = """
+        WITH chunk AS (
+            SELECT * FROM inventory_lots
+            WHERE delivery_box_id > :afterId
+            ORDER BY delivery_box_id
+            LIMIT :chunkSize
+        )
+        SELECT COALESCE(SUM(total_quantity), 0)::bigint AS totalBaskets,
+               COALESCE(SUM(available_quantity), 0)::bigint AS availableBaskets,
+               COALESCE(SUM(sold_quantity), 0)::bigint AS soldBaskets,
+               COALESCE(SUM(disposed_quantity), 0)::bigint AS disposedBaskets,
+               COALESCE(SUM(reserved_quantity), 0)::bigint AS reservedBaskets,
+               COALESCE(SUM(available_quantity * price), 0) AS availableValue,
+               COALESCE(SUM(sold_quantity * price), 0) AS revenue,
+               COALESCE(SUM(sold_quantity * unit_cost), 0) AS cost,
+               (SELECT l.delivery_box_id FROM chunk l ORDER BY l.delivery_box_id DESC LIMIT 1) AS lastId
+        FROM chunk
+        """, nativeQuery = true)
+    JpaBasketRepository.CountersChunkRow summarizeLots(@Param("afterId") UUID afterId,
+                                                       @Param("chunkSize") int chunkSize);
+
+    /**
+     * Sales totals per :unit ('day', 'week' or 'month') from the lot sales ledger
+     */
+    @Query(value = """
+        SELECT s.periodStart, s.basketsSold, s.revenue, s.cost,
+               s.revenue - s.cost AS grossProfit,
+               CASE WHEN s.revenue > 0 THEN ROUND((s.revenue - s.cost) / s.revenue, 4) * 100 ELSE 0 END AS profitMargin
+        FROM (
+            SELECT date_trunc(:unit, sold_at) AS periodStart,
+                   SUM(quantity)::bigint AS basketsSold,
+                   SUM(revenue) AS revenue,
+                   SUM(cost) AS cost
+            FROM lot_sales
+            WHERE sold_at >= :from AND sold_at < :to
+            GROUP BY 1
+        ) s
+        ORDER BY s.periodStart
+        """, nativeQuery = true)
+    List<JpaBasketRepository.PeriodSalesSummaryRow> summarizeLotSales(@Param("from") LocalDateTime from,
+                                                                       @Param("to") LocalDateTime to,
+                                                                       @Param("unit") String unit);
+
+    @Query(value = "SELECT COALESCE(SUM(total_quantity), 0)::bigint FROM inventory_lots", nativeQuery = true)
+    long sumTotalQuantity();
+
+    @Query(value = """
+        SELECT COALESCE(SUM(CASE :status
+                                WHEN 'AVAILABLE' THEN available_quantity
+                                WHEN 'SOLD' THEN sold_quantity
+                                WHEN 'DISPOSED' THEN disposed_quantity
+                                WHEN 'RESERVED' THEN reserved_quantity
+                            END), 0)::bigint
+        FROM inventory_lots
+        """, nativeQuery = true)
+    long sumQuantityByStatus(@Param("status") String status);
+
+    /**
+     * Same definition as the row storage: expired baskets still available or reserved
+     */
+    @Query(value = """
+        SELECT COALESCE(SUM(available_quantity + reserved_quantity), 0)::bigint
+        FROM inventory_lots
+        WHERE validation_date < CURRENT_DATE
+          AND (available_quantity > 0 OR reserved_quantity > 0)
+        """, nativeQuery = true)
+    long sumExpiredQuantity();
+
+    @Query(value = """
+        SELECT COALESCE(SUM(available_quantity), 0)::bigint
+        FROM inventory_lots
+        WHERE validation_date >= CURRENT_DATE
+        """, nativeQuery = true)
+    long sumAvailableQuantity();
+
+    /**
+     * Projection of the baskets sold from one lot
+     */
+    interface LotSaleRow {
+        UUID getDeliveryBoxId();
+
+        LocalDate getValidationDate();
+
+        BigDecimal getPrice();
+
+        BigDecimal getUnitCost();
+
+        Long getQuantity();
+    }
+}
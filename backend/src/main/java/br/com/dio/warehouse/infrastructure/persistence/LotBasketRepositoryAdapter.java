@@ -0,0 +1,172 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import br.com.dio.shared.identity.Ids;
+import br.com.dio.warehouse.domain.exception.BusinessRuleViolationException;
+import br.com.dio.warehouse.domain.model.BasicBasket;
+import br.com.dio.warehouse.domain.valueobject.SalesGrouping;
+import br.com.dio.warehouse.domain.valueobject.SelectionStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * BasketRepository adapter for {@code warehouse.inventory.storage=lots}
+ *
+ * Each delivery is one inventory_lots row holding the quantity of baskets per status,
+ * so receiving, selling and disposing update a few lot rows instead of one row per
+ * basket. Sales are also written to the lot_sales ledger for period reports.
+ *
+ * basic_baskets only holds sold baskets, and only when
+ * {@code warehouse.inventory.lots.trace-units=true}; the entity finders and archival
+ * inherited from {@link BasketRepositoryAdapter} work on those rows, while counts, sales
+ * summaries and the set-based operations read the lots. Reservations are not supported.
+ *
+ * @author Franklin Canduri
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "warehouse.inventory.storage", havingValue = "lots")
+public class LotBasketRepositoryAdapter extends BasketRepositoryAdapter {
+
+    private static final String INSERT_SOLD_UNIT_SQL = """
+        INSERT INTO basic_baskets (id, validation_date, price, status, delivery_box_id, sold_at, updated_at)
+        VALUES (?, ?, ?, 'SOLD', ?, ?, ?)
+        """;
+
+    private final JpaInventoryLotRepository lotRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean traceUnits;
+
+    public LotBasketRepositoryAdapter(
+            JpaBasketRepository jpaRepository,
+            BasketCopyWriter copyWriter,
+            BasketListingQueries listingQueries,
+            BasketHistoryPartitions historyPartitions,
+            JpaInventoryLotRepository lotRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${warehouse.archive.after-days:90}") int archiveAfterDays,
+            @Value("${warehouse.inventory.lots.trace-units:false}") boolean traceUnits) {
+        super(jpaRepository, copyWriter, listingQueries, historyPartitions, archiveAfterDays);
+        this.lotRepository = lotRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.traceUnits = traceUnits;
+        log.info("Basket storage: delivery lots (unit tracing {})", traceUnits ? "enabled" : "disabled");
+    }
+
+    @Override
+    public long count() {
+        return lotRepository.sumTotalQuantity();
+    }
+
+    @Override
+    public long countByStatus(BasicBasket.BasketStatus status) {
+        return lotRepository.sumQuantityByStatus(status.name());
+    }
+
+    @Override
+    public long countExpiredBaskets() {
+        return lotRepository.sumExpiredQuantity();
+    }
+
+    @Override
+    public long countAvailableBaskets() {
+        return lotRepository.sumAvailableQuantity();
+    }
+
+    @Override
+    public List<SalesSummary> summarizeSales(LocalDateTime from, LocalDateTime to, SalesGrouping grouping) {
+        return lotRepository.summarizeLotSales(from, to, grouping.name().toLowerCase()).stream()
+                .map(BasketRepositoryAdapter::toSalesSummary)
+                .toList();
+    }
+
+    @Override
+    public long insertAvailableBaskets(UUID deliveryBoxId, LocalDate validationDate, BigDecimal price, long quantity) {
+        if (lotRepository.insertLot(deliveryBoxId, validationDate, price, quantity) != 1) {
+            throw new IllegalStateException("Delivery " + deliveryBoxId + " must be flushed before its lot is created");
+        }
+        return quantity;
+    }
+
+    /**
+     * Each lot sold from is one claimed lot; the caller multiplies its price and unit cost
+     * by the quantity. Unlike row storage, concurrent sellers wait on the locked lots
+     * instead of skipping them, so a short sale is only retried while it still finds stock.
+     */
+    @Override
+    public List<ClaimedLot> claimAvailableBaskets(long quantity, SelectionStrategy strategy, LocalDateTime soldAt) {
+        List<ClaimedLot> claimed = new ArrayList<>();
+        List<Object[]> units = traceUnits ? new ArrayList<>() : List.of();
+        long remaining = quantity;
+        while (remaining > 0) {
+            List<JpaInventoryLotRepository.LotSaleRow> sales = lotRepository.sellFromLots(remaining, strategy.name(), soldAt);
+            if (sales.isEmpty()) {
+                break;
+            }
+            for (JpaInventoryLotRepository.LotSaleRow sale : sales) {
+                BigDecimal unitCost = sale.getUnitCost() != null ? sale.getUnitCost() : BigDecimal.ZERO;
+                List<UUID> ids = List.of();
+                if (traceUnits) {
+                    ids = new ArrayList<>(sale.getQuantity().intValue());
+                    for (long i = 0; i < sale.getQuantity(); i++) {
+                        UUID id = Ids.next();
+                        ids.add(id);
+                        units.add(new Object[] {id, sale.getValidationDate(), sale.getPrice(),
+                                sale.getDeliveryBoxId(), soldAt, soldAt});
+                    }
+                }
+                claimed.add(new ClaimedLot(sale.getQuantity(), sale.getPrice(), unitCost, ids));
+                remaining -= sale.getQuantity();
+            }
+        }
+        if (!units.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SOLD_UNIT_SQL, units);
+        }
+        return claimed;
+    }
+
+    /**
+     * Lots do not track which baskets are held, so reservations are not supported
+     */
+    @Override
+    public List<ClaimedBasket> reserveAvailableBaskets(long quantity, LocalDateTime reservedAt) {
+        throw new BusinessRuleViolationException("Basket reservations require per-basket storage");
+    }
+
+    @Override
+    public List<ClaimedBasket> sellReservedBaskets(List<UUID> ids, LocalDateTime soldAt) {
+        throw new BusinessRuleViolationException("Basket reservations require per-basket storage");
+    }
+
+    @Override
+    public List<ClaimedBasket> releaseReservedBaskets(List<UUID> ids, LocalDateTime releasedAt) {
+        throw new BusinessRuleViolationException("Basket reservations require per-basket storage");
+    }
+
+    @Override
+    public Optional<LocalDate> findOldestDisposableValidationDate() {
+        return Optional.ofNullable(lotRepository.findOldestDisposableValidationDate());
+    }
+
+    @Override
+    public DisposedChunk disposeExpiredChunk(DisposalCursor after, LocalDate expiredBefore, int chunkSize,
+                                             LocalDateTime disposedAt) {
+        return toDisposedChunk(lotRepository.disposeExpiredLots(
+                after.validationDate(), after.id(), expiredBefore, chunkSize, disposedAt));
+    }
+
+    @Override
+    public CountersChunk summarizeCounters(UUID afterId, int chunkSize) {
+        return toCountersChunk(lotRepository.summarizeLots(afterId, chunkSize));
+    }
+}
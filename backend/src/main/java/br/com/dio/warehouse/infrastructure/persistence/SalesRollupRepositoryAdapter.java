@@ -0,0 +1,119 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import br.com.dio.warehouse.domain.repository.SalesRollupRepository;
+import br.com.dio.warehouse.domain.valueobject.SalesBucket;
+import br.com.dio.warehouse.domain.valueobject.SalesBucket.Resolution;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Adapter that implements the domain SalesRollupRepository interface with JDBC upserts
+ *
+ * Buckets are written in one batch, in key order, so instances flushing the same
+ * buckets concurrently wait on each other's row locks instead of deadlocking.
+ * Processed events are recorded in processed_events under the sales-rollup consumer,
+ * also in id order.
+ *
+ * @author Franklin Canduri
+ */
+@Component
+public class SalesRollupRepositoryAdapter implements SalesRollupRepository {
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO sales_rollups (resolution, bucket_start, quantity, revenue, sales, updated_at)
+        VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+        ON CONFLICT (resolution, bucket_start) DO UPDATE
+        SET quantity = sales_rollups.quantity + EXCLUDED.quantity,
+            revenue = sales_rollups.revenue + EXCLUDED.revenue,
+            sales = sales_rollups.sales + EXCLUDED.sales,
+            updated_at = EXCLUDED.updated_at
+        """;
+
+    private static final String CONSUMER = "sales-rollup";
+
+    private static final String RECORD_PROCESSED_SQL = """
+        INSERT INTO processed_events (consumer, event_id, processed_at)
+        SELECT ?, id, CURRENT_TIMESTAMP FROM unnest(?) AS id ORDER BY id
+        ON CONFLICT (consumer, event_id) DO NOTHING
+        RETURNING event_id
+        """;
+
+    private static final String DELETE_PROCESSED_SQL = """
+        DELETE FROM processed_events
+        WHERE ctid IN (SELECT ctid FROM processed_events WHERE consumer = ? AND processed_at < ? LIMIT ?)
+        """;
+
+    private static final String FIND_SQL = """
+        SELECT bucket_start, quantity, revenue, sales
+        FROM sales_rollups
+        WHERE resolution = ? AND bucket_start >= ? AND bucket_start < ?
+        ORDER BY bucket_start
+        """;
+
+    private static final Comparator<SalesBucket> KEY_ORDER = Comparator
+            .comparing(SalesBucket::resolution)
+            .thenComparing(SalesBucket::bucketStart);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SalesRollupRepositoryAdapter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void add(Collection<SalesBucket> buckets) {
+        if (buckets.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = buckets.stream()
+                .sorted(KEY_ORDER)
+                .map(bucket -> new Object[] {
+                        bucket.resolution().name(),
+                        Timestamp.valueOf(bucket.bucketStart()),
+                        bucket.quantity(),
+                        bucket.revenue(),
+                        bucket.sales()})
+                .toList();
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+    }
+
+    @Override
+    public Set<UUID> recordProcessed(Collection<UUID> eventIds) {
+        if (eventIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        UUID[] ids = eventIds.stream().distinct().toArray(UUID[]::new);
+        return new HashSet<>(jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RECORD_PROCESSED_SQL);
+            statement.setString(1, CONSUMER);
+            statement.setArray(2, connection.createArrayOf("uuid", ids));
+            return statement;
+        }, (rs, rowNum) -> rs.getObject("event_id", UUID.class)));
+    }
+
+    @Override
+    public int deleteProcessedBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update(DELETE_PROCESSED_SQL, CONSUMER, Timestamp.valueOf(cutoff), limit);
+    }
+
+    @Override
+    public List<SalesBucket> find(Resolution resolution, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(FIND_SQL, (rs, rowNum) -> new SalesBucket(
+                resolution,
+                rs.getTimestamp("bucket_start").toLocalDateTime(),
+                rs.getLong("quantity"),
+                rs.getBigDecimal("revenue"),
+                rs.getLong("sales")),
+                resolution.name(), Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.dio.warehouse.infrastructure.scheduling;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Picks one instance of the cluster to run a task, with a PostgreSQL advisory lock
+ * 
+ * The session-level lock is taken with pg_try_advisory_lock on a connection that is
+ * held for the whole task, so the other instances give up immediately instead of
+ * waiting or running the task again. If the instance dies, the database ends the
+ * session and the lock is free for the next run. The connection is taken outside of
+ * any transaction, so it always comes from the primary pool.
+ * 
+ * @author Franklin Canduri
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdvisoryLockLeaderElection {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Runs {@code task} if no other session holds the lock named {@code lockName}
+     * 
+     * @return the result of the task, or empty if another instance is running it
+     */
+    public <T> Optional<T> callAsLeader(String lockName, Supplier<T> task) {
+        return jdbcTemplate.execute((ConnectionCallback<Optional<T>>) connection -> {
+            if (!advisoryLock(connection, "SELECT pg_try_advisory_lock(hashtext(?))", lockName)) {
+                log.debug("Lock {} is held by another instance", lockName);
+                return Optional.empty();
+            }
+            try {
+                return Optional.ofNullable(task.get());
+            } finally {
+                if (!advisoryLock(connection, "SELECT pg_advisory_unlock(hashtext(?))", lockName)) {
+                    log.warn("Lock {} was no longer held at the end of the task", lockName);
+                }
+            }
+        });
+    }
+    
+    private static boolean advisoryLock(Connection connection, String sql, String lockName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, lockName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+}
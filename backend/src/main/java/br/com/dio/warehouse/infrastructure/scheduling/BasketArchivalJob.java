@@ -0,0 +1,33 @@
+package br.com.dio.warehouse.infrastructure.scheduling;
+
+import br.com.dio.warehouse.application.port.in.ArchiveFinishedBasketsUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the basket archival on {@code warehouse.archive.cron}
+ * 
+ * Disabled by default. Concurrent runs on several instances are safe: chunks skip
+ * rows locked by another run.
+ * 
+ * @author Franklin Canduri
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BasketArchivalJob {
+    
+    private final ArchiveFinishedBasketsUseCase archiveFinishedBasketsUseCase;
+    
+    @Scheduled(cron = "${warehouse.archive.cron:-}")
+    public void archiveFinishedBaskets() {
+        try {
+            archiveFinishedBasketsUseCase.execute();
+        } catch (RuntimeException e) {
+            // Next run continues from the start; chunks already committed stay archived
+            log.error("Scheduled basket archival failed", e);
+        }
+    }
+}
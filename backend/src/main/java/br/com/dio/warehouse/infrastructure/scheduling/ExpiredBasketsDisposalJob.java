@@ -0,0 +1,96 @@
+package br.com.dio.warehouse.infrastructure.scheduling;
+
+import br.com.dio.warehouse.application.port.in.DisposeExpiredBasketsUseCase;
+import br.com.dio.warehouse.application.port.in.DisposeExpiredBasketsUseCase.DisposeExpiredBasketsResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Runs the disposal of expired baskets on {@code warehouse.disposal.schedule.cron}
+ * 
+ * Disabled by default. Only the instance holding the disposal advisory lock runs;
+ * the others skip the run. A run disposes at most
+ * {@code warehouse.disposal.schedule.max-buckets} buckets of
+ * {@code warehouse.disposal.schedule.bucket-days} validation days, oldest first, so a
+ * large backlog is worked off over several short runs.
+ * 
+ * The duration of each run is recorded in {@code warehouse.disposal.run} tagged with
+ * its outcome (completed, skipped or failed), and the disposed baskets are counted in
+ * {@code warehouse.disposal.baskets}.
+ * 
+ * @author Franklin Canduri
+ */
+@Slf4j
+@Component
+public class ExpiredBasketsDisposalJob {
+    
+    static final String LOCK_NAME = "warehouse.disposal";
+    
+    private final DisposeExpiredBasketsUseCase disposeExpiredBasketsUseCase;
+    private final AdvisoryLockLeaderElection leaderElection;
+    private final MeterRegistry meterRegistry;
+    private final Counter disposedBaskets;
+    private final int bucketDays;
+    private final int maxBuckets;
+    
+    public ExpiredBasketsDisposalJob(
+            DisposeExpiredBasketsUseCase disposeExpiredBasketsUseCase,
+            AdvisoryLockLeaderElection leaderElection,
+            MeterRegistry meterRegistry,
+            @Value("${warehouse.disposal.schedule.bucket-days:7}") int bucketDays,
+            @Value("${warehouse.disposal.schedule.max-buckets:4}") int maxBuckets) {
+        if (bucketDays <= 0) {
+            throw new IllegalArgumentException("Disposal bucket must be at least one day wide");
+        }
+        if (maxBuckets <= 0) {
+            throw new IllegalArgumentException("Disposal buckets per run must be positive");
+        }
+        this.disposeExpiredBasketsUseCase = disposeExpiredBasketsUseCase;
+        this.leaderElection = leaderElection;
+        this.meterRegistry = meterRegistry;
+        this.disposedBaskets = Counter.builder("warehouse.disposal.baskets")
+                .description("Expired baskets disposed by the scheduled disposal")
+                .register(meterRegistry);
+        this.bucketDays = bucketDays;
+        this.maxBuckets = maxBuckets;
+    }
+    
+    @Scheduled(cron = "${warehouse.disposal.schedule.cron:-}")
+    public void disposeExpiredBaskets() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome;
+        try {
+            Optional<Long> disposed = leaderElection.callAsLeader(LOCK_NAME, this::disposeOldestBuckets);
+            outcome = disposed.isPresent() ? "completed" : "skipped";
+        } catch (RuntimeException e) {
+            // Chunks already committed stay disposed; the next run starts from the oldest basket left
+            log.error("Scheduled disposal of expired baskets failed", e);
+            outcome = "failed";
+        }
+        sample.stop(Timer.builder("warehouse.disposal.run")
+                .description("Duration of the scheduled disposal runs")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+    
+    private Long disposeOldestBuckets() {
+        long total = 0;
+        for (int bucket = 0; bucket < maxBuckets; bucket++) {
+            DisposeExpiredBasketsResult result = disposeExpiredBasketsUseCase.executeNextBucket(bucketDays);
+            if (result.totalDisposed() == 0) {
+                break;
+            }
+            total += result.totalDisposed();
+            disposedBaskets.increment(result.totalDisposed());
+        }
+        log.info("Scheduled disposal disposed {} expired baskets", total);
+        return total;
+    }
+}
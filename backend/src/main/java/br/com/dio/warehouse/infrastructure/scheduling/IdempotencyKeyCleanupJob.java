@@ -0,0 +1,48 @@
+package br.com.dio.warehouse.infrastructure.scheduling;
+
+import br.com.dio.shared.idempotency.IdempotentRequests;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes expired idempotency keys every {@code warehouse.idempotency.cleanup-interval}
+ * 
+ * Keys are deleted {@code warehouse.idempotency.cleanup-batch-size} at a time, each
+ * batch in its own statement. Expired keys are ignored until then, so instances may
+ * run the cleanup concurrently.
+ * 
+ * @author Franklin Canduri
+ */
+@Slf4j
+@Component
+public class IdempotencyKeyCleanupJob {
+    
+    private final IdempotentRequests idempotentRequests;
+    private final int batchSize;
+    
+    public IdempotencyKeyCleanupJob(
+            IdempotentRequests idempotentRequests,
+            @Value("${warehouse.idempotency.cleanup-batch-size:5000}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Idempotency cleanup batch size must be positive");
+        }
+        this.idempotentRequests = idempotentRequests;
+        this.batchSize = batchSize;
+    }
+    
+    @Scheduled(fixedDelayString = "${warehouse.idempotency.cleanup-interval:10m}",
+            initialDelayString = "${warehouse.idempotency.cleanup-interval:10m}")
+    public void deleteExpiredKeys() {
+        long deleted = 0;
+        int batch;
+        do {
+            batch = idempotentRequests.deleteExpired(batchSize);
+            deleted += batch;
+        } while (batch == batchSize);
+        if (deleted > 0) {
+            log.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.dio.warehouse.infrastructure.scheduling;
+
+import br.com.dio.shared.outbox.OutboxRelay;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the event outbox every {@code warehouse.outbox.relay.interval}
+ * 
+ * A run relays batches until one comes back short, at most
+ * {@code warehouse.outbox.relay.max-batches-per-run}, so a large backlog does not keep
+ * the scheduler thread forever. Every instance runs the relay; rows are claimed with
+ * SKIP LOCKED, so they share the backlog. The backlog gauges are refreshed every
+ * {@code warehouse.outbox.metrics-interval}.
+ * 
+ * @author Franklin Canduri
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "rabbitmq.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelayJob {
+    
+    private final OutboxRelay outboxRelay;
+    private final int maxBatchesPerRun;
+    
+    public OutboxRelayJob(
+            OutboxRelay outboxRelay,
+            @Value("${warehouse.outbox.relay.max-batches-per-run:50}") int maxBatchesPerRun) {
+        if (maxBatchesPerRun <= 0) {
+            throw new IllegalArgumentException("Outbox relay max batches per run must be positive");
+        }
+        this.outboxRelay = outboxRelay;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+    
+    @Scheduled(fixedDelayString = "${warehouse.outbox.relay.interval:200ms}")
+    public void relay() {
+        try {
+            outboxRelay.drain(maxBatchesPerRun);
+        } catch (RuntimeException e) {
+            log.error("Outbox relay run failed", e);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${warehouse.outbox.metrics-interval:15s}")
+    public void refreshBacklog() {
+        try {
+            outboxRelay.refreshBacklog();
+        } catch (RuntimeException e) {
+            log.warn("Failed to measure the outbox backlog", e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.dio.warehouse.infrastructure.scheduling;
+
+import br.com.dio.warehouse.application.service.SalesRollupAggregator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Deletes the records of sales added to the rollups more than
+ * {@code warehouse.sales.rollup.processed-retention} ago, every
+ * {@code warehouse.sales.rollup.cleanup-interval}
+ * 
+ * Records are deleted {@code warehouse.sales.rollup.cleanup-batch-size} at a time, each
+ * batch in its own statement, so instances may run the cleanup concurrently. A sale
+ * redelivered after its record was deleted is counted again.
+ * 
+ * @author Franklin Canduri
+ */
+@Slf4j
+@Component
+public class ProcessedSalesCleanupJob {
+    
+    private final SalesRollupAggregator salesRollupAggregator;
+    private final Duration retention;
+    private final int batchSize;
+    
+    public ProcessedSalesCleanupJob(
+            SalesRollupAggregator salesRollupAggregator,
+            @Value("${warehouse.sales.rollup.processed-retention:7d}") Duration retention,
+            @Value("${warehouse.sales.rollup.cleanup-batch-size:5000}") int batchSize) {
+        if (retention.isNegative() || retention.isZero()) {
+            throw new IllegalArgumentException("Processed sales retention must be positive");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Processed sales cleanup batch size must be positive");
+        }
+        this.salesRollupAggregator = salesRollupAggregator;
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+    
+    @Scheduled(fixedDelayString = "${warehouse.sales.rollup.cleanup-interval:1h}",
+            initialDelayString = "${warehouse.sales.rollup.cleanup-interval:1h}")
+    public void deleteOldRecords() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long deleted = 0;
+        int batch;
+        do {
+            batch = salesRollupAggregator.forgetRecordedBefore(cutoff, batchSize);
+            deleted += batch;
+        } while (batch == batchSize);
+        if (deleted > 0) {
+            log.info("Deleted {} records of sales added to the rollups", deleted);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.dio.warehouse.infrastructure.scheduling;
+
+import br.com.dio.warehouse.application.port.in.BasketReservationUseCase;
+import br.com.dio.warehouse.domain.repository.BasketReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Expires the overdue reservations that no {@link ReservationExpiryWheel} holds, every
+ * {@code warehouse.reservations.sweep-interval}
+ * 
+ * The wheel of an instance only knows the reservations it made or found open when it
+ * started, so the reservations of an instance that went down would otherwise wait for
+ * the next restart. Overdue reservations are read from the expiry index
+ * {@code warehouse.reservations.expiry-batch-size} at a time. Expiry removes each
+ * reservation exactly once, so instances may sweep concurrently and a reservation
+ * the wheel has just expired is skipped.
+ * 
+ * @author Franklin Canduri
+ */
+@Slf4j
+@Component
+public class ReservationExpirySweepJob {
+    
+    private final BasketReservationRepository reservationRepository;
+    private final BasketReservationUseCase reservationUseCase;
+    private final int batchSize;
+    
+    public ReservationExpirySweepJob(
+            BasketReservationRepository reservationRepository,
+            BasketReservationUseCase reservationUseCase,
+            @Value("${warehouse.reservations.expiry-batch-size:500}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Reservation expiry batch size must be positive");
+        }
+        this.reservationRepository = reservationRepository;
+        this.reservationUseCase = reservationUseCase;
+        this.batchSize = batchSize;
+    }
+    
+    @Scheduled(fixedDelayString = "${warehouse.reservations.sweep-interval:5m}",
+            initialDelayString = "${warehouse.reservations.sweep-interval:5m}")
+    public void expireOverdue() {
+        long expired = 0;
+        List<UUID> overdue;
+        do {
+            overdue = reservationRepository.findExpiredIds(LocalDateTime.now(), batchSize);
+            if (!overdue.isEmpty()) {
+                expired += reservationUseCase.expire(overdue);
+            }
+        } while (overdue.size() == batchSize);
+        if (expired > 0) {
+            log.info("Expired {} overdue reservations", expired);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package br.com.dio.warehouse.infrastructure.scheduling;
+
+import br.com.dio.shared.timer.TimerWheel;
+import br.com.dio.warehouse.application.port.in.BasketReservationUseCase;
+import br.com.dio.warehouse.application.port.out.ReservationExpiryScheduler;
+import br.com.dio.warehouse.domain.repository.BasketReservationRepository;
+import br.com.dio.warehouse.domain.repository.BasketReservationRepository.ReservationDeadline;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Expires basket reservations from an in-memory {@link TimerWheel}
+ *
+ * Every reservation made by this instance is scheduled on the wheel once its
+ * transaction has committed, and the wheel hands the ones that are due to
+ * {@link BasketReservationUseCase#expire} in batches of
+ * {@code warehouse.reservations.expiry-batch-size}. On start every open reservation is
+ * scheduled. Reservations left by an instance that went down are expired by the
+ * {@link ReservationExpirySweepJob}. Reservations settled in the meantime are skipped
+ * by the use case.
+ *
+ * @author Franklin Canduri
+ */
+@Slf4j
+@Component
+public class ReservationExpiryWheel implements ReservationExpiryScheduler, SmartLifecycle {
+
+    // Started after the in-memory inventory and before the web server
+    private static final int PHASE = Integer.MIN_VALUE + 2000;
+
+    private final BasketReservationRepository reservationRepository;
+    // Looked up lazily: the use case depends on this scheduler
+    private final ObjectProvider<BasketReservationUseCase> reservationUseCase;
+    private final Duration tick;
+    private final int slots;
+    private final int batchSize;
+    private volatile TimerWheel<UUID> wheel;
+
+    public ReservationExpiryWheel(
+            BasketReservationRepository reservationRepository,
+            ObjectProvider<BasketReservationUseCase> reservationUseCase,
+            @Value("${warehouse.reservations.wheel-tick:1s}") Duration tick,
+            @Value("${warehouse.reservations.wheel-slots:512}") int slots,
+            @Value("${warehouse.reservations.expiry-batch-size:500}") int batchSize) {
+        if (tick.toMillis() < 1) {
+            throw new IllegalArgumentException("Reservation wheel tick must be at least one millisecond");
+        }
+        if (slots <= 0) {
+            throw new IllegalArgumentException("Reservation wheel slots must be positive");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Reservation expiry batch size must be positive");
+        }
+        this.reservationRepository = reservationRepository;
+        this.reservationUseCase = reservationUseCase;
+        this.tick = tick;
+        this.slots = slots;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void schedule(UUID reservationId, LocalDateTime expiresAt) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            scheduleNow(reservationId, expiresAt);
+            return;
+        }
+        // Until the commit the expiry would not find the reservation
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                scheduleNow(reservationId, expiresAt);
+            }
+        });
+    }
+
+    private void scheduleNow(UUID reservationId, LocalDateTime expiresAt) {
+        TimerWheel<UUID> current = wheel;
+        if (current == null) {
+            // Picked up from the table when the wheel starts
+            return;
+        }
+        // One tick of slack, so the reservation has expired by the database clock too
+        current.schedule(reservationId, expiresAt.plus(tick).atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    @Override
+    public void start() {
+        wheel = new TimerWheel<>("reservation-expiry", tick, slots, batchSize, this::expire);
+        List<ReservationDeadline> deadlines = reservationRepository.findAllDeadlines();
+        deadlines.forEach(deadline -> scheduleNow(deadline.id(), deadline.expiresAt()));
+        log.info("Reservation expiry wheel started: {} open reservations scheduled", deadlines.size());
+    }
+
+    @Override
+    public void stop() {
+        TimerWheel<UUID> current = wheel;
+        wheel = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return wheel != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void expire(List<UUID> reservationIds) {
+        try {
+            long expired = reservationUseCase.getObject().expire(reservationIds);
+            log.debug("Reservation wheel expired {} of {} due reservations", expired, reservationIds.size());
+        } catch (RuntimeException e) {
+            // Rethrown so the wheel retries the batch on its next tick
+            log.error("Failed to expire {} reservations", reservationIds.size(), e);
+            throw e;
+        }
+    }
+}
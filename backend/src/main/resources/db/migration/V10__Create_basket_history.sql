@@ -0,0 +1,29 @@
+-- V10__Create_basket_history.sql
+-- Cold storage for finished baskets
+
+-- SOLD and DISPOSED baskets are moved here by the archival job, so basic_baskets only
+-- keeps baskets that can still change. Range partitioned by archival month: the job
+-- creates the partition of the month it archives in, and old history can be detached
+-- or dropped a month at a time instead of deleted row by row.
+CREATE TABLE basic_baskets_history (
+    id UUID NOT NULL,
+    validation_date DATE NOT NULL,
+    price DECIMAL(10, 2) NOT NULL CHECK (price >= 0),
+    status VARCHAR(20) NOT NULL CHECK (status IN ('SOLD', 'DISPOSED')),
+    delivery_box_id UUID,
+    sold_at TIMESTAMP,
+    disposed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    version BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, archived_at)
+) PARTITION BY RANGE (archived_at);
+
+-- Create indexes for performance
+CREATE INDEX idx_basket_history_sold_at_brin ON basic_baskets_history USING brin(sold_at);
+CREATE INDEX idx_basket_history_delivery_box_id ON basic_baskets_history(delivery_box_id);
+
+-- Create comments for documentation
+COMMENT ON TABLE basic_baskets_history IS 'Finished baskets moved out of basic_baskets, partitioned by archival month';
+COMMENT ON COLUMN basic_baskets_history.archived_at IS 'Timestamp when the basket was moved to the history';
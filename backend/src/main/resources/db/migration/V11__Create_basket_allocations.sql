@@ -0,0 +1,16 @@
+-- V11__Create_basket_allocations.sql
+-- Allocation log of the in-memory inventory engine (warehouse.inventory.storage=memory)
+
+-- Each sale allocated in memory is logged here in the sale transaction, together with
+-- the inventory counters. A background flusher applies the rows to basic_baskets in
+-- batches and deletes them in the same statement, so whatever is still here after a
+-- crash is exactly the set of committed sales that basic_baskets does not show yet.
+CREATE TABLE basket_allocations (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    basket_ids UUID[] NOT NULL CHECK (cardinality(basket_ids) > 0),
+    sold_at TIMESTAMP NOT NULL
+);
+
+-- Create comments for documentation
+COMMENT ON TABLE basket_allocations IS 'Sales allocated in memory and not yet applied to basic_baskets';
+COMMENT ON COLUMN basket_allocations.basket_ids IS 'Baskets sold by the allocation, to be marked SOLD';
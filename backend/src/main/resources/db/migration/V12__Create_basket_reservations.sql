@@ -0,0 +1,18 @@
+-- V12__Create_basket_reservations.sql
+-- Time-bounded reservations of available baskets
+
+-- Reserved baskets are RESERVED in basic_baskets and listed here; confirming a
+-- reservation sells them, releasing or expiring it makes them AVAILABLE again.
+-- Expiry is driven by an in-memory timer wheel; the table is only read at startup
+-- to schedule the reservations that are still open.
+CREATE TABLE basket_reservations (
+    id UUID PRIMARY KEY,
+    basket_ids UUID[] NOT NULL CHECK (cardinality(basket_ids) > 0),
+    reserved_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    CONSTRAINT check_reservation_expiry CHECK (expires_at > reserved_at)
+);
+
+-- Create comments for documentation
+COMMENT ON TABLE basket_reservations IS 'Open basket reservations, removed when confirmed, released or expired';
+COMMENT ON COLUMN basket_reservations.basket_ids IS 'Baskets held RESERVED by the reservation';
@@ -0,0 +1,8 @@
+-- V13__Add_fifo_selection_index.sql
+-- Index for selling baskets first in, first out
+
+-- Sellable baskets in receiving order: claimOldestAndMarkAsSold orders by (created_at, id)
+-- and stops after the requested quantity. Replaces the created_at B-tree dropped in V9,
+-- restricted to the baskets that can still be sold.
+CREATE INDEX idx_basket_available_created ON basic_baskets(created_at, id)
+    WHERE status = 'AVAILABLE';
@@ -0,0 +1,23 @@
+-- V14__Add_cart_totals.sql
+-- Cart totals kept on the cart row
+
+-- CarrinhoCompras updates both columns on every item change, so the total and the
+-- quantity of a cart can be read without loading its items
+ALTER TABLE carrinhos_compras
+    ADD COLUMN valor_total NUMERIC(12, 2) NOT NULL DEFAULT 0 CHECK (valor_total >= 0),
+    ADD COLUMN quantidade_total INTEGER NOT NULL DEFAULT 0 CHECK (quantidade_total >= 0);
+
+UPDATE carrinhos_compras c
+SET valor_total = t.valor_total,
+    quantidade_total = t.quantidade_total
+FROM (
+    SELECT carrinho_id,
+           SUM(preco_unitario * quantidade) AS valor_total,
+           SUM(quantidade) AS quantidade_total
+    FROM itens_carrinho
+    GROUP BY carrinho_id
+) t
+WHERE t.carrinho_id = c.id;
+
+COMMENT ON COLUMN carrinhos_compras.valor_total IS 'Soma dos subtotais dos itens do carrinho';
+COMMENT ON COLUMN carrinhos_compras.quantidade_total IS 'Soma das quantidades dos itens do carrinho';
@@ -0,0 +1,27 @@
+-- V15__Create_idempotency_keys.sql
+-- Responses of requests sent with an Idempotency-Key header
+
+-- A request claims its key with an IN_PROGRESS row and completes it with its response;
+-- retries with the same key get the stored response back. Rows are kept until
+-- expires_at and then deleted by the cleanup job.
+CREATE TABLE idempotency_keys (
+    client VARCHAR(100) NOT NULL,
+    scope VARCHAR(100) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash CHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    response_status INTEGER,
+    response_location TEXT,
+    response_body TEXT,
+    claimed_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (client, scope, idempotency_key),
+    CONSTRAINT check_idempotency_status CHECK (status IN ('IN_PROGRESS', 'COMPLETED'))
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
+
+-- Create comments for documentation
+COMMENT ON TABLE idempotency_keys IS 'Stored responses of idempotent requests, by client, operation and key';
+COMMENT ON COLUMN idempotency_keys.client IS 'Authenticated user that sent the key, empty when anonymous';
+COMMENT ON COLUMN idempotency_keys.request_hash IS 'SHA-256 of the request, to reject a key reused for another request';
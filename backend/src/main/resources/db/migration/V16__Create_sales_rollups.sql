@@ -0,0 +1,21 @@
+-- V16__Create_sales_rollups.sql
+-- Pre-aggregated sales per minute and per hour
+
+-- Fed by the BasketsSoldEvent consumer: events are folded into buckets in memory
+-- and added to these rows with upserts, so sales curves are read from a few rows
+-- per period instead of scanning basic_baskets. Bucket starts are UTC.
+CREATE TABLE sales_rollups (
+    resolution VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    quantity BIGINT NOT NULL DEFAULT 0,
+    revenue DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    sales BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (resolution, bucket_start),
+    CONSTRAINT check_sales_rollup_resolution CHECK (resolution IN ('MINUTE', 'HOUR'))
+);
+
+-- Create comments for documentation
+COMMENT ON TABLE sales_rollups IS 'Baskets sold and revenue per minute and per hour, from BasketsSoldEvent';
+COMMENT ON COLUMN sales_rollups.bucket_start IS 'UTC start of the minute or hour';
+COMMENT ON COLUMN sales_rollups.sales IS 'Number of sale events in the bucket';
@@ -0,0 +1,27 @@
+-- V17__Create_event_outbox.sql
+-- Domain events waiting to be published to RabbitMQ
+
+-- Events are inserted in the transaction that raised them, so they are published if and
+-- only if it commits. The relay claims due rows with FOR UPDATE SKIP LOCKED, publishes
+-- them with publisher confirms and deletes the confirmed ones; the others are retried
+-- at next_attempt_at.
+CREATE TABLE event_outbox (
+    id UUID PRIMARY KEY,
+    exchange VARCHAR(100) NOT NULL,
+    routing_key VARCHAR(100) NOT NULL,
+    type_id VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error TEXT
+);
+
+CREATE INDEX idx_event_outbox_next_attempt ON event_outbox(next_attempt_at, id);
+
+-- Create comments for documentation
+COMMENT ON TABLE event_outbox IS 'Domain events committed with their transaction and not yet confirmed by RabbitMQ';
+COMMENT ON COLUMN event_outbox.id IS 'Time-ordered id, also sent as the message id';
+COMMENT ON COLUMN event_outbox.type_id IS 'Java type of the event, sent in the __TypeId__ header';
+COMMENT ON COLUMN event_outbox.payload IS 'JSON body of the message';
+COMMENT ON COLUMN event_outbox.attempts IS 'Failed publish attempts so far';
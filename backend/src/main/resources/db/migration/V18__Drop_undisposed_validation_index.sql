@@ -0,0 +1,4 @@
+-- V18__Drop_undisposed_validation_index.sql
+-- Expired baskets are now only those still awaiting disposal (AVAILABLE or RESERVED);
+-- countExpiredBaskets reads idx_basket_disposable, which leaves the sold baskets out.
+DROP INDEX IF EXISTS idx_basket_undisposed_validation;
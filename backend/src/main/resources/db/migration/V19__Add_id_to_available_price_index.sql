@@ -0,0 +1,8 @@
+-- V19__Add_id_to_available_price_index.sql
+-- claimCheapestAndMarkAsSold orders by (price, validation_date, id) so that baskets of
+-- the same price and date are claimed in a stable order; the index follows suit and
+-- still serves findCheapestAvailableBaskets, which only reads its leading columns.
+DROP INDEX IF EXISTS idx_basket_available_price;
+
+CREATE INDEX idx_basket_available_price ON basic_baskets(price, validation_date, id)
+    WHERE status = 'AVAILABLE';
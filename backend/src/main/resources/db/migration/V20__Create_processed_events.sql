@@ -0,0 +1,19 @@
+-- V20__Create_processed_events.sql
+-- Events already handled by a consumer, to skip them when the broker redelivers them
+
+-- A consumer inserts the ids of a batch in the transaction that applies it and only
+-- applies the events whose insert went through, so a batch redelivered after its
+-- transaction committed (the ack was lost) changes nothing. Rows are deleted by the
+-- cleanup job once no redelivery is expected.
+CREATE TABLE processed_events (
+    consumer VARCHAR(50) NOT NULL,
+    event_id UUID NOT NULL,
+    processed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (consumer, event_id)
+);
+
+CREATE INDEX idx_processed_events_processed_at ON processed_events(processed_at);
+
+-- Create comments for documentation
+COMMENT ON TABLE processed_events IS 'Ids of the events each consumer has applied, to drop redeliveries';
+COMMENT ON COLUMN processed_events.consumer IS 'Consumer that applied the event, e.g. sales-rollup';
@@ -0,0 +1,7 @@
+-- V21__Index_reservation_expiry.sql
+-- Overdue reservations for the expiry sweep
+
+-- The timer wheel only holds the reservations made by a running instance, or open
+-- when it started. The sweep job expires the rest by reading this index from its
+-- start up to the current time.
+CREATE INDEX idx_basket_reservations_expires_at ON basket_reservations(expires_at);
@@ -0,0 +1,52 @@
+-- V7__Create_inventory_counters.sql
+-- Incrementally maintained inventory and revenue counters
+
+-- Counters are striped over a fixed number of slots: every write adds its delta
+-- to one slot and readers sum all of them, so concurrent sales do not queue on a
+-- single hot row. The number of rows must match InventoryCounterSlot.SLOTS.
+CREATE TABLE inventory_counters (
+    slot SMALLINT PRIMARY KEY,
+    total_baskets BIGINT NOT NULL DEFAULT 0,
+    available_baskets BIGINT NOT NULL DEFAULT 0,
+    sold_baskets BIGINT NOT NULL DEFAULT 0,
+    disposed_baskets BIGINT NOT NULL DEFAULT 0,
+    reserved_baskets BIGINT NOT NULL DEFAULT 0,
+    available_value DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    revenue DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    cost DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO inventory_counters (slot)
+SELECT g FROM generate_series(0, 15) g;
+
+-- Seed slot 0 with the current state of the base tables
+UPDATE inventory_counters c
+SET total_baskets = s.total_baskets,
+    available_baskets = s.available_baskets,
+    sold_baskets = s.sold_baskets,
+    disposed_baskets = s.disposed_baskets,
+    reserved_baskets = s.reserved_baskets,
+    available_value = s.available_value,
+    revenue = s.revenue,
+    cost = s.cost
+FROM (
+    SELECT COUNT(*) AS total_baskets,
+           COUNT(*) FILTER (WHERE b.status = 'AVAILABLE') AS available_baskets,
+           COUNT(*) FILTER (WHERE b.status = 'SOLD') AS sold_baskets,
+           COUNT(*) FILTER (WHERE b.status = 'DISPOSED') AS disposed_baskets,
+           COUNT(*) FILTER (WHERE b.status = 'RESERVED') AS reserved_baskets,
+           COALESCE(SUM(b.price) FILTER (WHERE b.status = 'AVAILABLE'), 0) AS available_value,
+           COALESCE(SUM(b.price) FILTER (WHERE b.status = 'SOLD'), 0) AS revenue,
+           COALESCE(SUM(d.unit_cost) FILTER (WHERE b.status = 'SOLD'), 0) AS cost
+    FROM basic_baskets b
+    LEFT JOIN delivery_boxes d ON d.id = b.delivery_box_id
+) s
+WHERE c.slot = 0;
+
+-- Create comments for documentation
+COMMENT ON TABLE inventory_counters IS 'Striped running totals of basic_baskets; the sum over all slots is the current value';
+COMMENT ON COLUMN inventory_counters.slot IS 'Stripe number; writers pick one at random';
+COMMENT ON COLUMN inventory_counters.available_value IS 'Sum of the price of AVAILABLE baskets';
+COMMENT ON COLUMN inventory_counters.revenue IS 'Sum of the price of SOLD baskets';
+COMMENT ON COLUMN inventory_counters.cost IS 'Sum of the delivery unit cost of SOLD baskets';
@@ -0,0 +1,48 @@
+-- V8__Create_inventory_lots.sql
+-- Lot-based inventory storage (warehouse.inventory.storage=lots)
+
+-- One row per delivery instead of one row per basket: every basket of a delivery
+-- shares its price and validation date, so the lot only keeps a quantity per status.
+CREATE TABLE inventory_lots (
+    delivery_box_id UUID PRIMARY KEY,
+    validation_date DATE NOT NULL,
+    price DECIMAL(10, 2) NOT NULL CHECK (price >= 0),
+    unit_cost DECIMAL(10, 2) NOT NULL CHECK (unit_cost >= 0),
+    total_quantity BIGINT NOT NULL CHECK (total_quantity > 0),
+    available_quantity BIGINT NOT NULL CHECK (available_quantity >= 0),
+    sold_quantity BIGINT NOT NULL DEFAULT 0 CHECK (sold_quantity >= 0),
+    disposed_quantity BIGINT NOT NULL DEFAULT 0 CHECK (disposed_quantity >= 0),
+    reserved_quantity BIGINT NOT NULL DEFAULT 0 CHECK (reserved_quantity >= 0),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_lot_delivery_box FOREIGN KEY (delivery_box_id)
+        REFERENCES delivery_boxes(id) ON DELETE CASCADE,
+    CONSTRAINT check_lot_quantities CHECK (
+        available_quantity + sold_quantity + disposed_quantity + reserved_quantity = total_quantity)
+);
+
+-- Sales ledger: one row per lot and sale, so period reports do not need unit rows
+CREATE TABLE lot_sales (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    delivery_box_id UUID NOT NULL,
+    quantity BIGINT NOT NULL CHECK (quantity > 0),
+    revenue DECIMAL(19, 2) NOT NULL,
+    cost DECIMAL(19, 2) NOT NULL,
+    sold_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_lot_sale_lot FOREIGN KEY (delivery_box_id)
+        REFERENCES inventory_lots(delivery_box_id) ON DELETE CASCADE
+);
+
+-- Create indexes for performance
+CREATE INDEX idx_lot_sellable ON inventory_lots(validation_date, delivery_box_id) WHERE available_quantity > 0;
+CREATE INDEX idx_lot_disposable ON inventory_lots(validation_date, delivery_box_id)
+    WHERE available_quantity > 0 OR reserved_quantity > 0;
+CREATE INDEX idx_lot_sales_sold_at ON lot_sales(sold_at);
+
+-- Create comments for documentation
+COMMENT ON TABLE inventory_lots IS 'Basket inventory kept as one counter row per delivery';
+COMMENT ON TABLE lot_sales IS 'Baskets sold from each lot, per sale';
+
+COMMENT ON COLUMN inventory_lots.available_quantity IS 'Baskets of the lot that can still be sold or disposed';
+COMMENT ON COLUMN lot_sales.cost IS 'Delivery unit cost times quantity';
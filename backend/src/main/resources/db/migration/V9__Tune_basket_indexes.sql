@@ -0,0 +1,31 @@
+-- V9__Tune_basket_indexes.sql
+-- Partial and covering indexes for the hot basket queries
+
+-- Sellable baskets in FEFO order: findAvailableBaskets, countAvailableBaskets (index-only)
+-- and the claim in claimAndMarkAsSold, which orders by (validation_date, id)
+CREATE INDEX idx_basket_available_validation ON basic_baskets(validation_date, id)
+    WHERE status = 'AVAILABLE';
+
+-- Cheapest sellable baskets: findCheapestAvailableBaskets reads the index in price order
+-- and checks validation_date without visiting expired rows in the heap
+CREATE INDEX idx_basket_available_price ON basic_baskets(price, validation_date)
+    WHERE status = 'AVAILABLE';
+
+-- Baskets not yet disposed by validation date: countExpiredBaskets is an index-only scan.
+-- Only the date is indexed so B-tree deduplication keeps the index small even though
+-- it covers every sold basket.
+CREATE INDEX idx_basket_undisposed_validation ON basic_baskets(validation_date)
+    WHERE status <> 'DISPOSED';
+
+-- Baskets that disposal can still pick up, in the (validation_date, id) keyset order
+-- of disposeExpiredChunk
+CREATE INDEX idx_basket_disposable ON basic_baskets(validation_date, id)
+    WHERE status IN ('AVAILABLE', 'RESERVED');
+
+-- Timestamps follow insertion order, so block range indexes are enough for the period
+-- reports and take a fraction of the space of a B-tree
+CREATE INDEX idx_basket_sold_at_brin ON basic_baskets USING brin(sold_at);
+CREATE INDEX idx_basket_created_at_brin ON basic_baskets USING brin(created_at);
+
+-- Superseded by idx_basket_created_at_brin; nothing orders baskets by creation time
+DROP INDEX IF EXISTS idx_basket_created_at;
@@ -0,0 +1,115 @@
+package br.com.dio.shared.identity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for TimeOrderedIdGenerator
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("TimeOrderedIdGenerator Unit Tests")
+class TimeOrderedIdGeneratorTest {
+    
+    /**
+     * Byte order used by PostgreSQL (and B-tree indexes) to compare uuid values
+     */
+    private static final Comparator<UUID> UNSIGNED_ORDER = Comparator
+            .comparing((UUID id) -> id.getMostSignificantBits(), Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+    
+    private final TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator();
+    
+    @Test
+    @DisplayName("Should generate version 7 UUIDs with the IETF variant")
+    void shouldGenerateVersion7Uuids() {
+        // When
+        UUID id = generator.nextId();
+        
+        // Then
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+    
+    @Test
+    @DisplayName("Should embed the current Unix time in milliseconds")
+    void shouldEmbedCurrentTime() {
+        // Given
+        long before = System.currentTimeMillis();
+        
+        // When
+        UUID id = generator.nextId();
+        
+        // Then
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        assertThat(timestamp).isBetween(before, System.currentTimeMillis() + 1);
+    }
+    
+    @Test
+    @DisplayName("Should generate strictly increasing ids within one millisecond")
+    void shouldGenerateStrictlyIncreasingIds() {
+        // Given
+        UUID[] ids = new UUID[100_000];
+        
+        // When
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = generator.nextId();
+        }
+        
+        // Then
+        for (int i = 1; i < ids.length; i++) {
+            assertThat(UNSIGNED_ORDER.compare(ids[i - 1], ids[i])).isNegative();
+        }
+    }
+    
+    @Test
+    @DisplayName("Should generate unique, per-thread increasing ids across threads")
+    void shouldGenerateUniqueIdsAcrossThreads() throws Exception {
+        // Given
+        int threads = 8;
+        int idsPerThread = 50_000;
+        Set<UUID> allIds = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Boolean>> workers = new ArrayList<>();
+        
+        // When
+        for (int t = 0; t < threads; t++) {
+            workers.add(executor.submit(() -> {
+                UUID[] ids = new UUID[idsPerThread];
+                for (int i = 0; i < idsPerThread; i++) {
+                    ids[i] = generator.nextId();
+                }
+                allIds.addAll(Arrays.asList(ids));
+                for (int i = 1; i < idsPerThread; i++) {
+                    if (UNSIGNED_ORDER.compare(ids[i - 1], ids[i]) >= 0) {
+                        return false;
+                    }
+                }
+                return true;
+            }));
+        }
+        
+        // Then
+        for (Future<Boolean> worker : workers) {
+            assertThat(worker.get(1, TimeUnit.MINUTES)).isTrue();
+        }
+        executor.shutdown();
+        assertThat(allIds).hasSize(threads * idsPerThread);
+    }
+}
@@ -0,0 +1,134 @@
+package br.com.dio.shared.timer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for TimerWheel
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("TimerWheel Unit Tests")
+class TimerWheelTest {
+    
+    private static final Duration TICK = Duration.ofMillis(10);
+    
+    @Test
+    @DisplayName("Should expire items no earlier than their deadline")
+    void shouldExpireItemsAtTheirDeadline() throws Exception {
+        // Given
+        Map<Integer, Instant> expiredAt = new ConcurrentHashMap<>();
+        Instant start = Instant.now();
+        
+        try (TimerWheel<Integer> wheel = new TimerWheel<>("test-wheel", TICK, 8, 100,
+                batch -> batch.forEach(item -> expiredAt.put(item, Instant.now())))) {
+            // When: deadlines well beyond one turn of the wheel (8 x 10 ms)
+            for (int i = 1; i <= 20; i++) {
+                wheel.schedule(i, start.plusMillis(i * 15L));
+            }
+            waitUntil(() -> expiredAt.size() == 20);
+        }
+        
+        // Then
+        for (int i = 1; i <= 20; i++) {
+            assertThat(expiredAt.get(i)).isAfterOrEqualTo(start.plusMillis(i * 15L));
+        }
+    }
+    
+    @Test
+    @DisplayName("Should deliver items due in the same tick together, in bounded batches")
+    void shouldDeliverDueItemsInBoundedBatches() throws Exception {
+        // Given
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        Instant deadline = Instant.now().plusMillis(50);
+        
+        try (TimerWheel<Integer> wheel = new TimerWheel<>("test-wheel", TICK, 16, 40, batches::add)) {
+            // When
+            for (int i = 0; i < 100; i++) {
+                wheel.schedule(i, deadline);
+            }
+            waitUntil(() -> batches.stream().mapToInt(List::size).sum() == 100);
+        }
+        
+        // Then
+        // Clock jitter may split the items over two ticks, never into more batches than that allows
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(40));
+        assertThat(batches).hasSizeBetween(3, 4);
+        List<Integer> delivered = new ArrayList<>();
+        batches.forEach(delivered::addAll);
+        assertThat(delivered).doesNotHaveDuplicates().hasSize(100);
+    }
+    
+    @Test
+    @DisplayName("Should expire past deadlines on the next tick")
+    void shouldExpirePastDeadlinesRightAway() throws Exception {
+        // Given
+        BlockingQueue<String> expired = new LinkedBlockingQueue<>();
+        
+        try (TimerWheel<String> wheel = new TimerWheel<>("test-wheel", TICK, 4, 10, expired::addAll)) {
+            // When
+            wheel.schedule("late", Instant.now().minusSeconds(60));
+            
+            // Then
+            assertThat(expired.poll(1, TimeUnit.SECONDS)).isEqualTo("late");
+        }
+    }
+    
+    @Test
+    @DisplayName("Should retry a batch whose callback failed")
+    void shouldRetryFailedBatches() throws Exception {
+        // Given
+        AtomicBoolean failed = new AtomicBoolean();
+        BlockingQueue<String> expired = new LinkedBlockingQueue<>();
+        
+        try (TimerWheel<String> wheel = new TimerWheel<>("test-wheel", TICK, 4, 10, batch -> {
+            if (failed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            expired.addAll(batch);
+        })) {
+            // When
+            wheel.schedule("reservation", Instant.now());
+            
+            // Then
+            assertThat(expired.poll(1, TimeUnit.SECONDS)).isEqualTo("reservation");
+            assertThat(failed).isTrue();
+        }
+    }
+    
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void shouldRejectInvalidSettings() {
+        assertThatThrownBy(() -> new TimerWheel<>("test-wheel", Duration.ZERO, 8, 10, batch -> {}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimerWheel<>("test-wheel", TICK, 0, 10, batch -> {}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimerWheel<>("test-wheel", TICK, 8, 0, batch -> {}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package br.com.dio.storefront.domain.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.com.dio.storefront.domain.valueobject.Dinheiro;
+
+/**
+ * Unit tests for the totals CarrinhoCompras keeps up to date
+ *
+ * After every change the stored total and quantity must equal the sum over the
+ * items, which is what calcularTotal() used to compute on each read.
+ *
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("CarrinhoCompras Unit Tests")
+class CarrinhoComprasTest {
+
+    private Produto arroz;
+    private Produto feijao;
+    private CarrinhoCompras carrinho;
+
+    @BeforeEach
+    void criarCarrinho() {
+        arroz = Produto.criar("Arroz 5kg", null, Dinheiro.de(new BigDecimal("24.90")), 100, "Grãos", null);
+        feijao = Produto.criar("Feijão 1kg", null, Dinheiro.de(new BigDecimal("8.75")), 100, "Grãos", null);
+        carrinho = CarrinhoCompras.criar(
+                Cliente.criar("Ana Souza", "ana@example.com", "52998224725", "11999990000", null));
+    }
+
+    @Test
+    @DisplayName("Should start with zero totals")
+    void shouldStartEmpty() {
+        assertThat(carrinho.calcularTotal().getValor()).isEqualByComparingTo("0.00");
+        assertThat(carrinho.calcularQuantidadeTotal()).isZero();
+        assertTotalsMatchItems();
+    }
+
+    @Test
+    @DisplayName("Should add the subtotal of each new product")
+    void shouldAddProducts() {
+        // When
+        carrinho.adicionarProduto(arroz, 2);
+        carrinho.adicionarProduto(feijao, 3);
+
+        // Then: 2 x 24.90 + 3 x 8.75
+        assertThat(carrinho.getItens()).hasSize(2);
+        assertThat(carrinho.calcularTotal().getValor()).isEqualByComparingTo("76.05");
+        assertThat(carrinho.calcularQuantidadeTotal()).isEqualTo(5);
+        assertTotalsMatchItems();
+    }
+
+    @Test
+    @DisplayName("Should add to the existing item when a product is added again")
+    void shouldReAddProduct() {
+        // When
+        carrinho.adicionarProduto(arroz, 2);
+        carrinho.adicionarProduto(arroz, 1);
+
+        // Then
+        assertThat(carrinho.getItens()).singleElement()
+                .satisfies(item -> assertThat(item.getQuantidade()).isEqualTo(3));
+        assertThat(carrinho.calcularTotal().getValor()).isEqualByComparingTo("74.70");
+        assertThat(carrinho.calcularQuantidadeTotal()).isEqualTo(3);
+        assertTotalsMatchItems();
+    }
+
+    @Test
+    @DisplayName("Should replace the item's share of the totals when its quantity changes")
+    void shouldUpdateQuantity() {
+        // Given
+        carrinho.adicionarProduto(arroz, 2);
+        carrinho.adicionarProduto(feijao, 3);
+
+        // When
+        carrinho.atualizarQuantidade(feijao.getId(), 1);
+
+        // Then: 2 x 24.90 + 1 x 8.75
+        assertThat(carrinho.calcularTotal().getValor()).isEqualByComparingTo("58.55");
+        assertThat(carrinho.calcularQuantidadeTotal()).isEqualTo(3);
+        assertTotalsMatchItems();
+    }
+
+    @Test
+    @DisplayName("Should remove the item when its quantity is set to zero")
+    void shouldRemoveItemOnZeroQuantity() {
+        // Given
+        carrinho.adicionarProduto(arroz, 2);
+        carrinho.adicionarProduto(feijao, 3);
+
+        // When
+        carrinho.atualizarQuantidade(arroz.getId(), 0);
+
+        // Then
+        assertThat(carrinho.getItens()).extracting(ItemCarrinho::getProduto).containsExactly(feijao);
+        assertThat(carrinho.calcularTotal().getValor()).isEqualByComparingTo("26.25");
+        assertThat(carrinho.calcularQuantidadeTotal()).isEqualTo(3);
+        assertTotalsMatchItems();
+    }
+
+    @Test
+    @DisplayName("Should subtract a removed product and accept it again afterwards")
+    void shouldRemoveProduct() {
+        // Given
+        carrinho.adicionarProduto(arroz, 2);
+        carrinho.adicionarProduto(feijao, 3);
+
+        // When
+        carrinho.removerProduto(arroz.getId());
+
+        // Then
+        assertThat(carrinho.calcularTotal().getValor()).isEqualByComparingTo("26.25");
+        assertThat(carrinho.calcularQuantidadeTotal()).isEqualTo(3);
+        assertTotalsMatchItems();
+        assertThatThrownBy(() -> carrinho.removerProduto(arroz.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        carrinho.adicionarProduto(arroz, 1);
+        assertThat(carrinho.calcularTotal().getValor()).isEqualByComparingTo("51.15");
+        assertTotalsMatchItems();
+    }
+
+    @Test
+    @DisplayName("Should reset the totals when the cart is cleared")
+    void shouldClear() {
+        // Given
+        carrinho.adicionarProduto(arroz, 2);
+        carrinho.adicionarProduto(feijao, 3);
+
+        // When
+        carrinho.limpar();
+
+        // Then
+        assertThat(carrinho.estaVazio()).isTrue();
+        assertThat(carrinho.calcularTotal().getValor()).isEqualByComparingTo("0.00");
+        assertThat(carrinho.calcularQuantidadeTotal()).isZero();
+
+        carrinho.adicionarProduto(feijao, 2);
+        assertThat(carrinho.calcularTotal().getValor()).isEqualByComparingTo("17.50");
+        assertTotalsMatchItems();
+    }
+
+    @Test
+    @DisplayName("Should move the totals to the new prices when prices are refreshed")
+    void shouldRefreshPrices() {
+        // Given
+        carrinho.adicionarProduto(arroz, 2);
+        carrinho.adicionarProduto(feijao, 3);
+        arroz.atualizar(arroz.getNome(), null, Dinheiro.de(new BigDecimal("19.99")), "Grãos", null);
+
+        // When
+        carrinho.atualizarPrecos();
+
+        // Then: 2 x 19.99 + 3 x 8.75, quantities unchanged
+        assertThat(carrinho.calcularTotal().getValor()).isEqualByComparingTo("66.23");
+        assertThat(carrinho.calcularQuantidadeTotal()).isEqualTo(5);
+        assertTotalsMatchItems();
+    }
+
+    private void assertTotalsMatchItems() {
+        BigDecimal total = carrinho.getItens().stream()
+                .map(item -> item.calcularSubtotal().getValor())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        int quantidade = carrinho.getItens().stream().mapToInt(ItemCarrinho::getQuantidade).sum();
+
+        assertThat(carrinho.calcularTotal().getValor()).isEqualByComparingTo(total);
+        assertThat(carrinho.calcularQuantidadeTotal()).isEqualTo(quantidade);
+    }
+}
@@ -0,0 +1,205 @@
+package br.com.dio.storefront.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import br.com.dio.storefront.application.port.in.AdicionarProdutoAoCarrinhoUseCase;
+import br.com.dio.storefront.application.port.in.AdicionarProdutoAoCarrinhoUseCase.AdicionarProdutoCommand;
+import br.com.dio.storefront.application.port.in.AtualizarQuantidadeCarrinhoUseCase;
+import br.com.dio.storefront.application.port.in.AtualizarQuantidadeCarrinhoUseCase.AtualizarQuantidadeCommand;
+import br.com.dio.storefront.application.port.in.RemoverProdutoDoCarrinhoUseCase;
+import br.com.dio.storefront.application.port.in.RemoverProdutoDoCarrinhoUseCase.RemoverProdutoCommand;
+import br.com.dio.warehouse.WarehouseApplication;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+import br.com.dio.warehouse.support.CapturingStatementInspector;
+
+/**
+ * Integration tests for the cart totals stored on the carrinhos_compras row
+ *
+ * The client and the products are inserted directly; the cart is created and changed
+ * through the use cases and the stored valor_total and quantidade_total are checked
+ * against the itens_carrinho rows. The application class lives in the
+ * warehouse package, so it is named explicitly.
+ *
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Carrinho Totais Tests")
+@AutoConfigureMockMvc
+@ContextConfiguration(classes = WarehouseApplication.class)
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "br.com.dio.warehouse.support.CapturingStatementInspector")
+class CarrinhoTotaisTest extends AbstractPostgresIntegrationTest {
+
+    private static final String EMAIL = "carrinho.totais@example.com";
+    private static final String CATEGORIA = "teste-carrinho-totais";
+
+    @Autowired
+    private AdicionarProdutoAoCarrinhoUseCase adicionarProdutoUseCase;
+
+    @Autowired
+    private RemoverProdutoDoCarrinhoUseCase removerProdutoUseCase;
+
+    @Autowired
+    private AtualizarQuantidadeCarrinhoUseCase atualizarQuantidadeUseCase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private UUID clienteId;
+    private UUID arrozId;
+    private UUID feijaoId;
+
+    @BeforeEach
+    void seedClienteEProdutos() {
+        // Deleting the client cascades to its carts and their items
+        jdbcTemplate.update("DELETE FROM clientes WHERE email = ?", EMAIL);
+        jdbcTemplate.update("DELETE FROM produtos WHERE categoria = ?", CATEGORIA);
+        clienteId = jdbcTemplate.queryForObject("""
+                INSERT INTO clientes (nome, email, cpf, telefone, ativo)
+                VALUES ('Ana Souza', ?, '52998224725', '11999990000', true)
+                RETURNING id
+                """, UUID.class, EMAIL);
+        arrozId = produto("Arroz 5kg", "24.90");
+        feijaoId = produto("Feijão 1kg", "8.75");
+    }
+
+    @Test
+    @DisplayName("Should delete the rows of removed items and keep the stored totals in step")
+    void shouldDeleteOrphanItems() {
+        // Given
+        adicionarProdutoUseCase.adicionar(new AdicionarProdutoCommand(clienteId, arrozId, 2));
+        adicionarProdutoUseCase.adicionar(new AdicionarProdutoCommand(clienteId, feijaoId, 3));
+        adicionarProdutoUseCase.adicionar(new AdicionarProdutoCommand(clienteId, feijaoId, 1));
+        assertThat(itemRows()).isEqualTo(2L);
+
+        // When
+        removerProdutoUseCase.remover(new RemoverProdutoCommand(clienteId, arrozId));
+
+        // Then
+        assertThat(itemRows()).isEqualTo(1L);
+        assertStoredTotalsMatchItemRows("35.00", 4);
+
+        // When: a quantity of zero removes the item too
+        atualizarQuantidadeUseCase.atualizar(new AtualizarQuantidadeCommand(clienteId, feijaoId, 0));
+
+        // Then
+        assertThat(itemRows()).isZero();
+        assertStoredTotalsMatchItemRows("0.00", 0);
+    }
+
+    @Test
+    @DisplayName("Should keep every concurrent change of the same cart in the stored totals")
+    void shouldNotLoseConcurrentChanges() throws Exception {
+        // Given
+        adicionarProdutoUseCase.adicionar(new AdicionarProdutoCommand(clienteId, arrozId, 1));
+        int threads = 8;
+        int addsPerThread = 5;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> changes = new ArrayList<>();
+
+        // When: each thread adds one unit at a time, half of them to each product
+        for (int i = 0; i < threads; i++) {
+            UUID produtoId = i % 2 == 0 ? arrozId : feijaoId;
+            changes.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < addsPerThread; j++) {
+                    adicionarProdutoUseCase.adicionar(new AdicionarProdutoCommand(clienteId, produtoId, 1));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> change : changes) {
+            change.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        // Then: 21 units of rice and 20 of beans
+        assertStoredTotalsMatchItemRows("697.90", 41);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /carrinho/resumo should return the stored totals without reading the items")
+    void shouldSummarizeFromTheCartRow() throws Exception {
+        // Given
+        adicionarProdutoUseCase.adicionar(new AdicionarProdutoCommand(clienteId, arrozId, 2));
+        adicionarProdutoUseCase.adicionar(new AdicionarProdutoCommand(clienteId, feijaoId, 3));
+        atualizarQuantidadeUseCase.atualizar(new AtualizarQuantidadeCommand(clienteId, feijaoId, 1));
+        assertStoredTotalsMatchItemRows("58.55", 3);
+        CapturingStatementInspector.clear();
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/clientes/{clienteId}/carrinho/resumo", clienteId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clienteId").value(clienteId.toString()))
+                .andExpect(jsonPath("$.quantidadeTotal").value(3))
+                .andExpect(jsonPath("$.valorTotal.valor").value(58.55));
+
+        String sql = CapturingStatementInspector.firstStatement();
+        assertThat(sql).contains("carrinhos_compras").doesNotContain("itens_carrinho");
+    }
+
+    private UUID produto(String nome, String preco) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO produtos (nome, preco, quantidade_estoque, categoria)
+                VALUES (?, ?::numeric, 100, ?)
+                RETURNING id
+                """, UUID.class, nome, preco, CATEGORIA);
+    }
+
+    private Long itemRows() {
+        return jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM itens_carrinho i
+                JOIN carrinhos_compras c ON c.id = i.carrinho_id
+                WHERE c.cliente_id = ?
+                """, Long.class, clienteId);
+    }
+
+    private void assertStoredTotalsMatchItemRows(String valorTotal, int quantidadeTotal) {
+        Map<String, Object> row = jdbcTemplate.queryForMap("""
+                SELECT c.valor_total, c.quantidade_total,
+                       COALESCE(SUM(i.quantidade * i.preco_unitario), 0) AS soma_valor,
+                       COALESCE(SUM(i.quantidade), 0) AS soma_quantidade
+                FROM carrinhos_compras c
+                LEFT JOIN itens_carrinho i ON i.carrinho_id = c.id
+                WHERE c.cliente_id = ? AND c.status = 'ATIVO'
+                GROUP BY c.id
+                """, clienteId);
+        assertThat((BigDecimal) row.get("valor_total")).isEqualByComparingTo(valorTotal)
+                .isEqualByComparingTo((BigDecimal) row.get("soma_valor"));
+        assertThat(((Number) row.get("quantidade_total")).intValue()).isEqualTo(quantidadeTotal)
+                .isEqualTo(((Number) row.get("soma_quantidade")).intValue());
+    }
+}
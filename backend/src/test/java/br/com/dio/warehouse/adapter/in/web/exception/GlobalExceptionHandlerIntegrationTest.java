@@ -27,14 +27,11 @@ import java.util.UUID;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.context.TestConfiguration;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Primary;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -50,21 +47,6 @@ import br.com.dio.warehouse.domain.exception.InsufficientStockException;
 @Disabled("Temporarily disabled until all application components are implemented")
 class GlobalExceptionHandlerIntegrationTest {
     
-    @TestConfiguration
-    static class TestConfig {
-        @Bean
-        @Primary
-        public ReceiveDeliveryUseCase receiveDeliveryUseCase() {
-            return Mockito.mock(ReceiveDeliveryUseCase.class);
-        }
-        
-        @Bean
-        @Primary
-        public SellBasketsUseCase sellBasketsUseCase() {
-            return Mockito.mock(SellBasketsUseCase.class);
-        }
-    }
-    
     @Autowired
     private MockMvc mockMvc;
     
@@ -72,10 +54,10 @@ class GlobalExceptionHandlerIntegrationTest {
     private ObjectMapper objectMapper;
     
     @SuppressWarnings("unused")
-    @Autowired
+    @MockitoBean
     private ReceiveDeliveryUseCase receiveDeliveryUseCase;
     
-    @Autowired
+    @MockitoBean
     private SellBasketsUseCase sellBasketsUseCase;
     
     // ========== Domain Exception Integration Tests ==========
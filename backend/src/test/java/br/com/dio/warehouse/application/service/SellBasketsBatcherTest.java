@@ -0,0 +1,152 @@
+package br.com.dio.warehouse.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase.SellBasketsCommand;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase.SellBasketsResult;
+import br.com.dio.warehouse.domain.exception.BusinessRuleViolationException;
+import br.com.dio.warehouse.domain.valueobject.SelectionStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for the failure paths of SellBasketsBatcher
+ *
+ * The sales engine is a mock, so the tests only check that no caller is left waiting.
+ *
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("SellBasketsBatcher Unit Tests")
+class SellBasketsBatcherTest {
+
+    private final BasketSalesEngine salesEngine = mock(BasketSalesEngine.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SellBasketsBatcher batcher;
+
+    @AfterEach
+    void stopBatcher() {
+        release.countDown();
+        if (batcher != null) {
+            batcher.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject sales once the batcher has stopped")
+    void shouldRejectSalesAfterStop() {
+        // Given
+        batcher = start(Duration.ofSeconds(5));
+        batcher.stop();
+
+        // When / Then
+        assertThatThrownBy(() -> batcher.sell(new SellBasketsCommand(1L)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(batcher.isRunning()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should give up on a sale after the timeout instead of waiting forever")
+    void shouldTimeOutWhileTheBatchIsStuck() {
+        // Given: the engine does not return until the test ends
+        when(salesEngine.sellAll(anyList())).thenAnswer(_ -> {
+            release.await(10, TimeUnit.SECONDS);
+            return List.of(new SellBasketsResult(List.of(), 1L, "sold"));
+        });
+        batcher = start(Duration.ofMillis(200));
+
+        // When / Then
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> batcher.sell(new SellBasketsCommand(1L)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("timeout");
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Should fail the sale and the queued ones when the writer dies")
+    void shouldFailSalesWhenTheWriterDies() throws Exception {
+        // Given: an Error escapes the engine
+        when(salesEngine.sellAll(anyList())).thenThrow(new OutOfMemoryError("stand-in"));
+        batcher = start(Duration.ofSeconds(5));
+
+        // When
+        CompletableFuture<Throwable> failure = CompletableFuture.supplyAsync(() -> {
+            try {
+                batcher.sell(new SellBasketsCommand(1L));
+                return null;
+            } catch (RuntimeException e) {
+                return e;
+            }
+        });
+
+        // Then: the writer stops right after failing the batch
+        assertThat(failure.get(2, TimeUnit.SECONDS)).isInstanceOf(IllegalStateException.class);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (batcher.isRunning() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(batcher.isRunning()).isFalse();
+        assertThatThrownBy(() -> batcher.sell(new SellBasketsCommand(1L)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should sell the rest of the batch when the storage rejects one command")
+    void shouldSellOthersWhenOneCommandIsRejected() throws Exception {
+        // Given: the storage rejects CHEAPEST sales, alone or within a batch
+        when(salesEngine.sellAll(anyList())).thenAnswer(invocation -> {
+            List<SellBasketsCommand> commands = invocation.getArgument(0);
+            if (commands.stream().anyMatch(command -> command.strategy() == SelectionStrategy.CHEAPEST)) {
+                throw new BusinessRuleViolationException("CHEAPEST is not supported");
+            }
+            return commands.stream()
+                    .map(command -> new SellBasketsResult(List.of(), command.quantity(), "sold"))
+                    .toList();
+        });
+        batcher = start(Duration.ofMillis(500), Duration.ofSeconds(5));
+
+        // When: both sales arrive within one window
+        CompletableFuture<Object> rejected = outcome(new SellBasketsCommand(1L, SelectionStrategy.CHEAPEST));
+        CompletableFuture<Object> accepted = outcome(new SellBasketsCommand(2L));
+
+        // Then
+        assertThat(rejected.get(5, TimeUnit.SECONDS)).isInstanceOf(BusinessRuleViolationException.class);
+        assertThat(accepted.get(5, TimeUnit.SECONDS)).isEqualTo(new SellBasketsResult(List.of(), 2L, "sold"));
+    }
+
+    private CompletableFuture<Object> outcome(SellBasketsCommand command) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return batcher.sell(command);
+            } catch (RuntimeException e) {
+                return e;
+            }
+        });
+    }
+
+    private SellBasketsBatcher start(Duration timeout) {
+        return start(Duration.ZERO, timeout);
+    }
+
+    private SellBasketsBatcher start(Duration window, Duration timeout) {
+        SellBasketsBatcher started = new SellBasketsBatcher(
+                salesEngine, new SimpleMeterRegistry(), window, 8, 16, timeout);
+        started.start();
+        return started;
+    }
+}
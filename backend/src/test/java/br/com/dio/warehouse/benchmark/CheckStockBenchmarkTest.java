@@ -0,0 +1,134 @@
+package br.com.dio.warehouse.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.com.dio.warehouse.application.port.in.CheckStockUseCase;
+import br.com.dio.warehouse.application.port.in.CheckStockUseCase.StockInfo;
+import br.com.dio.warehouse.application.port.in.RebuildInventoryCountersUseCase;
+import br.com.dio.warehouse.domain.model.BasicBasket;
+import br.com.dio.warehouse.domain.repository.BasketRepository;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+
+/**
+ * Benchmark of the stock summary: inventory counters vs. the previous
+ * findAll() + countByStatus() implementation
+ * 
+ * Opt-in: run with RUN_BENCHMARKS=true (and BENCHMARK_BASKETS to change the
+ * dataset size, default 1,000,000). The legacy path hydrates every basket, so
+ * large datasets need a bigger test heap. The summary cache is disabled, so every
+ * call times the counters query rather than a cache hit.
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Check Stock Benchmark")
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = "warehouse.cache.summaries.enabled=false")
+class CheckStockBenchmarkTest extends AbstractPostgresIntegrationTest {
+    
+    private static final Logger log = LoggerFactory.getLogger(CheckStockBenchmarkTest.class);
+    
+    private static final int ITERATIONS = 5;
+    
+    @Autowired
+    private CheckStockUseCase checkStockUseCase;
+    
+    @Autowired
+    private RebuildInventoryCountersUseCase rebuildInventoryCountersUseCase;
+    
+    @Autowired
+    private BasketRepository basketRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @BeforeAll
+    void seedBaskets() {
+        int baskets = Integer.parseInt(System.getenv().getOrDefault("BENCHMARK_BASKETS", "1000000"));
+        jdbcTemplate.update("DELETE FROM basic_baskets");
+        jdbcTemplate.update("DELETE FROM basic_baskets_history");
+        jdbcTemplate.update("""
+                INSERT INTO basic_baskets (id, validation_date, price, status)
+                SELECT gen_random_uuid(),
+                       CURRENT_DATE + (g % 60) - 10,
+                       10 + (g % 7),
+                       (ARRAY['AVAILABLE', 'AVAILABLE', 'SOLD', 'DISPOSED'])[1 + g % 4]
+                FROM generate_series(1, ?) g
+                """, baskets);
+        jdbcTemplate.execute("ANALYZE basic_baskets");
+        // Rows inserted directly bypass the counters
+        rebuildInventoryCountersUseCase.execute();
+    }
+    
+    @Test
+    @DisplayName("Inventory counters should match and outperform the findAll() implementation")
+    void inventoryCountersShouldMatchAndOutperformFindAll() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        
+        StockInfo counters = checkStockUseCase.execute();
+        StockInfo legacy = readOnly.execute(status -> legacyExecute());
+        
+        assertThat(counters.totalBaskets()).isEqualTo(legacy.totalBaskets());
+        assertThat(counters.availableBaskets()).isEqualTo(legacy.availableBaskets());
+        assertThat(counters.soldBaskets()).isEqualTo(legacy.soldBaskets());
+        assertThat(counters.disposedBaskets()).isEqualTo(legacy.disposedBaskets());
+        assertThat(counters.expiredBaskets()).isEqualTo(legacy.expiredBaskets());
+        assertThat(counters.totalInventoryValue()).isEqualByComparingTo(legacy.totalInventoryValue());
+        
+        long countersMillis = averageMillis(checkStockUseCase::execute);
+        long legacyMillis = averageMillis(() -> readOnly.execute(status -> legacyExecute()));
+        
+        log.info("Stock summary over {} baskets: inventory counters {} ms, findAll() {} ms",
+                counters.totalBaskets(), countersMillis, legacyMillis);
+        assertThat(countersMillis).isLessThan(legacyMillis);
+    }
+    
+    /**
+     * The original CheckStockService implementation
+     */
+    private StockInfo legacyExecute() {
+        List<BasicBasket> allBaskets = basketRepository.findAll();
+        long availableBaskets = basketRepository.countByStatus(BasicBasket.BasketStatus.AVAILABLE);
+        long soldBaskets = basketRepository.countByStatus(BasicBasket.BasketStatus.SOLD);
+        long disposedBaskets = basketRepository.countByStatus(BasicBasket.BasketStatus.DISPOSED);
+        long expiredBaskets = basketRepository.findExpiredBaskets().size();
+        BigDecimal totalInventoryValue = allBaskets.stream()
+                .filter(basket -> basket.getStatus() == BasicBasket.BasketStatus.AVAILABLE)
+                .map(basket -> basket.getPrice().getAmount())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new StockInfo((long) allBaskets.size(), availableBaskets, soldBaskets,
+                disposedBaskets, expiredBaskets, totalInventoryValue);
+    }
+    
+    private long averageMillis(Supplier<StockInfo> run) {
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            run.get();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) / ITERATIONS;
+    }
+}
@@ -0,0 +1,133 @@
+package br.com.dio.warehouse.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.com.dio.shared.identity.IdGenerator;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+
+/**
+ * Benchmark of time-ordered (UUIDv7) vs. random (UUIDv4) identifiers: generation
+ * throughput across threads, insert throughput and primary key index size
+ * 
+ * Opt-in: run with RUN_BENCHMARKS=true (and BENCHMARK_ROWS to change the number
+ * of inserted rows, default 1,000,000).
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Id Generator Benchmark")
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class IdGeneratorBenchmarkTest extends AbstractPostgresIntegrationTest {
+    
+    private static final Logger log = LoggerFactory.getLogger(IdGeneratorBenchmarkTest.class);
+    
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 1_000_000;
+    private static final int BATCH_SIZE = 1_000;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @AfterEach
+    void dropTables() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS id_benchmark_random");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS id_benchmark_time_ordered");
+    }
+    
+    @Test
+    @DisplayName("Time-ordered ids should generate faster than random UUIDs")
+    void timeOrderedIdsShouldGenerateFaster() throws Exception {
+        generate(IdGenerator.RANDOM); // warm-up
+        generate(IdGenerator.TIME_ORDERED);
+        
+        long randomMillis = generate(IdGenerator.RANDOM);
+        long timeOrderedMillis = generate(IdGenerator.TIME_ORDERED);
+        
+        log.info("Generated {} ids on {} threads: random {} ms, time-ordered {} ms",
+                (long) THREADS * IDS_PER_THREAD, THREADS, randomMillis, timeOrderedMillis);
+        assertThat(timeOrderedMillis).isLessThan(randomMillis);
+    }
+    
+    @Test
+    @DisplayName("Time-ordered ids should insert faster into a smaller primary key index")
+    void timeOrderedIdsShouldInsertFasterIntoSmallerIndex() {
+        int rows = Integer.parseInt(System.getenv().getOrDefault("BENCHMARK_ROWS", "1000000"));
+        
+        long randomMillis = insert("id_benchmark_random", IdGenerator.RANDOM, rows);
+        long timeOrderedMillis = insert("id_benchmark_time_ordered", IdGenerator.TIME_ORDERED, rows);
+        long randomIndexBytes = primaryKeySize("id_benchmark_random");
+        long timeOrderedIndexBytes = primaryKeySize("id_benchmark_time_ordered");
+        
+        log.info("Inserted {} rows: random {} ms (index {} KB), time-ordered {} ms (index {} KB)",
+                rows, randomMillis, randomIndexBytes / 1024, timeOrderedMillis, timeOrderedIndexBytes / 1024);
+        assertThat(timeOrderedIndexBytes).isLessThan(randomIndexBytes);
+    }
+    
+    private long generate(IdGenerator generator) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long started = System.nanoTime();
+            List<Future<Long>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    long checksum = 0;
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        checksum ^= generator.nextId().getLeastSignificantBits();
+                    }
+                    return checksum;
+                }));
+            }
+            for (Future<Long> worker : workers) {
+                worker.get();
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    private long insert(String table, IdGenerator generator, int rows) {
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        String sql = "INSERT INTO " + table + " (id) VALUES (?)";
+        long started = System.nanoTime();
+        for (int inserted = 0; inserted < rows; inserted += BATCH_SIZE) {
+            int batch = Math.min(BATCH_SIZE, rows - inserted);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setObject(1, generator.nextId());
+                }
+                
+                @Override
+                public int getBatchSize() {
+                    return batch;
+                }
+            });
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    }
+    
+    private long primaryKeySize(String table) {
+        return jdbcTemplate.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class, table + "_pkey");
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.dio.warehouse.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.com.dio.warehouse.domain.valueobject.Money;
+import br.com.dio.warehouse.domain.valueobject.MoneyAccumulator;
+
+/**
+ * Benchmark of summing basket prices as BigDecimal vs. with a MoneyAccumulator:
+ * time and bytes allocated by the summing thread
+ * 
+ * Opt-in: run with RUN_BENCHMARKS=true. Each variant is warmed up first so the
+ * measured rounds run compiled code.
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Money Aggregation Benchmark")
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class MoneyAggregationBenchmarkTest {
+    
+    private static final Logger log = LoggerFactory.getLogger(MoneyAggregationBenchmarkTest.class);
+    
+    private static final int PRICES = 1_000;
+    private static final int ROUNDS = 20_000;
+    private static final int WARM_UP_ROUNDS = 5;
+    
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    
+    @Test
+    @DisplayName("Summing in cents should allocate less than folding BigDecimals")
+    void accumulatorShouldAllocateLess() {
+        BigDecimal[] prices = new BigDecimal[PRICES];
+        for (int i = 0; i < PRICES; i++) {
+            prices[i] = BigDecimal.valueOf(990 + i % 500, 2);
+        }
+        
+        Result bigDecimal = measure(p -> {
+            BigDecimal total = BigDecimal.ZERO;
+            for (BigDecimal price : p) {
+                total = total.add(price);
+            }
+            return Money.of(total).getAmount().unscaledValue().longValue();
+        }, prices);
+        Result money = measure(p -> {
+            Money total = Money.zero();
+            for (BigDecimal price : p) {
+                total = total.add(Money.of(price));
+            }
+            return total.getAmount().unscaledValue().longValue();
+        }, prices);
+        Result accumulator = measure(p -> {
+            MoneyAccumulator total = new MoneyAccumulator();
+            for (BigDecimal price : p) {
+                total.add(price);
+            }
+            return total.cents();
+        }, prices);
+        
+        log.info("Summed {} prices {} times: BigDecimal {}, Money {}, accumulator {}",
+                PRICES, ROUNDS, bigDecimal, money, accumulator);
+        assertThat(accumulator.checksum()).isEqualTo(bigDecimal.checksum()).isEqualTo(money.checksum());
+        assertThat(accumulator.bytesPerAdd()).isLessThan(bigDecimal.bytesPerAdd());
+        assertThat(accumulator.bytesPerAdd()).isLessThan(money.bytesPerAdd());
+    }
+    
+    private Result measure(ToLongFunction<BigDecimal[]> sum, BigDecimal[] prices) {
+        long checksum = 0;
+        for (int round = 0; round < WARM_UP_ROUNDS * ROUNDS / 10; round++) {
+            checksum = sum.applyAsLong(prices);
+        }
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            checksum = sum.applyAsLong(prices);
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Result((double) allocated / ((long) ROUNDS * PRICES),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), checksum);
+    }
+    
+    private record Result(double bytesPerAdd, long millis, long checksum) {
+        @Override
+        public String toString() {
+            return String.format("%6.1f bytes/add, %5d ms", bytesPerAdd, millis);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package br.com.dio.warehouse.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.BatchMessageListener;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageListener;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.testcontainers.containers.RabbitMQContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.com.dio.warehouse.domain.event.BasketsSoldEvent;
+import br.com.dio.warehouse.domain.valueobject.Money;
+import br.com.dio.warehouse.infrastructure.config.RabbitMQConfig;
+
+/**
+ * Benchmark of event consumption: one message per listener call vs. batch listeners
+ * 
+ * Opt-in: run with RUN_BENCHMARKS=true (and BENCHMARK_MESSAGES to change the number
+ * of messages per mode, default 50,000). A throwaway RabbitMQ container stands in for
+ * the broker. Both modes consume the same BasketsSoldEvents with the same consumers
+ * and JSON converter; every listener call costs BENCHMARK_HANDLER_MICROS (default
+ * 500) to model the database transaction a handler commits per call. The batch mode
+ * uses the defaults of warehouse.baskets.sold.
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Rabbit Listener Throughput Benchmark")
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RabbitListenerThroughputBenchmarkTest {
+    
+    private static final Logger log = LoggerFactory.getLogger(RabbitListenerThroughputBenchmarkTest.class);
+    
+    private static final String QUEUE = "benchmark.baskets.sold";
+    private static final int CONSUMERS = 2;
+    private static final int SINGLE_PREFETCH = 10;
+    private static final int BATCH_PREFETCH = 500;
+    private static final int BATCH_SIZE = 250;
+    
+    @Container
+    private static final RabbitMQContainer RABBITMQ = new RabbitMQContainer("rabbitmq:3.13-alpine");
+    
+    private final int messages = Integer.parseInt(System.getenv().getOrDefault("BENCHMARK_MESSAGES", "50000"));
+    private final long handlerNanos = TimeUnit.MICROSECONDS.toNanos(
+            Long.parseLong(System.getenv().getOrDefault("BENCHMARK_HANDLER_MICROS", "500")));
+    
+    private final MessageConverter converter = new RabbitMQConfig().jsonMessageConverter();
+    
+    private CachingConnectionFactory connectionFactory;
+    private RabbitAdmin admin;
+    private RabbitTemplate template;
+    
+    @BeforeAll
+    void connect() {
+        connectionFactory = new CachingConnectionFactory(RABBITMQ.getHost(), RABBITMQ.getAmqpPort());
+        connectionFactory.setUsername(RABBITMQ.getAdminUsername());
+        connectionFactory.setPassword(RABBITMQ.getAdminPassword());
+        admin = new RabbitAdmin(connectionFactory);
+        template = new RabbitTemplate(connectionFactory);
+        template.setMessageConverter(converter);
+    }
+    
+    @AfterAll
+    void disconnect() {
+        connectionFactory.destroy();
+    }
+    
+    @BeforeEach
+    void declareEmptyQueue() {
+        admin.declareQueue(new Queue(QUEUE, false));
+        admin.purgeQueue(QUEUE, false);
+    }
+    
+    @Test
+    @DisplayName("Batch listeners should consume more messages per second than single-message listeners")
+    void batchListenersShouldOutperformSingleMessageListeners() throws Exception {
+        consume(false, Math.min(messages, 5_000)); // warm-up
+        
+        Throughput single = consume(false, messages);
+        Throughput batch = consume(true, messages);
+        
+        log.info("Consumed {} messages with {} consumers: single {} msg/s ({} calls), batch {} msg/s ({} calls of up to {})",
+                messages, CONSUMERS, Math.round(single.perSecond()), single.calls(),
+                Math.round(batch.perSecond()), batch.calls(), BATCH_SIZE);
+        assertThat(batch.perSecond()).isGreaterThan(single.perSecond());
+    }
+    
+    private Throughput consume(boolean batch, int count) throws InterruptedException {
+        publish(count);
+        CountDownLatch remaining = new CountDownLatch(count);
+        AtomicLong calls = new AtomicLong();
+        
+        SimpleMessageListenerContainer container = new SimpleMessageListenerContainer(connectionFactory);
+        container.setQueueNames(QUEUE);
+        container.setConcurrentConsumers(CONSUMERS);
+        container.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        if (batch) {
+            container.setPrefetchCount(BATCH_PREFETCH);
+            container.setConsumerBatchEnabled(true);
+            container.setBatchSize(BATCH_SIZE);
+            container.setBatchReceiveTimeout(200);
+            container.setMessageListener((BatchMessageListener) received -> {
+                handle(received);
+                calls.incrementAndGet();
+                received.forEach(_ -> remaining.countDown());
+            });
+        } else {
+            container.setPrefetchCount(SINGLE_PREFETCH);
+            container.setMessageListener((MessageListener) received -> {
+                handle(List.of(received));
+                calls.incrementAndGet();
+                remaining.countDown();
+            });
+        }
+        
+        long started = System.nanoTime();
+        container.start();
+        try {
+            assertThat(remaining.await(10, TimeUnit.MINUTES)).isTrue();
+            long elapsed = System.nanoTime() - started;
+            return new Throughput(count * 1e9 / elapsed, calls.get());
+        } finally {
+            container.stop();
+        }
+    }
+    
+    private void handle(List<Message> received) {
+        for (Message message : received) {
+            BasketsSoldEvent event = (BasketsSoldEvent) converter.fromMessage(message);
+            assertThat(event.getQuantity()).isPositive();
+        }
+        LockSupport.parkNanos(handlerNanos);
+    }
+    
+    private void publish(int count) {
+        for (int i = 0; i < count; i++) {
+            template.convertAndSend("", QUEUE, BasketsSoldEvent.of(2L, Money.of(new BigDecimal("25.00")), "benchmark-" + i));
+        }
+    }
+    
+    private record Throughput(double perSecond, long calls) {}
+}
@@ -0,0 +1,137 @@
+package br.com.dio.warehouse.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.com.dio.warehouse.application.port.in.ReceiveDeliveryUseCase.ReceiveDeliveryCommand;
+import br.com.dio.warehouse.application.service.ReceiveDeliveryService;
+import br.com.dio.warehouse.domain.model.DeliveryBox;
+import br.com.dio.warehouse.domain.repository.DeliveryBoxRepository;
+import br.com.dio.warehouse.domain.valueobject.Money;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+
+/**
+ * Benchmark of delivery ingestion: streamed COPY of the baskets vs. the previous
+ * generateBaskets() + cascade save implementation
+ *
+ * Opt-in: run with RUN_BENCHMARKS=true. The legacy path keeps every basket entity
+ * in the persistence context, so it is only measured at 100,000 baskets.
+ *
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Receive Delivery Benchmark")
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class ReceiveDeliveryBenchmarkTest extends AbstractPostgresIntegrationTest {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReceiveDeliveryBenchmarkTest.class);
+
+    private static final long LEGACY_BASKETS = 100_000L;
+
+    @Autowired
+    private ReceiveDeliveryService receiveDeliveryService;
+
+    @Autowired
+    private DeliveryBoxRepository deliveryBoxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void clearBaskets() {
+        jdbcTemplate.update("DELETE FROM basic_baskets");
+        jdbcTemplate.update("DELETE FROM delivery_boxes");
+    }
+
+    @ParameterizedTest(name = "{0} baskets")
+    @ValueSource(longs = {100_000L, 1_000_000L})
+    @DisplayName("Streamed insert should write every basket of a large delivery")
+    void streamedInsertShouldWriteEveryBasket(long baskets) {
+        ReceiveDeliveryCommand command = command(baskets);
+
+        long usedBefore = usedHeapAfterGc();
+        long started = System.nanoTime();
+        DeliveryBox delivery = receiveDeliveryService.execute(command);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        long retainedBytes = Math.max(0, usedHeapAfterGc() - usedBefore);
+
+        assertThat(countBaskets(delivery)).isEqualTo(baskets);
+
+        log.info("Streamed insert of {} baskets: {} ms ({} baskets/s), heap retained {} KB",
+                baskets, elapsedMillis, baskets * 1000L / Math.max(elapsedMillis, 1), retainedBytes / 1024);
+    }
+
+    @Test
+    @DisplayName("Streamed insert should outperform cascade save")
+    void streamedInsertShouldOutperformCascadeSave() {
+        long started = System.nanoTime();
+        DeliveryBox streamed = receiveDeliveryService.execute(command(LEGACY_BASKETS));
+        long streamedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        started = System.nanoTime();
+        DeliveryBox legacy = new TransactionTemplate(transactionManager)
+                .execute(status -> legacyReceive(command(LEGACY_BASKETS)));
+        long legacyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertThat(countBaskets(streamed)).isEqualTo(LEGACY_BASKETS);
+        assertThat(countBaskets(legacy)).isEqualTo(LEGACY_BASKETS);
+
+        log.info("Delivery of {} baskets: streamed insert {} ms, cascade save {} ms",
+                LEGACY_BASKETS, streamedMillis, legacyMillis);
+        assertThat(streamedMillis).isLessThan(legacyMillis);
+    }
+
+    /**
+     * The ReceiveDeliveryService persistence before the streamed insert
+     */
+    private DeliveryBox legacyReceive(ReceiveDeliveryCommand command) {
+        DeliveryBox deliveryBox = DeliveryBox.builder()
+                .totalQuantity(command.totalQuantity())
+                .validationDate(command.validationDate())
+                .totalCost(Money.of(command.totalCost()))
+                .profitMargin(command.profitMarginPercentage().doubleValue())
+                .build();
+        Money sellingPrice = deliveryBox.calculateSellingPrice(
+                command.profitMarginPercentage().doubleValue() / 100.0);
+        deliveryBox.setUnitCost(deliveryBox.calculateUnitCost());
+        deliveryBox.setSellingPrice(sellingPrice);
+        deliveryBox.generateBaskets(sellingPrice);
+        return deliveryBoxRepository.save(deliveryBox);
+    }
+
+    private ReceiveDeliveryCommand command(long baskets) {
+        return new ReceiveDeliveryCommand(baskets, LocalDate.now().plusDays(30),
+                BigDecimal.valueOf(baskets * 8), new BigDecimal("25"));
+    }
+
+    private Long countBaskets(DeliveryBox delivery) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM basic_baskets WHERE delivery_box_id = ?", Long.class, delivery.getId());
+    }
+
+    private long usedHeapAfterGc() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.dio.warehouse.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase.SellBasketsCommand;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase.SellBasketsResult;
+import br.com.dio.warehouse.application.service.BasketSalesEngine;
+import br.com.dio.warehouse.application.service.RebuildInventoryCountersService;
+import br.com.dio.warehouse.application.service.SellBasketsBatcher;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Benchmark of concurrent sales: one transaction per sale vs. group commit
+ * 
+ * Opt-in: run with RUN_BENCHMARKS=true (and BENCHMARK_SALES to change the number
+ * of sales per mode, default 20,000). Both modes sell the same number of sales from
+ * the same stock with the same number of concurrent sellers.
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Sell Baskets Benchmark")
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class SellBasketsBenchmarkTest extends AbstractPostgresIntegrationTest {
+    
+    private static final Logger log = LoggerFactory.getLogger(SellBasketsBenchmarkTest.class);
+    
+    private static final int SELLERS = 64;
+    private static final long QUANTITY_PER_SALE = 2L;
+    
+    private final int sales = Integer.parseInt(System.getenv().getOrDefault("BENCHMARK_SALES", "20000"));
+    
+    @Autowired
+    private BasketSalesEngine salesEngine;
+    
+    @Autowired
+    private RebuildInventoryCountersService rebuildInventoryCountersService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void seedAvailableBaskets() {
+        jdbcTemplate.update("DELETE FROM basic_baskets");
+        jdbcTemplate.update("DELETE FROM basic_baskets_history");
+        jdbcTemplate.update("""
+                INSERT INTO basic_baskets (id, validation_date, price, status)
+                SELECT gen_random_uuid(), CURRENT_DATE + 1 + (g % 30)::int, 12.50, 'AVAILABLE'
+                FROM generate_series(1, ?) g
+                """, sales * QUANTITY_PER_SALE);
+        jdbcTemplate.execute("ANALYZE basic_baskets");
+        // Rows inserted directly bypass the counters
+        rebuildInventoryCountersService.execute();
+    }
+    
+    @Test
+    @DisplayName("Group commit should sell the same stock faster than one transaction per sale")
+    void groupCommitShouldOutperformPerSaleTransactions() throws Exception {
+        long directMillis = sellConcurrently(command -> salesEngine.sellAll(List.of(command)).getFirst());
+        assertThat(soldCount()).isEqualTo(sales * QUANTITY_PER_SALE);
+        
+        seedAvailableBaskets();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SellBasketsBatcher batcher = new SellBasketsBatcher(salesEngine, meterRegistry, Duration.ofMillis(2), 64, 10_000, Duration.ofSeconds(30));
+        batcher.start();
+        long batchedMillis;
+        try {
+            batchedMillis = sellConcurrently(batcher::sell);
+        } finally {
+            batcher.stop();
+        }
+        assertThat(soldCount()).isEqualTo(sales * QUANTITY_PER_SALE);
+        assertThat(rebuildInventoryCountersService.execute().driftDetected()).isFalse();
+        
+        DistributionSummary batchSizes = meterRegistry.get("warehouse.sales.batch.size").summary();
+        log.info("{} sales with {} sellers: per-sale transactions {} ms ({} sales/s), "
+                        + "group commit {} ms ({} sales/s, {} transactions, mean batch {})",
+                sales, SELLERS, directMillis, sales * 1000L / Math.max(directMillis, 1),
+                batchedMillis, sales * 1000L / Math.max(batchedMillis, 1),
+                batchSizes.count(), "%.1f".formatted(batchSizes.mean()));
+        assertThat(batchedMillis).isLessThan(directMillis);
+    }
+    
+    /**
+     * Runs {@link #sales} sales on {@link #SELLERS} threads
+     * 
+     * @return elapsed milliseconds
+     */
+    private long sellConcurrently(Function<SellBasketsCommand, SellBasketsResult> sell) throws Exception {
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(SELLERS);
+        List<Future<?>> sellers = new ArrayList<>();
+        for (int i = 0; i < SELLERS; i++) {
+            int share = sales / SELLERS + (i < sales % SELLERS ? 1 : 0);
+            sellers.add(executor.submit(() -> {
+                startSignal.await();
+                for (int sale = 0; sale < share; sale++) {
+                    sell.apply(new SellBasketsCommand(QUANTITY_PER_SALE));
+                }
+                return null;
+            }));
+        }
+        
+        long started = System.nanoTime();
+        startSignal.countDown();
+        for (Future<?> seller : sellers) {
+            seller.get(10, TimeUnit.MINUTES);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        executor.shutdown();
+        return elapsedMillis;
+    }
+    
+    private Long soldCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM basic_baskets WHERE status = 'SOLD'", Long.class);
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.dio.warehouse.domain.valueobject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for MoneyAccumulator and the interned Money values
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("MoneyAccumulator Unit Tests")
+class MoneyAccumulatorTest {
+    
+    @Test
+    @DisplayName("Should add up amounts like BigDecimal rounded to cents")
+    void shouldAddUpAmountsInCents() {
+        // Given
+        MoneyAccumulator total = new MoneyAccumulator();
+        
+        // When
+        total.add(new BigDecimal("12.50"))
+                .add(new BigDecimal("9.9"))
+                .add(new BigDecimal("0.005"))
+                .add(new BigDecimal("-2.00"))
+                .add(new BigDecimal("3.25"), 4);
+        
+        // Then
+        assertThat(total.cents()).isEqualTo(3_341L);
+        assertThat(total.toBigDecimal()).isEqualTo(new BigDecimal("33.41"));
+        assertThat(total.toMoney()).isEqualTo(Money.of("33.41"));
+    }
+    
+    @Test
+    @DisplayName("Should fail instead of overflowing")
+    void shouldFailOnOverflow() {
+        // Given
+        MoneyAccumulator total = new MoneyAccumulator().add(BigDecimal.valueOf(Long.MAX_VALUE, 2));
+        
+        // When / Then
+        assertThatThrownBy(() -> total.add(new BigDecimal("0.01")))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> new MoneyAccumulator().add(new BigDecimal("1.00"), Long.MAX_VALUE))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> MoneyAccumulator.toCents(new BigDecimal("1e20")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+    
+    @Test
+    @DisplayName("Should share one Money instance per small amount")
+    void shouldInternSmallAmounts() {
+        assertThat(Money.of("12.50")).isSameAs(Money.of(new BigDecimal("12.5")));
+        assertThat(Money.ofCents(1_250)).isSameAs(Money.of(12.50));
+        assertThat(Money.zero()).isSameAs(Money.of(BigDecimal.ZERO));
+        assertThat(Money.of("99.99")).isSameAs(Money.ofCents(9_999));
+        
+        assertThat(Money.of("100.00")).isNotSameAs(Money.of("100.00")).isEqualTo(Money.ofCents(10_000));
+        assertThat(Money.of("-1.00")).isNotSameAs(Money.of("-1.00"));
+        assertThat(Money.ofCents(1_250).getAmount()).isEqualTo(new BigDecimal("12.50"));
+    }
+}
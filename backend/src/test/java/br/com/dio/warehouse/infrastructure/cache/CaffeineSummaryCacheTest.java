@@ -0,0 +1,136 @@
+package br.com.dio.warehouse.infrastructure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import br.com.dio.warehouse.application.port.in.CheckStockUseCase;
+import br.com.dio.warehouse.application.port.in.CheckStockUseCase.StockInfo;
+import br.com.dio.warehouse.application.port.in.GetCashRegisterUseCase;
+import br.com.dio.warehouse.application.port.in.GetCashRegisterUseCase.CashRegisterInfo;
+import br.com.dio.warehouse.application.port.in.ReceiveDeliveryUseCase;
+import br.com.dio.warehouse.application.port.in.ReceiveDeliveryUseCase.ReceiveDeliveryCommand;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase.SellBasketsCommand;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Integration tests for the stock and cash register summary cache
+ *
+ * Rows changed directly in the database do not publish events, so they show whether
+ * a summary came from the cache. Sales and deliveries must clear it on commit.
+ *
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Caffeine Summary Cache Tests")
+class CaffeineSummaryCacheTest extends AbstractPostgresIntegrationTest {
+
+    @DynamicPropertySource
+    static void cacheProperties(DynamicPropertyRegistry registry) {
+        registry.add("warehouse.cache.summaries.enabled", () -> "true");
+        registry.add("warehouse.cache.summaries.refresh-after", () -> "500ms");
+    }
+
+    @Autowired
+    private CheckStockUseCase checkStockUseCase;
+
+    @Autowired
+    private GetCashRegisterUseCase getCashRegisterUseCase;
+
+    @Autowired
+    private ReceiveDeliveryUseCase receiveDeliveryUseCase;
+
+    @Autowired
+    private SellBasketsUseCase sellBasketsUseCase;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void receiveDelivery() {
+        deleteAllBaskets();
+        jdbcTemplate.update("DELETE FROM delivery_boxes");
+        rebuildInventoryCounters();
+        receiveDeliveryUseCase.execute(new ReceiveDeliveryCommand(
+                100L, LocalDate.now().plusDays(30), new BigDecimal("800"), new BigDecimal("25")));
+    }
+
+    @Test
+    @DisplayName("Should serve the summaries from the cache until a sale commits")
+    void shouldServeSummariesFromCacheUntilSaleCommits() {
+        // Given
+        StockInfo stock = checkStockUseCase.execute();
+        CashRegisterInfo cashRegister = getCashRegisterUseCase.execute();
+        double hits = cacheGets("stock-summary", "hit");
+        expireBasketsDirectly(10);
+
+        // When
+        StockInfo cachedStock = checkStockUseCase.execute();
+        sellBasketsUseCase.execute(new SellBasketsCommand(5L));
+        StockInfo stockAfterSale = checkStockUseCase.execute();
+        CashRegisterInfo cashRegisterAfterSale = getCashRegisterUseCase.execute();
+
+        // Then
+        assertThat(stock.availableBaskets()).isEqualTo(100L);
+        assertThat(cachedStock).isEqualTo(stock);
+        assertThat(cacheGets("stock-summary", "hit")).isGreaterThan(hits);
+
+        assertThat(stockAfterSale.soldBaskets()).isEqualTo(5L);
+        assertThat(stockAfterSale.expiredBaskets()).isEqualTo(10L);
+        assertThat(cashRegister.totalBasketsSold()).isZero();
+        assertThat(cashRegisterAfterSale.totalBasketsSold()).isEqualTo(5L);
+        assertThat(cashRegisterAfterSale.totalRevenue()).isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    @DisplayName("Should serve the stale summary while reloading it in the background")
+    void shouldServeStaleSummaryWhileReloading() throws InterruptedException {
+        // Given
+        StockInfo stock = checkStockUseCase.execute();
+        expireBasketsDirectly(10);
+        Thread.sleep(600);
+
+        // When
+        StockInfo stale = checkStockUseCase.execute();
+        StockInfo refreshed = stale;
+        for (int attempt = 0; attempt < 50 && refreshed.expiredBaskets() == 0; attempt++) {
+            Thread.sleep(100);
+            refreshed = checkStockUseCase.execute();
+        }
+
+        // Then
+        assertThat(stale).isEqualTo(stock);
+        assertThat(refreshed.expiredBaskets()).isEqualTo(10L);
+        assertThat(meterRegistry.get("warehouse.cache.summaries.refreshes")
+                .tags("cache", "stock-summary", "outcome", "success")
+                .counter().count()).isPositive();
+    }
+
+    private void expireBasketsDirectly(int count) {
+        jdbcTemplate.update("""
+                UPDATE basic_baskets SET validation_date = CURRENT_DATE - 1
+                WHERE id IN (SELECT id FROM basic_baskets LIMIT ?)
+                """, count);
+    }
+
+    private double cacheGets(String cacheName, String result) {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", cacheName, "result", result)
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.dio.warehouse.infrastructure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import br.com.dio.warehouse.infrastructure.config.RabbitMQConfig;
+
+/**
+ * Unit tests for the summary cache clears passed between instances
+ *
+ * Two broadcasters stand for two instances; the message one publishes is handed to
+ * both listeners, as the fanout exchange would. Clears are published after a short
+ * delay, so the tests wait for the message.
+ *
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Summary Cache Invalidation Broadcaster Unit Tests")
+class SummaryCacheInvalidationBroadcasterTest {
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final CaffeineSummaryCache localCache = mock(CaffeineSummaryCache.class);
+    private final CaffeineSummaryCache remoteCache = mock(CaffeineSummaryCache.class);
+    private final SummaryCacheInvalidationBroadcaster local =
+            new SummaryCacheInvalidationBroadcaster(rabbitTemplate, localCache, Duration.ofMillis(50));
+    private final SummaryCacheInvalidationBroadcaster remote =
+            new SummaryCacheInvalidationBroadcaster(rabbitTemplate, remoteCache, Duration.ofMillis(50));
+
+    @AfterEach
+    void stopBroadcasters() {
+        local.destroy();
+        remote.destroy();
+    }
+
+    @Test
+    @DisplayName("Should clear the other instances but not the one that broadcast")
+    void shouldClearOnlyTheOtherInstances() {
+        // When
+        local.broadcast();
+        Message message = published();
+        local.onInvalidation(message);
+        remote.onInvalidation(message);
+
+        // Then
+        assertThat(message.getBody()).isEmpty();
+        verify(localCache, never()).clearLocal();
+        verify(remoteCache).clearLocal();
+    }
+
+    @Test
+    @DisplayName("Should clear on a message without an origin")
+    void shouldClearOnMessageWithoutOrigin() {
+        // When
+        local.onInvalidation(new Message(new byte[0], new MessageProperties()));
+
+        // Then
+        verify(localCache).clearLocal();
+    }
+
+    @Test
+    @DisplayName("Should send one message for the clears made within the delay")
+    void shouldCoalesceClearsWithinTheDelay() throws InterruptedException {
+        // When
+        for (int i = 0; i < 100; i++) {
+            local.broadcast();
+        }
+        published();
+        Thread.sleep(200);
+
+        // Then: still a single message
+        published();
+
+        // When: a clear after the message was sent
+        local.broadcast();
+
+        // Then
+        verify(rabbitTemplate, timeout(2000).times(2)).send(
+                eq(RabbitMQConfig.CACHE_INVALIDATION_EXCHANGE), eq(""), any(Message.class));
+    }
+
+    private Message published() {
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate, timeout(2000)).send(eq(RabbitMQConfig.CACHE_INVALIDATION_EXCHANGE), eq(""), message.capture());
+        return message.getValue();
+    }
+}
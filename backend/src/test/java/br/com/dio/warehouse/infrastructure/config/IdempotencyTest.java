@@ -0,0 +1,256 @@
+package br.com.dio.warehouse.infrastructure.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.dio.shared.idempotency.IdempotencyKeyConflictException;
+import br.com.dio.shared.idempotency.IdempotencyKeyInProgressException;
+import br.com.dio.shared.idempotency.IdempotentRequests;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Integration tests for Idempotency-Key handling
+ *
+ * A second IdempotentRequests on the same table stands for another instance of the
+ * application, with nothing in memory.
+ *
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Idempotency Tests")
+class IdempotencyTest extends AbstractPostgresIntegrationTest {
+
+    private static final Map<String, Object> REQUEST = Map.of("quantity", 5);
+
+    @Autowired
+    private IdempotentRequests idempotentRequests;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void clearKeys() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys");
+    }
+
+    @Test
+    @DisplayName("Should run the request once and replay its response to retries")
+    void shouldReplayResponseToRetries() {
+        // Given
+        String key = UUID.randomUUID().toString();
+        double replayed = requests("replayed");
+
+        // When
+        ResponseEntity<Receipt> first = idempotentRequests.execute("test", key, REQUEST, Receipt.class, this::sell);
+        ResponseEntity<Receipt> retry = idempotentRequests.execute("test", key, REQUEST, Receipt.class, this::sell);
+        ResponseEntity<Receipt> retryOnOtherInstance = otherInstance(Duration.ofHours(1), Duration.ofSeconds(10))
+                .execute("test", key, REQUEST, Receipt.class, this::sell);
+
+        // Then
+        assertThat(executions).hasValue(1);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(first.getHeaders().containsKey(IdempotentRequests.REPLAYED_HEADER)).isFalse();
+        for (ResponseEntity<Receipt> replay : List.of(retry, retryOnOtherInstance)) {
+            assertThat(replay.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(replay.getBody()).isEqualTo(first.getBody());
+            assertThat(replay.getHeaders().getLocation()).isEqualTo(first.getHeaders().getLocation());
+            assertThat(replay.getHeaders().getFirst(IdempotentRequests.REPLAYED_HEADER)).isEqualTo("true");
+        }
+        // The other instance counts its replay in its own registry
+        assertThat(requests("replayed") - replayed).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void shouldRejectKeyReusedForDifferentRequest() {
+        // Given
+        String key = UUID.randomUUID().toString();
+        idempotentRequests.execute("test", key, REQUEST, Receipt.class, this::sell);
+
+        // When / Then
+        assertThatThrownBy(() -> idempotentRequests.execute(
+                "test", key, Map.of("quantity", 6), Receipt.class, this::sell))
+                .isInstanceOf(IdempotencyKeyConflictException.class);
+        assertThat(executions).hasValue(1);
+
+        // Keys of another scope are independent
+        idempotentRequests.execute("other", key, Map.of("quantity", 6), Receipt.class, this::sell);
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should reject a retry that waits too long for the running request")
+    void shouldRejectRetryWhileRunning() throws Exception {
+        // Given
+        String key = UUID.randomUUID().toString();
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<Receipt>> first = startBlocked(key, finish);
+
+        // When / Then
+        assertThatThrownBy(() -> otherInstance(Duration.ofHours(1), Duration.ofMillis(200))
+                .execute("test", key, REQUEST, Receipt.class, this::sell))
+                .isInstanceOf(IdempotencyKeyInProgressException.class);
+
+        finish.countDown();
+        assertThat(first.get(10, TimeUnit.SECONDS).getBody()).isEqualTo(
+                idempotentRequests.execute("test", key, REQUEST, Receipt.class, this::sell).getBody());
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should replay the response to a retry that waited for the running request")
+    void shouldReplayToRetryThatWaited() throws Exception {
+        // Given
+        String key = UUID.randomUUID().toString();
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<Receipt>> first = startBlocked(key, finish);
+
+        // When: the retry blocks on the claim of the first request until it commits
+        CompletableFuture<ResponseEntity<Receipt>> retry = CompletableFuture.supplyAsync(() ->
+                otherInstance(Duration.ofHours(1), Duration.ofSeconds(10))
+                        .execute("test", key, REQUEST, Receipt.class, this::sell));
+        Thread.sleep(200);
+        finish.countDown();
+
+        // Then
+        assertThat(retry.get(10, TimeUnit.SECONDS).getBody()).isEqualTo(first.get(10, TimeUnit.SECONDS).getBody());
+        assertThat(retry.get().getHeaders().getFirst(IdempotentRequests.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should never take over an unfinished claim, however old")
+    void shouldNotTakeOverUnfinishedClaim() {
+        // Given: a claim left behind by a request that never finished
+        String key = UUID.randomUUID().toString();
+        IdempotentRequests instance = otherInstance(Duration.ofHours(1), Duration.ofMillis(200));
+        instance.execute("other", key, REQUEST, Receipt.class, this::sell);
+        jdbcTemplate.update("""
+                UPDATE idempotency_keys
+                SET scope = 'test', status = 'IN_PROGRESS', claimed_at = now() - interval '1 hour'
+                WHERE idempotency_key = ?
+                """, key);
+
+        // When / Then
+        assertThatThrownBy(() -> instance.execute("test", key, REQUEST, Receipt.class, this::sell))
+                .isInstanceOf(IdempotencyKeyInProgressException.class);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should roll back the key together with the work of a failed request")
+    void shouldRollBackKeyOfFailedRequest() {
+        // Given
+        String key = UUID.randomUUID().toString();
+
+        // When: the action writes, then fails
+        assertThatThrownBy(() -> idempotentRequests.execute("test", key, REQUEST, Receipt.class, () -> {
+            jdbcTemplate.update("""
+                    INSERT INTO idempotency_keys (client, scope, idempotency_key, request_hash, status, claimed_at, expires_at)
+                    VALUES ('', 'side-effect', ?, 'work', 'COMPLETED', now(), now() + interval '1 hour')
+                    """, key);
+            throw new IllegalStateException("Sale failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_keys", Long.class)).isZero();
+        idempotentRequests.execute("test", key, REQUEST, Receipt.class, this::sell);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should run the request again once its key has expired and delete expired keys")
+    void shouldRunAgainAfterExpiry() throws InterruptedException {
+        // Given
+        String key = UUID.randomUUID().toString();
+        IdempotentRequests shortLived = otherInstance(Duration.ofMillis(1), Duration.ofSeconds(10));
+        shortLived.execute("test", key, REQUEST, Receipt.class, this::sell);
+        Thread.sleep(10);
+
+        // When
+        shortLived.execute("test", key, REQUEST, Receipt.class, this::sell);
+        Thread.sleep(10);
+        int deleted = shortLived.deleteExpired(100);
+
+        // Then
+        assertThat(executions).hasValue(2);
+        assertThat(deleted).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_keys", Long.class)).isZero();
+    }
+
+    private ResponseEntity<Receipt> sell() {
+        executions.incrementAndGet();
+        Receipt receipt = new Receipt(UUID.randomUUID(), 5);
+        return ResponseEntity.created(URI.create("/api/v1/receipts/" + receipt.id())).body(receipt);
+    }
+
+    /**
+     * Starts a request that holds its key until {@code finish} is counted down
+     */
+    private CompletableFuture<ResponseEntity<Receipt>> startBlocked(String key, CountDownLatch finish)
+            throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<Receipt>> first = CompletableFuture.supplyAsync(() ->
+                idempotentRequests.execute("test", key, REQUEST, Receipt.class, () -> {
+                    running.countDown();
+                    await(finish);
+                    return sell();
+                }));
+        assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+        return first;
+    }
+
+    private IdempotentRequests otherInstance(Duration ttl, Duration inProgressTimeout) {
+        return new IdempotentRequests(jdbcTemplate, transactionManager, objectMapper, () -> null,
+                new SimpleMeterRegistry(), ttl, inProgressTimeout, 100);
+    }
+
+    private double requests(String outcome) {
+        return meterRegistry.counter("warehouse.idempotency.requests", "outcome", outcome).count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    record Receipt(UUID id, long quantity) {}
+}
@@ -0,0 +1,134 @@
+package br.com.dio.warehouse.infrastructure.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.dio.shared.datasource.ReadReplicaRoutingDataSource;
+import br.com.dio.warehouse.application.service.CheckStockService;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Integration tests for read replica routing
+ * 
+ * The test database doubles as its own replica through a second pool, and each
+ * pool reports its name as application_name, so the session shows which pool
+ * served a statement.
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Read Replica Routing Tests")
+@TestPropertySource(properties = {
+        "warehouse.datasource.replicas.urls=${spring.datasource.url}",
+        "warehouse.datasource.read-your-writes-window=1s"
+})
+class ReadReplicaRoutingTest extends AbstractPostgresIntegrationTest {
+    
+    private static final String PRIMARY = "WarehouseHikariPool";
+    private static final String REPLICA = "WarehouseHikariPool-replica-1";
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private CheckStockService checkStockService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+    
+    @Test
+    @DisplayName("Should send read-only transactions to the replica pool")
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        // Given
+        double replicaBefore = routed(REPLICA);
+        
+        // When / Then
+        assertThat(dataSource).isInstanceOf(ReadReplicaRoutingDataSource.class);
+        assertThat(poolInTransaction(true)).isEqualTo(REPLICA);
+        assertThat(poolInTransaction(false)).isEqualTo(PRIMARY);
+        assertThat(currentPool()).isEqualTo(PRIMARY);
+        
+        // Read-only use cases work unchanged on the replica
+        checkStockService.execute();
+        assertThat(routed(REPLICA)).isEqualTo(replicaBefore + 2);
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", REPLICA).gauge()).isNotNull();
+    }
+    
+    @Test
+    @DisplayName("Should keep a user on the primary for the read-your-writes window")
+    void shouldReadOwnWritesFromPrimary() throws InterruptedException {
+        // Given
+        authenticate("writer");
+        poolInTransaction(false);
+        
+        // When / Then
+        assertThat(poolInTransaction(true)).isEqualTo(PRIMARY);
+        
+        authenticate("reader");
+        assertThat(poolInTransaction(true)).isEqualTo(REPLICA);
+        
+        authenticate("writer");
+        Thread.sleep(1_100);
+        assertThat(poolInTransaction(true)).isEqualTo(REPLICA);
+    }
+    
+    @Test
+    @DisplayName("Should not start the window when the write rolls back")
+    void shouldIgnoreRolledBackWrites() {
+        // Given
+        authenticate("rollback");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            currentPool();
+            status.setRollbackOnly();
+        });
+        
+        // When / Then
+        assertThat(poolInTransaction(true)).isEqualTo(REPLICA);
+    }
+    
+    private String poolInTransaction(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> currentPool());
+    }
+    
+    private String currentPool() {
+        return jdbcTemplate.queryForObject("SELECT current_setting('application_name')", String.class);
+    }
+    
+    private double routed(String pool) {
+        return meterRegistry.get("warehouse.datasource.connections.routed").tag("pool", pool).counter().count();
+    }
+    
+    private void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import br.com.dio.warehouse.application.port.in.ArchiveFinishedBasketsUseCase;
+import br.com.dio.warehouse.application.port.in.ArchiveFinishedBasketsUseCase.ArchiveFinishedBasketsResult;
+import br.com.dio.warehouse.application.port.in.RebuildInventoryCountersUseCase;
+import br.com.dio.warehouse.domain.repository.BasketRepository;
+import br.com.dio.warehouse.domain.repository.BasketRepository.SalesSummary;
+import br.com.dio.warehouse.domain.valueobject.SalesGrouping;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+
+/**
+ * Integration tests for the archival of finished baskets
+ * 
+ * Finished baskets older than the archival age move to basic_baskets_history;
+ * everything else stays. Counters and old sales reports must still see them.
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Basket Archival Tests")
+@TestPropertySource(properties = {
+        "warehouse.archive.after-days=30",
+        "warehouse.archive.chunk-size=100"
+})
+class BasketArchivalTest extends AbstractPostgresIntegrationTest {
+    
+    @Autowired
+    private ArchiveFinishedBasketsUseCase archiveFinishedBasketsUseCase;
+    
+    @Autowired
+    private RebuildInventoryCountersUseCase rebuildInventoryCountersUseCase;
+    
+    @Autowired
+    private BasketRepository basketRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void seedBaskets() {
+        deleteAllBaskets();
+        // 300 sold and 200 disposed two months ago, 50 sold yesterday, 150 available
+        seed(300, "SOLD", "sold_at", "LOCALTIMESTAMP - INTERVAL '60 days'");
+        seed(200, "DISPOSED", "disposed_at", "LOCALTIMESTAMP - INTERVAL '60 days'");
+        seed(50, "SOLD", "sold_at", "LOCALTIMESTAMP - INTERVAL '1 day'");
+        seed(150, "AVAILABLE", "updated_at", "LOCALTIMESTAMP");
+        rebuildInventoryCounters();
+    }
+    
+    @Test
+    @DisplayName("Should move only the baskets finished before the archival age")
+    void shouldArchiveOnlyOldFinishedBaskets() {
+        // When
+        ArchiveFinishedBasketsResult result = archiveFinishedBasketsUseCase.execute();
+        
+        // Then
+        assertThat(result.totalArchived()).isEqualTo(500L);
+        assertThat(result.chunksProcessed()).isEqualTo(7);
+        assertThat(count("basic_baskets")).isEqualTo(200L);
+        assertThat(count("basic_baskets_history")).isEqualTo(500L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM basic_baskets WHERE status = 'AVAILABLE'", Long.class)).isEqualTo(150L);
+        
+        assertThat(count(currentPartition())).isEqualTo(500L);
+        
+        // A second run finds nothing left to move
+        assertThat(archiveFinishedBasketsUseCase.execute().totalArchived()).isZero();
+    }
+    
+    @Test
+    @DisplayName("Should create the month's partition again after it was dropped")
+    void shouldRecreateDroppedPartition() {
+        // Given: this instance already archived into the month's partition
+        seed(10, "SOLD", "sold_at", "LOCALTIMESTAMP - INTERVAL '60 days'");
+        archiveFinishedBasketsUseCase.execute();
+        jdbcTemplate.execute("DROP TABLE " + currentPartition());
+        seed(20, "SOLD", "sold_at", "LOCALTIMESTAMP - INTERVAL '60 days'");
+        
+        // When
+        ArchiveFinishedBasketsResult result = archiveFinishedBasketsUseCase.execute();
+        
+        // Then
+        assertThat(result.totalArchived()).isEqualTo(20L);
+        assertThat(count(currentPartition())).isEqualTo(20L);
+    }
+    
+    @Test
+    @DisplayName("Should keep archived baskets in the counters and in old sales reports")
+    void shouldKeepArchivedBasketsInCountersAndReports() {
+        // Given
+        archiveFinishedBasketsUseCase.execute();
+        
+        // When
+        List<SalesSummary> oldSales = basketRepository.summarizeSales(
+                LocalDateTime.now().minusDays(90), LocalDateTime.now(), SalesGrouping.MONTH);
+        List<SalesSummary> recentSales = basketRepository.summarizeSales(
+                LocalDateTime.now().minusDays(7), LocalDateTime.now(), SalesGrouping.MONTH);
+        
+        // Then
+        assertThat(oldSales.stream().mapToLong(SalesSummary::basketsSold).sum()).isEqualTo(350L);
+        assertThat(recentSales.stream().mapToLong(SalesSummary::basketsSold).sum()).isEqualTo(50L);
+        
+        var rebuild = rebuildInventoryCountersUseCase.execute();
+        assertThat(rebuild.driftDetected()).isFalse();
+        assertThat(rebuild.rebuilt().totalBaskets()).isEqualTo(700L);
+        assertThat(rebuild.rebuilt().soldBaskets()).isEqualTo(350L);
+        assertThat(rebuild.rebuilt().revenue()).isEqualByComparingTo(new BigDecimal("4375.00"));
+    }
+    
+    private void seed(int quantity, String status, String timestampColumn, String timestamp) {
+        insertBaskets(quantity, "CURRENT_DATE + 30", "12.50", "'" + status + "'", Map.of(timestampColumn, timestamp));
+    }
+    
+    private static String currentPartition() {
+        return YearMonth.now().format(DateTimeFormatter.ofPattern("'basic_baskets_history_'yyyy_MM"));
+    }
+    
+    private Long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
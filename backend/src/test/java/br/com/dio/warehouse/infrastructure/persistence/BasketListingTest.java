@@ -0,0 +1,183 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.dio.warehouse.adapter.in.web.controller.BasketController;
+import br.com.dio.warehouse.application.port.in.ExportBasketsUseCase;
+import br.com.dio.warehouse.application.port.in.ListBasketsUseCase;
+import br.com.dio.warehouse.application.port.in.ListBasketsUseCase.BasketPage;
+import br.com.dio.warehouse.application.port.in.ListBasketsUseCase.ListBasketsQuery;
+import br.com.dio.warehouse.domain.model.BasicBasket;
+import br.com.dio.warehouse.domain.model.BasicBasket.BasketStatus;
+import br.com.dio.warehouse.domain.valueobject.BasketCursor;
+import br.com.dio.warehouse.domain.valueobject.BasketFilter;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Integration tests for the keyset-paginated and streamed basket listing
+ * 
+ * Walking every page must return each matching basket exactly once, in
+ * (validation_date, id) order, and the export must stream the same rows
+ * without keeping them in the persistence context.
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Basket Listing Tests")
+@TestPropertySource(properties = "warehouse.baskets.export-fetch-size=50")
+class BasketListingTest extends AbstractPostgresIntegrationTest {
+    
+    private static final int BASKETS = 1_200;
+    
+    @Autowired
+    private ListBasketsUseCase listBasketsUseCase;
+    
+    @Autowired
+    private ExportBasketsUseCase exportBasketsUseCase;
+    
+    @Autowired
+    private BasketController basketController;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void seedBaskets() {
+        deleteAllBaskets();
+        // 20 validation dates shared by many baskets, so the id breaks most ties
+        insertBaskets(BASKETS, "CURRENT_DATE + (g % 20)", "10.00 + (g % 7)",
+                "(ARRAY['AVAILABLE', 'SOLD', 'DISPOSED'])[1 + g % 3]");
+    }
+    
+    @Test
+    @DisplayName("Should return every matching basket once across all pages")
+    void shouldWalkAllPagesInOrder() {
+        // Given
+        BasketFilter filter = new BasketFilter(BasketStatus.AVAILABLE, null, null);
+        List<UUID> expected = jdbcTemplate.queryForList("""
+                SELECT id FROM basic_baskets WHERE status = 'AVAILABLE'
+                ORDER BY validation_date, id
+                """, UUID.class);
+        
+        // When
+        List<UUID> listed = new ArrayList<>();
+        BasketCursor cursor = null;
+        int pages = 0;
+        do {
+            BasketPage page = listBasketsUseCase.execute(new ListBasketsQuery(filter, cursor, 37));
+            page.baskets().forEach(basket -> listed.add(basket.getId()));
+            cursor = page.nextCursor() == null ? null : BasketCursor.parse(page.nextCursor().toToken());
+            pages++;
+        } while (cursor != null);
+        
+        // Then
+        assertThat(expected).hasSize(BASKETS / 3);
+        assertThat(listed).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo((expected.size() + 36) / 37);
+    }
+    
+    @Test
+    @DisplayName("Should restrict the listing to the validation date range")
+    void shouldFilterByValidationDateRange() {
+        // Given
+        LocalDate from = LocalDate.now().plusDays(5);
+        LocalDate to = LocalDate.now().plusDays(9);
+        
+        // When
+        BasketPage page = listBasketsUseCase.execute(new ListBasketsQuery(
+                new BasketFilter(BasketStatus.SOLD, from, to), null, 500));
+        
+        // Then
+        assertThat(page.nextCursor()).isNull();
+        assertThat(page.baskets()).hasSize(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM basic_baskets
+                WHERE status = 'SOLD' AND validation_date BETWEEN CURRENT_DATE + 5 AND CURRENT_DATE + 9
+                """, Integer.class));
+        assertThat(page.baskets()).allSatisfy(basket -> {
+            assertThat(basket.getStatus()).isEqualTo(BasketStatus.SOLD);
+            assertThat(basket.getValidationDate()).isBetween(from, to);
+        });
+    }
+    
+    @Test
+    @DisplayName("Should reject invalid limits and date ranges")
+    void shouldRejectInvalidQueries() {
+        assertThatThrownBy(() -> new ListBasketsQuery(BasketFilter.ALL, null, 501))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BasketFilter(null, LocalDate.now(), LocalDate.now().minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BasketCursor.parse("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    @DisplayName("Should stream every basket without keeping it managed")
+    void shouldStreamDetachedBaskets() {
+        // Given
+        List<BasicBasket> managed = new ArrayList<>();
+        
+        // When
+        long exported = exportBasketsUseCase.execute(BasketFilter.ALL, basket -> {
+            if (entityManager.contains(basket)) {
+                managed.add(basket);
+            }
+        });
+        
+        // Then
+        assertThat(exported).isEqualTo(BASKETS);
+        assertThat(managed).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("Should export one JSON document per line")
+    void shouldExportNdjson() throws Exception {
+        // Given
+        ResponseEntity<StreamingResponseBody> response =
+                basketController.exportBaskets(BasketStatus.DISPOSED, null, null);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        
+        // When
+        response.getBody().writeTo(output);
+        
+        // Then
+        String body = output.toString(StandardCharsets.UTF_8);
+        String[] lines = body.split("\n");
+        assertThat(response.getHeaders().getContentType()).hasToString("application/x-ndjson");
+        assertThat(body).endsWith("\n");
+        assertThat(lines).hasSize(BASKETS / 3);
+        for (String line : lines) {
+            JsonNode basket = objectMapper.readTree(line);
+            assertThat(line).startsWith("{").endsWith("}");
+            assertThat(basket.get("status").asText()).isEqualTo("DISPOSED");
+            assertThat(basket.get("validationDate").asText()).matches("\\d{4}-\\d{2}-\\d{2}");
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+import br.com.dio.warehouse.support.CapturingStatementInspector;
+
+/**
+ * Query plan tests for the hot basket queries
+ * 
+ * Seeds a warehouse where most baskets are already sold or disposed, runs EXPLAIN on
+ * the SQL of each repository query and fails when basic_baskets is read with a
+ * sequential scan. JPQL queries are explained with the SQL Hibernate generates for
+ * them; native queries with their {@link Query} text.
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Basket Query Plan Tests")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "br.com.dio.warehouse.support.CapturingStatementInspector")
+class BasketQueryPlanTest extends AbstractPostgresIntegrationTest {
+    
+    private static final Logger log = LoggerFactory.getLogger(BasketQueryPlanTest.class);
+    
+    private static final int BASKETS = 200_000;
+    private static final String BASKETS_TABLE = "basic_baskets";
+    
+    @Autowired
+    private JpaBasketRepository basketRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @BeforeAll
+    void seedBaskets() {
+        deleteAllBaskets();
+        // One year of baskets in insertion order: expired ones were mostly sold or
+        // disposed, the last month of validation dates is still on sale
+        jdbcTemplate.update("""
+                INSERT INTO basic_baskets (id, validation_date, price, status, created_at, sold_at)
+                SELECT gen_random_uuid(), s.validation_date, 10 + (s.i % 50), s.status,
+                       s.created_at, CASE WHEN s.status = 'SOLD' THEN s.created_at + INTERVAL '1 day' END
+                FROM (
+                    SELECT i,
+                           CURRENT_DATE - 365 + (i * 395 / ?) AS validation_date,
+                           LOCALTIMESTAMP - INTERVAL '400 days' + i * INTERVAL '2 minutes' AS created_at,
+                           CASE
+                               WHEN CURRENT_DATE - 365 + (i * 395 / ?) >= CURRENT_DATE
+                                   THEN CASE WHEN i % 10 < 7 THEN 'AVAILABLE' ELSE 'SOLD' END
+                               WHEN i % 100 = 0 THEN 'AVAILABLE'
+                               WHEN i % 5 = 0 THEN 'DISPOSED'
+                               ELSE 'SOLD'
+                           END AS status
+                    FROM generate_series(1, ?) AS i
+                ) s
+                """, BASKETS, BASKETS, BASKETS);
+        // Statistics and a visibility map, as autovacuum would leave them
+        jdbcTemplate.execute("VACUUM ANALYZE basic_baskets");
+    }
+    
+    @Test
+    @DisplayName("findAvailableBaskets should not scan the whole table")
+    void findAvailableBasketsShouldUseIndex() {
+        CapturingStatementInspector.clear();
+        basketRepository.findAvailableBaskets();
+        
+        assertThat(explainCaptured()).noneMatch(PlanNode::isSequentialScanOnBaskets);
+    }
+    
+    @Test
+    @DisplayName("countAvailableBaskets should be an index-only scan")
+    void countAvailableBasketsShouldBeIndexOnly() {
+        CapturingStatementInspector.clear();
+        basketRepository.countAvailableBaskets();
+        
+        List<PlanNode> plan = explainCaptured();
+        assertThat(plan).noneMatch(PlanNode::isSequentialScanOnBaskets);
+        assertThat(plan).anyMatch(node -> node.isIndexOnlyScanOn("idx_basket_available_validation"));
+    }
+    
+    @Test
+    @DisplayName("findCheapestAvailableBaskets should read the price index in order")
+    void findCheapestAvailableBasketsShouldUsePriceIndex() {
+        CapturingStatementInspector.clear();
+        basketRepository.findCheapestAvailableBaskets(PageRequest.of(0, 10));
+        
+        List<PlanNode> plan = explainCaptured(10);
+        assertThat(plan).noneMatch(PlanNode::isSequentialScanOnBaskets);
+        assertThat(plan).anyMatch(node -> "idx_basket_available_price".equals(node.indexName()));
+    }
+    
+    @Test
+    @DisplayName("countExpiredBaskets should be an index-only scan")
+    void countExpiredBasketsShouldBeIndexOnly() {
+        CapturingStatementInspector.clear();
+        basketRepository.countExpiredBaskets();
+        
+        List<PlanNode> plan = explainCaptured();
+        assertThat(plan).noneMatch(PlanNode::isSequentialScanOnBaskets);
+        assertThat(plan).anyMatch(node -> node.isIndexOnlyScanOn("idx_basket_disposable"));
+    }
+    
+    @Test
+    @DisplayName("claimAndMarkAsSold should claim through the sellable index")
+    void claimAndMarkAsSoldShouldUseIndex() throws Exception {
+        List<PlanNode> plan = explainNative("claimAndMarkAsSold", Map.of(
+                "quantity", 10L,
+                "soldAt", LocalDateTime.now()), long.class, LocalDateTime.class);
+        
+        assertThat(plan).noneMatch(PlanNode::isSequentialScanOnBaskets);
+    }
+    
+    @Test
+    @DisplayName("claimOldestAndMarkAsSold should claim through the receiving order index")
+    void claimOldestAndMarkAsSoldShouldUseIndex() throws Exception {
+        List<PlanNode> plan = explainNative("claimOldestAndMarkAsSold", Map.of(
+                "quantity", 10L,
+                "soldAt", LocalDateTime.now()), long.class, LocalDateTime.class);
+        
+        assertThat(plan).noneMatch(PlanNode::isSequentialScanOnBaskets);
+        assertThat(plan).anyMatch(node -> "idx_basket_available_created".equals(node.indexName()));
+    }
+    
+    @Test
+    @DisplayName("claimCheapestAndMarkAsSold should claim through the price index")
+    void claimCheapestAndMarkAsSoldShouldUseIndex() throws Exception {
+        List<PlanNode> plan = explainNative("claimCheapestAndMarkAsSold", Map.of(
+                "quantity", 10L,
+                "soldAt", LocalDateTime.now()), long.class, LocalDateTime.class);
+        
+        assertThat(plan).noneMatch(PlanNode::isSequentialScanOnBaskets);
+        assertThat(plan).anyMatch(node -> "idx_basket_available_price".equals(node.indexName()));
+    }
+    
+    @Test
+    @DisplayName("disposeExpiredChunk should page through the disposable baskets index")
+    void disposeExpiredChunkShouldUseIndex() throws Exception {
+        List<PlanNode> plan = explainNative("disposeExpiredChunk", Map.of(
+                "afterDate", LocalDate.of(1, 1, 1),
+                "afterId", new UUID(0L, 0L),
+                "expiredBefore", LocalDate.now(),
+                "chunkSize", 1000,
+                "disposedAt", LocalDateTime.now()),
+                LocalDate.class, UUID.class, LocalDate.class, int.class, LocalDateTime.class);
+        
+        assertThat(plan).noneMatch(PlanNode::isSequentialScanOnBaskets);
+        assertThat(plan).anyMatch(node -> "idx_basket_disposable".equals(node.indexName()));
+    }
+    
+    @Test
+    @DisplayName("findOldestDisposableValidationDate should read the disposable baskets index")
+    void findOldestDisposableValidationDateShouldUseIndex() throws Exception {
+        List<PlanNode> plan = explainNative("findOldestDisposableValidationDate", Map.of());
+        
+        assertThat(plan).noneMatch(PlanNode::isSequentialScanOnBaskets);
+        assertThat(plan).anyMatch(node -> "idx_basket_disposable".equals(node.indexName()));
+    }
+    
+    @Test
+    @DisplayName("summarizeSales should use the sold_at block range index for a short period")
+    void summarizeSalesShouldUseSoldAtIndex() throws Exception {
+        LocalDateTime to = LocalDateTime.now().minusDays(60);
+        List<PlanNode> plan = explainNative("summarizeSales", Map.of(
+                "from", to.minusDays(7),
+                "to", to,
+                "unit", "day"), LocalDateTime.class, LocalDateTime.class, String.class);
+        
+        assertThat(plan).noneMatch(PlanNode::isSequentialScanOnBaskets);
+        assertThat(plan).anyMatch(node -> "idx_basket_sold_at_brin".equals(node.indexName()));
+    }
+    
+    private List<PlanNode> explainCaptured(Object... parameters) {
+        String sql = CapturingStatementInspector.firstStatement();
+        String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, parameters);
+        return planNodes(sql, json);
+    }
+    
+    private List<PlanNode> explainNative(String methodName, Map<String, Object> parameters, Class<?>... parameterTypes)
+            throws NoSuchMethodException {
+        String sql = JpaBasketRepository.class.getMethod(methodName, parameterTypes)
+                .getAnnotation(Query.class)
+                .value();
+        String json = namedParameterJdbcTemplate.queryForObject(
+                "EXPLAIN (FORMAT JSON) " + sql, parameters, String.class);
+        return planNodes(sql, json);
+    }
+    
+    private List<PlanNode> planNodes(String sql, String json) {
+        List<PlanNode> nodes = new ArrayList<>();
+        try {
+            collect(objectMapper.readTree(json).get(0).get("Plan"), nodes);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable plan for " + sql, e);
+        }
+        log.debug("{} -> {}", sql.strip().lines().findFirst().orElse(sql),
+                nodes.stream().map(PlanNode::toString).collect(Collectors.joining(", ")));
+        return nodes;
+    }
+    
+    private void collect(JsonNode plan, List<PlanNode> nodes) {
+        nodes.add(new PlanNode(
+                plan.path("Node Type").asText(),
+                plan.path("Relation Name").asText(null),
+                plan.path("Index Name").asText(null)));
+        for (JsonNode child : plan.path("Plans")) {
+            collect(child, nodes);
+        }
+    }
+    
+    /**
+     * One node of an EXPLAIN plan
+     */
+    private record PlanNode(String nodeType, String relationName, String indexName) {
+        
+        boolean isSequentialScanOnBaskets() {
+            return "Seq Scan".equals(nodeType) && BASKETS_TABLE.equals(relationName);
+        }
+        
+        boolean isIndexOnlyScanOn(String index) {
+            return "Index Only Scan".equals(nodeType) && index.equals(indexName);
+        }
+        
+        @Override
+        public String toString() {
+            return nodeType + (indexName != null ? " using " + indexName : "")
+                    + (relationName != null ? " on " + relationName : "");
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.dio.warehouse.application.port.in.BasketReservationUseCase;
+import br.com.dio.warehouse.application.port.in.BasketReservationUseCase.ReservationResult;
+import br.com.dio.warehouse.application.port.in.BasketReservationUseCase.ReserveBasketsCommand;
+import br.com.dio.warehouse.application.port.in.RebuildInventoryCountersUseCase;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase.SellBasketsCommand;
+import br.com.dio.warehouse.domain.exception.BusinessRuleViolationException;
+import br.com.dio.warehouse.domain.exception.InsufficientStockException;
+import br.com.dio.warehouse.domain.exception.ReservationNotFoundException;
+import br.com.dio.warehouse.domain.repository.BasketRepository;
+import br.com.dio.warehouse.domain.repository.BasketRepository.ClaimedBasket;
+import br.com.dio.warehouse.domain.repository.InventoryCountersRepository;
+import br.com.dio.warehouse.domain.valueobject.InventoryCounters;
+import br.com.dio.warehouse.infrastructure.scheduling.ReservationExpirySweepJob;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+
+/**
+ * Integration tests for time-bounded basket reservations
+ * 
+ * A short wheel tick lets expiries run within the test.
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Basket Reservation Tests")
+@TestPropertySource(properties = {
+        "warehouse.reservations.wheel-tick=50ms",
+        "warehouse.reservations.max-ttl=1h"
+})
+class BasketReservationTest extends AbstractPostgresIntegrationTest {
+    
+    @Autowired
+    private BasketReservationUseCase reservationUseCase;
+    
+    @Autowired
+    private SellBasketsUseCase sellBasketsUseCase;
+    
+    @Autowired
+    private RebuildInventoryCountersUseCase rebuildInventoryCountersUseCase;
+    
+    @Autowired
+    private InventoryCountersRepository inventoryCountersRepository;
+    
+    @Autowired
+    private BasketRepository basketRepository;
+    
+    @Autowired
+    private ReservationExpirySweepJob sweepJob;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @BeforeEach
+    void seedAvailableBaskets() {
+        jdbcTemplate.update("DELETE FROM basket_reservations");
+        deleteAllBaskets();
+        insertBaskets(20, "CURRENT_DATE + 10", "12.50", "'AVAILABLE'");
+        rebuildInventoryCounters();
+    }
+    
+    @Test
+    @DisplayName("Should hold reserved baskets and sell them on confirmation")
+    void shouldReserveAndConfirm() {
+        // Given
+        ReservationResult reservation = reservationUseCase.reserve(
+                new ReserveBasketsCommand(8L, Duration.ofMinutes(10)));
+        
+        // Then: reserved baskets cannot be sold to anyone else
+        assertThat(reservation.basketIds()).hasSize(8).doesNotHaveDuplicates();
+        assertThat(statusCount("RESERVED")).isEqualTo(8L);
+        assertThat(counters().reservedBaskets()).isEqualTo(8L);
+        assertThat(counters().availableBaskets()).isEqualTo(12L);
+        assertThatThrownBy(() -> sellBasketsUseCase.execute(new SellBasketsCommand(13L)))
+                .isInstanceOf(InsufficientStockException.class);
+        
+        // When
+        ReservationResult confirmed = reservationUseCase.confirm(reservation.reservationId());
+        
+        // Then
+        assertThat(confirmed.basketIds()).containsExactlyInAnyOrderElementsOf(reservation.basketIds());
+        assertThat(statusCount("SOLD")).isEqualTo(8L);
+        assertThat(statusCount("RESERVED")).isZero();
+        assertThat(counters().soldBaskets()).isEqualTo(8L);
+        assertThat(counters().revenue()).isEqualByComparingTo(new BigDecimal("100.00"));
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+        
+        assertThatThrownBy(() -> reservationUseCase.confirm(reservation.reservationId()))
+                .isInstanceOf(ReservationNotFoundException.class);
+    }
+    
+    @Test
+    @DisplayName("Should return released baskets to the available stock")
+    void shouldReleaseReservation() {
+        // Given
+        ReservationResult reservation = reservationUseCase.reserve(new ReserveBasketsCommand(20L, null));
+        assertThatThrownBy(() -> sellBasketsUseCase.execute(new SellBasketsCommand(1L)))
+                .isInstanceOf(InsufficientStockException.class);
+        
+        // When
+        ReservationResult released = reservationUseCase.release(reservation.reservationId());
+        
+        // Then
+        assertThat(released.quantity()).isEqualTo(20L);
+        assertThat(statusCount("AVAILABLE")).isEqualTo(20L);
+        assertThat(counters().availableValue()).isEqualByComparingTo(new BigDecimal("250.00"));
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+        assertThat(sellBasketsUseCase.execute(new SellBasketsCommand(20L)).soldBasketIds()).hasSize(20);
+        
+        assertThatThrownBy(() -> reservationUseCase.release(reservation.reservationId()))
+                .isInstanceOf(ReservationNotFoundException.class);
+    }
+    
+    @Test
+    @DisplayName("Should expire reservations from the timer wheel without touching open ones")
+    void shouldExpireReservationsFromTimerWheel() throws Exception {
+        // Given
+        ReservationResult shortLived = reservationUseCase.reserve(
+                new ReserveBasketsCommand(5L, Duration.ofMillis(200)));
+        ReservationResult longLived = reservationUseCase.reserve(
+                new ReserveBasketsCommand(5L, Duration.ofMinutes(10)));
+        
+        // When
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (reservationExists(shortLived.reservationId()) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        
+        // Then
+        assertThat(reservationExists(shortLived.reservationId())).isFalse();
+        assertThat(reservationExists(longLived.reservationId())).isTrue();
+        assertThat(statusCount("RESERVED")).isEqualTo(5L);
+        assertThat(statusCount("AVAILABLE")).isEqualTo(15L);
+        assertThat(counters().reservedBaskets()).isEqualTo(5L);
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+        assertThatThrownBy(() -> reservationUseCase.confirm(shortLived.reservationId()))
+                .isInstanceOf(ReservationNotFoundException.class);
+    }
+    
+    @Test
+    @DisplayName("Should schedule the expiry once the reservation has committed")
+    void shouldScheduleExpiryAfterCommit() throws Exception {
+        // Given: the reservation is due well before its transaction commits
+        ReservationResult reservation = new TransactionTemplate(transactionManager).execute(status -> {
+            ReservationResult reserved = reservationUseCase.reserve(
+                    new ReserveBasketsCommand(5L, Duration.ofMillis(10)));
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return reserved;
+        });
+        
+        // When
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (reservationExists(reservation.reservationId()) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        
+        // Then
+        assertThat(reservationExists(reservation.reservationId())).isFalse();
+        assertThat(statusCount("AVAILABLE")).isEqualTo(20L);
+    }
+    
+    @Test
+    @DisplayName("Should sweep overdue reservations that no timer wheel holds")
+    void shouldSweepOverdueReservations() {
+        // Given: a reservation left by an instance that went down
+        jdbcTemplate.update("UPDATE basic_baskets SET status = 'RESERVED' WHERE id IN (SELECT id FROM basic_baskets LIMIT 5)");
+        rebuildInventoryCounters();
+        UUID stranded = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO basket_reservations (id, basket_ids, reserved_at, expires_at)
+                SELECT ?, array_agg(id), CURRENT_TIMESTAMP - INTERVAL '1 hour', CURRENT_TIMESTAMP - INTERVAL '1 minute'
+                FROM basic_baskets WHERE status = 'RESERVED'
+                """, stranded);
+        ReservationResult open = reservationUseCase.reserve(new ReserveBasketsCommand(5L, Duration.ofMinutes(10)));
+        
+        // When
+        sweepJob.expireOverdue();
+        
+        // Then
+        assertThat(reservationExists(stranded)).isFalse();
+        assertThat(reservationExists(open.reservationId())).isTrue();
+        assertThat(statusCount("RESERVED")).isEqualTo(5L);
+        assertThat(statusCount("AVAILABLE")).isEqualTo(15L);
+        assertThat(counters().reservedBaskets()).isEqualTo(5L);
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Should reserve nothing when the stock or the limits do not allow it")
+    void shouldRejectReservationsBeyondStockOrLimits() {
+        assertThatThrownBy(() -> reservationUseCase.reserve(new ReserveBasketsCommand(21L, null)))
+                .isInstanceOf(InsufficientStockException.class);
+        assertThatThrownBy(() -> reservationUseCase.reserve(new ReserveBasketsCommand(1L, Duration.ofHours(2))))
+                .isInstanceOf(BusinessRuleViolationException.class);
+        
+        assertThat(statusCount("AVAILABLE")).isEqualTo(20L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM basket_reservations", Long.class)).isZero();
+        assertThat(counters().reservedBaskets()).isZero();
+    }
+    
+    @Test
+    @DisplayName("Should release more baskets in one update than a statement can bind parameters")
+    void shouldReleaseMoreBasketsThanTheParameterLimit() {
+        // Given: more ids than the 65,535 bind parameters of one statement
+        insertBaskets(70_000, "CURRENT_DATE + 10", "12.50", "'RESERVED'");
+        List<UUID> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM basic_baskets WHERE status = 'RESERVED'", UUID.class);
+        
+        // When
+        List<ClaimedBasket> released = new TransactionTemplate(transactionManager).execute(
+                _ -> basketRepository.releaseReservedBaskets(ids, LocalDateTime.now()));
+        
+        // Then
+        assertThat(released).hasSize(70_000);
+        assertThat(statusCount("RESERVED")).isZero();
+        assertThat(statusCount("AVAILABLE")).isEqualTo(70_020L);
+    }
+    
+    private InventoryCounters counters() {
+        return inventoryCountersRepository.current();
+    }
+    
+    private Long statusCount(String status) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM basic_baskets WHERE status = ?", Long.class, status);
+    }
+    
+    private boolean reservationExists(UUID id) {
+        return !jdbcTemplate.queryForList("SELECT id FROM basket_reservations WHERE id = ?", UUID.class, id).isEmpty();
+    }
+}
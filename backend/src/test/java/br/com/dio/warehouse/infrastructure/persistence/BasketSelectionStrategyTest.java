@@ -0,0 +1,115 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.dio.warehouse.application.port.in.RebuildInventoryCountersUseCase;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase.SellBasketsCommand;
+import br.com.dio.warehouse.application.service.BasketSalesEngine;
+import br.com.dio.warehouse.domain.valueobject.SelectionStrategy;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+
+/**
+ * Integration tests for the basket selection strategies of a sale
+ * 
+ * Three groups of baskets each come first under exactly one strategy: the earliest
+ * to expire, the earliest received and the cheapest.
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Basket Selection Strategy Tests")
+class BasketSelectionStrategyTest extends AbstractPostgresIntegrationTest {
+    
+    @Autowired
+    private SellBasketsUseCase sellBasketsUseCase;
+    
+    @Autowired
+    private BasketSalesEngine basketSalesEngine;
+    
+    @Autowired
+    private RebuildInventoryCountersUseCase rebuildInventoryCountersUseCase;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void seedBaskets() {
+        deleteAllBaskets();
+        // expiring, oldest and cheapest groups
+        seed("CURRENT_DATE + 1", "12.50", "LOCALTIMESTAMP - INTERVAL '1 day'");
+        seed("CURRENT_DATE + 20", "12.50", "LOCALTIMESTAMP - INTERVAL '30 days'");
+        seed("CURRENT_DATE + 20", "9.90", "LOCALTIMESTAMP - INTERVAL '2 days'");
+        // Never sold, whatever the strategy
+        insertBaskets(5, "CURRENT_DATE - 1", "1.00", "'AVAILABLE'",
+                Map.of("created_at", "LOCALTIMESTAMP - INTERVAL '60 days'"));
+        rebuildInventoryCounters();
+    }
+    
+    @Test
+    @DisplayName("Should pick baskets in the order of each strategy, skipping expired ones")
+    void shouldSellInStrategyOrder() {
+        assertThat(groupsSold(SelectionStrategy.FEFO)).containsOnly("expiring");
+        assertThat(groupsSold(SelectionStrategy.FIFO)).containsOnly("oldest");
+        assertThat(groupsSold(SelectionStrategy.CHEAPEST)).containsOnly("cheapest");
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Should default to FEFO when the sale names no strategy")
+    void shouldDefaultToFefo() {
+        List<UUID> sold = sellBasketsUseCase.execute(new SellBasketsCommand(10L)).soldBasketIds();
+        
+        assertThat(groupsOf(sold)).containsOnly("expiring");
+    }
+    
+    @Test
+    @DisplayName("Should claim each strategy separately when one batch mixes them")
+    void shouldSellMixedStrategiesInOneBatch() {
+        List<List<UUID>> sales = basketSalesEngine.sellAll(List.of(
+                new SellBasketsCommand(4L, SelectionStrategy.CHEAPEST),
+                new SellBasketsCommand(4L, SelectionStrategy.FEFO),
+                new SellBasketsCommand(6L, SelectionStrategy.CHEAPEST))).stream()
+                .map(result -> result.soldBasketIds())
+                .toList();
+        
+        assertThat(groupsOf(sales.get(0))).hasSize(4).containsOnly("cheapest");
+        assertThat(groupsOf(sales.get(1))).hasSize(4).containsOnly("expiring");
+        assertThat(groupsOf(sales.get(2))).hasSize(6).containsOnly("cheapest");
+        assertThat(sales.get(0)).doesNotContainAnyElementsOf(sales.get(2));
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+    }
+    
+    private List<String> groupsSold(SelectionStrategy strategy) {
+        return groupsOf(sellBasketsUseCase.execute(new SellBasketsCommand(10L, strategy)).soldBasketIds());
+    }
+    
+    /**
+     * Group of each basket, told apart by validation date and price
+     */
+    private List<String> groupsOf(List<UUID> ids) {
+        return jdbcTemplate.queryForList("""
+                SELECT CASE
+                           WHEN validation_date = CURRENT_DATE + 1 THEN 'expiring'
+                           WHEN price = 9.90 THEN 'cheapest'
+                           ELSE 'oldest'
+                       END
+                FROM basic_baskets WHERE id = ANY(?::uuid[])
+                """, String.class, (Object) ids.stream().map(UUID::toString).toArray(String[]::new));
+    }
+    
+    private void seed(String validationDate, String price, String createdAt) {
+        insertBaskets(10, validationDate, price, "'AVAILABLE'", Map.of("created_at", createdAt));
+    }
+}
@@ -0,0 +1,189 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import br.com.dio.shared.idempotency.IdempotentRequests;
+import br.com.dio.warehouse.application.port.in.RebuildInventoryCountersUseCase;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase.SellBasketsCommand;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase.SellBasketsResult;
+import br.com.dio.warehouse.domain.exception.InsufficientStockException;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Integration tests for group-committed sales ({@code warehouse.sales.mode=batched})
+ * 
+ * A wide batch window makes concurrent sales share transactions.
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Batched Sell Baskets Tests")
+@TestPropertySource(properties = {
+        "warehouse.sales.mode=batched",
+        "warehouse.sales.batch.window=20ms",
+        "warehouse.sales.batch.max-size=16"
+})
+class BatchedSellBasketsTest extends AbstractPostgresIntegrationTest {
+    
+    private static final int SELLERS = 16;
+    private static final long QUANTITY_PER_SALE = 3L;
+    
+    @Autowired
+    private SellBasketsUseCase sellBasketsUseCase;
+    
+    @Autowired
+    private RebuildInventoryCountersUseCase rebuildInventoryCountersUseCase;
+    
+    @Autowired
+    private IdempotentRequests idempotentRequests;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void clearInventory() {
+        deleteAllBaskets();
+    }
+    
+    @Test
+    @DisplayName("Should sell every basket once and give each caller its own baskets")
+    void shouldSellConcurrentSalesInSharedTransactions() throws Exception {
+        // Given: stock for 100 sales, with 2 baskets to spare
+        seed(302);
+        DistributionSummary batchSizes = meterRegistry.get("warehouse.sales.batch.size").summary();
+        long batchesBefore = batchSizes.count();
+        Set<UUID> soldIds = ConcurrentHashMap.newKeySet();
+        
+        // When
+        List<Integer> sales = sellConcurrently(soldIds);
+        
+        // Then
+        int totalSales = sales.stream().mapToInt(Integer::intValue).sum();
+        assertThat(totalSales).isEqualTo(100);
+        assertThat(soldIds).hasSize(300);
+        assertThat(soldCount()).isEqualTo(300L);
+        assertThat(batchSizes.count() - batchesBefore).isLessThan(totalSales);
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Should fail only the sales the remaining stock cannot cover")
+    void shouldFallBackToSingleSalesWhenStockRunsOut() throws Exception {
+        // Given: stock for 10 sales, and more sellers than that
+        seed(31);
+        Set<UUID> soldIds = ConcurrentHashMap.newKeySet();
+        
+        // When
+        List<Integer> sales = sellConcurrently(soldIds);
+        
+        // Then
+        assertThat(sales.stream().mapToInt(Integer::intValue).sum()).isEqualTo(10);
+        assertThat(soldIds).hasSize(30);
+        assertThat(soldCount()).isEqualTo(30L);
+        assertThatThrownBy(() -> sellBasketsUseCase.execute(new SellBasketsCommand(2L)))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining("Available: 1");
+        assertThat(sellBasketsUseCase.execute(new SellBasketsCommand(1L)).soldBasketIds()).hasSize(1);
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Should sell a request with an Idempotency-Key in the key's transaction, not in a batch")
+    void shouldSellKeyedRequestInItsOwnTransaction() {
+        // Given
+        seed(10);
+        DistributionSummary batchSizes = meterRegistry.get("warehouse.sales.batch.size").summary();
+        long batchesBefore = batchSizes.count();
+        String key = UUID.randomUUID().toString();
+        
+        // When: the request fails after selling
+        assertThatThrownBy(() -> idempotentRequests.execute("test", key, 4L, SellBasketsResult.class, () -> {
+            sellBasketsUseCase.execute(new SellBasketsCommand(4L));
+            throw new IllegalStateException("Response lost");
+        })).isInstanceOf(IllegalStateException.class);
+        
+        // Then: the sale is rolled back together with the key
+        assertThat(soldCount()).isZero();
+        
+        // When: the request is retried
+        ResponseEntity<SellBasketsResult> sale = idempotentRequests.execute("test", key, 4L, SellBasketsResult.class,
+                () -> ResponseEntity.ok(sellBasketsUseCase.execute(new SellBasketsCommand(4L))));
+        
+        // Then
+        assertThat(sale.getBody().soldBasketIds()).hasSize(4);
+        assertThat(soldCount()).isEqualTo(4L);
+        assertThat(batchSizes.count()).isEqualTo(batchesBefore);
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+    }
+    
+    /**
+     * Sells from {@link #SELLERS} threads until the stock runs out
+     * 
+     * @return number of sales made by each seller
+     */
+    private List<Integer> sellConcurrently(Set<UUID> soldIds) throws Exception {
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(SELLERS);
+        List<Future<Integer>> sellers = new ArrayList<>();
+        for (int i = 0; i < SELLERS; i++) {
+            sellers.add(executor.submit(() -> {
+                startSignal.await();
+                int sales = 0;
+                while (true) {
+                    try {
+                        SellBasketsResult result = sellBasketsUseCase.execute(new SellBasketsCommand(QUANTITY_PER_SALE));
+                        assertThat(result.soldBasketIds()).hasSize((int) QUANTITY_PER_SALE);
+                        soldIds.addAll(result.soldBasketIds());
+                        sales++;
+                    } catch (InsufficientStockException e) {
+                        return sales;
+                    }
+                }
+            }));
+        }
+        
+        startSignal.countDown();
+        List<Integer> sales = new ArrayList<>();
+        for (Future<Integer> seller : sellers) {
+            sales.add(seller.get(2, TimeUnit.MINUTES)); // any other exception fails the test
+        }
+        executor.shutdown();
+        return sales;
+    }
+    
+    private void seed(int quantity) {
+        insertBaskets(quantity, "CURRENT_DATE + 1 + g % 10", "12.50", "'AVAILABLE'");
+        rebuildInventoryCounters();
+    }
+    
+    private Long soldCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM basic_baskets WHERE status = 'SOLD'", Long.class);
+    }
+}
@@ -0,0 +1,185 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.dio.warehouse.adapter.in.web.bulk.DeliveryLineReader;
+import br.com.dio.warehouse.adapter.in.web.bulk.DeliveryLineReader.Format;
+import br.com.dio.warehouse.adapter.in.web.mapper.WarehouseMapper;
+import br.com.dio.warehouse.application.port.in.CheckStockUseCase;
+import br.com.dio.warehouse.application.port.in.ReceiveDeliveriesUseCase;
+import br.com.dio.warehouse.application.port.in.ReceiveDeliveriesUseCase.DeliveryLineResult;
+import br.com.dio.warehouse.application.port.in.ReceiveDeliveriesUseCase.LineStatus;
+import br.com.dio.warehouse.application.port.in.ReceiveDeliveriesUseCase.ReceiveDeliveriesResult;
+import br.com.dio.warehouse.domain.event.DeliveriesReceivedEvent;
+import br.com.dio.warehouse.domain.event.DeliveryReceivedEvent;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+import jakarta.validation.Validator;
+
+/**
+ * Integration tests for bulk delivery ingestion
+ *
+ * A batch size of 2 shows the batches: each commits on its own and publishes one
+ * aggregated event.
+ *
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Bulk Delivery Ingestion Tests")
+@RecordApplicationEvents
+@TestPropertySource(properties = "warehouse.delivery.bulk.batch-size=2")
+class BulkDeliveryIngestionTest extends AbstractPostgresIntegrationTest {
+
+    private static final String VALIDATION_DATE = LocalDate.now().plusDays(30).toString();
+
+    @Autowired
+    private ReceiveDeliveriesUseCase receiveDeliveriesUseCase;
+
+    @Autowired
+    private CheckStockUseCase checkStockUseCase;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private WarehouseMapper mapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @BeforeEach
+    void clearInventory() {
+        deleteAllBaskets();
+        jdbcTemplate.update("DELETE FROM delivery_boxes");
+        rebuildInventoryCounters();
+    }
+
+    @Test
+    @DisplayName("Should receive valid NDJSON lines in batches and reject the others")
+    void shouldReceiveNdjsonInBatches() {
+        // Given: five valid lines, a malformed one, an invalid one and a blank one
+        String body = String.join("\n",
+                delivery(10),
+                delivery(20),
+                "{\"totalQuantity\": 5, \"validationDate\":",
+                delivery(30),
+                "",
+                delivery(-1),
+                delivery(40),
+                delivery(50));
+
+        // When
+        ReceiveDeliveriesResult result = receive(body, Format.NDJSON);
+
+        // Then
+        assertThat(result.received()).isEqualTo(5L);
+        assertThat(result.rejected()).isEqualTo(2L);
+        assertThat(result.failed()).isZero();
+        assertThat(result.batchesCommitted()).isEqualTo(3);
+        assertThat(result.lines()).extracting(DeliveryLineResult::lineNumber)
+                .containsExactly(1L, 2L, 3L, 4L, 6L, 7L, 8L);
+        assertThat(result.lines()).filteredOn(line -> line.status() == LineStatus.REJECTED)
+                .extracting(DeliveryLineResult::lineNumber)
+                .containsExactly(3L, 6L);
+        assertThat(result.lines()).filteredOn(line -> line.status() == LineStatus.RECEIVED)
+                .allSatisfy(line -> assertThat(line.deliveryId()).isNotNull());
+
+        assertThat(count("delivery_boxes")).isEqualTo(5L);
+        assertThat(count("basic_baskets")).isEqualTo(150L);
+        assertThat(checkStockUseCase.execute().availableBaskets()).isEqualTo(150L);
+
+        // One aggregated event per batch, none per delivery
+        List<DeliveriesReceivedEvent> published = events.stream(DeliveriesReceivedEvent.class).toList();
+        assertThat(published).extracting(DeliveriesReceivedEvent::getTotalQuantity)
+                .containsExactly(30L, 70L, 50L);
+        assertThat(published).extracting(event -> event.getDeliveryBoxIds().size())
+                .containsExactly(2, 2, 1);
+        assertThat(events.stream(DeliveryReceivedEvent.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should read CSV columns by header name and reject unparsable values")
+    void shouldReceiveCsvByHeader() {
+        // Given
+        String body = String.join("\n",
+                "validationDate,totalQuantity,profitMarginPercentage,totalCost",
+                VALIDATION_DATE + ",10,25,100.00",
+                "not-a-date,10,25,100.00",
+                VALIDATION_DATE + ",5,25,",
+                "\"" + VALIDATION_DATE + "\",\"20\",\"10.5\",\"200\"");
+
+        // When
+        ReceiveDeliveriesResult result = receive(body, Format.CSV);
+
+        // Then
+        assertThat(result.received()).isEqualTo(2L);
+        assertThat(result.rejected()).isEqualTo(2L);
+        assertThat(result.lines()).extracting(DeliveryLineResult::lineNumber, DeliveryLineResult::status)
+                .containsExactly(
+                        tuple(2L, LineStatus.RECEIVED),
+                        tuple(3L, LineStatus.REJECTED),
+                        tuple(4L, LineStatus.REJECTED),
+                        tuple(5L, LineStatus.RECEIVED));
+        assertThat(result.lines().get(1).error()).contains("validationDate");
+        assertThat(result.lines().get(2).error()).isEqualTo("Total cost is required");
+        assertThat(count("basic_baskets")).isEqualTo(30L);
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV body whose header lacks a column")
+    void shouldRejectCsvWithoutRequiredColumns() {
+        // Given
+        String body = String.join("\n",
+                "totalQuantity,validationDate,totalCost",
+                "10," + VALIDATION_DATE + ",100.00");
+
+        // When
+        ReceiveDeliveriesResult result = receive(body, Format.CSV);
+
+        // Then
+        assertThat(result.received()).isZero();
+        assertThat(result.lines()).singleElement().satisfies(line -> {
+            assertThat(line.lineNumber()).isEqualTo(1L);
+            assertThat(line.status()).isEqualTo(LineStatus.REJECTED);
+        });
+        assertThat(count("delivery_boxes")).isZero();
+        assertThat(events.stream(DeliveriesReceivedEvent.class)).isEmpty();
+    }
+
+    private ReceiveDeliveriesResult receive(String body, Format format) {
+        return receiveDeliveriesUseCase.execute(
+                new DeliveryLineReader(new StringReader(body), format, objectMapper, validator, mapper));
+    }
+
+    private static String delivery(long quantity) {
+        return """
+                {"totalQuantity": %d, "validationDate": "%s", "totalCost": %d.00, "profitMarginPercentage": 25}"""
+                .formatted(quantity, VALIDATION_DATE, Math.abs(quantity) * 8);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
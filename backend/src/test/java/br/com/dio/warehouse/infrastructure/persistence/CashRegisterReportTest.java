@@ -0,0 +1,141 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.dio.warehouse.application.port.in.GetCashRegisterUseCase;
+import br.com.dio.warehouse.application.port.in.GetCashRegisterUseCase.CashRegisterPeriod;
+import br.com.dio.warehouse.application.port.in.GetCashRegisterUseCase.CashRegisterReport;
+import br.com.dio.warehouse.application.port.in.GetCashRegisterUseCase.CashRegisterReportQuery;
+import br.com.dio.warehouse.domain.valueobject.SalesGrouping;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+
+/**
+ * Integration tests for the period-bounded cash register report
+ *
+ * Sales sit right before and after midnight, a Monday and the first of a month, so
+ * each grouping splits them differently. Baskets of the delivery cost 8.00; a basket
+ * without a delivery counts no cost.
+ *
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Cash Register Report Tests")
+class CashRegisterReportTest extends AbstractPostgresIntegrationTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 3, 24);
+    private static final LocalDate TO = LocalDate.of(2025, 4, 5);
+
+    @Autowired
+    private GetCashRegisterUseCase getCashRegisterUseCase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedSales() {
+        deleteAllBaskets();
+        jdbcTemplate.update("DELETE FROM delivery_boxes");
+        UUID delivery = jdbcTemplate.queryForObject("""
+                INSERT INTO delivery_boxes (total_quantity, validation_date, total_cost, unit_cost, selling_price, profit_margin)
+                VALUES (10, DATE '2025-05-01', 80.00, 8.00, 10.00, 25)
+                RETURNING id
+                """, UUID.class);
+
+        // Sunday before midnight, Monday at midnight, first of April
+        sold(2, "10.00", delivery, "2025-03-30 23:59:59");
+        sold(3, "10.00", delivery, "2025-03-31 00:00:00");
+        sold(1, "12.00", null, "2025-04-01 00:30:00");
+        // Outside the period: the day before it and the day after it
+        sold(1, "10.00", delivery, "2025-03-23 23:59:59");
+        sold(1, "10.00", delivery, "2025-04-06 00:00:00");
+        // Not sold
+        insertBaskets(4, "DATE '2025-05-01'", "10.00", "'AVAILABLE'", Map.of("delivery_box_id", quoted(delivery)));
+    }
+
+    @Test
+    @DisplayName("Should split the sales at midnight when grouped by day")
+    void shouldGroupByDay() {
+        // When
+        CashRegisterReport report = report(SalesGrouping.DAY);
+
+        // Then
+        assertThat(report.periods())
+                .extracting(CashRegisterPeriod::periodStart, CashRegisterPeriod::basketsSold)
+                .containsExactly(
+                        tuple(LocalDate.of(2025, 3, 30), 2L),
+                        tuple(LocalDate.of(2025, 3, 31), 3L),
+                        tuple(LocalDate.of(2025, 4, 1), 1L));
+        CashRegisterPeriod lastDay = report.periods().getLast();
+        assertThat(lastDay.revenue()).isEqualByComparingTo("12.00");
+        assertThat(lastDay.cost()).isEqualByComparingTo("0.00");
+        assertThat(lastDay.profitMargin()).isEqualByComparingTo("100");
+    }
+
+    @Test
+    @DisplayName("Should start the weeks on Monday when grouped by week")
+    void shouldGroupByWeek() {
+        // When
+        CashRegisterReport report = report(SalesGrouping.WEEK);
+
+        // Then
+        assertThat(report.periods())
+                .extracting(CashRegisterPeriod::periodStart, CashRegisterPeriod::basketsSold)
+                .containsExactly(
+                        tuple(LocalDate.of(2025, 3, 24), 2L),
+                        tuple(LocalDate.of(2025, 3, 31), 4L));
+        CashRegisterPeriod firstWeek = report.periods().getFirst();
+        assertThat(firstWeek.revenue()).isEqualByComparingTo("20.00");
+        assertThat(firstWeek.cost()).isEqualByComparingTo("16.00");
+        assertThat(firstWeek.grossProfit()).isEqualByComparingTo("4.00");
+        assertThat(firstWeek.profitMargin()).isEqualByComparingTo("20");
+    }
+
+    @Test
+    @DisplayName("Should split the sales at the first of the month and total the period")
+    void shouldGroupByMonthAndTotalThePeriod() {
+        // When
+        CashRegisterReport report = report(SalesGrouping.MONTH);
+
+        // Then
+        assertThat(report.grouping()).isEqualTo(SalesGrouping.MONTH);
+        assertThat(report.periods())
+                .extracting(CashRegisterPeriod::periodStart, CashRegisterPeriod::basketsSold)
+                .containsExactly(
+                        tuple(LocalDate.of(2025, 3, 1), 5L),
+                        tuple(LocalDate.of(2025, 4, 1), 1L));
+        assertThat(report.periods().getFirst().revenue()).isEqualByComparingTo("50.00");
+        assertThat(report.periods().getFirst().cost()).isEqualByComparingTo("40.00");
+
+        assertThat(report.totals().totalBasketsSold()).isEqualTo(6L);
+        assertThat(report.totals().totalRevenue()).isEqualByComparingTo("62.00");
+        assertThat(report.totals().totalCost()).isEqualByComparingTo("40.00");
+        assertThat(report.totals().grossProfit()).isEqualByComparingTo("22.00");
+        assertThat(report.totals().profitMargin()).isEqualByComparingTo("35.48");
+    }
+
+    private CashRegisterReport report(SalesGrouping grouping) {
+        return getCashRegisterUseCase.execute(new CashRegisterReportQuery(FROM, TO, grouping));
+    }
+
+    private void sold(int quantity, String price, UUID delivery, String soldAt) {
+        insertBaskets(quantity, "DATE '2025-05-01'", price, "'SOLD'", Map.of(
+                "sold_at", "TIMESTAMP '" + soldAt + "'",
+                "delivery_box_id", delivery != null ? quoted(delivery) : "NULL::uuid"));
+    }
+
+    private static String quoted(UUID id) {
+        return "'" + id + "'::uuid";
+    }
+}
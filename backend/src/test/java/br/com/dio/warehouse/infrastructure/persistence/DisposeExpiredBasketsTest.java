@@ -0,0 +1,128 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import br.com.dio.warehouse.application.port.in.DisposeExpiredBasketsUseCase;
+import br.com.dio.warehouse.application.port.in.DisposeExpiredBasketsUseCase.DisposeExpiredBasketsResult;
+import br.com.dio.warehouse.application.port.in.RebuildInventoryCountersUseCase;
+import br.com.dio.warehouse.domain.event.BasketsDisposedEvent;
+import br.com.dio.warehouse.domain.repository.InventoryCountersRepository;
+import br.com.dio.warehouse.domain.valueobject.InventoryCounters;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+
+/**
+ * Integration tests for the chunked disposal of expired baskets
+ *
+ * A chunk size of 40 splits the expired baskets into several chunks; each commits
+ * on its own and publishes one BasketsDisposedEvent.
+ *
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Dispose Expired Baskets Tests")
+@RecordApplicationEvents
+@TestPropertySource(properties = "warehouse.disposal.chunk-size=40")
+class DisposeExpiredBasketsTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private DisposeExpiredBasketsUseCase disposeExpiredBasketsUseCase;
+
+    @Autowired
+    private RebuildInventoryCountersUseCase rebuildInventoryCountersUseCase;
+
+    @Autowired
+    private InventoryCountersRepository inventoryCountersRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @BeforeEach
+    void seedBaskets() {
+        deleteAllBaskets();
+        // 130 expired baskets over two dates and prices, 20 still sellable, 15 already sold
+        insertBaskets(100, "CURRENT_DATE - 10", "12.50", "'AVAILABLE'");
+        insertBaskets(30, "CURRENT_DATE - 3", "7.25", "'AVAILABLE'");
+        insertBaskets(20, "CURRENT_DATE + 5", "12.50", "'AVAILABLE'");
+        insertBaskets(15, "CURRENT_DATE - 10", "12.50", "'SOLD'");
+        rebuildInventoryCounters();
+    }
+
+    @Test
+    @DisplayName("Should dispose every expired basket in chunks and total the loss")
+    void shouldDisposeInChunksAndTotalTheLoss() {
+        // When
+        DisposeExpiredBasketsResult result = disposeExpiredBasketsUseCase.execute();
+
+        // Then: 40 + 40 + 40 + 10
+        assertThat(result.totalDisposed()).isEqualTo(130L);
+        assertThat(result.chunksProcessed()).isEqualTo(4);
+        assertThat(result.totalLossAmount()).isEqualByComparingTo("1467.50");
+
+        assertThat(countByStatus("DISPOSED")).isEqualTo(130L);
+        assertThat(countByStatus("AVAILABLE")).isEqualTo(20L);
+        assertThat(countByStatus("SOLD")).isEqualTo(15L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM basic_baskets WHERE status = 'DISPOSED' AND disposed_at IS NULL",
+                Long.class)).isZero();
+
+        InventoryCounters counters = inventoryCountersRepository.current();
+        assertThat(counters.disposedBaskets()).isEqualTo(130L);
+        assertThat(counters.availableBaskets()).isEqualTo(20L);
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should publish one event per committed chunk")
+    void shouldPublishOneEventPerChunk() {
+        // When
+        DisposeExpiredBasketsResult result = disposeExpiredBasketsUseCase.execute();
+
+        // Then
+        List<BasketsDisposedEvent> published = events.stream(BasketsDisposedEvent.class).toList();
+        assertThat(published).hasSize(result.chunksProcessed());
+        assertThat(published).extracting(BasketsDisposedEvent::getQuantity)
+                .containsExactly(40L, 40L, 40L, 10L);
+        assertThat(published.stream()
+                .map(event -> event.getLossAmount().getAmount())
+                .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .isEqualByComparingTo(result.totalLossAmount());
+    }
+
+    @Test
+    @DisplayName("Should find nothing left to dispose on a second run")
+    void shouldFindNothingOnSecondRun() {
+        // Given
+        disposeExpiredBasketsUseCase.execute();
+        events.clear();
+
+        // When
+        DisposeExpiredBasketsResult second = disposeExpiredBasketsUseCase.execute();
+
+        // Then
+        assertThat(second.totalDisposed()).isZero();
+        assertThat(second.chunksProcessed()).isZero();
+        assertThat(second.totalLossAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(events.stream(BasketsDisposedEvent.class)).isEmpty();
+    }
+
+    private Long countByStatus(String status) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM basic_baskets WHERE status = ?", Long.class, status);
+    }
+}
@@ -0,0 +1,206 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.dio.shared.outbox.EventOutbox;
+import br.com.dio.shared.outbox.OutboxRelay;
+import br.com.dio.storefront.domain.event.ClienteCadastradoEvent;
+import br.com.dio.storefront.infrastructure.messaging.RabbitMQEventPublisher;
+import br.com.dio.warehouse.domain.event.BasketsSoldEvent;
+import br.com.dio.warehouse.domain.valueobject.Money;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Integration tests for the transactional event outbox and its relay
+ *
+ * RabbitMQ is disabled in tests, so relays are created by hand around a stand-in
+ * RabbitTemplate that records the messages and confirms them at once.
+ *
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Event Outbox Tests")
+class EventOutboxTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private EventOutbox eventOutbox;
+
+    @Autowired
+    private RabbitMQEventPublisher storefrontEventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void clearOutbox() {
+        jdbcTemplate.update("DELETE FROM event_outbox");
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should store events only when their transaction commits")
+    void shouldStoreEventsOnlyWithTheirTransaction() {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> {
+            eventOutbox.append("warehouse.events", "baskets.sold", sale("rolled-back"));
+            status.setRollbackOnly();
+        });
+
+        // When
+        transactionTemplate.executeWithoutResult(_ -> {
+            eventOutbox.append("warehouse.events", "baskets.sold", sale("committed"));
+            storefrontEventPublisher.publicar(new ClienteCadastradoEvent(UUID.randomUUID(), "Ana", "ana@example.com", "12345678900"));
+        });
+
+        // Then
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT exchange, routing_key, type_id, payload FROM event_outbox ORDER BY id");
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).containsEntry("routing_key", "baskets.sold")
+                .containsEntry("type_id", BasketsSoldEvent.class.getName());
+        assertThat((String) rows.get(0).get("payload")).contains("committed").doesNotContain("rolled-back");
+        assertThat(rows.get(1)).containsEntry("exchange", "storefront.events")
+                .containsEntry("routing_key", "storefront.cliente.cadastrado")
+                .containsEntry("type_id", ClienteCadastradoEvent.class.getName());
+    }
+
+    @Test
+    @DisplayName("Should delete confirmed events and retry the nacked ones later")
+    void shouldDeleteConfirmedAndRetryNacked() {
+        // Given
+        UUID first = eventOutbox.append("warehouse.events", "baskets.sold", sale("first"));
+        UUID nacked = eventOutbox.append("warehouse.events", "baskets.disposed", sale("nacked"));
+        UUID third = eventOutbox.append("warehouse.events", "baskets.sold", sale("third"));
+        StandInRabbitTemplate broker = new StandInRabbitTemplate("baskets.disposed", null, null);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OutboxRelay relay = relay(broker, 10, registry);
+
+        // When
+        int claimed = relay.relayBatch();
+
+        // Then: sent in order with the row id as message id
+        assertThat(claimed).isEqualTo(3);
+        assertThat(broker.sent).extracting(message -> message.getMessageProperties().getMessageId())
+                .containsExactly(first.toString(), nacked.toString(), third.toString());
+        assertThat(broker.sent.getFirst().getMessageProperties().getHeaders())
+                .containsEntry("__TypeId__", BasketsSoldEvent.class.getName());
+
+        Map<String, Object> left = jdbcTemplate.queryForMap(
+                "SELECT id, attempts, next_attempt_at, last_error FROM event_outbox");
+        assertThat(left.get("id")).isEqualTo(nacked);
+        assertThat(left.get("attempts")).isEqualTo(1);
+        assertThat(((Timestamp) left.get("next_attempt_at")).toLocalDateTime()).isAfter(LocalDateTime.now());
+        assertThat((String) left.get("last_error")).contains("stand-in nack");
+
+        // Not due until its backoff has passed
+        assertThat(relay.relayBatch()).isZero();
+        relay.refreshBacklog();
+        assertThat(registry.get("warehouse.outbox.pending").gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get("warehouse.outbox.relayed").counter().count()).isEqualTo(2.0);
+        assertThat(registry.get("warehouse.outbox.failed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should let concurrent relays claim different events")
+    void shouldLetConcurrentRelaysClaimDifferentEvents() throws Exception {
+        // Given: relay A holds the first two events locked while it waits in send
+        for (int i = 0; i < 4; i++) {
+            eventOutbox.append("warehouse.events", "baskets.sold", sale("sale-" + i));
+        }
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StandInRabbitTemplate brokerA = new StandInRabbitTemplate(null, entered, release);
+        StandInRabbitTemplate brokerB = new StandInRabbitTemplate(null, null, null);
+        CompletableFuture<Integer> relayA = CompletableFuture.supplyAsync(() -> relay(brokerA, 2).relayBatch());
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        int claimedByB = relay(brokerB, 10).relayBatch();
+        release.countDown();
+
+        // Then
+        assertThat(claimedByB).isEqualTo(2);
+        assertThat(relayA.get(10, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(brokerA.sent).extracting(message -> message.getMessageProperties().getMessageId())
+                .doesNotContainAnyElementsOf(brokerB.sent.stream()
+                        .map(message -> message.getMessageProperties().getMessageId())
+                        .toList());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_outbox", Long.class)).isZero();
+    }
+
+    private OutboxRelay relay(RabbitTemplate rabbitTemplate, int batchSize) {
+        return relay(rabbitTemplate, batchSize, new SimpleMeterRegistry());
+    }
+
+    private OutboxRelay relay(RabbitTemplate rabbitTemplate, int batchSize, SimpleMeterRegistry registry) {
+        return new OutboxRelay(jdbcTemplate, transactionManager, rabbitTemplate, registry,
+                batchSize, Duration.ofSeconds(5), Duration.ofMinutes(1), Duration.ofMinutes(5));
+    }
+
+    private static BasketsSoldEvent sale(String transactionId) {
+        return BasketsSoldEvent.of(2L, Money.of(new BigDecimal("25.00")), transactionId);
+    }
+
+    /**
+     * Records sent messages and confirms them at once; nacks one routing key and can
+     * hold the first send until released
+     */
+    private static final class StandInRabbitTemplate extends RabbitTemplate {
+
+        private final List<Message> sent = new CopyOnWriteArrayList<>();
+        private final String nackedRoutingKey;
+        private final CountDownLatch entered;
+        private final CountDownLatch release;
+
+        StandInRabbitTemplate(String nackedRoutingKey, CountDownLatch entered, CountDownLatch release) {
+            this.nackedRoutingKey = nackedRoutingKey;
+            this.entered = entered;
+            this.release = release;
+        }
+
+        @Override
+        public void send(String exchange, String routingKey, Message message, CorrelationData correlationData) {
+            if (entered != null && entered.getCount() > 0) {
+                entered.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(message);
+            boolean ack = !routingKey.equals(nackedRoutingKey);
+            correlationData.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "stand-in nack"));
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.dio.warehouse.application.port.in.BasketReservationUseCase;
+import br.com.dio.warehouse.application.port.in.BasketReservationUseCase.ReservationResult;
+import br.com.dio.warehouse.application.port.in.BasketReservationUseCase.ReserveBasketsCommand;
+import br.com.dio.warehouse.application.port.in.DisposeExpiredBasketsUseCase;
+import br.com.dio.warehouse.application.port.in.RebuildInventoryCountersUseCase;
+import br.com.dio.warehouse.application.port.in.RebuildInventoryCountersUseCase.RebuildInventoryCountersResult;
+import br.com.dio.warehouse.application.port.in.ReceiveDeliveryUseCase;
+import br.com.dio.warehouse.application.port.in.ReceiveDeliveryUseCase.ReceiveDeliveryCommand;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase.SellBasketsCommand;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase.SellBasketsResult;
+import br.com.dio.warehouse.domain.exception.InsufficientStockException;
+import br.com.dio.warehouse.domain.model.DeliveryBox;
+import br.com.dio.warehouse.domain.repository.BasketRepository;
+import br.com.dio.warehouse.domain.repository.BasketRepository.ClaimedLot;
+import br.com.dio.warehouse.domain.valueobject.SelectionStrategy;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+
+/**
+ * Integration tests for the in-memory FEFO inventory engine
+ * 
+ * The background flush is effectively disabled, so each test decides when the
+ * allocation log reaches basic_baskets.
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("In-Memory Inventory Engine Tests")
+@TestPropertySource(properties = {
+        "warehouse.inventory.storage=memory",
+        "warehouse.inventory.memory.flush-interval=1h",
+        "warehouse.inventory.memory.flush-batch-size=10"
+})
+class InMemoryInventoryEngineTest extends AbstractPostgresIntegrationTest {
+    
+    private static final int SELLERS = 16;
+    private static final long QUANTITY_PER_SALE = 7L;
+    
+    @Autowired
+    private SellBasketsUseCase sellBasketsUseCase;
+    
+    @Autowired
+    private ReceiveDeliveryUseCase receiveDeliveryUseCase;
+    
+    @Autowired
+    private DisposeExpiredBasketsUseCase disposeExpiredBasketsUseCase;
+    
+    @Autowired
+    private RebuildInventoryCountersUseCase rebuildInventoryCountersUseCase;
+    
+    @Autowired
+    private BasketReservationUseCase basketReservationUseCase;
+    
+    @Autowired
+    private InMemoryInventoryEngine engine;
+    
+    @Autowired
+    private BasketRepository basketRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void clearInventory() {
+        jdbcTemplate.update("DELETE FROM basket_allocations");
+        jdbcTemplate.update("DELETE FROM basket_reservations");
+        deleteAllBaskets();
+        jdbcTemplate.update("DELETE FROM delivery_boxes");
+        reload();
+    }
+    
+    @Test
+    @DisplayName("Should sell earliest valid baskets first and apply them on flush")
+    void shouldAllocateFirstExpiredFirstOut() {
+        // Given
+        seed(10, "CURRENT_DATE - 1");
+        seed(30, "CURRENT_DATE + 20");
+        seed(30, "CURRENT_DATE + 5");
+        seed(30, "CURRENT_DATE");
+        reload();
+        
+        // When
+        SellBasketsResult sale = sellBasketsUseCase.execute(new SellBasketsCommand(45L));
+        
+        // Then
+        assertThat(basketRepository).isInstanceOf(InMemoryBasketRepositoryAdapter.class);
+        assertThat(basketRepository.countAvailableBaskets()).isEqualTo(45L);
+        assertThat(soldCount()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM basket_allocations", Long.class)).isEqualTo(1L);
+        
+        assertThat(engine.flush()).isEqualTo(1L);
+        assertThat(soldCount()).isEqualTo(45L);
+        assertThat(jdbcTemplate.queryForList("""
+                SELECT validation_date - CURRENT_DATE FROM basic_baskets WHERE id = ANY(?::uuid[])
+                """, Integer.class, (Object) sale.soldBasketIds().stream().map(UUID::toString).toArray(String[]::new)))
+                .hasSize(45)
+                .containsOnly(0, 5)
+                .filteredOn(days -> days == 0).hasSize(30);
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Should put the baskets back when the sale rolls back")
+    void shouldReleaseBasketsOnRollback() {
+        // Given
+        seed(20, "CURRENT_DATE + 1");
+        reload();
+        
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertThat(basketRepository.claimAvailableBaskets(15L, SelectionStrategy.FEFO, LocalDateTime.now()))
+                    .flatExtracting(ClaimedLot::ids).hasSize(15);
+            status.setRollbackOnly();
+        });
+        
+        // Then
+        assertThat(basketRepository.countAvailableBaskets()).isEqualTo(20L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM basket_allocations", Long.class)).isZero();
+        assertThatThrownBy(() -> sellBasketsUseCase.execute(new SellBasketsCommand(21L)))
+                .isInstanceOf(InsufficientStockException.class);
+        assertThat(basketRepository.countAvailableBaskets()).isEqualTo(20L);
+    }
+    
+    @Test
+    @DisplayName("Should apply the logged sales and not resell them after a restart")
+    void shouldRecoverFromAllocationLog() {
+        // Given: sales committed to the log but not yet applied when the process stopped
+        seed(12, "CURRENT_DATE + 3");
+        reload();
+        SellBasketsResult sale = sellBasketsUseCase.execute(new SellBasketsCommand(8L));
+        assertThat(soldCount()).isZero();
+        
+        // When
+        engine.rebuild();
+        
+        // Then
+        assertThat(soldCount()).isEqualTo(8L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM basket_allocations", Long.class)).isZero();
+        assertThat(basketRepository.countAvailableBaskets()).isEqualTo(4L);
+        SellBasketsResult rest = sellBasketsUseCase.execute(new SellBasketsCommand(4L));
+        assertThat(rest.soldBasketIds()).doesNotContainAnyElementsOf(sale.soldBasketIds());
+    }
+    
+    @Test
+    @DisplayName("Should find no drift when rebuilding while sales are not yet applied")
+    void shouldRebuildCountersWithUnappliedSales() {
+        // Given: sales in the counters and the log, their rows still AVAILABLE
+        seed(30, "CURRENT_DATE + 3");
+        reload();
+        sellBasketsUseCase.execute(new SellBasketsCommand(8L));
+        sellBasketsUseCase.execute(new SellBasketsCommand(4L));
+        assertThat(soldCount()).isZero();
+        
+        // When
+        RebuildInventoryCountersResult result = rebuildInventoryCountersUseCase.execute();
+        
+        // Then
+        assertThat(result.driftDetected()).isFalse();
+        assertThat(result.rebuilt().soldBaskets()).isEqualTo(12L);
+        assertThat(result.rebuilt().availableBaskets()).isEqualTo(18L);
+        assertThat(soldCount()).isZero();
+        
+        engine.flush();
+        assertThat(soldCount()).isEqualTo(12L);
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Should sell received deliveries and keep disposal consistent")
+    void shouldSellReceivedDeliveriesAndDispose() {
+        // Given
+        DeliveryBox delivery = receiveDeliveryUseCase.execute(new ReceiveDeliveryCommand(
+                100L, LocalDate.now().plusDays(2), new BigDecimal("800"), new BigDecimal("25")));
+        seed(5, "CURRENT_DATE - 2");
+        
+        // When
+        SellBasketsResult sale = sellBasketsUseCase.execute(new SellBasketsCommand(60L));
+        long disposed = disposeExpiredBasketsUseCase.execute().totalDisposed();
+        
+        // Then
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM basic_baskets WHERE status = 'SOLD' AND delivery_box_id = ?",
+                Long.class, delivery.getId())).isEqualTo(60L);
+        assertThat(sale.soldBasketIds()).hasSize(60).doesNotHaveDuplicates();
+        assertThat(disposed).isEqualTo(5L);
+        assertThat(basketRepository.countAvailableBaskets()).isEqualTo(40L);
+    }
+    
+    @Test
+    @DisplayName("Should take reserved baskets out of memory and put released ones back")
+    void shouldReserveAndReleaseThroughEngine() {
+        // Given
+        seed(20, "CURRENT_DATE + 4");
+        reload();
+        
+        // When
+        ReservationResult reservation = basketReservationUseCase.reserve(new ReserveBasketsCommand(15L, null));
+        
+        // Then: reserved right away, without waiting for a flush
+        assertThat(basketRepository.countAvailableBaskets()).isEqualTo(5L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM basic_baskets WHERE status = 'RESERVED'", Long.class)).isEqualTo(15L);
+        SellBasketsResult sale = sellBasketsUseCase.execute(new SellBasketsCommand(5L));
+        assertThat(sale.soldBasketIds()).doesNotContainAnyElementsOf(reservation.basketIds());
+        
+        // When
+        basketReservationUseCase.release(reservation.reservationId());
+        
+        // Then
+        assertThat(basketRepository.countAvailableBaskets()).isEqualTo(15L);
+        assertThat(sellBasketsUseCase.execute(new SellBasketsCommand(15L)).soldBasketIds())
+                .containsExactlyInAnyOrderElementsOf(reservation.basketIds());
+        engine.flush();
+        assertThat(soldCount()).isEqualTo(20L);
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Should sell every basket at most once with many parallel sellers")
+    void shouldSellEveryBasketOnceWithParallelSellers() throws Exception {
+        // Given
+        seed(2_000, "CURRENT_DATE + 1 + (random() * 30)::int");
+        reload();
+        Set<UUID> soldIds = ConcurrentHashMap.newKeySet();
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(SELLERS);
+        List<Future<Integer>> sellers = new ArrayList<>();
+        
+        for (int i = 0; i < SELLERS; i++) {
+            sellers.add(executor.submit(() -> {
+                startSignal.await();
+                int sales = 0;
+                while (true) {
+                    try {
+                        SellBasketsResult result = sellBasketsUseCase.execute(new SellBasketsCommand(QUANTITY_PER_SALE));
+                        soldIds.addAll(result.soldBasketIds());
+                        sales++;
+                    } catch (InsufficientStockException e) {
+                        return sales;
+                    }
+                }
+            }));
+        }
+        
+        // When
+        startSignal.countDown();
+        int totalSales = 0;
+        for (Future<Integer> seller : sellers) {
+            totalSales += seller.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        engine.flush();
+        
+        // Then
+        long sold = totalSales * QUANTITY_PER_SALE;
+        assertThat(soldIds).hasSize((int) sold);
+        assertThat(soldCount()).isEqualTo(sold);
+        // Sellers only give up when fewer baskets than requested are left unclaimed
+        assertThat(2_000 - sold).isLessThan(QUANTITY_PER_SALE * SELLERS);
+        assertThat(basketRepository.countAvailableBaskets()).isEqualTo(2_000 - sold);
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+    }
+    
+    private void seed(int quantity, String validationDate) {
+        insertBaskets(quantity, validationDate, "12.50", "'AVAILABLE'");
+    }
+    
+    /**
+     * Rows inserted directly bypass the engine and the counters
+     */
+    private void reload() {
+        engine.rebuild();
+        rebuildInventoryCounters();
+    }
+    
+    private Long soldCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM basic_baskets WHERE status = 'SOLD'", Long.class);
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.dio.warehouse.domain.model.BasicBasket;
+import br.com.dio.warehouse.domain.model.BasicBasket.BasketStatus;
+import br.com.dio.warehouse.domain.model.DeliveryBox;
+import br.com.dio.warehouse.domain.valueobject.Money;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Integration tests for interned Money values held by entities
+ *
+ * Money.of hands out one shared instance per amount below 100.00. Hibernate copies
+ * merged values into the Money an entity holds, so entities must keep their own copy.
+ *
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Interned Money Mapping Tests")
+class InternedMoneyMappingTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void clearInventory() {
+        deleteAllBaskets();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should give entities their own copy of interned amounts")
+    void shouldCopyInternedMoneyIntoEntities() {
+        // Given
+        Money shared = Money.of("10.00");
+
+        // When
+        BasicBasket basket = BasicBasket.builder().price(shared).build();
+        DeliveryBox deliveryBox = DeliveryBox.builder().unitCost(shared).sellingPrice(shared).build();
+        deliveryBox.setTotalCost(shared);
+
+        // Then
+        assertThat(basket.getPrice()).isEqualTo(shared).isNotSameAs(shared);
+        assertThat(deliveryBox.getUnitCost()).isEqualTo(shared).isNotSameAs(shared);
+        assertThat(deliveryBox.getSellingPrice()).isEqualTo(shared).isNotSameAs(shared);
+        assertThat(deliveryBox.getTotalCost()).isEqualTo(shared).isNotSameAs(shared);
+    }
+
+    @Test
+    @DisplayName("Should leave the shared Money untouched when a detached basket is merged")
+    void shouldNotOverwriteInternedMoneyOnMerge() {
+        // Given: a managed basket priced with the shared 10.00
+        UUID id = transactionTemplate.execute(_ -> {
+            BasicBasket basket = BasicBasket.builder()
+                    .validationDate(LocalDate.now().plusDays(10))
+                    .price(Money.of("10.00"))
+                    .build();
+            entityManager.persist(basket);
+            return basket.getId();
+        });
+
+        // When: a detached copy with another price is merged into the managed basket
+        transactionTemplate.executeWithoutResult(_ -> {
+            BasicBasket managed = entityManager.find(BasicBasket.class, id);
+            managed.setPrice(Money.of("10.00"));
+            BasicBasket detached = BasicBasket.builder()
+                    .id(id)
+                    .validationDate(managed.getValidationDate())
+                    .price(Money.of("12.50"))
+                    .status(BasketStatus.AVAILABLE)
+                    .createdAt(managed.getCreatedAt())
+                    .version(managed.getVersion())
+                    .build();
+            entityManager.merge(detached);
+        });
+
+        // Then
+        assertThat(Money.of("10.00").getAmount()).isEqualByComparingTo("10.00");
+        assertThat(jdbcTemplate.queryForObject("SELECT price FROM basic_baskets WHERE id = ?",
+                BigDecimal.class, id)).isEqualByComparingTo("12.50");
+    }
+}
@@ -0,0 +1,341 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.dio.warehouse.application.port.in.CheckStockUseCase;
+import br.com.dio.warehouse.application.port.in.CheckStockUseCase.StockInfo;
+import br.com.dio.warehouse.application.port.in.DisposeExpiredBasketsUseCase;
+import br.com.dio.warehouse.application.port.in.DisposeExpiredBasketsUseCase.DisposeExpiredBasketsResult;
+import br.com.dio.warehouse.application.port.in.RebuildInventoryCountersUseCase;
+import br.com.dio.warehouse.application.port.in.ReceiveDeliveryUseCase;
+import br.com.dio.warehouse.application.port.in.ReceiveDeliveryUseCase.ReceiveDeliveryCommand;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase.SellBasketsCommand;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase.SellBasketsResult;
+import br.com.dio.warehouse.application.service.BasketSalesEngine;
+import br.com.dio.warehouse.domain.exception.InsufficientStockException;
+import br.com.dio.warehouse.domain.model.BasicBasket.BasketStatus;
+import br.com.dio.warehouse.domain.model.DeliveryBox;
+import br.com.dio.warehouse.domain.repository.BasketRepository;
+import br.com.dio.warehouse.domain.valueobject.SelectionStrategy;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+
+/**
+ * Integration tests for the lot-based basket storage
+ * 
+ * The use case services are unchanged; only the BasketRepository adapter differs.
+ * Unit tracing is enabled so sold baskets still get ids.
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Lot Inventory Storage Tests")
+@TestPropertySource(properties = {
+        "warehouse.inventory.storage=lots",
+        "warehouse.inventory.lots.trace-units=true"
+})
+class LotInventoryStorageTest extends AbstractPostgresIntegrationTest {
+    
+    private static final int SELLERS = 16;
+    private static final long QUANTITY_PER_SALE = 7L;
+    
+    @Autowired
+    private ReceiveDeliveryUseCase receiveDeliveryUseCase;
+    
+    @Autowired
+    private SellBasketsUseCase sellBasketsUseCase;
+    
+    @Autowired
+    private DisposeExpiredBasketsUseCase disposeExpiredBasketsUseCase;
+    
+    @Autowired
+    private CheckStockUseCase checkStockUseCase;
+    
+    @Autowired
+    private RebuildInventoryCountersUseCase rebuildInventoryCountersUseCase;
+    
+    @Autowired
+    private BasketSalesEngine basketSalesEngine;
+    
+    @Autowired
+    private BasketRepository basketRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @BeforeEach
+    void clearInventory() {
+        deleteAllBaskets();
+        jdbcTemplate.update("DELETE FROM delivery_boxes");
+        rebuildInventoryCounters();
+    }
+    
+    @Test
+    @DisplayName("Should use the lot adapter behind the basket repository port")
+    void shouldUseLotAdapter() {
+        assertThat(basketRepository).isInstanceOf(LotBasketRepositoryAdapter.class);
+    }
+    
+    @Test
+    @DisplayName("Should receive, sell and dispose baskets as lot counter updates")
+    void shouldReceiveSellAndDisposeThroughLots() {
+        // Given
+        DeliveryBox firstToExpire = receive(200, LocalDate.now().plusDays(5));
+        DeliveryBox lastToExpire = receive(200, LocalDate.now().plusDays(30));
+        
+        // When
+        SellBasketsResult sale = sellBasketsUseCase.execute(new SellBasketsCommand(250L));
+        jdbcTemplate.update("UPDATE inventory_lots SET validation_date = CURRENT_DATE - 1 WHERE delivery_box_id = ?",
+                lastToExpire.getId());
+        DisposeExpiredBasketsResult disposal = disposeExpiredBasketsUseCase.execute();
+        
+        // Then
+        assertThat(lotQuantities(firstToExpire)).containsExactly(200L, 0L, 200L, 0L);
+        assertThat(lotQuantities(lastToExpire)).containsExactly(200L, 0L, 50L, 150L);
+        assertThat(sale.soldBasketIds()).hasSize(250).doesNotHaveDuplicates();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM basic_baskets WHERE status = 'SOLD'", Long.class)).isEqualTo(250L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(quantity) FROM lot_sales", Long.class)).isEqualTo(250L);
+        assertThat(disposal.totalDisposed()).isEqualTo(150L);
+        
+        StockInfo stock = checkStockUseCase.execute();
+        assertThat(stock.totalBaskets()).isEqualTo(400L);
+        assertThat(stock.availableBaskets()).isZero();
+        assertThat(stock.soldBaskets()).isEqualTo(250L);
+        assertThat(stock.disposedBaskets()).isEqualTo(150L);
+        // Everything left in the expired lot was disposed; its sold baskets do not count
+        assertThat(stock.expiredBaskets()).isZero();
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+        
+        assertThatThrownBy(() -> sellBasketsUseCase.execute(new SellBasketsCommand(1L)))
+                .isInstanceOf(InsufficientStockException.class);
+    }
+    
+    @Test
+    @DisplayName("Should use the lots in the order of the selection strategy")
+    void shouldSellLotsInStrategyOrder() {
+        // Given: the later delivery expires first, the earlier one is cheaper
+        DeliveryBox cheaper = receiveDeliveryUseCase.execute(new ReceiveDeliveryCommand(
+                100L, LocalDate.now().plusDays(30), new BigDecimal("500"), new BigDecimal("25")));
+        DeliveryBox expiring = receive(100, LocalDate.now().plusDays(5));
+        
+        // When
+        sellBasketsUseCase.execute(new SellBasketsCommand(30L, SelectionStrategy.CHEAPEST));
+        sellBasketsUseCase.execute(new SellBasketsCommand(20L, SelectionStrategy.FIFO));
+        sellBasketsUseCase.execute(new SellBasketsCommand(10L, SelectionStrategy.FEFO));
+        
+        // Then
+        assertThat(lotQuantities(cheaper)).containsExactly(100L, 50L, 50L, 0L);
+        assertThat(lotQuantities(expiring)).containsExactly(100L, 90L, 10L, 0L);
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Should hand the lots of one strategy to the sales of a batch in picking order")
+    void shouldHandOutLotsInPickingOrder() {
+        // Given: the cheaper delivery expires last
+        DeliveryBox cheaper = receiveDeliveryUseCase.execute(new ReceiveDeliveryCommand(
+                100L, LocalDate.now().plusDays(30), new BigDecimal("500"), new BigDecimal("25")));
+        DeliveryBox expiring = receive(100, LocalDate.now().plusDays(5));
+        
+        // When
+        List<SellBasketsResult> sales = basketSalesEngine.sellAll(List.of(
+                new SellBasketsCommand(120L, SelectionStrategy.CHEAPEST),
+                new SellBasketsCommand(30L, SelectionStrategy.CHEAPEST)));
+        
+        // Then: the first sale empties the cheaper lot before touching the other
+        assertThat(soldFrom(sales.get(0), cheaper)).isEqualTo(100L);
+        assertThat(soldFrom(sales.get(0), expiring)).isEqualTo(20L);
+        assertThat(soldFrom(sales.get(1), expiring)).isEqualTo(30L);
+    }
+    
+    @Test
+    @DisplayName("Should retry a sale chosen as the victim of a deadlock")
+    void shouldRetrySaleAfterDeadlock() throws Exception {
+        // Given: the sale needs both lots and locks them in delivery id order
+        receive(100, LocalDate.now().plusDays(5));
+        receive(100, LocalDate.now().plusDays(30));
+        List<UUID> lots = jdbcTemplate.queryForList(
+                "SELECT delivery_box_id FROM inventory_lots ORDER BY delivery_box_id", UUID.class);
+        CountDownLatch locked = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(_ -> {
+                    // Only the sale checks for the deadlock in time, so it is the victim
+                    jdbcTemplate.execute("SET LOCAL deadlock_timeout = '10s'");
+                    lockLot(lots.get(1));
+                    locked.countDown();
+                    awaitWaitingSeller();
+                    lockLot(lots.get(0));
+                }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+        
+        // When
+        SellBasketsResult sale = CompletableFuture
+                .supplyAsync(() -> sellBasketsUseCase.execute(new SellBasketsCommand(150L)))
+                .get(30, TimeUnit.SECONDS);
+        holder.get(10, TimeUnit.SECONDS);
+        
+        // Then
+        assertThat(sale.soldBasketIds()).hasSize(150);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(sold_quantity) FROM inventory_lots", Long.class)).isEqualTo(150L);
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Should not wait on lots the sale does not need")
+    void shouldLockOnlyTheLotsTheSaleNeeds() throws Exception {
+        // Given: another transaction holds the lot that expires last
+        DeliveryBox firstToExpire = receive(100, LocalDate.now().plusDays(5));
+        DeliveryBox lastToExpire = receive(100, LocalDate.now().plusDays(30));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(_ -> {
+                    jdbcTemplate.queryForList("SELECT 1 FROM inventory_lots WHERE delivery_box_id = ? FOR UPDATE",
+                            lastToExpire.getId());
+                    locked.countDown();
+                    try {
+                        release.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+        
+        // When
+        SellBasketsResult sale;
+        try {
+            sale = CompletableFuture.supplyAsync(() -> sellBasketsUseCase.execute(new SellBasketsCommand(100L)))
+                    .get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        }
+        
+        // Then
+        assertThat(sale.soldBasketIds()).hasSize(100);
+        assertThat(lotQuantities(firstToExpire)).containsExactly(100L, 0L, 100L, 0L);
+        assertThat(lotQuantities(lastToExpire)).containsExactly(100L, 100L, 0L, 0L);
+    }
+    
+    @Test
+    @DisplayName("Should sell every basket of the lots exactly once with many parallel sellers")
+    void shouldSellEveryBasketOnceWithParallelSellers() throws Exception {
+        // Given
+        long stock = 0;
+        for (int i = 1; i <= 5; i++) {
+            stock += receive(400, LocalDate.now().plusDays(i)).getTotalQuantity();
+        }
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(SELLERS);
+        List<Future<Integer>> sellers = new ArrayList<>();
+        
+        for (int i = 0; i < SELLERS; i++) {
+            sellers.add(executor.submit(() -> {
+                startSignal.await();
+                int sales = 0;
+                while (true) {
+                    try {
+                        sellBasketsUseCase.execute(new SellBasketsCommand(QUANTITY_PER_SALE));
+                        sales++;
+                    } catch (InsufficientStockException e) {
+                        return sales;
+                    }
+                }
+            }));
+        }
+        
+        // When
+        startSignal.countDown();
+        int totalSales = 0;
+        for (Future<Integer> seller : sellers) {
+            totalSales += seller.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        
+        // Then
+        long sold = totalSales * QUANTITY_PER_SALE;
+        assertThat(basketRepository.countByStatus(BasketStatus.SOLD)).isEqualTo(sold);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT id) FROM basic_baskets WHERE status = 'SOLD'", Long.class)).isEqualTo(sold);
+        // Lots are waited on, not skipped: sellers only give up when less than one sale is left
+        assertThat(stock - sold).isLessThan(QUANTITY_PER_SALE);
+        assertThat(checkStockUseCase.execute().availableBaskets()).isEqualTo(stock - sold);
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+    }
+    
+    private DeliveryBox receive(long quantity, LocalDate validationDate) {
+        return receiveDeliveryUseCase.execute(new ReceiveDeliveryCommand(
+                quantity, validationDate, BigDecimal.valueOf(quantity * 8), new BigDecimal("25")));
+    }
+    
+    private Long soldFrom(SellBasketsResult sale, DeliveryBox delivery) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM basic_baskets WHERE id = ANY(?::uuid[]) AND delivery_box_id = ?",
+                Long.class,
+                sale.soldBasketIds().stream().map(UUID::toString).toArray(String[]::new),
+                delivery.getId());
+    }
+    
+    private void lockLot(UUID deliveryBoxId) {
+        jdbcTemplate.queryForList("SELECT 1 FROM inventory_lots WHERE delivery_box_id = ? FOR UPDATE", deliveryBoxId);
+    }
+    
+    /**
+     * Waits until another session is blocked on a lock
+     */
+    private void awaitWaitingSeller() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM pg_stat_activity
+                WHERE wait_event_type = 'Lock' AND pid <> pg_backend_pid()
+                """, Long.class) == 0) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("The sale never waited on the locked lot");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+    
+    private List<Long> lotQuantities(DeliveryBox delivery) {
+        return jdbcTemplate.queryForObject("""
+                SELECT total_quantity, available_quantity, sold_quantity, disposed_quantity
+                FROM inventory_lots WHERE delivery_box_id = ?
+                """,
+                (rs, rowNum) -> List.of(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)),
+                delivery.getId());
+    }
+}
@@ -0,0 +1,152 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import br.com.dio.warehouse.adapter.in.web.dto.DeliveryResponse;
+import br.com.dio.warehouse.adapter.in.web.mapper.WarehouseMapper;
+import br.com.dio.warehouse.application.port.in.ReceiveDeliveryUseCase;
+import br.com.dio.warehouse.application.port.in.ReceiveDeliveryUseCase.ReceiveDeliveryCommand;
+import br.com.dio.warehouse.domain.event.DeliveryReceivedEvent;
+import br.com.dio.warehouse.domain.model.DeliveryBox;
+import br.com.dio.warehouse.domain.repository.InventoryCountersRepository;
+import br.com.dio.warehouse.domain.valueobject.InventoryCounters;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+
+/**
+ * Integration tests for receiving a delivery through the COPY path
+ *
+ * A chunk size of 7 makes a delivery of 25 baskets take four COPY writes of the same
+ * buffer (7 + 7 + 7 + 4), so the rows written after the first chunk are checked too.
+ *
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Receive Delivery Tests")
+@RecordApplicationEvents
+@TestPropertySource(properties = "warehouse.delivery.insert-chunk-size=7")
+class ReceiveDeliveryTest extends AbstractPostgresIntegrationTest {
+
+    private static final LocalDate VALIDATION_DATE = LocalDate.now().plusDays(30);
+
+    @Autowired
+    private ReceiveDeliveryUseCase receiveDeliveryUseCase;
+
+    @Autowired
+    private InventoryCountersRepository inventoryCountersRepository;
+
+    @Autowired
+    private WarehouseMapper mapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @BeforeEach
+    void clearInventory() {
+        deleteAllBaskets();
+        jdbcTemplate.update("DELETE FROM delivery_boxes");
+        rebuildInventoryCounters();
+    }
+
+    @Test
+    @DisplayName("Should copy one AVAILABLE basket per unit with the delivery's price and date")
+    void shouldCopyEveryBasketOfTheDelivery() {
+        // When: 250.00 for 25 baskets is 10.00 each, sold at a 25% margin
+        DeliveryBox deliveryBox = receiveDeliveryUseCase.execute(new ReceiveDeliveryCommand(
+                25L, VALIDATION_DATE, new BigDecimal("250.00"), new BigDecimal("25")));
+
+        // Then
+        assertThat(deliveryBox.getUnitCost().getAmount()).isEqualByComparingTo("10.00");
+        assertThat(deliveryBox.getSellingPrice().getAmount()).isEqualByComparingTo("12.50");
+
+        Map<String, Object> rows = jdbcTemplate.queryForMap("""
+                SELECT COUNT(*) AS baskets,
+                       COUNT(DISTINCT id) AS ids,
+                       COUNT(*) FILTER (WHERE status = 'AVAILABLE') AS available,
+                       COUNT(*) FILTER (WHERE price = 12.50) AS at_selling_price,
+                       COUNT(*) FILTER (WHERE validation_date = ?) AS with_validation_date,
+                       COUNT(*) FILTER (WHERE delivery_box_id = ?) AS of_delivery,
+                       COUNT(*) FILTER (WHERE created_at IS NOT NULL AND version = 0) AS with_defaults,
+                       COUNT(*) FILTER (WHERE sold_at IS NULL AND disposed_at IS NULL) AS untouched
+                FROM basic_baskets
+                """, VALIDATION_DATE, deliveryBox.getId());
+        assertThat(rows).containsEntry("baskets", 25L)
+                .containsEntry("ids", 25L)
+                .containsEntry("available", 25L)
+                .containsEntry("at_selling_price", 25L)
+                .containsEntry("with_validation_date", 25L)
+                .containsEntry("of_delivery", 25L)
+                .containsEntry("with_defaults", 25L)
+                .containsEntry("untouched", 25L);
+
+        InventoryCounters counters = inventoryCountersRepository.current();
+        assertThat(counters.totalBaskets()).isEqualTo(25L);
+        assertThat(counters.availableBaskets()).isEqualTo(25L);
+        assertThat(counters.availableValue()).isEqualByComparingTo("312.50");
+
+        List<DeliveryReceivedEvent> published = events.stream(DeliveryReceivedEvent.class).toList();
+        assertThat(published).singleElement()
+                .satisfies(event -> assertThat(event.getDeliveryBoxId()).isEqualTo(deliveryBox.getId()));
+    }
+
+    @Test
+    @DisplayName("Should fill a whole chunk exactly and keep deliveries apart")
+    void shouldCopyDeliveriesOfExactChunks() {
+        // When
+        DeliveryBox first = receiveDeliveryUseCase.execute(new ReceiveDeliveryCommand(
+                14L, VALIDATION_DATE, new BigDecimal("140.00"), new BigDecimal("0")));
+        DeliveryBox second = receiveDeliveryUseCase.execute(new ReceiveDeliveryCommand(
+                1L, VALIDATION_DATE.plusDays(1), new BigDecimal("3.00"), new BigDecimal("50")));
+
+        // Then
+        assertThat(countOfDelivery(first)).isEqualTo(14L);
+        assertThat(countOfDelivery(second)).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id) FROM basic_baskets", Long.class))
+                .isEqualTo(15L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT price FROM basic_baskets WHERE delivery_box_id = ?", BigDecimal.class, second.getId()))
+                .isEqualByComparingTo("4.50");
+    }
+
+    @Test
+    @DisplayName("Should report the baskets of the delivery as available until it expires")
+    void shouldMapAvailableCountFromTheDelivery() {
+        // Given
+        DeliveryBox deliveryBox = receiveDeliveryUseCase.execute(new ReceiveDeliveryCommand(
+                25L, VALIDATION_DATE, new BigDecimal("250.00"), new BigDecimal("25")));
+
+        // When
+        DeliveryResponse response = mapper.toDeliveryResponse(deliveryBox);
+        deliveryBox.setValidationDate(LocalDate.now().minusDays(1));
+        DeliveryResponse expired = mapper.toDeliveryResponse(deliveryBox);
+
+        // Then
+        assertThat(response.availableBaskets()).isEqualTo(25L);
+        assertThat(response.deliveryId()).isEqualTo(deliveryBox.getId());
+        assertThat(response.sellingPrice()).isEqualByComparingTo("12.50");
+        assertThat(expired.availableBaskets()).isZero();
+    }
+
+    private Long countOfDelivery(DeliveryBox deliveryBox) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM basic_baskets WHERE delivery_box_id = ? AND status = 'AVAILABLE'",
+                Long.class, deliveryBox.getId());
+    }
+}
@@ -0,0 +1,159 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.dio.warehouse.application.port.in.GetSalesSeriesUseCase;
+import br.com.dio.warehouse.application.port.in.GetSalesSeriesUseCase.SalesPoint;
+import br.com.dio.warehouse.application.port.in.GetSalesSeriesUseCase.SalesSeries;
+import br.com.dio.warehouse.application.port.in.GetSalesSeriesUseCase.SalesSeriesQuery;
+import br.com.dio.warehouse.application.service.SalesRollupAggregator;
+import br.com.dio.warehouse.domain.event.BasketsSoldEvent;
+import br.com.dio.warehouse.domain.valueobject.Money;
+import br.com.dio.warehouse.domain.valueobject.SalesBucket.Resolution;
+import br.com.dio.warehouse.infrastructure.event.listener.BasketsSoldEventListener;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+
+/**
+ * Integration tests for the sales rollups fed by the BasketsSoldEvent consumer
+ *
+ * RabbitMQ is disabled in tests, so the listener is created by hand around the
+ * aggregator bean and handed batches as the broker would.
+ *
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Sales Rollup Tests")
+class SalesRollupTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private SalesRollupAggregator salesRollupAggregator;
+
+    @Autowired
+    private GetSalesSeriesUseCase getSalesSeriesUseCase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BasketsSoldEventListener listener;
+
+    @BeforeEach
+    void clearRollups() {
+        jdbcTemplate.update("DELETE FROM sales_rollups");
+        jdbcTemplate.update("DELETE FROM processed_events");
+        listener = new BasketsSoldEventListener(salesRollupAggregator);
+    }
+
+    @Test
+    @DisplayName("Should serve per-minute and per-hour curves from a batch of sales")
+    void shouldServeCurvesFromBatchOfSales() {
+        // When
+        listener.handleBasketsSold(List.of(
+                sale("2031-03-04T10:00:30Z", 2, "16.00"),
+                sale("2031-03-04T10:00:50Z", 1, "8.50"),
+                sale("2031-03-04T10:01:10Z", 3, "24.00"),
+                sale("2031-03-04T11:15:00Z", 1, "8.00")));
+        SalesSeries minutes = series("2031-03-04T10:00:00Z", "2031-03-04T10:03:00Z", Resolution.MINUTE);
+        SalesSeries hours = series("2031-03-04T10:00:00Z", "2031-03-04T12:00:00Z", Resolution.HOUR);
+
+        // Then
+        assertThat(minutes.points())
+                .extracting(SalesPoint::bucketStart, SalesPoint::quantity, SalesPoint::sales)
+                .containsExactly(
+                        tuple(Instant.parse("2031-03-04T10:00:00Z"), 3L, 2L),
+                        tuple(Instant.parse("2031-03-04T10:01:00Z"), 3L, 1L),
+                        tuple(Instant.parse("2031-03-04T10:02:00Z"), 0L, 0L));
+        assertThat(minutes.points().getFirst().revenue()).isEqualByComparingTo("24.50");
+        assertThat(minutes.totalQuantity()).isEqualTo(6L);
+
+        assertThat(hours.points()).extracting(SalesPoint::quantity).containsExactly(6L, 1L);
+        assertThat(hours.totalRevenue()).isEqualByComparingTo("56.50");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sales_rollups", Long.class)).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("Should add later batches of the same bucket to the stored rollup")
+    void shouldAddBatchesOfSameBucket() {
+        // Given
+        listener.handleBasketsSold(List.of(sale("2031-03-04T10:00:30Z", 2, "16.00")));
+
+        // When
+        listener.handleBasketsSold(List.of(sale("2031-03-04T10:00:40Z", 5, "40.00")));
+        SalesSeries minutes = series("2031-03-04T10:00:15Z", "2031-03-04T10:00:45Z", Resolution.MINUTE);
+
+        // Then: the range is widened to the whole minute
+        assertThat(minutes.from()).isEqualTo(Instant.parse("2031-03-04T10:00:00Z"));
+        assertThat(minutes.to()).isEqualTo(Instant.parse("2031-03-04T10:01:00Z"));
+        assertThat(minutes.points()).singleElement().satisfies(point -> {
+            assertThat(point.quantity()).isEqualTo(7L);
+            assertThat(point.revenue()).isEqualByComparingTo("56.00");
+            assertThat(point.sales()).isEqualTo(2L);
+        });
+    }
+
+    @Test
+    @DisplayName("Should count the sales of a redelivered batch once")
+    void shouldSkipRedeliveredSales() {
+        // Given
+        BasketsSoldEvent first = sale("2031-03-04T10:00:30Z", 2, "16.00");
+        BasketsSoldEvent second = sale("2031-03-04T10:00:40Z", 5, "40.00");
+        listener.handleBasketsSold(List.of(first, second));
+
+        // When: the batch comes back, partly merged with a new sale
+        listener.handleBasketsSold(List.of(first, second));
+        listener.handleBasketsSold(List.of(second, sale("2031-03-04T10:00:50Z", 1, "8.00"), second));
+        SalesSeries minutes = series("2031-03-04T10:00:00Z", "2031-03-04T10:01:00Z", Resolution.MINUTE);
+
+        // Then
+        assertThat(minutes.points()).singleElement().satisfies(point -> {
+            assertThat(point.quantity()).isEqualTo(8L);
+            assertThat(point.revenue()).isEqualByComparingTo("64.00");
+            assertThat(point.sales()).isEqualTo(3L);
+        });
+
+        // Once its record is deleted, a sale is no longer recognised
+        assertThat(salesRollupAggregator.forgetRecordedBefore(LocalDateTime.now().plusMinutes(1), 100))
+                .isEqualTo(3);
+        listener.handleBasketsSold(List.of(first));
+        assertThat(series("2031-03-04T10:00:00Z", "2031-03-04T10:01:00Z", Resolution.MINUTE).totalQuantity())
+                .isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("Should reject a curve with more points than allowed")
+    void shouldRejectTooManyPoints() {
+        assertThatThrownBy(() -> series("2031-03-01T00:00:00Z", "2031-03-09T00:00:00Z", Resolution.MINUTE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(series("2031-03-01T00:00:00Z", "2031-03-09T00:00:00Z", Resolution.HOUR).points())
+                .hasSize(192);
+    }
+
+    private static BasketsSoldEvent sale(String soldAt, long quantity, String revenue) {
+        return BasketsSoldEvent.builder()
+                .eventId(UUID.randomUUID())
+                .occurredOn(Instant.parse(soldAt))
+                .quantity(quantity)
+                .totalValue(Money.of(new BigDecimal(revenue)))
+                .transactionId("test")
+                .build();
+    }
+
+    private SalesSeries series(String from, String to, Resolution resolution) {
+        return getSalesSeriesUseCase.execute(
+                new SalesSeriesQuery(Instant.parse(from), Instant.parse(to), resolution));
+    }
+}
@@ -0,0 +1,183 @@
+package br.com.dio.warehouse.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.dio.warehouse.application.port.in.RebuildInventoryCountersUseCase;
+import br.com.dio.warehouse.application.port.in.SellBasketsUseCase;
+import br.com.dio.warehouse.domain.exception.InsufficientStockException;
+import br.com.dio.warehouse.domain.repository.InventoryCountersRepository;
+import br.com.dio.warehouse.domain.valueobject.InventoryCounters;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+
+/**
+ * Concurrency tests for the set-based basket allocation path
+ * 
+ * Many sellers compete for the same AVAILABLE rows; with FOR UPDATE SKIP LOCKED
+ * every basket must be sold exactly once and no seller may fail with an
+ * optimistic locking error. The striped inventory counters must account for
+ * every sale.
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Sell Baskets Concurrency Tests")
+class SellBasketsConcurrencyTest extends AbstractPostgresIntegrationTest {
+    
+    private static final Logger log = LoggerFactory.getLogger(SellBasketsConcurrencyTest.class);
+    
+    private static final int STOCK = 5_000;
+    private static final int SELLERS = 16;
+    private static final long QUANTITY_PER_SALE = 7L;
+    
+    @Autowired
+    private SellBasketsUseCase sellBasketsUseCase;
+    
+    @Autowired
+    private RebuildInventoryCountersUseCase rebuildInventoryCountersUseCase;
+    
+    @Autowired
+    private InventoryCountersRepository inventoryCountersRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void seedAvailableBaskets() {
+        deleteAllBaskets();
+        insertBaskets(STOCK, "CURRENT_DATE + 30", "12.50", "'AVAILABLE'");
+        rebuildInventoryCounters();
+    }
+    
+    @Test
+    @DisplayName("Should sell every basket at most once with many parallel sellers")
+    void shouldSellEveryBasketAtMostOnceWithParallelSellers() throws Exception {
+        // Given
+        Set<UUID> soldIds = ConcurrentHashMap.newKeySet();
+        AtomicLong duplicatedIds = new AtomicLong();
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(SELLERS);
+        List<Future<Integer>> sellers = new ArrayList<>();
+        
+        for (int i = 0; i < SELLERS; i++) {
+            sellers.add(executor.submit(() -> {
+                startSignal.await();
+                int sales = 0;
+                while (true) {
+                    try {
+                        SellBasketsUseCase.SellBasketsResult result = sellBasketsUseCase.execute(
+                                new SellBasketsUseCase.SellBasketsCommand(QUANTITY_PER_SALE));
+                        result.soldBasketIds().forEach(id -> {
+                            if (!soldIds.add(id)) {
+                                duplicatedIds.incrementAndGet();
+                            }
+                        });
+                        sales++;
+                    } catch (InsufficientStockException e) {
+                        return sales;
+                    }
+                }
+            }));
+        }
+        
+        // When
+        long startedAt = System.nanoTime();
+        startSignal.countDown();
+        int totalSales = 0;
+        for (Future<Integer> seller : sellers) {
+            totalSales += seller.get(2, TimeUnit.MINUTES); // any other exception fails the test
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        executor.shutdown();
+        
+        // Then
+        Long soldInDatabase = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM basic_baskets WHERE status = 'SOLD'", Long.class);
+        Long stillAvailable = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM basic_baskets WHERE status = 'AVAILABLE'", Long.class);
+        
+        assertThat(duplicatedIds.get()).isZero();
+        assertThat(soldIds).hasSize(totalSales * (int) QUANTITY_PER_SALE);
+        assertThat(soldInDatabase).isEqualTo(soldIds.size());
+        assertThat(soldInDatabase + stillAvailable).isEqualTo(STOCK);
+        // Sellers only give up when fewer unlocked rows than requested remain
+        assertThat(stillAvailable).isLessThan(QUANTITY_PER_SALE * SELLERS);
+        
+        InventoryCounters counters = inventoryCountersRepository.current();
+        assertThat(counters.soldBaskets()).isEqualTo(soldInDatabase);
+        assertThat(counters.availableBaskets()).isEqualTo(stillAvailable);
+        assertThat(counters.revenue()).isEqualByComparingTo(
+                new BigDecimal("12.50").multiply(BigDecimal.valueOf(soldInDatabase)));
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+        
+        log.debug("Sold {} baskets in {} sales with {} sellers in {} ms", soldInDatabase, totalSales, SELLERS, elapsedMillis);
+    }
+    
+    @Test
+    @DisplayName("Should correct drifted counters while sales keep committing")
+    void shouldCorrectDriftWhileSalesKeepCommitting() throws Exception {
+        // Given: counters three baskets off
+        jdbcTemplate.update("""
+                UPDATE inventory_counters
+                SET total_baskets = total_baskets + 3, available_baskets = available_baskets + 3
+                WHERE slot = 0
+                """);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(SELLERS);
+        List<Future<Integer>> sellers = new ArrayList<>();
+        for (int i = 0; i < SELLERS; i++) {
+            sellers.add(executor.submit(() -> {
+                startSignal.await();
+                int sales = 0;
+                for (int sale = 0; sale < 20; sale++) {
+                    sellBasketsUseCase.execute(new SellBasketsUseCase.SellBasketsCommand(QUANTITY_PER_SALE));
+                    sales++;
+                }
+                return sales;
+            }));
+        }
+        
+        // When: rebuilds run between the sales without blocking them
+        startSignal.countDown();
+        boolean corrected = false;
+        for (int rebuild = 0; rebuild < 5; rebuild++) {
+            corrected |= rebuildInventoryCountersUseCase.execute().driftDetected();
+        }
+        for (Future<Integer> seller : sellers) {
+            seller.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        
+        // Then
+        Long soldInDatabase = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM basic_baskets WHERE status = 'SOLD'", Long.class);
+        InventoryCounters counters = inventoryCountersRepository.current();
+        assertThat(corrected).isTrue();
+        assertThat(soldInDatabase).isEqualTo(SELLERS * 20 * QUANTITY_PER_SALE);
+        assertThat(counters.totalBaskets()).isEqualTo(STOCK);
+        assertThat(counters.soldBaskets()).isEqualTo(soldInDatabase);
+        assertThat(counters.availableBaskets()).isEqualTo(STOCK - soldInDatabase);
+        assertThat(rebuildInventoryCountersUseCase.execute().driftDetected()).isFalse();
+    }
+}
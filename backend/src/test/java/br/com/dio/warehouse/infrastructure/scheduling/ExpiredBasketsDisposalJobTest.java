@@ -0,0 +1,146 @@
+package br.com.dio.warehouse.infrastructure.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import br.com.dio.warehouse.application.service.RebuildInventoryCountersService;
+import br.com.dio.warehouse.support.AbstractPostgresIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Integration tests for the scheduled disposal of expired baskets
+ * 
+ * The job method is called directly; the cron stays disabled. A run only disposes
+ * its oldest buckets and is skipped while another session holds the disposal lock.
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@DisplayName("Expired Baskets Disposal Job Tests")
+@TestPropertySource(properties = {
+        "warehouse.disposal.chunk-size=40",
+        "warehouse.disposal.schedule.bucket-days=5",
+        "warehouse.disposal.schedule.max-buckets=2"
+})
+class ExpiredBasketsDisposalJobTest extends AbstractPostgresIntegrationTest {
+    
+    @Autowired
+    private ExpiredBasketsDisposalJob disposalJob;
+    
+    @Autowired
+    private RebuildInventoryCountersService rebuildInventoryCountersService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void seedBaskets() {
+        deleteAllBaskets();
+        // Expired 30, 27, 20 and 10 days ago, plus baskets that are still sellable
+        seed(100, 30);
+        seed(100, 27);
+        seed(100, 20);
+        seed(100, 10);
+        seed(50, -10);
+        rebuildInventoryCountersService.execute();
+    }
+    
+    @Test
+    @DisplayName("Should dispose at most the configured buckets per run, oldest first")
+    void shouldDisposeOldestBucketsPerRun() {
+        // Given
+        long completedRuns = runs("completed");
+        double disposedBefore = meterRegistry.get("warehouse.disposal.baskets").counter().count();
+        
+        // When: buckets [-30, -25) and [-20, -15)
+        disposalJob.disposeExpiredBaskets();
+        
+        // Then
+        assertThat(disposedSince(30)).isEqualTo(100L);
+        assertThat(disposedSince(27)).isEqualTo(100L);
+        assertThat(disposedSince(20)).isEqualTo(100L);
+        assertThat(disposedSince(10)).isZero();
+        
+        // When: bucket [-10, -5), then nothing is left
+        disposalJob.disposeExpiredBaskets();
+        disposalJob.disposeExpiredBaskets();
+        
+        // Then
+        assertThat(disposedSince(10)).isEqualTo(100L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM basic_baskets WHERE status = 'AVAILABLE'", Long.class)).isEqualTo(50L);
+        assertThat(runs("completed") - completedRuns).isEqualTo(3L);
+        assertThat(meterRegistry.get("warehouse.disposal.baskets").counter().count() - disposedBefore)
+                .isEqualTo(400.0);
+        assertThat(rebuildInventoryCountersService.execute().driftDetected()).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Should skip the run while another instance holds the disposal lock")
+    void shouldSkipRunWithoutLock() throws Exception {
+        // Given
+        long skippedRuns = runs("skipped");
+        
+        try (Connection otherInstance = dataSource.getConnection()) {
+            lock(otherInstance, "SELECT pg_advisory_lock(hashtext(?))");
+            
+            // When
+            disposalJob.disposeExpiredBaskets();
+            
+            lock(otherInstance, "SELECT pg_advisory_unlock(hashtext(?))");
+        }
+        
+        // Then
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM basic_baskets WHERE status = 'DISPOSED'", Long.class)).isZero();
+        assertThat(runs("skipped") - skippedRuns).isEqualTo(1L);
+        
+        // When: the lock is free again
+        disposalJob.disposeExpiredBaskets();
+        
+        // Then
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM basic_baskets WHERE status = 'DISPOSED'", Long.class)).isEqualTo(300L);
+    }
+    
+    private void seed(int quantity, int daysAgo) {
+        insertBaskets(quantity, "CURRENT_DATE - " + daysAgo, "12.50", "'AVAILABLE'");
+    }
+    
+    private long disposedSince(int daysAgo) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM basic_baskets WHERE status = 'DISPOSED' AND validation_date = CURRENT_DATE - ?",
+                Long.class, daysAgo);
+    }
+    
+    private long runs(String outcome) {
+        Timer timer = meterRegistry.find("warehouse.disposal.run").tag("outcome", outcome).timer();
+        return timer != null ? timer.count() : 0L;
+    }
+    
+    private static void lock(Connection connection, String sql) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, ExpiredBasketsDisposalJob.LOCK_NAME);
+            statement.executeQuery().close();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.dio.warehouse.support;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import br.com.dio.warehouse.application.port.in.RebuildInventoryCountersUseCase;
+
+/**
+ * Base class for integration tests that need a real PostgreSQL database
+ * 
+ * Starts a PostgreSQL container, applies the Flyway migrations and boots the full
+ * application context with RabbitMQ disabled (events are only logged). Summaries are
+ * not cached, since tests change rows directly; the helpers below seed baskets that
+ * way.
+ * Tests are skipped when Docker is not available.
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+@SpringBootTest(properties = {
+        "rabbitmq.enabled=false",
+        "warehouse.cache.summaries.enabled=false",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class AbstractPostgresIntegrationTest {
+    
+    @Container
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("warehouse_db")
+            .withUsername("warehouse_user")
+            .withPassword("warehouse_pass");
+    
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private RebuildInventoryCountersUseCase rebuildInventoryCountersUseCase;
+    
+    /**
+     * Deletes every basket, archived ones included
+     */
+    protected void deleteAllBaskets() {
+        jdbcTemplate.update("DELETE FROM basic_baskets");
+        jdbcTemplate.update("DELETE FROM basic_baskets_history");
+    }
+    
+    /**
+     * Inserts baskets straight into basic_baskets, bypassing the services and the
+     * inventory counters
+     * 
+     * @param quantity       number of baskets
+     * @param validationDate SQL expression of the validation date
+     * @param price          SQL expression of the price
+     * @param status         SQL expression of the status
+     */
+    protected void insertBaskets(int quantity, String validationDate, String price, String status) {
+        insertBaskets(quantity, validationDate, price, status, Map.of());
+    }
+    
+    /**
+     * Inserts baskets straight into basic_baskets with more columns set
+     * 
+     * The expressions may use {@code g}, the number of the basket in the series.
+     * 
+     * @param quantity       number of baskets
+     * @param validationDate SQL expression of the validation date
+     * @param price          SQL expression of the price
+     * @param status         SQL expression of the status
+     * @param otherColumns   SQL expressions of other columns by name, e.g. sold_at
+     */
+    protected void insertBaskets(int quantity, String validationDate, String price, String status,
+                                 Map<String, String> otherColumns) {
+        StringBuilder columns = new StringBuilder();
+        StringBuilder values = new StringBuilder();
+        otherColumns.forEach((column, value) -> {
+            columns.append(", ").append(column);
+            values.append(", ").append(value);
+        });
+        jdbcTemplate.update("""
+                INSERT INTO basic_baskets (id, validation_date, price, status%s)
+                SELECT gen_random_uuid(), %s, %s, %s%s
+                FROM generate_series(1, ?) AS g
+                """.formatted(columns, validationDate, price, status, values), quantity);
+    }
+    
+    /**
+     * Recounts the inventory counters, which rows inserted directly bypass
+     */
+    protected void rebuildInventoryCounters() {
+        rebuildInventoryCountersUseCase.execute();
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.dio.warehouse.support;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate StatementInspector that records every SQL statement it prepares
+ * 
+ * Register it with
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector} to get
+ * the SQL Hibernate generates for JPQL and derived queries.
+ * 
+ * @author Franklin Canduri
+ * @version 1.0.0
+ * @since 2025
+ */
+public class CapturingStatementInspector implements StatementInspector {
+    
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+    
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+    
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+    
+    /**
+     * First statement prepared since {@link #clear()}; later ones may be follow-up
+     * queries such as the count of a page
+     */
+    public static String firstStatement() {
+        if (STATEMENTS.isEmpty()) {
+            throw new IllegalStateException("No SQL statement was captured");
+        }
+        return STATEMENTS.get(0);
+    }
+}